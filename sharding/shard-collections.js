@@ -0,0 +1,48 @@
+// Adds the shards and shards the application collections. Run against mongos:
+//   mongosh --host <mongos> sharding/shard-collections.js
+//
+// Reservation writes go to tableReservations and outboxEvents, and reservations
+// are checked against holds. These are all range-sharded on the restaurant ID.
+// The same zone ranges are applied to all of them, so that a restaurant's
+// tables, holds and events live on the same shard and a reservation transaction
+// stays on a single shard. Enable
+// privatedining.sharding.async-diner-projection to also keep dinerReservations
+// out of the transaction.
+
+const dbNames = ["privateDining", "test"];
+const shards = ["shard1", "shard2"];
+
+for (const shard of shards) {
+  sh.addShard(`${shard}/${shard}:27018`);
+}
+
+// Restaurant IDs are ObjectId hex strings, so splitting at "8" gives each zone
+// about half of the restaurants.
+sh.addShardToZone("shard1", "restaurantsLow");
+sh.addShardToZone("shard2", "restaurantsHigh");
+
+function shardByRestaurant(ns, restaurantField, secondField = "_id") {
+  sh.shardCollection(ns, { [restaurantField]: 1, [secondField]: 1 });
+  sh.updateZoneKeyRange(ns, { [restaurantField]: MinKey, [secondField]: MinKey },
+    { [restaurantField]: "8", [secondField]: MinKey }, "restaurantsLow");
+  sh.updateZoneKeyRange(ns, { [restaurantField]: "8", [secondField]: MinKey },
+    { [restaurantField]: MaxKey, [secondField]: MaxKey }, "restaurantsHigh");
+}
+
+for (const dbName of dbNames) {
+  sh.enableSharding(dbName);
+  shardByRestaurant(`${dbName}.tableReservations`, "restaurantId");
+  shardByRestaurant(`${dbName}.outboxEvents`, "reservation.restaurantId");
+  // Holds are looked up by restaurant and table, so the table ID is part of the
+  // shard key.
+  shardByRestaurant(`${dbName}.holds`, "restaurantId", "tableId");
+  // Collections that are only accessed by _id are hash-sharded on it, which
+  // spreads writes evenly. Their upserts filter on _id, which is the full shard
+  // key.
+  sh.shardCollection(`${dbName}.dinerReservations`, { _id: "hashed" });
+  sh.shardCollection(`${dbName}.restaurantTables`, { _id: "hashed" });
+  sh.shardCollection(`${dbName}.restaurantDailyRollups`, { _id: "hashed" });
+  sh.shardCollection(`${dbName}.tableDaySlots`, { _id: "hashed" });
+  // restaurants and diners are small and stay unsharded on the primary shard,
+  // which also keeps their unique email indexes valid.
+}
@@ -3,14 +3,28 @@ package paterben.privatedining;
 import java.time.Clock;
 
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
  * Generic configuration class.
  */
 @Configuration
-public class AppConfig {
+// Scheduling is used for background jobs such as the outbox dispatcher.
+@EnableScheduling
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class AppConfig implements WebMvcConfigurer {
+    @Autowired
+    private TenantInterceptor tenantInterceptor;
+
+    @Autowired
+    private ReadRoutingInterceptor readRoutingInterceptor;
+
     // This model mapper is used to convert between core and API model
     // representations.
     @Bean
@@ -22,4 +36,10 @@ public class AppConfig {
     Clock clock() {
         return Clock.systemUTC();
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(tenantInterceptor).addPathPatterns("/api/**", "/admin/**");
+        registry.addInterceptor(readRoutingInterceptor).addPathPatterns("/api/**", "/admin/**");
+    }
 }
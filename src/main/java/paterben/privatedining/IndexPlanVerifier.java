@@ -0,0 +1,142 @@
+package paterben.privatedining;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+
+/**
+ * Startup check that the main queries of the application are served by
+ * indexes. Logs the winning plan of each query and fails startup if any of them
+ * is a collection scan.
+ *
+ * Only runs if MongoDB auto-index creation is enabled, since the indexes are
+ * declared on the model classes and would not exist otherwise.
+ */
+@Component
+// Before other runners, e.g. the reservation export.
+@Order(0)
+public class IndexPlanVerifier implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(IndexPlanVerifier.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${spring.data.mongodb.auto-index-creation}")
+    private boolean autoIndexCreation;
+
+    @Value("${privatedining.index-check.enabled:true}")
+    private boolean enabled;
+
+    // Queries with a hint are run with it, which fails if the hinted index doesn't
+    // exist.
+    private record CheckedQuery(String name, String collection, Bson filter, Bson sort, String hint) {
+        CheckedQuery(String name, String collection, Bson filter, Bson sort) {
+            this(name, collection, filter, sort, null);
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || !autoIndexCreation) {
+            return;
+        }
+        // Sample values only need the right types, the plan does not depend on them.
+        String id = new ObjectId().toString();
+        Date now = new Date();
+        List<CheckedQuery> queries = List.of(
+                new CheckedQuery("restaurant by email", "restaurants", Filters.eq("email", "a@example.com"), null),
+                new CheckedQuery("diner by email", "diners", Filters.eq("email", "a@example.com"), null),
+                new CheckedQuery("tables of restaurant", "tableReservations", Filters.eq("restaurantId", id), null),
+                new CheckedQuery("reservations of restaurant in window", "tableReservations",
+                        Filters.and(Filters.eq("restaurantId", id), Filters.lt("reservations.reservationStart", now)),
+                        null),
+                new CheckedQuery("reservation by ID", "tableReservations", Filters.eq("reservations._id", id), null),
+                new CheckedQuery("reservations of diner", "tableReservations",
+                        Filters.eq("reservations.dinerId", id), null),
+                new CheckedQuery("reservation series of diner", "tableReservations",
+                        Filters.eq("series.dinerId", id), null),
+                new CheckedQuery("holds of diner", "holds", Filters.eq("dinerId", id), null),
+                new CheckedQuery("waitlist of diner", "waitlist", Filters.eq("dinerId", id), null),
+                new CheckedQuery("live holds of table", "holds",
+                        Filters.and(Filters.eq("restaurantId", id), Filters.eq("tableId", id),
+                                Filters.lt("reservationStart", now), Filters.gt("reservationEnd", now),
+                                Filters.gt("expiresAt", now)),
+                        null),
+                new CheckedQuery("waitlist candidates for freed slot", "waitlist",
+                        Filters.and(Filters.eq("tableId", id), Filters.gt("reservationStart", now),
+                                Filters.lt("reservationStart", now), Filters.gt("reservationEnd", now)),
+                        Sorts.orderBy(Sorts.descending("priority"), Sorts.ascending("createdAt")), "table_start"),
+                new CheckedQuery("waitlist of table", "waitlist", Filters.eq("tableId", id),
+                        Sorts.orderBy(Sorts.descending("priority"), Sorts.ascending("createdAt"))),
+                new CheckedQuery("slots of deleted table", "tableDaySlots", Filters.eq("tableId", id), null),
+                new CheckedQuery("pending deletion jobs", "deletionJobs", new Document(), Sorts.ascending("createdAt")),
+                new CheckedQuery("pending outbox events", "outboxEvents", Filters.eq("dispatchedAt", null),
+                        Sorts.ascending("createdAt")),
+                new CheckedQuery("dashboard rollups", "restaurantDailyRollups",
+                        Filters.and(Filters.eq("restaurantId", id), Filters.gte("day", "2026-01-01"),
+                                Filters.lte("day", "2026-12-31")),
+                        Sorts.ascending("day")));
+
+        List<String> collectionScans = new ArrayList<>();
+        for (CheckedQuery query : queries) {
+            FindIterable<Document> find = mongoTemplate.getCollection(query.collection()).find(query.filter());
+            if (query.sort() != null) {
+                find = find.sort(query.sort());
+            }
+            if (query.hint() != null) {
+                find = find.hintString(query.hint());
+            }
+            Document explain;
+            try {
+                explain = find.explain();
+            } catch (MongoException e) {
+                logger.error("Failed to explain {}", query.name(), e);
+                collectionScans.add(query.name());
+                continue;
+            }
+            Object winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan");
+            logger.info("Plan for {}: {}", query.name(), winningPlan);
+            if (containsCollectionScan(winningPlan)) {
+                collectionScans.add(query.name());
+            }
+        }
+        if (!collectionScans.isEmpty()) {
+            throw new IllegalStateException("Queries not served by an index: " + collectionScans
+                    + ". Check that the indexes declared on the model classes exist.");
+        }
+    }
+
+    // Plans are trees of stages, nested under various keys depending on the server
+    // version, so all values are searched.
+    static boolean containsCollectionScan(Object plan) {
+        if (plan instanceof Map<?, ?> map) {
+            if ("COLLSCAN".equals(map.get("stage"))) {
+                return true;
+            }
+            return map.values().stream().anyMatch(IndexPlanVerifier::containsCollectionScan);
+        }
+        if (plan instanceof List<?> list) {
+            return list.stream().anyMatch(IndexPlanVerifier::containsCollectionScan);
+        }
+        return false;
+    }
+}
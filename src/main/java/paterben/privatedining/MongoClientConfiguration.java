@@ -1,21 +1,35 @@
 package paterben.privatedining;
 
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.mongodb.MongoDatabaseFactory;
 import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.SessionSynchronization;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.util.StringUtils;
 
 import com.mongodb.MongoClientSettings.Builder;
+import com.mongodb.ReadPreference;
 import com.mongodb.ServerAddress;
+import com.mongodb.TransactionOptions;
 
 /**
  * Configuration class for MongoDB.
  */
 @Configuration
+@EnableConfigurationProperties({ MongoClientProperties.class, TenancyProperties.class })
 public class MongoClientConfiguration extends AbstractMongoClientConfiguration {
 
     @Value("${spring.data.mongodb.host}")
@@ -30,10 +44,60 @@ public class MongoClientConfiguration extends AbstractMongoClientConfiguration {
     @Value("${spring.data.mongodb.auto-index-creation}")
     private boolean autoIndexCreation;
 
+    @Autowired
+    private MongoClientProperties properties;
+
+    @Autowired
+    private MongoPoolMetrics poolMetrics;
+
+    @Autowired
+    private TenancyProperties tenancyProperties;
+
     // This is necessary in order to enable MongoDB transaction support.
+    // Transactions always read from the primary, even when the request routes its
+    // other reads to secondaries.
     @Bean
     MongoTransactionManager transactionManager(MongoDatabaseFactory mongoDatabaseFactory) {
-        return new MongoTransactionManager(mongoDatabaseFactory);
+        return new MongoTransactionManager(mongoDatabaseFactory,
+                TransactionOptions.builder().readPreference(ReadPreference.primary()).build());
+    }
+
+    // Picks the database of the current tenant (see TenantInterceptor), or the
+    // shared database.
+    @Override
+    public MongoDatabaseFactory mongoDbFactory() {
+        return new TenantRoutingMongoDatabaseFactory(mongoClient(), getDatabaseName(), tenancyProperties);
+    }
+
+    // Applies the per-request read routing (see ReadRoutingInterceptor).
+    @Bean
+    @Primary
+    @Override
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory databaseFactory, MappingMongoConverter converter) {
+        return new ReadRoutingMongoTemplate(databaseFactory, converter);
+    }
+
+    // Always targets the shared database, whatever the current tenant, and never
+    // joins the current transaction: its session may belong to the client of a
+    // tenant with its own cluster.
+    @Bean
+    MongoTemplate sharedMongoTemplate(MappingMongoConverter converter) {
+        MongoTemplate template = new MongoTemplate(
+                new SimpleMongoClientDatabaseFactory(mongoClient(), getDatabaseName()), converter);
+        template.setSessionSynchronization(SessionSynchronization.NEVER);
+        return template;
+    }
+
+    // Container for change stream subscriptions, started and stopped with the
+    // application context.
+    @Bean
+    MessageListenerContainer messageListenerContainer(MongoTemplate mongoTemplate) {
+        return new DefaultMessageListenerContainer(mongoTemplate) {
+            @Override
+            public boolean isAutoStartup() {
+                return true;
+            }
+        };
     }
 
     @Override
@@ -48,11 +112,31 @@ public class MongoClientConfiguration extends AbstractMongoClientConfiguration {
 
     @Override
     protected void configureClientSettings(Builder builder) {
-
+        MongoClientProperties.Pool pool = properties.getPool();
         builder
                 .applyToClusterSettings(settings -> {
                     settings.hosts(Collections.singletonList(new ServerAddress(host, port)));
-                });
+                    // Discovering the replica set is needed to route reads to secondaries.
+                    if (StringUtils.hasText(properties.getReplicaSetName())) {
+                        settings.requiredReplicaSetName(properties.getReplicaSetName());
+                    }
+                    settings.serverSelectionTimeout(properties.getServerSelectionTimeout().toMillis(),
+                            TimeUnit.MILLISECONDS);
+                })
+                .applyToConnectionPoolSettings(settings -> {
+                    settings.maxSize(pool.getMaxSize());
+                    settings.minSize(pool.getMinSize());
+                    settings.maxWaitTime(pool.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS);
+                    settings.maxConnectionIdleTime(pool.getMaxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS);
+                    settings.addConnectionPoolListener(poolMetrics);
+                })
+                .applyToSocketSettings(settings -> {
+                    settings.connectTimeout(properties.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                    settings.readTimeout(properties.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                })
+                .compressorList(properties.toCompressorList())
+                .readPreference(properties.toReadPreference())
+                .writeConcern(properties.toWriteConcern());
     }
 
 }
@@ -0,0 +1,206 @@
+package paterben.privatedining;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+
+/**
+ * MongoDB client settings, bound from {@code privatedining.mongodb.*}. Defaults
+ * are meant for production; see {@code application.properties}.
+ */
+@ConfigurationProperties(prefix = "privatedining.mongodb")
+public class MongoClientProperties {
+    /**
+     * Connection pool settings, per server.
+     */
+    public static class Pool {
+        /**
+         * Maximum number of connections. Requests wait for a connection beyond this.
+         */
+        private int maxSize = 100;
+        /**
+         * Number of connections kept open even when idle.
+         */
+        private int minSize = 10;
+        /**
+         * How long a request waits for a connection before failing.
+         */
+        private Duration maxWaitTime = Duration.ofSeconds(2);
+        /**
+         * Idle connections are closed after this time.
+         */
+        private Duration maxConnectionIdleTime = Duration.ofMinutes(5);
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getMinSize() {
+            return minSize;
+        }
+
+        public void setMinSize(int minSize) {
+            this.minSize = minSize;
+        }
+
+        public Duration getMaxWaitTime() {
+            return maxWaitTime;
+        }
+
+        public void setMaxWaitTime(Duration maxWaitTime) {
+            this.maxWaitTime = maxWaitTime;
+        }
+
+        public Duration getMaxConnectionIdleTime() {
+            return maxConnectionIdleTime;
+        }
+
+        public void setMaxConnectionIdleTime(Duration maxConnectionIdleTime) {
+            this.maxConnectionIdleTime = maxConnectionIdleTime;
+        }
+    }
+
+    private Pool pool = new Pool();
+    /**
+     * Replica set name. When set, the client discovers all members from the
+     * configured host, which lets reads be routed to secondaries.
+     */
+    private String replicaSetName;
+    /**
+     * Timeout for establishing a connection.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    /**
+     * Timeout for reading a response on an established connection.
+     */
+    private Duration readTimeout = Duration.ofSeconds(15);
+    /**
+     * How long to wait for a suitable server, e.g. during a primary election.
+     */
+    private Duration serverSelectionTimeout = Duration.ofSeconds(10);
+    /**
+     * Wire compressors in order of preference. The server uses the first one it
+     * also supports. Supported: zstd, snappy, zlib.
+     */
+    private List<String> compressors = new ArrayList<>(List.of("zstd", "snappy", "zlib"));
+    /**
+     * Read preference name, e.g. primary or secondaryPreferred.
+     */
+    private String readPreference = "primary";
+    /**
+     * Write concern {@code w} value: majority or a number of nodes.
+     */
+    private String writeConcern = "majority";
+    /**
+     * Whether writes wait for the on-disk journal.
+     */
+    private boolean journal = true;
+
+    public Pool getPool() {
+        return pool;
+    }
+
+    public void setPool(Pool pool) {
+        this.pool = pool;
+    }
+
+    public String getReplicaSetName() {
+        return replicaSetName;
+    }
+
+    public void setReplicaSetName(String replicaSetName) {
+        this.replicaSetName = replicaSetName;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public Duration getServerSelectionTimeout() {
+        return serverSelectionTimeout;
+    }
+
+    public void setServerSelectionTimeout(Duration serverSelectionTimeout) {
+        this.serverSelectionTimeout = serverSelectionTimeout;
+    }
+
+    public List<String> getCompressors() {
+        return compressors;
+    }
+
+    public void setCompressors(List<String> compressors) {
+        this.compressors = compressors;
+    }
+
+    public String getReadPreference() {
+        return readPreference;
+    }
+
+    public void setReadPreference(String readPreference) {
+        this.readPreference = readPreference;
+    }
+
+    public String getWriteConcern() {
+        return writeConcern;
+    }
+
+    public void setWriteConcern(String writeConcern) {
+        this.writeConcern = writeConcern;
+    }
+
+    public boolean isJournal() {
+        return journal;
+    }
+
+    public void setJournal(boolean journal) {
+        this.journal = journal;
+    }
+
+    public List<MongoCompressor> toCompressorList() {
+        List<MongoCompressor> result = new ArrayList<>();
+        for (String compressor : compressors) {
+            switch (compressor.trim().toLowerCase()) {
+                case "zstd" -> result.add(MongoCompressor.createZstdCompressor());
+                case "snappy" -> result.add(MongoCompressor.createSnappyCompressor());
+                case "zlib" -> result.add(MongoCompressor.createZlibCompressor());
+                case "" -> {
+                }
+                default -> throw new IllegalArgumentException("Unsupported MongoDB compressor: " + compressor);
+            }
+        }
+        return result;
+    }
+
+    public ReadPreference toReadPreference() {
+        return ReadPreference.valueOf(readPreference);
+    }
+
+    public WriteConcern toWriteConcern() {
+        WriteConcern concern = writeConcern.chars().allMatch(Character::isDigit)
+                ? new WriteConcern(Integer.parseInt(writeConcern))
+                : new WriteConcern(writeConcern);
+        return concern.withJournal(journal);
+    }
+}
@@ -0,0 +1,103 @@
+package paterben.privatedining;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Connection pool metrics, per server:
+ * <ul>
+ * <li>{@code privatedining.mongodb.pool.size}: open connections.</li>
+ * <li>{@code privatedining.mongodb.pool.checkedout}: connections in use.</li>
+ * <li>{@code privatedining.mongodb.pool.waitqueue}: requests waiting for a
+ * connection.</li>
+ * <li>{@code privatedining.mongodb.pool.utilization}: connections in use over
+ * the maximum pool size.</li>
+ * </ul>
+ * A utilization close to 1 with a non-empty wait queue means the pool is too
+ * small for the request concurrency.
+ */
+@Component
+public class MongoPoolMetrics implements ConnectionPoolListener {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private record ServerPool(int maxSize, AtomicInteger size, AtomicInteger checkedOut, AtomicInteger waitQueue) {
+    }
+
+    private final Map<String, ServerPool> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public void connectionPoolCreated(ConnectionPoolCreatedEvent event) {
+        String server = event.getServerId().getAddress().toString();
+        ServerPool pool = new ServerPool(event.getSettings().getMaxSize(), new AtomicInteger(), new AtomicInteger(),
+                new AtomicInteger());
+        pools.put(server, pool);
+        Gauge.builder("privatedining.mongodb.pool.size", pool.size(), AtomicInteger::get)
+                .tag("server", server).register(meterRegistry);
+        Gauge.builder("privatedining.mongodb.pool.checkedout", pool.checkedOut(), AtomicInteger::get)
+                .tag("server", server).register(meterRegistry);
+        Gauge.builder("privatedining.mongodb.pool.waitqueue", pool.waitQueue(), AtomicInteger::get)
+                .tag("server", server).register(meterRegistry);
+        Gauge.builder("privatedining.mongodb.pool.utilization", pool,
+                p -> p.maxSize() == 0 ? 0 : (double) p.checkedOut().get() / p.maxSize())
+                .tag("server", server).register(meterRegistry);
+    }
+
+    @Override
+    public void connectionCreated(ConnectionCreatedEvent event) {
+        update(event.getConnectionId().getServerId().getAddress().toString(), p -> p.size().incrementAndGet());
+    }
+
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        update(event.getConnectionId().getServerId().getAddress().toString(), p -> p.size().decrementAndGet());
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        update(event.getServerId().getAddress().toString(), p -> p.waitQueue().incrementAndGet());
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        update(event.getConnectionId().getServerId().getAddress().toString(), p -> {
+            p.waitQueue().decrementAndGet();
+            p.checkedOut().incrementAndGet();
+        });
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        update(event.getServerId().getAddress().toString(), p -> p.waitQueue().decrementAndGet());
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        update(event.getConnectionId().getServerId().getAddress().toString(), p -> p.checkedOut().decrementAndGet());
+    }
+
+    private void update(String server, Consumer<ServerPool> action) {
+        ServerPool pool = pools.get(server);
+        if (pool != null) {
+            action.accept(pool);
+        }
+    }
+}
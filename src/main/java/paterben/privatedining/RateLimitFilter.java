@@ -0,0 +1,174 @@
+package paterben.privatedining;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import paterben.privatedining.api.model.ApiErrorInfo;
+import paterben.privatedining.core.TokenBucket;
+
+/**
+ * Per-client rate limiting of the API with token buckets (see
+ * {@link TokenBucket}).
+ *
+ * Clients are identified by their API key header if the key is a known one, or
+ * else by their address. Each client has one bucket per route. Responses carry {@code X-RateLimit-Limit}
+ * and {@code X-RateLimit-Remaining} headers, and rejected requests get 429 with
+ * {@code Retry-After}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    // Buckets looked at to make room for a new one when the map is full, so that
+    // a request never scans the whole map.
+    private static final int EVICTION_SAMPLE_SIZE = 16;
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private record CompiledRoute(int index, PathPattern pattern, List<String> methods,
+            RateLimitProperties.Limit limit) {
+        boolean matches(String method, PathContainer path) {
+            return (methods.isEmpty() || methods.contains(method)) && pattern.matches(path);
+        }
+    }
+
+    private record BucketKey(String client, int route) {
+    }
+
+    private final Map<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private List<CompiledRoute> routes;
+
+    private ObjectWriter errorInfoWriter;
+
+    private LongSupplier nanoClock = System::nanoTime;
+
+    @PostConstruct
+    void init() {
+        routes = new ArrayList<>();
+        List<RateLimitProperties.Route> configured = properties.getRoutes();
+        for (int i = 0; i < configured.size(); ++i) {
+            RateLimitProperties.Route route = configured.get(i);
+            routes.add(new CompiledRoute(i, PathPatternParser.defaultInstance.parse(route.getPattern()),
+                    route.getMethods().stream().map(String::toUpperCase).toList(), route));
+        }
+        errorInfoWriter = objectMapper.writerFor(ApiErrorInfo.class);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CompiledRoute route = findRoute(request);
+        RateLimitProperties.Limit limit = route == null ? properties.getDefaultLimit() : route.limit();
+        BucketKey key = new BucketKey(clientOf(request), route == null ? -1 : route.index());
+        long now = nanoClock.getAsLong();
+
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= properties.getMaxBuckets()) {
+                evictSampledFullBuckets(now);
+                if (buckets.size() >= properties.getMaxBuckets()) {
+                    // Reject rather than let new clients through unlimited. Known
+                    // clients keep their buckets.
+                    reject(response, 1, "Too many clients, retry after 1 second.");
+                    return;
+                }
+            }
+            bucket = buckets.computeIfAbsent(key,
+                    k -> new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond(), now));
+        }
+
+        TokenBucket.Result result = bucket.tryConsume(now);
+        response.setHeader("X-RateLimit-Limit", Long.toString(bucket.getCapacity()));
+        response.setHeader("X-RateLimit-Remaining", Long.toString(result.remaining()));
+        if (result.allowed()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long retryAfterSeconds = Math.max(1, (result.retryAfterNanos() + 999_999_999L) / 1_000_000_000L);
+        reject(response, retryAfterSeconds, "Rate limit exceeded, retry after " + retryAfterSeconds + " seconds.");
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ApiErrorInfo info = new ApiErrorInfo();
+        info.setErrorMessage(message);
+        errorInfoWriter.writeValue(response.getOutputStream(), info);
+    }
+
+    private CompiledRoute findRoute(HttpServletRequest request) {
+        if (routes.isEmpty()) {
+            return null;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        String method = request.getMethod();
+        for (CompiledRoute route : routes) {
+            if (route.matches(method, path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        // Unknown keys are ignored, so that a client can't get a fresh bucket per
+        // request or fill the map by sending random keys.
+        String apiKey = request.getHeader(properties.getApiKeyHeader());
+        return StringUtils.hasText(apiKey) && properties.getApiKeys().contains(apiKey) ? "key:" + apiKey
+                : "addr:" + request.getRemoteAddr();
+    }
+
+    // Drops the full buckets among the first few of the map. This is approximate:
+    // when the sampled buckets are all in use, nothing is dropped until the
+    // periodic sweep below runs.
+    private void evictSampledFullBuckets(long now) {
+        Iterator<TokenBucket> it = buckets.values().iterator();
+        for (int i = 0; i < EVICTION_SAMPLE_SIZE && it.hasNext(); ++i) {
+            if (it.next().isFull(now)) {
+                it.remove();
+            }
+        }
+    }
+
+    // Full buckets behave exactly like new ones, so dropping them only frees
+    // memory.
+    @Scheduled(fixedDelayString = "${privatedining.rate-limit.sweep-interval-ms:60000}")
+    void evictFullBuckets() {
+        long now = nanoClock.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+}
@@ -0,0 +1,149 @@
+package paterben.privatedining;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-client API rate limits, bound from {@code privatedining.rate-limit.*}.
+ */
+@ConfigurationProperties(prefix = "privatedining.rate-limit")
+public class RateLimitProperties {
+    /**
+     * Token bucket settings.
+     */
+    public static class Limit {
+        /**
+         * Maximum burst of requests.
+         */
+        private long capacity = 50;
+        /**
+         * Sustained requests per second.
+         */
+        private double refillPerSecond = 10;
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+
+    /**
+     * Limit for the requests matching a path pattern, and optionally a method.
+     */
+    public static class Route extends Limit {
+        /**
+         * Path pattern, e.g.
+         * {@code /api/restaurants/{restaurantId}/tables/{tableId}/reservations}.
+         */
+        private String pattern;
+        /**
+         * HTTP methods the route applies to. All methods if empty.
+         */
+        private List<String> methods = new ArrayList<>();
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public List<String> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            this.methods = methods;
+        }
+    }
+
+    private boolean enabled = true;
+    /**
+     * Header identifying the client. Clients without it, or with a key that is
+     * not in {@link #apiKeys}, are identified by their address.
+     */
+    private String apiKeyHeader = "X-Api-Key";
+    /**
+     * API keys of the known clients. Only these keys identify a client, so that
+     * clients can't get fresh buckets by sending random keys.
+     */
+    private Set<String> apiKeys = new HashSet<>();
+    /**
+     * Maximum number of tracked buckets. When reached, a few full buckets are
+     * dropped to make room; if there are none, new clients are rejected until
+     * the periodic sweep frees some.
+     */
+    private int maxBuckets = 100000;
+    /**
+     * Limit for requests that don't match any route.
+     */
+    private Limit defaultLimit = new Limit();
+    /**
+     * Routes with their own limits. The first matching route applies.
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getApiKeyHeader() {
+        return apiKeyHeader;
+    }
+
+    public void setApiKeyHeader(String apiKeyHeader) {
+        this.apiKeyHeader = apiKeyHeader;
+    }
+
+    public Set<String> getApiKeys() {
+        return apiKeys;
+    }
+
+    public void setApiKeys(Set<String> apiKeys) {
+        this.apiKeys = apiKeys;
+    }
+
+    public int getMaxBuckets() {
+        return maxBuckets;
+    }
+
+    public void setMaxBuckets(int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    public Limit getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(Limit defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<Route> routes) {
+        this.routes = routes;
+    }
+}
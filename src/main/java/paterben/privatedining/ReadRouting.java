@@ -0,0 +1,33 @@
+package paterben.privatedining;
+
+import com.mongodb.ReadPreference;
+
+/**
+ * Read preference for the MongoDB reads of the current request thread.
+ *
+ * Set by {@link ReadRoutingInterceptor} and applied by
+ * {@link ReadRoutingMongoTemplate}. Reads inside a transaction always go to
+ * the primary, whatever is set here.
+ */
+public final class ReadRouting {
+    private static final ThreadLocal<ReadPreference> current = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    /**
+     * @return the read preference for the current thread, or {@code null} to use
+     *         the client default.
+     */
+    public static ReadPreference current() {
+        return current.get();
+    }
+
+    static void set(ReadPreference readPreference) {
+        current.set(readPreference);
+    }
+
+    static void clear() {
+        current.remove();
+    }
+}
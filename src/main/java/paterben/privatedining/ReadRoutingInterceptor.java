@@ -0,0 +1,88 @@
+package paterben.privatedining;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.mongodb.ReadPreference;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Routes the reads of {@code GET} requests to secondaries, within a bounded
+ * staleness.
+ *
+ * Clients that need to see their own writes (e.g. a diner who has just booked)
+ * can opt out with the {@code X-Read-Your-Writes: true} header. Every write
+ * request also sets a short-lived cookie that has the same effect, so browsers
+ * read from the primary until secondaries are guaranteed to have caught up.
+ */
+@Component
+public class ReadRoutingInterceptor implements AsyncHandlerInterceptor {
+    public static final String READ_YOUR_WRITES_HEADER = "X-Read-Your-Writes";
+    public static final String READ_YOUR_WRITES_COOKIE = "privatedining-ryw";
+
+    @Value("${privatedining.read-routing.secondary-reads.enabled:true}")
+    private boolean secondaryReadsEnabled;
+
+    @Value("${privatedining.read-routing.max-staleness:90s}")
+    private Duration maxStaleness;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!secondaryReadsEnabled) {
+            return true;
+        }
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) {
+            if (!readYourWrites(request)) {
+                ReadRouting.set(ReadPreference.secondaryPreferred(maxStaleness.toSeconds(), TimeUnit.SECONDS));
+            }
+        } else if (!HttpMethod.OPTIONS.matches(method)) {
+            ResponseCookie cookie = ResponseCookie.from(READ_YOUR_WRITES_COOKIE, "1")
+                    .path("/")
+                    .httpOnly(true)
+                    .maxAge(maxStaleness)
+                    .build();
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        ReadRouting.clear();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        // The request continues on another thread (e.g. streaming exports), which
+        // uses the client default.
+        ReadRouting.clear();
+    }
+
+    private static boolean readYourWrites(HttpServletRequest request) {
+        if (Boolean.parseBoolean(request.getHeader(READ_YOUR_WRITES_HEADER))) {
+            return true;
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (READ_YOUR_WRITES_COOKIE.equals(cookie.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,29 @@
+package paterben.privatedining;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoCollection;
+
+/**
+ * {@link MongoTemplate} that applies the read preference chosen by
+ * {@link ReadRouting} for the current request.
+ */
+public class ReadRoutingMongoTemplate extends MongoTemplate {
+    public ReadRoutingMongoTemplate(MongoDatabaseFactory mongoDbFactory, MongoConverter mongoConverter) {
+        super(mongoDbFactory, mongoConverter);
+    }
+
+    @Override
+    protected MongoCollection<Document> prepareCollection(MongoCollection<Document> collection) {
+        MongoCollection<Document> prepared = super.prepareCollection(collection);
+        ReadPreference readPreference = ReadRouting.current();
+        if (readPreference != null && !readPreference.equals(prepared.getReadPreference())) {
+            return prepared.withReadPreference(readPreference);
+        }
+        return prepared;
+    }
+}
@@ -0,0 +1,56 @@
+package paterben.privatedining;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import paterben.privatedining.core.model.ExportFormat;
+import paterben.privatedining.service.ReservationExportService;
+
+/**
+ * Command-line reservation export. Runs when the application is started with
+ * {@code --export-reservations=<path>}, optionally with
+ * {@code --export-format=CSV}, then exits. Combine with
+ * {@code --spring.main.web-application-type=none} to skip starting the web
+ * server.
+ */
+@Component
+public class ReservationExportRunner implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(ReservationExportRunner.class);
+
+    @Autowired
+    private ReservationExportService reservationExportService;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        List<String> paths = args.getOptionValues("export-reservations");
+        if (paths == null || paths.isEmpty()) {
+            return;
+        }
+        List<String> formats = args.getOptionValues("export-format");
+        ExportFormat format = formats == null || formats.isEmpty() ? ExportFormat.NDJSON
+                : ExportFormat.valueOf(formats.get(0).toUpperCase());
+
+        Path path = Path.of(paths.get(0));
+        long count;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            count = reservationExportService.exportAllReservations(format, out);
+        }
+        logger.info("Exported {} reservations to {}", count, path.toAbsolutePath());
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
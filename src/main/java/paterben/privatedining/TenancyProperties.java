@@ -0,0 +1,93 @@
+package paterben.privatedining;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tenants with their own database, bound from {@code privatedining.tenancy.*}.
+ * Restaurants that don't belong to a tenant stay in the shared database.
+ */
+@ConfigurationProperties(prefix = "privatedining.tenancy")
+public class TenancyProperties {
+    /**
+     * Where a tenant's data lives.
+     */
+    public static class Tenant {
+        /**
+         * Database name on the main cluster. Ignored if {@code uri} is set.
+         */
+        private String database;
+        /**
+         * Connection string of a dedicated cluster, including the database name.
+         */
+        private String uri;
+
+        public String getDatabase() {
+            return database;
+        }
+
+        public void setDatabase(String database) {
+            this.database = database;
+        }
+
+        public String getUri() {
+            return uri;
+        }
+
+        public void setUri(String uri) {
+            this.uri = uri;
+        }
+    }
+
+    /**
+     * Request header that selects the tenant explicitly.
+     */
+    private String header = "X-Tenant-Id";
+    /**
+     * How long the restaurant to tenant mapping is cached for.
+     */
+    private Duration cacheTtl = Duration.ofMinutes(5);
+    /**
+     * Maximum number of cached restaurant to tenant mappings.
+     */
+    private int cacheMaxSize = 10000;
+    /**
+     * Tenant ID -> tenant.
+     */
+    private Map<String, Tenant> tenants = new LinkedHashMap<>();
+
+    public String getHeader() {
+        return header;
+    }
+
+    public void setHeader(String header) {
+        this.header = header;
+    }
+
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public void setCacheTtl(Duration cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    public int getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    public void setCacheMaxSize(int cacheMaxSize) {
+        this.cacheMaxSize = cacheMaxSize;
+    }
+
+    public Map<String, Tenant> getTenants() {
+        return tenants;
+    }
+
+    public void setTenants(Map<String, Tenant> tenants) {
+        this.tenants = tenants;
+    }
+}
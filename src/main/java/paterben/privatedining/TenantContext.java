@@ -0,0 +1,62 @@
+package paterben.privatedining;
+
+import java.util.function.Supplier;
+
+/**
+ * Tenant of the current thread, used to pick the MongoDB database.
+ *
+ * Set by {@link TenantInterceptor} for requests and by background jobs that
+ * process each tenant in turn. {@code null} means the shared database.
+ */
+public final class TenantContext {
+    private static final ThreadLocal<String> current = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * @return the tenant ID of the current thread, or {@code null} for the shared
+     *         database.
+     */
+    public static String current() {
+        return current.get();
+    }
+
+    /**
+     * Runs {@code action} with the given tenant as the current tenant, then
+     * restores the previous one.
+     *
+     * @param tenantId the tenant ID, or {@code null} for the shared database.
+     */
+    public static <T> T callAs(String tenantId, Supplier<T> action) {
+        String previous = current.get();
+        set(tenantId);
+        try {
+            return action.get();
+        } finally {
+            set(previous);
+        }
+    }
+
+    /**
+     * Same as {@link #callAs(String, Supplier)}, without a result.
+     */
+    public static void runAs(String tenantId, Runnable action) {
+        callAs(tenantId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    static void set(String tenantId) {
+        if (tenantId == null) {
+            current.remove();
+        } else {
+            current.set(tenantId);
+        }
+    }
+
+    static void clear() {
+        current.remove();
+    }
+}
@@ -0,0 +1,64 @@
+package paterben.privatedining;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import paterben.privatedining.core.model.RestaurantTenant;
+
+/**
+ * Creates the indexes declared on the model classes in every tenant database.
+ * Auto-index creation only covers the shared database.
+ */
+@Component
+// Before the index plan check.
+@Order(-1)
+public class TenantIndexInitializer implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(TenantIndexInitializer.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoMappingContext mappingContext;
+
+    @Autowired
+    private TenancyProperties properties;
+
+    @Value("${spring.data.mongodb.auto-index-creation}")
+    private boolean autoIndexCreation;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!autoIndexCreation) {
+            return;
+        }
+        IndexResolver indexResolver = IndexResolver.create(mappingContext);
+        for (String tenantId : properties.getTenants().keySet()) {
+            TenantContext.runAs(tenantId, () -> {
+                for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+                    // Embedded types have no collection, and the tenant mapping is only in the
+                    // shared database.
+                    if (!entity.isAnnotationPresent(Document.class) || entity.getType() == RestaurantTenant.class) {
+                        continue;
+                    }
+                    for (IndexDefinition index : indexResolver.resolveIndexFor(entity.getType())) {
+                        mongoTemplate.indexOps(entity.getType()).ensureIndex(index);
+                    }
+                }
+            });
+            logger.info("Ensured indexes for tenant {}", tenantId);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package paterben.privatedining;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import paterben.privatedining.service.ServiceException;
+import paterben.privatedining.service.TenantDirectory;
+
+/**
+ * Sets the tenant of each request, from the tenant header if present,
+ * otherwise from the {@code restaurantId} path variable.
+ */
+@Component
+public class TenantInterceptor implements AsyncHandlerInterceptor {
+    @Autowired
+    private TenancyProperties properties;
+
+    @Autowired
+    private TenantDirectory tenantDirectory;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String tenantId = request.getHeader(properties.getHeader());
+        if (StringUtils.hasText(tenantId)) {
+            if (!properties.getTenants().containsKey(tenantId)) {
+                throw new ServiceException("Unknown tenant \"" + tenantId + "\"", HttpStatus.BAD_REQUEST);
+            }
+        } else {
+            @SuppressWarnings("unchecked")
+            Map<String, String> pathVariables = (Map<String, String>) request
+                    .getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+            if (pathVariables != null && pathVariables.containsKey("restaurantId")) {
+                tenantId = tenantDirectory.findTenantOfRestaurant(pathVariables.get("restaurantId"));
+            }
+        }
+        TenantContext.set(tenantId);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        TenantContext.clear();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        TenantContext.clear();
+    }
+}
@@ -0,0 +1,95 @@
+package paterben.privatedining;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.util.StringUtils;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+
+/**
+ * {@link MongoDatabaseFactory} that picks the database of the current tenant
+ * (see {@link TenantContext}), or the shared database if there is none.
+ *
+ * Tenants either get their own database on the main cluster or a dedicated
+ * cluster. Sessions, and therefore transactions, are also taken from the
+ * current tenant's client.
+ */
+public class TenantRoutingMongoDatabaseFactory implements MongoDatabaseFactory, DisposableBean {
+    private final MongoDatabaseFactory sharedFactory;
+
+    private final Map<String, MongoDatabaseFactory> tenantFactories = new HashMap<>();
+
+    // Factories that own their MongoClient and must close it.
+    private final List<SimpleMongoClientDatabaseFactory> ownedFactories = new ArrayList<>();
+
+    public TenantRoutingMongoDatabaseFactory(MongoClient mongoClient, String sharedDatabaseName,
+            TenancyProperties properties) {
+        this.sharedFactory = new SimpleMongoClientDatabaseFactory(mongoClient, sharedDatabaseName);
+        properties.getTenants().forEach((tenantId, tenant) -> {
+            if (StringUtils.hasText(tenant.getUri())) {
+                SimpleMongoClientDatabaseFactory factory = new SimpleMongoClientDatabaseFactory(tenant.getUri());
+                ownedFactories.add(factory);
+                tenantFactories.put(tenantId, factory);
+            } else if (StringUtils.hasText(tenant.getDatabase())) {
+                tenantFactories.put(tenantId, new SimpleMongoClientDatabaseFactory(mongoClient, tenant.getDatabase()));
+            } else {
+                throw new IllegalStateException("Tenant " + tenantId + " needs a database or a uri");
+            }
+        });
+    }
+
+    private MongoDatabaseFactory currentFactory() {
+        String tenantId = TenantContext.current();
+        if (tenantId == null) {
+            return sharedFactory;
+        }
+        MongoDatabaseFactory factory = tenantFactories.get(tenantId);
+        if (factory == null) {
+            throw new IllegalStateException("Unknown tenant " + tenantId);
+        }
+        return factory;
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase() throws DataAccessException {
+        return currentFactory().getMongoDatabase();
+    }
+
+    @Override
+    public MongoDatabase getMongoDatabase(String dbName) throws DataAccessException {
+        return currentFactory().getMongoDatabase(dbName);
+    }
+
+    @Override
+    public PersistenceExceptionTranslator getExceptionTranslator() {
+        return sharedFactory.getExceptionTranslator();
+    }
+
+    @Override
+    public ClientSession getSession(ClientSessionOptions options) {
+        return currentFactory().getSession(options);
+    }
+
+    @Override
+    public MongoDatabaseFactory withSession(ClientSession session) {
+        return currentFactory().withSession(session);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (SimpleMongoClientDatabaseFactory factory : ownedFactories) {
+            factory.destroy();
+        }
+    }
+}
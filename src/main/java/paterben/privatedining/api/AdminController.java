@@ -6,18 +6,17 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletRequest;
-import paterben.privatedining.api.model.ApiErrorInfo;
 import paterben.privatedining.core.model.Diner;
+import paterben.privatedining.core.model.ExportFormat;
 import paterben.privatedining.core.model.Reservation;
 import paterben.privatedining.core.model.Restaurant;
 import paterben.privatedining.core.model.RoomType;
 import paterben.privatedining.core.model.Table;
 import paterben.privatedining.service.AdminService;
 import paterben.privatedining.service.DinerService;
+import paterben.privatedining.service.ReservationExportService;
 import paterben.privatedining.service.ReservationService;
 import paterben.privatedining.service.RestaurantService;
-import paterben.privatedining.service.ServiceException;
 import paterben.privatedining.service.TableService;
 
 import java.time.Clock;
@@ -25,9 +24,14 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @Tag(name = "Admin controller", description = "Convenience admin actions. Not part of the REST API exposed to users.")
@@ -47,6 +51,9 @@ public class AdminController {
     @Autowired
     private ReservationService reservationService;
 
+    @Autowired
+    private ReservationExportService reservationExportService;
+
     @Autowired
     private Clock clock;
 
@@ -59,6 +66,22 @@ public class AdminController {
         adminService.deleteAllData();
     }
 
+    @GetMapping(path = "/admin/exportReservations")
+    @Operation(summary = "Export all reservations", description = "Streams all table reservations, including cancelled ones, as a gzip-compressed NDJSON or CSV file.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+    })
+    public ResponseEntity<StreamingResponseBody> exportReservations(
+            @RequestParam(name = "format", defaultValue = "NDJSON") ExportFormat format) {
+        String filename = "reservations." + format.name().toLowerCase() + ".gz";
+        StreamingResponseBody body = out -> reservationExportService.exportAllReservations(format, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
     @PostMapping(path = "/admin/setupSampleData")
     @Operation(summary = "Setup sample data", description = "Sets up sample restaurants, tables, reservations and diners.")
     @ApiResponses(value = {
@@ -122,11 +145,4 @@ public class AdminController {
         reservationService.createReservationForRestaurantAndTable(restaurant2.getId(), table2_1.getId(),
                 reservation2_1_1);
     }
-
-    @ExceptionHandler(ServiceException.class)
-    public ResponseEntity<ApiErrorInfo> handleError(HttpServletRequest req, ServiceException ex) {
-        ApiErrorInfo info = new ApiErrorInfo();
-        info.setErrorMessage(ex.getLocalizedMessage());
-        return new ResponseEntity<ApiErrorInfo>(info, ex.getHttpStatusCode());
-    }
 }
@@ -0,0 +1,111 @@
+package paterben.privatedining.api;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mongodb.MongoException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import paterben.privatedining.api.model.ApiErrorInfo;
+import paterben.privatedining.service.ServiceException;
+
+/**
+ * Turns errors from all controllers into error responses.
+ *
+ * The body is an {@link ApiErrorInfo}, or an RFC 7807 problem detail if the
+ * client accepts {@code application/problem+json}. Errors caused by contention
+ * or overload carry a {@code Retry-After} header so that clients back off.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+    private static final Logger logger = LoggerFactory.getLogger(ApiExceptionHandler.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Delay suggested to clients after a transaction failed because of a
+    // concurrent write.
+    @Value("${privatedining.errors.conflict-retry-after:1s}")
+    private Duration conflictRetryAfter;
+
+    // Writers are resolved once rather than on each error.
+    private ObjectWriter errorInfoWriter;
+    private ObjectWriter problemDetailWriter;
+
+    @PostConstruct
+    void initWriters() {
+        errorInfoWriter = objectMapper.writerFor(ApiErrorInfo.class);
+        problemDetailWriter = objectMapper.writerFor(ProblemDetail.class);
+    }
+
+    @ExceptionHandler(ServiceException.class)
+    public ResponseEntity<byte[]> handleServiceException(HttpServletRequest req, ServiceException ex) {
+        return buildResponse(req, ex.getHttpStatusCode(), ex.getLocalizedMessage(), ex.getRetryAfter());
+    }
+
+    @ExceptionHandler(DataAccessException.class)
+    public ResponseEntity<byte[]> handleDataAccessException(HttpServletRequest req, DataAccessException ex) {
+        if (isContention(ex)) {
+            return buildResponse(req, HttpStatus.CONFLICT, "Concurrent update, please retry.", conflictRetryAfter);
+        }
+        logger.error("Database error", ex);
+        return buildResponse(req, HttpStatus.INTERNAL_SERVER_ERROR, "Internal database error.", null);
+    }
+
+    private static boolean isContention(DataAccessException ex) {
+        if (ex instanceof ConcurrencyFailureException || ex instanceof TransientDataAccessException) {
+            return true;
+        }
+        // Write conflicts between transactions are labelled as transient by the
+        // driver, whatever Spring translated them to.
+        return ex.getMostSpecificCause() instanceof MongoException mongoException
+                && mongoException.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+    }
+
+    ResponseEntity<byte[]> buildResponse(HttpServletRequest req, HttpStatusCode status, String message,
+            Duration retryAfter) {
+        boolean problemJson = acceptsProblemJson(req);
+        byte[] body;
+        try {
+            if (problemJson) {
+                body = problemDetailWriter.writeValueAsBytes(ProblemDetail.forStatusAndDetail(status, message));
+            } else {
+                ApiErrorInfo info = new ApiErrorInfo();
+                info.setErrorMessage(message);
+                body = errorInfoWriter.writeValueAsBytes(info);
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize error", e);
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status)
+                .contentType(problemJson ? MediaType.APPLICATION_PROBLEM_JSON : MediaType.APPLICATION_JSON);
+        if (retryAfter != null) {
+            builder.header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfter.toSeconds())));
+        }
+        return builder.body(body);
+    }
+
+    private static boolean acceptsProblemJson(HttpServletRequest req) {
+        String accept = req.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.contains(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+    }
+}
@@ -0,0 +1,53 @@
+package paterben.privatedining.api;
+
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import paterben.privatedining.api.conversion.ApiConverter;
+import paterben.privatedining.api.model.ApiRestaurantDailyRollup;
+import paterben.privatedining.core.model.RestaurantDailyRollup;
+import paterben.privatedining.service.RollupService;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@RestController
+@Tag(name = "Dashboard controller", description = "The controller used to view restaurant occupancy and revenue.")
+public class DashboardController {
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private ApiConverter converter;
+
+    @GetMapping(path = "/api/restaurants/{restaurantId}/dashboard")
+    @Operation(summary = "Get restaurant dashboard", description = "Returns daily covers, booked hours and projected minimum spend of the restaurant, in total and per table, for each UTC day between `from` and `to` inclusive that has reservations. Totals are updated asynchronously from reservation events, so they may lag behind by a few seconds.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Restaurant found"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range", content = @Content(schema = @Schema())),
+            @ApiResponse(responseCode = "404", description = "Restaurant not found", content = @Content(schema = @Schema()))
+    })
+    public ResponseEntity<List<ApiRestaurantDailyRollup>> getDashboard(
+            @PathVariable("restaurantId") String restaurantId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        Optional<List<RestaurantDailyRollup>> rollups = rollupService.listDailyRollups(restaurantId, from, to);
+        if (!rollups.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(rollups.get().stream().map(r -> converter.toApi(r)).toList());
+    }
+}
@@ -8,13 +8,10 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletRequest;
 import paterben.privatedining.api.conversion.ApiConverter;
 import paterben.privatedining.api.model.ApiDiner;
-import paterben.privatedining.api.model.ApiErrorInfo;
 import paterben.privatedining.core.model.Diner;
 import paterben.privatedining.service.DinerService;
-import paterben.privatedining.service.ServiceException;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,10 +19,11 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
 @RestController
@@ -74,10 +72,28 @@ public class DinerController {
         return converter.toApi(newDiner);
     }
 
-    @ExceptionHandler(ServiceException.class)
-    public ResponseEntity<ApiErrorInfo> handleError(HttpServletRequest req, ServiceException ex) {
-        ApiErrorInfo info = new ApiErrorInfo();
-        info.setErrorMessage(ex.getLocalizedMessage());
-        return new ResponseEntity<ApiErrorInfo>(info, ex.getHttpStatusCode());
+    @PutMapping(path = "/api/diners/{dinerId}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Update diner", description = "Replaces an existing diner.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Diner updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data", content = @Content(schema = @Schema())),
+            @ApiResponse(responseCode = "404", description = "Diner not found", content = @Content(schema = @Schema())),
+            @ApiResponse(responseCode = "409", description = "Diner with same email already exists", content = @Content(schema = @Schema()))
+    })
+    public ApiDiner updateDiner(@PathVariable("dinerId") String dinerId, @RequestBody ApiDiner apiDiner) {
+        Diner diner = converter.toCore(apiDiner);
+        Diner updatedDiner = dinerService.updateDiner(dinerId, diner);
+        return converter.toApi(updatedDiner);
+    }
+
+    @DeleteMapping(path = "/api/diners/{dinerId}")
+    @Operation(summary = "Delete diner", description = "Deletes a diner. Diners with upcoming reservations can't be deleted. Past and cancelled reservations are kept by the restaurants.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Diner deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Diner not found", content = @Content(schema = @Schema())),
+            @ApiResponse(responseCode = "409", description = "Diner has upcoming reservations", content = @Content(schema = @Schema()))
+    })
+    public void deleteDiner(@PathVariable("dinerId") String dinerId) {
+        dinerService.deleteDiner(dinerId);
     }
 }
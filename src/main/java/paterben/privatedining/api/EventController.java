@@ -0,0 +1,31 @@
+package paterben.privatedining.api;
+
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@RestController
+@Tag(name = "Event controller", description = "The controller used to subscribe to reservation change events.")
+public class EventController {
+    @Autowired
+    private SseReservationEventSink sseReservationEventSink;
+
+    @GetMapping(path = "/api/events/reservations", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to reservation events", description = "Streams reservation change events as server-sent events. Optionally filtered by restaurant.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Subscribed successfully"),
+    })
+    public SseEmitter subscribeToReservationEvents(
+            @RequestParam(name = "restaurantId", required = false) String restaurantId) {
+        return sseReservationEventSink.subscribe(restaurantId);
+    }
+}
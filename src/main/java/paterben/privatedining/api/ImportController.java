@@ -0,0 +1,102 @@
+package paterben.privatedining.api;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import paterben.privatedining.api.conversion.ApiConverter;
+import paterben.privatedining.api.model.ApiImportRecord;
+import paterben.privatedining.api.model.ApiImportResult;
+import paterben.privatedining.core.model.ImportRecord;
+import paterben.privatedining.core.model.ImportResult;
+import paterben.privatedining.service.ImportService;
+
+@RestController
+@Tag(name = "Import controller", description = "The controller used to bulk import restaurants, tables and diners.")
+public class ImportController {
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private ApiConverter converter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // The body is read directly from the request rather than with @RequestBody so
+    // that it is parsed line by line instead of being buffered.
+    @PostMapping(path = "/api/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Bulk import", description = "Creates restaurants, tables and diners from newline-delimited JSON, one `ApiImportRecord` per line. Returns one result per non-empty line, with the status that creating the entity on its own would have returned.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed. Check the per-line results for failures."),
+    })
+    public List<ApiImportResult> importNdjson(HttpServletRequest request) throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        List<ImportResult> results = importService.importRecords(new RecordIterator(reader));
+        return results.stream().map(r -> converter.toApi(r)).toList();
+    }
+
+    // Lazily parses one record per non-empty line.
+    private class RecordIterator implements Iterator<ImportRecord> {
+        private final BufferedReader reader;
+        private int lineNumber = 0;
+        private String nextLine;
+
+        RecordIterator(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (nextLine == null) {
+                    String line = reader.readLine();
+                    if (line == null) {
+                        return false;
+                    }
+                    ++lineNumber;
+                    if (!line.isBlank()) {
+                        nextLine = line;
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public ImportRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String line = nextLine;
+            nextLine = null;
+            try {
+                ApiImportRecord apiRecord = objectMapper.readValue(line, ApiImportRecord.class);
+                return converter.toCore(apiRecord, lineNumber);
+            } catch (JsonProcessingException e) {
+                return ImportRecord.ofParseError(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package paterben.privatedining.api;
 
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -8,26 +9,33 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletRequest;
 import paterben.privatedining.api.conversion.ApiConverter;
-import paterben.privatedining.api.model.ApiErrorInfo;
 import paterben.privatedining.api.model.ApiReservation;
+import paterben.privatedining.api.model.ApiReservationHold;
+import paterben.privatedining.api.model.ApiReservationSeries;
 import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.ReservationHold;
+import paterben.privatedining.core.model.ReservationSeries;
+import paterben.privatedining.core.model.RoomType;
+import paterben.privatedining.service.ReservationAdmissionControl;
 import paterben.privatedining.service.ReservationService;
-import paterben.privatedining.service.ServiceException;
+import paterben.privatedining.service.TableAssignmentService;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @RestController
 @Tag(name = "Reservation controller", description = "The controller used to manage reservations.")
@@ -38,6 +46,15 @@ public class ReservationController {
     @Autowired
     private ApiConverter converter;
 
+    @Autowired
+    private TableScheduleFeed tableScheduleFeed;
+
+    @Autowired
+    private ReservationAdmissionControl admissionControl;
+
+    @Autowired
+    private TableAssignmentService tableAssignmentService;
+
     @GetMapping(path = "/api/restaurants/{restaurantId}/tables/{tableId}/reservations")
     @Operation(summary = "List reservations for table", description = "Returns the list of reservations for the table.")
     @ApiResponses(value = {
@@ -55,6 +72,74 @@ public class ReservationController {
         return ResponseEntity.ok(apiReservations);
     }
 
+    @GetMapping(path = "/api/restaurants/{restaurantId}/tables/{tableId}/reservations", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream reservations for table", description = "Streams the schedule of the table as server-sent events: a `SNAPSHOT` event with all reservations, then one event per created or cancelled reservation.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Table found"),
+            @ApiResponse(responseCode = "404", description = "Table not found", content = @Content(schema = @Schema()))
+    })
+    public ResponseEntity<SseEmitter> streamReservationsForRestaurantAndTable(
+            @PathVariable("restaurantId") String restaurantId, @PathVariable("tableId") String tableId) {
+        Optional<SseEmitter> emitter = tableScheduleFeed.subscribeToTable(restaurantId, tableId);
+        if (!emitter.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(emitter.get());
+    }
+
+    @GetMapping(path = "/api/restaurants/{restaurantId}/reservations")
+    @Operation(summary = "List reservations for restaurant", description = "Returns the reservations of all tables of the restaurant that overlap the time window `[from, to)`, sorted by start time and paginated.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Restaurant found"),
+            @ApiResponse(responseCode = "400", description = "Invalid time window or page", content = @Content(schema = @Schema())),
+            @ApiResponse(responseCode = "404", description = "Restaurant not found", content = @Content(schema = @Schema()))
+    })
+    public ResponseEntity<List<ApiReservation>> listReservationsForRestaurant(
+            @PathVariable("restaurantId") String restaurantId,
+            @RequestParam("from") Instant from, @RequestParam("to") Instant to,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "100") int size) {
+        Optional<List<Reservation>> reservations = reservationService.listReservationsForRestaurant(restaurantId,
+                from, to, page, size);
+        if (!reservations.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        List<ApiReservation> apiReservations = reservations.get().stream().map(t -> converter.toApi(t)).toList();
+        return ResponseEntity.ok(apiReservations);
+    }
+
+    @GetMapping(path = "/api/restaurants/{restaurantId}/reservations", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream reservations for restaurant", description = "Streams the schedules of all tables of the restaurant as server-sent events: a `SNAPSHOT` event with all reservations, then one event per created or cancelled reservation.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Restaurant found"),
+            @ApiResponse(responseCode = "404", description = "Restaurant not found", content = @Content(schema = @Schema()))
+    })
+    public ResponseEntity<SseEmitter> streamReservationsForRestaurant(
+            @PathVariable("restaurantId") String restaurantId) {
+        Optional<SseEmitter> emitter = tableScheduleFeed.subscribeToRestaurant(restaurantId);
+        if (!emitter.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(emitter.get());
+    }
+
+    @GetMapping(path = "/api/restaurants/{restaurantId}/tables/{tableId}/availability")
+    @Operation(summary = "List free slots for table", description = "Returns the start times of the free 15-minute slots of the table on the given UTC day.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Table found"),
+            @ApiResponse(responseCode = "404", description = "Table not found", content = @Content(schema = @Schema()))
+    })
+    public ResponseEntity<List<Instant>> listFreeSlotsForRestaurantAndTable(
+            @PathVariable("restaurantId") String restaurantId, @PathVariable("tableId") String tableId,
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        Optional<List<Instant>> freeSlots = reservationService.listFreeSlotsForRestaurantAndTable(restaurantId,
+                tableId, date);
+        if (!freeSlots.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(freeSlots.get());
+    }
+
     @GetMapping(path = "/api/restaurants/{restaurantId}/tables/{tableId}/reservations/{reservationId}")
     @Operation(summary = "Get reservation for table by ID", description = "Returns the specific reservation info.")
     @ApiResponses(value = {
@@ -78,22 +163,110 @@ public class ReservationController {
             @ApiResponse(responseCode = "200", description = "Reservation created successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid request data", content = @Content(schema = @Schema())),
             @ApiResponse(responseCode = "409", description = "Reservation schedule conflict"),
-
+            @ApiResponse(responseCode = "503", description = "Too many concurrent reservation requests for the table or restaurant, retry after `Retry-After` seconds"),
     })
     public ApiReservation createReservationForRestaurantAndTable(@PathVariable("restaurantId") String restaurantId,
             @PathVariable("tableId") String tableId,
             @RequestBody ApiReservation apiReservation) {
         Reservation reservation = converter.toCore(apiReservation);
-        Reservation newReservation = reservationService.createReservationForRestaurantAndTable(restaurantId, tableId,
+        // Admission control runs before the transaction starts, so rejected requests
+        // cost no database work.
+        Reservation newReservation = admissionControl.admit(restaurantId, tableId,
+                () -> reservationService.createReservationForRestaurantAndTable(restaurantId, tableId, reservation));
+        return converter.toApi(newReservation);
+    }
+
+    @PostMapping(path = "/api/restaurants/{restaurantId}/reservations:autoAssign", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create new reservation on any table", description = "Creates a new reservation on the best-fitting free table of the restaurant: the smallest one that seats the guests, then the one with the lowest minimum spend. Optionally restricted to a room type.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reservation created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data", content = @Content(schema = @Schema())),
+            @ApiResponse(responseCode = "404", description = "Restaurant or diner not found", content = @Content(schema = @Schema())),
+            @ApiResponse(responseCode = "409", description = "No table fits or is free at that time"),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent reservation requests for the fitting tables or restaurant, retry after `Retry-After` seconds"),
+    })
+    public ApiReservation autoAssignReservationForRestaurant(@PathVariable("restaurantId") String restaurantId,
+            @RequestParam(name = "roomType", required = false) RoomType roomType,
+            @RequestBody ApiReservation apiReservation) {
+        Reservation reservation = converter.toCore(apiReservation);
+        Reservation newReservation = tableAssignmentService.autoAssignReservationForRestaurant(restaurantId, roomType,
                 reservation);
         return converter.toApi(newReservation);
     }
 
+    @GetMapping(path = "/api/restaurants/{restaurantId}/tables/{tableId}/series")
+    @Operation(summary = "List reservation series for table", description = "Returns the list of recurring reservations of the table. Their occurrences are included in the restaurant reservation listing and in the availability of the table.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Table found"),
+            @ApiResponse(responseCode = "404", description = "Table not found", content = @Content(schema = @Schema()))
+    })
+    public ResponseEntity<List<ApiReservationSeries>> listSeriesForRestaurantAndTable(
+            @PathVariable("restaurantId") String restaurantId, @PathVariable("tableId") String tableId) {
+        Optional<List<ReservationSeries>> series = reservationService.listSeriesForRestaurantAndTable(restaurantId,
+                tableId);
+        if (!series.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        List<ApiReservationSeries> apiSeries = series.get().stream().map(s -> converter.toApi(s)).toList();
+        return ResponseEntity.ok(apiSeries);
+    }
+
+    @PostMapping(path = "/api/restaurants/{restaurantId}/tables/{tableId}/series", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create new reservation series", description = "Creates a recurring reservation for a table, e.g. every Tuesday for a year. All occurrences are checked against the schedule of the table at once.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reservation series created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data", content = @Content(schema = @Schema())),
+            @ApiResponse(responseCode = "404", description = "Table or diner not found", content = @Content(schema = @Schema())),
+            @ApiResponse(responseCode = "409", description = "Reservation schedule conflict"),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent reservation requests for the table or restaurant, retry after `Retry-After` seconds"),
+    })
+    public ApiReservationSeries createSeriesForRestaurantAndTable(@PathVariable("restaurantId") String restaurantId,
+            @PathVariable("tableId") String tableId,
+            @RequestBody ApiReservationSeries apiSeries) {
+        ReservationSeries series = converter.toCore(apiSeries);
+        ReservationSeries newSeries = admissionControl.admit(restaurantId, tableId,
+                () -> reservationService.createSeriesForRestaurantAndTable(restaurantId, tableId, series));
+        return converter.toApi(newSeries);
+    }
+
+    @PostMapping(path = "/api/restaurants/{restaurantId}/tables/{tableId}/holds", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Hold a reservation slot", description = "Holds the time slot of a reservation for a few minutes without creating it, e.g. during payment. The hold blocks conflicting reservations and holds until it expires or is confirmed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hold created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data", content = @Content(schema = @Schema())),
+            @ApiResponse(responseCode = "404", description = "Table or diner not found", content = @Content(schema = @Schema())),
+            @ApiResponse(responseCode = "409", description = "Reservation schedule conflict"),
+    })
+    public ApiReservationHold createHoldForRestaurantAndTable(@PathVariable("restaurantId") String restaurantId,
+            @PathVariable("tableId") String tableId,
+            @RequestBody ApiReservation apiReservation) {
+        Reservation reservation = converter.toCore(apiReservation);
+        ReservationHold hold = reservationService.createHoldForRestaurantAndTable(restaurantId, tableId, reservation);
+        return converter.toApi(hold);
+    }
+
+    @PostMapping(path = "/api/restaurants/{restaurantId}/tables/{tableId}/holds/{holdId}/confirm", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Confirm a hold", description = "Creates the reservation of an unexpired hold and releases the hold.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reservation created successfully"),
+            @ApiResponse(responseCode = "404", description = "Hold not found or expired", content = @Content(schema = @Schema())),
+            @ApiResponse(responseCode = "409", description = "Reservation schedule conflict"),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent reservation requests for the table or restaurant, retry after `Retry-After` seconds"),
+    })
+    public ApiReservation confirmHoldForRestaurantAndTable(@PathVariable("restaurantId") String restaurantId,
+            @PathVariable("tableId") String tableId, @PathVariable("holdId") String holdId) {
+        Reservation newReservation = admissionControl.admit(restaurantId, tableId,
+                () -> reservationService.confirmHoldForRestaurantAndTable(restaurantId, tableId, holdId));
+        return converter.toApi(newReservation);
+    }
+
     @PatchMapping(path = "/api/restaurants/{restaurantId}/tables/{tableId}/reservations/{reservationId}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    @Operation(summary = "Update a reservation", description = "Updates an existing reservation. Currently only cancellation is supported by setting `isCancelled` to true.")
+    @Operation(summary = "Update a reservation", description = "Updates an existing reservation. Set `isCancelled` to true to cancel it, or set any of `reservationStart`, `reservationEnd`, `numGuests` and `tableId` to reschedule, resize or move it to another table of the restaurant in a single atomic update.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Reservation updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid request data", content = @Content(schema = @Schema())),
+            @ApiResponse(responseCode = "404", description = "Restaurant, table or reservation not found", content = @Content(schema = @Schema())),
+            @ApiResponse(responseCode = "409", description = "Modified reservation conflicts with the schedule or doesn't fit the table", content = @Content(schema = @Schema())),
             @ApiResponse(responseCode = "412", description = "Reservation cannot be updated, e.g. already cancelled."),
 
     })
@@ -137,11 +310,4 @@ public class ReservationController {
         }
         return ResponseEntity.ok(converter.toApi(reservation.get()));
     }
-
-    @ExceptionHandler(ServiceException.class)
-    public ResponseEntity<ApiErrorInfo> handleError(HttpServletRequest req, ServiceException ex) {
-        ApiErrorInfo info = new ApiErrorInfo();
-        info.setErrorMessage(ex.getLocalizedMessage());
-        return new ResponseEntity<ApiErrorInfo>(info, ex.getHttpStatusCode());
-    }
 }
@@ -8,13 +8,10 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletRequest;
 import paterben.privatedining.api.conversion.ApiConverter;
-import paterben.privatedining.api.model.ApiErrorInfo;
 import paterben.privatedining.api.model.ApiRestaurant;
 import paterben.privatedining.core.model.Restaurant;
 import paterben.privatedining.service.RestaurantService;
-import paterben.privatedining.service.ServiceException;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,10 +19,11 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
 @RestController
@@ -74,10 +72,28 @@ public class RestaurantController {
         return converter.toApi(newRestaurant);
     }
 
-    @ExceptionHandler(ServiceException.class)
-    public ResponseEntity<ApiErrorInfo> handleError(HttpServletRequest req, ServiceException ex) {
-        ApiErrorInfo info = new ApiErrorInfo();
-        info.setErrorMessage(ex.getLocalizedMessage());
-        return new ResponseEntity<ApiErrorInfo>(info, ex.getHttpStatusCode());
+    @PutMapping(path = "/api/restaurants/{restaurantId}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Update restaurant", description = "Replaces an existing restaurant. Tables without opening hours of their own follow the restaurant's new opening hours. Existing reservations are kept.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Restaurant updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data", content = @Content(schema = @Schema())),
+            @ApiResponse(responseCode = "404", description = "Restaurant not found", content = @Content(schema = @Schema())),
+            @ApiResponse(responseCode = "409", description = "Restaurant with same email already exists", content = @Content(schema = @Schema()))
+    })
+    public ApiRestaurant updateRestaurant(@PathVariable("restaurantId") String restaurantId,
+            @RequestBody ApiRestaurant apiRestaurant) {
+        Restaurant restaurant = converter.toCore(apiRestaurant);
+        Restaurant updatedRestaurant = restaurantService.updateRestaurant(restaurantId, restaurant);
+        return converter.toApi(updatedRestaurant);
+    }
+
+    @DeleteMapping(path = "/api/restaurants/{restaurantId}")
+    @Operation(summary = "Delete restaurant", description = "Deletes a restaurant and its tables. Their reservations are deleted in the background, including from the diners' reservations.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Restaurant deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Restaurant not found", content = @Content(schema = @Schema()))
+    })
+    public void deleteRestaurant(@PathVariable("restaurantId") String restaurantId) {
+        restaurantService.deleteRestaurant(restaurantId);
     }
 }
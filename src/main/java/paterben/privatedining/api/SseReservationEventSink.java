@@ -0,0 +1,80 @@
+package paterben.privatedining.api;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import paterben.privatedining.api.conversion.ApiConverter;
+import paterben.privatedining.api.model.ApiReservationEvent;
+import paterben.privatedining.core.model.OutboxEvent;
+import paterben.privatedining.service.ReservationEventSink;
+
+/**
+ * Pushes reservation events to clients connected to the server-sent events
+ * endpoint in {@link EventController}.
+ */
+@Component
+public class SseReservationEventSink implements ReservationEventSink {
+
+    @Autowired
+    private ApiConverter converter;
+
+    @Value("${privatedining.outbox.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registers a new subscriber.
+     *
+     * @param restaurantId if set, only events for this restaurant are sent to the
+     *                     subscriber.
+     * @return the emitter to return from the controller.
+     */
+    public SseEmitter subscribe(String restaurantId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, restaurantId);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        return emitter;
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        for (OutboxEvent event : events) {
+            // Only convert the event once, whatever the number of subscribers.
+            ApiReservationEvent apiEvent = converter.toApi(event);
+            String restaurantId = event.getReservation().getRestaurantId();
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.restaurantId() != null && !subscriber.restaurantId().equals(restaurantId)) {
+                    continue;
+                }
+                try {
+                    subscriber.emitter().send(SseEmitter.event()
+                            .id(event.getId())
+                            .name(event.getType().name())
+                            .data(apiEvent, MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away. A failing subscriber must not fail the batch for
+                    // the other sinks, so it is dropped rather than rethrowing.
+                    subscribers.remove(subscriber);
+                    subscriber.emitter().completeWithError(e);
+                }
+            }
+        }
+    }
+
+    private record Subscriber(SseEmitter emitter, String restaurantId) {
+    }
+}
@@ -8,12 +8,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletRequest;
 import paterben.privatedining.api.conversion.ApiConverter;
-import paterben.privatedining.api.model.ApiErrorInfo;
 import paterben.privatedining.api.model.ApiTable;
 import paterben.privatedining.core.model.Table;
-import paterben.privatedining.service.ServiceException;
 import paterben.privatedining.service.TableService;
 
 import java.util.List;
@@ -22,10 +19,11 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
 @RestController
@@ -82,10 +80,29 @@ public class TableController {
         return converter.toApi(newTable);
     }
 
-    @ExceptionHandler(ServiceException.class)
-    public ResponseEntity<ApiErrorInfo> handleError(HttpServletRequest req, ServiceException ex) {
-        ApiErrorInfo info = new ApiErrorInfo();
-        info.setErrorMessage(ex.getLocalizedMessage());
-        return new ResponseEntity<ApiErrorInfo>(info, ex.getHttpStatusCode());
+    @PutMapping(path = "/api/restaurants/{restaurantId}/tables/{tableId}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Update table", description = "Replaces an existing table of a restaurant. Existing reservations are kept, even if they no longer fit the table.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Table updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data", content = @Content(schema = @Schema())),
+            @ApiResponse(responseCode = "404", description = "Restaurant or table not found", content = @Content(schema = @Schema())),
+            @ApiResponse(responseCode = "409", description = "Table with same name already exists", content = @Content(schema = @Schema()))
+    })
+    public ApiTable updateTableForRestaurant(@PathVariable("restaurantId") String restaurantId,
+            @PathVariable("tableId") String tableId, @RequestBody ApiTable apiTable) {
+        Table table = converter.toCore(apiTable);
+        Table updatedTable = tableService.updateTableForRestaurant(restaurantId, tableId, table);
+        return converter.toApi(updatedTable);
+    }
+
+    @DeleteMapping(path = "/api/restaurants/{restaurantId}/tables/{tableId}")
+    @Operation(summary = "Delete table", description = "Deletes a table from a restaurant. Its reservations are deleted in the background, including from the diners' reservations.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Table deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Restaurant or table not found", content = @Content(schema = @Schema()))
+    })
+    public void deleteTableFromRestaurant(@PathVariable("restaurantId") String restaurantId,
+            @PathVariable("tableId") String tableId) {
+        tableService.deleteTableFromRestaurant(restaurantId, tableId);
     }
 }
@@ -0,0 +1,353 @@
+package paterben.privatedining.api;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListener;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Subscription;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+
+import jakarta.annotation.PreDestroy;
+import paterben.privatedining.api.conversion.ApiConverter;
+import paterben.privatedining.api.model.ApiReservation;
+import paterben.privatedining.core.ReservationStates;
+import paterben.privatedining.core.model.TableReservations;
+import paterben.privatedining.repository.RestaurantTablesRepository;
+import paterben.privatedining.repository.TableReservationsRepository;
+import paterben.privatedining.service.CompanionDocuments;
+import paterben.privatedining.service.ServiceException;
+
+/**
+ * Live feed of table schedules over server-sent events.
+ *
+ * Subscribers first receive a {@code SNAPSHOT} event with all reservations,
+ * then one {@code RESERVATION_CREATED} / {@code RESERVATION_CANCELLED} /
+ * {@code RESERVATION_UPDATED} / {@code RESERVATION_REMOVED} event per change.
+ * Changes are detected by a single MongoDB change stream on the
+ * {@code tableReservations} collection, which only runs while there are
+ * subscribers and only matches the tables of their restaurants. Deltas may be
+ * repeated if a change races with a new subscription, so clients should apply
+ * them idempotently by table and reservation ID. A reservation moved to another table is reported as
+ * removed from the old table, with the old table ID, and as created on the new
+ * one, in either order.
+ *
+ * Events are queued per subscriber and sent from a separate executor, so that a
+ * slow client delays neither the change stream nor the other subscribers. A
+ * client that falls too far behind is disconnected, and gets a new snapshot
+ * when it reconnects.
+ */
+@Component
+public class TableScheduleFeed implements MessageListener<ChangeStreamDocument<Document>, TableReservations> {
+    private static final Logger logger = LoggerFactory.getLogger(TableScheduleFeed.class);
+
+    @Autowired
+    private MessageListenerContainer messageListenerContainer;
+
+    @Autowired
+    private TableReservationsRepository tableReservationsRepository;
+
+    @Autowired
+    private RestaurantTablesRepository restaurantTablesRepository;
+
+    @Autowired
+    private CompanionDocuments companionDocuments;
+
+    @Autowired
+    private ApiConverter converter;
+
+    @Value("${privatedining.schedule-feed.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${privatedining.schedule-feed.max-queued-events:1000}")
+    private int maxQueuedEvents;
+
+    @Value("${privatedining.schedule-feed.change-stream-start-timeout:5s}")
+    private Duration changeStreamStartTimeout;
+
+    // Sends are blocking, so each subscriber's queue is drained by a task of its
+    // own.
+    private Executor sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    // Table ID -> reservation states last sent to subscribers. Only kept for tables
+    // that have subscribers. Each instance is only locked while it is updated.
+    private final Map<String, ReservationStates> statesByTableId = new ConcurrentHashMap<>();
+
+    // The change stream, and the restaurants it matches. Null while there are no
+    // subscribers. Guarded by this.
+    private Subscription changeStream;
+    private Set<String> changeStreamRestaurantIds = Collections.emptySet();
+
+    @PreDestroy
+    void shutdown() {
+        if (sendExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Subscribes to the schedule of a single table.
+     *
+     * @return the emitter, or an empty {@link Optional} if the restaurant or table
+     *         does not exist.
+     */
+    public Optional<SseEmitter> subscribeToTable(String restaurantId, String tableId) {
+        // Registered before the snapshot is read, so that no change is missed. Changes
+        // are queued until the snapshot is sent.
+        Subscriber subscriber = register(restaurantId, tableId);
+        Optional<TableReservations> tableReservations = tableReservationsRepository.findByIdAndRestaurantId(tableId,
+                restaurantId);
+        if (tableReservations.isEmpty() || !restaurantId.equals(tableReservations.get().getRestaurantId())) {
+            unregister(subscriber);
+            return Optional.empty();
+        }
+        start(subscriber, Collections.singletonList(tableReservations.get()));
+        return Optional.of(subscriber.emitter());
+    }
+
+    /**
+     * Subscribes to the schedules of all tables of a restaurant, including tables
+     * added later.
+     *
+     * @return the emitter, or an empty {@link Optional} if the restaurant does not
+     *         exist.
+     */
+    public Optional<SseEmitter> subscribeToRestaurant(String restaurantId) {
+        if (!restaurantTablesRepository.existsById(restaurantId)
+                && !companionDocuments.ensureRestaurantTables(restaurantId)) {
+            return Optional.empty();
+        }
+        Subscriber subscriber = register(restaurantId, null);
+        start(subscriber, tableReservationsRepository.findByRestaurantId(restaurantId));
+        return Optional.of(subscriber.emitter());
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private Subscriber register(String restaurantId, String tableId) {
+        SseEmitter emitter = createEmitter();
+        Subscriber subscriber = new Subscriber(emitter, restaurantId, tableId);
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(e -> unregister(subscriber));
+        synchronized (this) {
+            subscribers.add(subscriber);
+            if (!changeStreamRestaurantIds.contains(restaurantId)) {
+                try {
+                    restartChangeStream();
+                } catch (RuntimeException e) {
+                    subscribers.remove(subscriber);
+                    throw e;
+                }
+            }
+        }
+        return subscriber;
+    }
+
+    private void unregister(Subscriber subscriber) {
+        synchronized (this) {
+            // The change stream is only narrowed down when it is restarted for a new
+            // restaurant, rather than on every unsubscription.
+            if (subscribers.remove(subscriber) && subscribers.isEmpty() && changeStream != null) {
+                messageListenerContainer.remove(changeStream);
+                changeStream = null;
+                changeStreamRestaurantIds = Collections.emptySet();
+                statesByTableId.clear();
+            }
+        }
+    }
+
+    // Starts a change stream matching the restaurants of all subscribers, then
+    // stops the previous one. The new stream is running before the snapshot of
+    // the new subscriber is read, so that no change is missed. Changes seen by
+    // both streams in the meantime are deduplicated by the reservation states.
+    private void restartChangeStream() {
+        Set<String> restaurantIds = new HashSet<>();
+        subscribers.forEach(s -> restaurantIds.add(s.restaurantId));
+        ChangeStreamRequest<TableReservations> request = ChangeStreamRequest.builder(this)
+                .collection("tableReservations")
+                .filter(Aggregation.newAggregation(
+                        Aggregation.match(Criteria.where("operationType").in("insert", "update", "replace")
+                                .and("fullDocument.restaurantId").in(restaurantIds))))
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP)
+                .build();
+        Subscription subscription = messageListenerContainer.register(request, TableReservations.class,
+                e -> logger.warn("Error in tableReservations change stream", e));
+        boolean active;
+        try {
+            active = subscription.await(changeStreamStartTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            active = false;
+        }
+        if (!active) {
+            messageListenerContainer.remove(subscription);
+            throw new ServiceException("Schedule feed is not available, please retry.",
+                    HttpStatus.SERVICE_UNAVAILABLE, Duration.ofSeconds(1));
+        }
+        if (changeStream != null) {
+            messageListenerContainer.remove(changeStream);
+        }
+        changeStream = subscription;
+        changeStreamRestaurantIds = restaurantIds;
+    }
+
+    private void start(Subscriber subscriber, List<TableReservations> snapshot) {
+        List<ApiReservation> apiReservations = new ArrayList<>();
+        for (TableReservations tr : snapshot) {
+            // Keep existing states so that current subscribers don't miss changes.
+            statesByTableId.computeIfAbsent(tr.getId(), id -> new ReservationStates(tr.getReservations()));
+            tr.getReservations().forEach(r -> apiReservations.add(converter.toApi(r)));
+        }
+        subscriber.start(SseEmitter.event().name("SNAPSHOT").data(apiReservations, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void onMessage(Message<ChangeStreamDocument<Document>, TableReservations> message) {
+        TableReservations tableReservations = message.getBody();
+        if (tableReservations == null) {
+            return;
+        }
+        List<Subscriber> interested = subscribers.stream().filter(s -> s.isInterestedIn(tableReservations))
+                .toList();
+        if (interested.isEmpty()) {
+            statesByTableId.remove(tableReservations.getId());
+            return;
+        }
+
+        // A table without state is new for all subscribers, so all its reservations
+        // are reported as created.
+        ReservationStates states = statesByTableId.computeIfAbsent(tableReservations.getId(),
+                id -> new ReservationStates(Collections.emptyList()));
+        List<ReservationStates.Change> changes;
+        synchronized (states) {
+            changes = states.update(tableReservations.getReservations());
+        }
+        for (ReservationStates.Change change : changes) {
+            ApiReservation apiReservation = converter.toApi(change.reservation());
+            for (Subscriber subscriber : interested) {
+                subscriber.enqueue(SseEmitter.event()
+                        .id(apiReservation.getId())
+                        .name(change.type().name())
+                        .data(apiReservation, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    private class Subscriber {
+        private final SseEmitter emitter;
+        private final String restaurantId;
+        private final String tableId;
+        private final BlockingDeque<SseEventBuilder> queue = new LinkedBlockingDeque<>(maxQueuedEvents);
+        // Set while a task is draining the queue, so that events are sent in order.
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean started;
+
+        Subscriber(SseEmitter emitter, String restaurantId, String tableId) {
+            this.emitter = emitter;
+            this.restaurantId = restaurantId;
+            this.tableId = tableId;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        boolean isInterestedIn(TableReservations tableReservations) {
+            if (tableId != null) {
+                return tableId.equals(tableReservations.getId());
+            }
+            return restaurantId.equals(tableReservations.getRestaurantId());
+        }
+
+        /**
+         * Sends the snapshot ahead of the changes queued so far, then the changes.
+         */
+        void start(SseEventBuilder snapshot) {
+            if (!queue.offerFirst(snapshot)) {
+                disconnect();
+                return;
+            }
+            started = true;
+            drainLater();
+        }
+
+        void enqueue(SseEventBuilder event) {
+            if (!queue.offerLast(event)) {
+                logger.info("Schedule feed subscriber fell behind by {} events, disconnecting", maxQueuedEvents);
+                disconnect();
+                return;
+            }
+            drainLater();
+        }
+
+        private void drainLater() {
+            if (started && draining.compareAndSet(false, true)) {
+                sendExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            SseEventBuilder event;
+            while ((event = queue.poll()) != null) {
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away. The queue is left in the draining state, so
+                    // nothing is sent to it anymore.
+                    unregister(this);
+                    queue.clear();
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+            draining.set(false);
+            // An event may have been queued after the last poll, before the flag was
+            // cleared.
+            if (!queue.isEmpty()) {
+                drainLater();
+            }
+        }
+
+        private void disconnect() {
+            unregister(this);
+            queue.clear();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package paterben.privatedining.api;
+
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import paterben.privatedining.api.conversion.ApiConverter;
+import paterben.privatedining.api.model.ApiWaitlistEntry;
+import paterben.privatedining.core.model.WaitlistEntry;
+import paterben.privatedining.service.WaitlistService;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+@RestController
+@Tag(name = "Waitlist controller", description = "The controller used to manage table waitlists.")
+public class WaitlistController {
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private ApiConverter converter;
+
+    @GetMapping(path = "/api/restaurants/{restaurantId}/tables/{tableId}/waitlist")
+    @Operation(summary = "List waitlist for table", description = "Returns the waitlist of the table, in priority order.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Table found"),
+            @ApiResponse(responseCode = "404", description = "Table not found", content = @Content(schema = @Schema()))
+    })
+    public ResponseEntity<List<ApiWaitlistEntry>> listWaitlistForRestaurantAndTable(
+            @PathVariable("restaurantId") String restaurantId, @PathVariable("tableId") String tableId) {
+        Optional<List<WaitlistEntry>> entries = waitlistService.listWaitlistForRestaurantAndTable(restaurantId,
+                tableId);
+        if (!entries.isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        List<ApiWaitlistEntry> apiEntries = entries.get().stream().map(e -> converter.toApi(e)).toList();
+        return ResponseEntity.ok(apiEntries);
+    }
+
+    @PostMapping(path = "/api/restaurants/{restaurantId}/tables/{tableId}/waitlist", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Join waitlist", description = "Adds a request to the waitlist of the table. When a conflicting reservation is cancelled, the first waitlisted request that fits the freed slot is booked automatically.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Entry created successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data", content = @Content(schema = @Schema())),
+            @ApiResponse(responseCode = "404", description = "Table or diner not found", content = @Content(schema = @Schema())),
+            @ApiResponse(responseCode = "409", description = "Number of guests doesn't fit the table"),
+    })
+    public ApiWaitlistEntry addToWaitlistForRestaurantAndTable(@PathVariable("restaurantId") String restaurantId,
+            @PathVariable("tableId") String tableId,
+            @RequestBody ApiWaitlistEntry apiEntry) {
+        WaitlistEntry entry = converter.toCore(apiEntry);
+        WaitlistEntry newEntry = waitlistService.addToWaitlistForRestaurantAndTable(restaurantId, tableId, entry);
+        return converter.toApi(newEntry);
+    }
+}
@@ -1,16 +1,36 @@
 package paterben.privatedining.api.conversion;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 import paterben.privatedining.api.model.ApiDiner;
+import paterben.privatedining.api.model.ApiImportRecord;
+import paterben.privatedining.api.model.ApiImportResult;
 import paterben.privatedining.api.model.ApiReservation;
+import paterben.privatedining.api.model.ApiReservationEvent;
+import paterben.privatedining.api.model.ApiReservationHold;
+import paterben.privatedining.api.model.ApiReservationSeries;
 import paterben.privatedining.api.model.ApiRestaurant;
+import paterben.privatedining.api.model.ApiRestaurantDailyRollup;
 import paterben.privatedining.api.model.ApiTable;
+import paterben.privatedining.api.model.ApiTableDailyRollup;
+import paterben.privatedining.api.model.ApiWaitlistEntry;
 import paterben.privatedining.core.model.Diner;
+import paterben.privatedining.core.model.ImportRecord;
+import paterben.privatedining.core.model.ImportResult;
+import paterben.privatedining.core.model.OutboxEvent;
 import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.ReservationHold;
+import paterben.privatedining.core.model.ReservationSeries;
 import paterben.privatedining.core.model.Restaurant;
+import paterben.privatedining.core.model.RestaurantDailyRollup;
 import paterben.privatedining.core.model.Table;
+import paterben.privatedining.core.model.TableDailyRollup;
+import paterben.privatedining.core.model.WaitlistEntry;
 
 @Component
 public class ApiConverter {
@@ -59,4 +79,95 @@ public class ApiConverter {
         ApiReservation apiReservation = this.modelMapper.map(reservation, ApiReservation.class);
         return apiReservation;
     }
+
+    public ReservationSeries toCore(ApiReservationSeries apiSeries) {
+        ReservationSeries series = this.modelMapper.map(apiSeries, ReservationSeries.class);
+        return series;
+    }
+
+    public ApiReservationSeries toApi(ReservationSeries series) {
+        ApiReservationSeries apiSeries = this.modelMapper.map(series, ApiReservationSeries.class);
+        return apiSeries;
+    }
+
+    public ApiReservationHold toApi(ReservationHold hold) {
+        ApiReservationHold apiHold = this.modelMapper.map(hold, ApiReservationHold.class);
+        return apiHold;
+    }
+
+    public WaitlistEntry toCore(ApiWaitlistEntry apiEntry) {
+        WaitlistEntry entry = this.modelMapper.map(apiEntry, WaitlistEntry.class);
+        return entry;
+    }
+
+    public ApiWaitlistEntry toApi(WaitlistEntry entry) {
+        ApiWaitlistEntry apiEntry = this.modelMapper.map(entry, ApiWaitlistEntry.class);
+        return apiEntry;
+    }
+
+    public ApiReservationEvent toApi(OutboxEvent event) {
+        ApiReservationEvent apiEvent = new ApiReservationEvent(event.getId(), event.getType(),
+                toApi(event.getReservation()), event.getCreatedAt());
+        return apiEvent;
+    }
+
+    public ImportRecord toCore(ApiImportRecord apiRecord, int lineNumber) {
+        if (apiRecord.getType() == null) {
+            return ImportRecord.ofParseError(lineNumber, "`type` is required.");
+        }
+        switch (apiRecord.getType()) {
+            case RESTAURANT:
+                if (apiRecord.getRestaurant() == null) {
+                    return ImportRecord.ofParseError(lineNumber, "`restaurant` is required for RESTAURANT records.");
+                }
+                return ImportRecord.ofRestaurant(lineNumber, toCore(apiRecord.getRestaurant()));
+            case TABLE:
+                if (apiRecord.getTable() == null) {
+                    return ImportRecord.ofParseError(lineNumber, "`table` is required for TABLE records.");
+                }
+                if (apiRecord.getRestaurantId() == null && apiRecord.getRestaurantEmail() == null) {
+                    return ImportRecord.ofParseError(lineNumber,
+                            "`restaurantId` or `restaurantEmail` is required for TABLE records.");
+                }
+                return ImportRecord.ofTable(lineNumber, apiRecord.getRestaurantId(), apiRecord.getRestaurantEmail(),
+                        toCore(apiRecord.getTable()));
+            default:
+                if (apiRecord.getDiner() == null) {
+                    return ImportRecord.ofParseError(lineNumber, "`diner` is required for DINER records.");
+                }
+                return ImportRecord.ofDiner(lineNumber, toCore(apiRecord.getDiner()));
+        }
+    }
+
+    public ApiImportResult toApi(ImportResult result) {
+        ApiImportResult apiResult = this.modelMapper.map(result, ApiImportResult.class);
+        return apiResult;
+    }
+
+    public ApiRestaurantDailyRollup toApi(RestaurantDailyRollup rollup) {
+        ApiRestaurantDailyRollup apiRollup = new ApiRestaurantDailyRollup();
+        apiRollup.setDay(LocalDate.parse(rollup.getDay()));
+        apiRollup.setReservations(rollup.getReservations());
+        apiRollup.setCovers(rollup.getCovers());
+        apiRollup.setBookedHours(rollup.getBookedMinutes() / 60.0);
+        apiRollup.setMinSpend(rollup.getMinSpend());
+        List<ApiTableDailyRollup> apiTables = new ArrayList<>();
+        if (rollup.getTables() != null) {
+            rollup.getTables().forEach((tableId, t) -> apiTables.add(toApi(tableId, t)));
+        }
+        apiRollup.setTables(apiTables);
+        return apiRollup;
+    }
+
+    public ApiTableDailyRollup toApi(String tableId, TableDailyRollup rollup) {
+        ApiTableDailyRollup apiRollup = new ApiTableDailyRollup();
+        apiRollup.setTableId(tableId);
+        apiRollup.setTableName(rollup.getTableName());
+        apiRollup.setRoomType(rollup.getRoomType());
+        apiRollup.setReservations(rollup.getReservations());
+        apiRollup.setCovers(rollup.getCovers());
+        apiRollup.setBookedHours(rollup.getBookedMinutes() / 60.0);
+        apiRollup.setMinSpend(rollup.getMinSpend());
+        return apiRollup;
+    }
 }
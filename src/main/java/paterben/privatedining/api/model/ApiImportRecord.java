@@ -0,0 +1,78 @@
+package paterben.privatedining.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import paterben.privatedining.core.model.ImportRecordType;
+
+@Schema(description = "A single line of a bulk import.")
+public class ApiImportRecord {
+    @Schema(description = "Type of the record. Required.")
+    private ImportRecordType type;
+    @Schema(description = "Restaurant to create. Required for records of type RESTAURANT.")
+    private ApiRestaurant restaurant;
+    @Schema(description = "Table to create. Required for records of type TABLE.")
+    private ApiTable table;
+    @Schema(description = "Diner to create. Required for records of type DINER.")
+    private ApiDiner diner;
+    @Schema(description = "ID of the restaurant to add the table to. For records of type TABLE, either this or `restaurantEmail` is required.")
+    private String restaurantId;
+    @Schema(description = "Email of the restaurant to add the table to, which may be created earlier in the same import. For records of type TABLE, either this or `restaurantId` is required.")
+    private String restaurantEmail;
+
+    public ImportRecordType getType() {
+        return type;
+    }
+
+    public void setType(ImportRecordType type) {
+        this.type = type;
+    }
+
+    public ApiRestaurant getRestaurant() {
+        return restaurant;
+    }
+
+    public void setRestaurant(ApiRestaurant restaurant) {
+        this.restaurant = restaurant;
+    }
+
+    public ApiTable getTable() {
+        return table;
+    }
+
+    public void setTable(ApiTable table) {
+        this.table = table;
+    }
+
+    public ApiDiner getDiner() {
+        return diner;
+    }
+
+    public void setDiner(ApiDiner diner) {
+        this.diner = diner;
+    }
+
+    public String getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(String restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public String getRestaurantEmail() {
+        return restaurantEmail;
+    }
+
+    public void setRestaurantEmail(String restaurantEmail) {
+        this.restaurantEmail = restaurantEmail;
+    }
+
+    public ApiImportRecord() {
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ApiImportRecord[type='%s', restaurant='%s', table='%s', diner='%s', restaurantId='%s', restaurantEmail='%s']",
+                type, restaurant, table, diner, restaurantId, restaurantEmail);
+    }
+}
@@ -0,0 +1,100 @@
+package paterben.privatedining.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a single line of a bulk import.")
+public class ApiImportResult {
+    @Schema(description = "1-based line number in the import.")
+    private int lineNumber;
+    @Schema(description = "HTTP status code that creating the entity on its own would have returned.")
+    private int status;
+    @Schema(description = "ID of the created restaurant, table or diner, if successful.")
+    private String id;
+    @Schema(description = "Error message, if not successful.")
+    private String errorMessage;
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public void setLineNumber(int lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public ApiImportResult() {
+    }
+
+    public ApiImportResult(int lineNumber, int status, String id, String errorMessage) {
+        this.lineNumber = lineNumber;
+        this.status = status;
+        this.id = id;
+        this.errorMessage = errorMessage;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ApiImportResult[lineNumber='%d', status='%d', id='%s', errorMessage='%s']",
+                lineNumber, status, id, errorMessage);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + lineNumber;
+        result = prime * result + status;
+        result = prime * result + ((id == null) ? 0 : id.hashCode());
+        result = prime * result + ((errorMessage == null) ? 0 : errorMessage.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        ApiImportResult other = (ApiImportResult) obj;
+        if (lineNumber != other.lineNumber)
+            return false;
+        if (status != other.status)
+            return false;
+        if (id == null) {
+            if (other.id != null)
+                return false;
+        } else if (!id.equals(other.id))
+            return false;
+        if (errorMessage == null) {
+            if (other.errorMessage != null)
+                return false;
+        } else if (!errorMessage.equals(other.errorMessage))
+            return false;
+        return true;
+    }
+}
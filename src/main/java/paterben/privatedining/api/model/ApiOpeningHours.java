@@ -0,0 +1,96 @@
+package paterben.privatedining.api.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Opening hours: weekly periods plus closure dates. Reservations must fall entirely within one period and not touch a closure date.")
+public class ApiOpeningHours {
+    @Schema(description = "IANA time zone of the periods and closure dates. Optional. Defaults to UTC.", example = "Europe/Paris")
+    private String timeZone;
+    @Schema(description = "Weekly opening periods. Optional. Open all week if empty.")
+    private List<ApiOpeningPeriod> periods;
+    @Schema(description = "Local dates on which it is closed all day. Optional.")
+    private List<LocalDate> closedDates;
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    public List<ApiOpeningPeriod> getPeriods() {
+        return periods;
+    }
+
+    public void setPeriods(List<ApiOpeningPeriod> periods) {
+        this.periods = periods;
+    }
+
+    public List<LocalDate> getClosedDates() {
+        return closedDates;
+    }
+
+    public void setClosedDates(List<LocalDate> closedDates) {
+        this.closedDates = closedDates;
+    }
+
+    public ApiOpeningHours() {
+        this.periods = new ArrayList<>();
+        this.closedDates = new ArrayList<>();
+    }
+
+    public ApiOpeningHours(String timeZone, List<ApiOpeningPeriod> periods, List<LocalDate> closedDates) {
+        this.timeZone = timeZone;
+        this.periods = periods;
+        this.closedDates = closedDates;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ApiOpeningHours[timeZone='%s', periods='%s', closedDates='%s']",
+                timeZone, periods, closedDates);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((timeZone == null) ? 0 : timeZone.hashCode());
+        result = prime * result + ((periods == null) ? 0 : periods.hashCode());
+        result = prime * result + ((closedDates == null) ? 0 : closedDates.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        ApiOpeningHours other = (ApiOpeningHours) obj;
+        if (timeZone == null) {
+            if (other.timeZone != null)
+                return false;
+        } else if (!timeZone.equals(other.timeZone))
+            return false;
+        if (periods == null) {
+            if (other.periods != null)
+                return false;
+        } else if (!periods.equals(other.periods))
+            return false;
+        if (closedDates == null) {
+            if (other.closedDates != null)
+                return false;
+        } else if (!closedDates.equals(other.closedDates))
+            return false;
+        return true;
+    }
+}
@@ -0,0 +1,90 @@
+package paterben.privatedining.api.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Weekly opening period, in local time. Ends the next day if `closes` is not after `opens`.")
+public class ApiOpeningPeriod {
+    @Schema(description = "Day the period starts. Required.", example = "FRIDAY")
+    private DayOfWeek dayOfWeek;
+    @Schema(description = "Local opening time. Required.", type = "string", example = "18:00")
+    private LocalTime opens;
+    @Schema(description = "Local closing time. Required.", type = "string", example = "23:30")
+    private LocalTime closes;
+
+    public DayOfWeek getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    public void setDayOfWeek(DayOfWeek dayOfWeek) {
+        this.dayOfWeek = dayOfWeek;
+    }
+
+    public LocalTime getOpens() {
+        return opens;
+    }
+
+    public void setOpens(LocalTime opens) {
+        this.opens = opens;
+    }
+
+    public LocalTime getCloses() {
+        return closes;
+    }
+
+    public void setCloses(LocalTime closes) {
+        this.closes = closes;
+    }
+
+    public ApiOpeningPeriod() {
+    }
+
+    public ApiOpeningPeriod(DayOfWeek dayOfWeek, LocalTime opens, LocalTime closes) {
+        this.dayOfWeek = dayOfWeek;
+        this.opens = opens;
+        this.closes = closes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ApiOpeningPeriod[dayOfWeek='%s', opens='%s', closes='%s']",
+                dayOfWeek, opens, closes);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((dayOfWeek == null) ? 0 : dayOfWeek.hashCode());
+        result = prime * result + ((opens == null) ? 0 : opens.hashCode());
+        result = prime * result + ((closes == null) ? 0 : closes.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        ApiOpeningPeriod other = (ApiOpeningPeriod) obj;
+        if (dayOfWeek != other.dayOfWeek)
+            return false;
+        if (opens == null) {
+            if (other.opens != null)
+                return false;
+        } else if (!opens.equals(other.opens))
+            return false;
+        if (closes == null) {
+            if (other.closes != null)
+                return false;
+        } else if (!closes.equals(other.closes))
+            return false;
+        return true;
+    }
+}
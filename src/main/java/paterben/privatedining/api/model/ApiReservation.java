@@ -14,17 +14,17 @@ public class ApiReservation {
     private String id;
     @Schema(description = "ID of the restaurant the reservation is for. Set automatically on creation.")
     private String restaurantId;
-    @Schema(description = "ID of the table the reservation is for. Set automatically on creation.")
+    @Schema(description = "ID of the table the reservation is for. Set automatically on creation. Set to another table of the restaurant to move the reservation.")
     private String tableId;
     @Schema(description = "ID of the diner the reservation is for. Required.")
     private String dinerId;
     @Schema(description = "Name under which the reservation is made. Required.")
     private String name;
-    @Schema(description = "Number of guests in the reservation. Required.")
+    @Schema(description = "Number of guests in the reservation. Required. Can be updated.")
     private int numGuests;
-    @Schema(description = "Start time of the reservation. Required.")
+    @Schema(description = "Start time of the reservation. Required. Can be updated.")
     private Instant reservationStart;
-    @Schema(description = "End time of the reservation. Required.")
+    @Schema(description = "End time of the reservation. Required. Can be updated.")
     private Instant reservationEnd;
     @Schema(description = "True if the reservation has been cancelled, either by the restaurant or the diner. Set to true to cancel the reservation.")
     private Boolean isCancelled;
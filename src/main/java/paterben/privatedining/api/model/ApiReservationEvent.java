@@ -0,0 +1,106 @@
+package paterben.privatedining.api.model;
+
+import java.time.Instant;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import paterben.privatedining.core.model.ReservationEventType;
+
+@Schema(description = "Reservation change event.")
+public class ApiReservationEvent {
+    @Schema(description = "Event ID.")
+    private String id;
+    @Schema(description = "Type of the event.")
+    private ReservationEventType type;
+    @Schema(description = "Snapshot of the reservation after the change.")
+    private ApiReservation reservation;
+    @Schema(description = "Event creation time.")
+    private Instant createdAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public ReservationEventType getType() {
+        return type;
+    }
+
+    public void setType(ReservationEventType type) {
+        this.type = type;
+    }
+
+    public ApiReservation getReservation() {
+        return reservation;
+    }
+
+    public void setReservation(ApiReservation reservation) {
+        this.reservation = reservation;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public ApiReservationEvent() {
+    }
+
+    public ApiReservationEvent(String id, ReservationEventType type, ApiReservation reservation, Instant createdAt) {
+        this.id = id;
+        this.type = type;
+        this.reservation = reservation;
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ApiReservationEvent[id='%s', type='%s', reservation='%s', createdAt='%s']",
+                id, type, reservation, createdAt);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((id == null) ? 0 : id.hashCode());
+        result = prime * result + ((type == null) ? 0 : type.hashCode());
+        result = prime * result + ((reservation == null) ? 0 : reservation.hashCode());
+        result = prime * result + ((createdAt == null) ? 0 : createdAt.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        ApiReservationEvent other = (ApiReservationEvent) obj;
+        if (id == null) {
+            if (other.id != null)
+                return false;
+        } else if (!id.equals(other.id))
+            return false;
+        if (type != other.type)
+            return false;
+        if (reservation == null) {
+            if (other.reservation != null)
+                return false;
+        } else if (!reservation.equals(other.reservation))
+            return false;
+        if (createdAt == null) {
+            if (other.createdAt != null)
+                return false;
+        } else if (!createdAt.equals(other.createdAt))
+            return false;
+        return true;
+    }
+}
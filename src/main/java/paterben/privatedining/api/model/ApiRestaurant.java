@@ -23,6 +23,8 @@ public class ApiRestaurant {
     @CreatedDate
     @Schema(description = "Restaurant creation time. Set automatically on creation.")
     private Instant createdAt;
+    @Schema(description = "Opening hours of the restaurant, used by tables that don't have their own. Optional. Open 24/7 if not set.")
+    private ApiOpeningHours openingHours;
 
     public String getId() {
         return id;
@@ -72,6 +74,14 @@ public class ApiRestaurant {
         this.createdAt = createdAt;
     }
 
+    public ApiOpeningHours getOpeningHours() {
+        return openingHours;
+    }
+
+    public void setOpeningHours(ApiOpeningHours openingHours) {
+        this.openingHours = openingHours;
+    }
+
     public ApiRestaurant() {
     }
 
@@ -91,8 +101,8 @@ public class ApiRestaurant {
     @Override
     public String toString() {
         return String.format(
-                "ApiRestaurant[id='%s', name='%s', address='%s', email='%s', currency='%s', createdAt='%s']",
-                id, name, address, email, currency, createdAt);
+                "ApiRestaurant[id='%s', name='%s', address='%s', email='%s', currency='%s', createdAt='%s', openingHours='%s']",
+                id, name, address, email, currency, createdAt, openingHours);
     }
 
     @Override
@@ -105,6 +115,7 @@ public class ApiRestaurant {
         result = prime * result + ((email == null) ? 0 : email.hashCode());
         result = prime * result + ((currency == null) ? 0 : currency.hashCode());
         result = prime * result + ((createdAt == null) ? 0 : createdAt.hashCode());
+        result = prime * result + ((openingHours == null) ? 0 : openingHours.hashCode());
         return result;
     }
 
@@ -147,6 +158,11 @@ public class ApiRestaurant {
                 return false;
         } else if (!createdAt.equals(other.createdAt))
             return false;
+        if (openingHours == null) {
+            if (other.openingHours != null)
+                return false;
+        } else if (!openingHours.equals(other.openingHours))
+            return false;
         return true;
     }
 }
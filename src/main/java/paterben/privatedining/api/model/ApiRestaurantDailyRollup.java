@@ -0,0 +1,80 @@
+package paterben.privatedining.api.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Daily totals of the active reservations of a restaurant. Reservations count towards the UTC day they start on.")
+public class ApiRestaurantDailyRollup {
+    @Schema(description = "Day (UTC).")
+    private LocalDate day;
+    @Schema(description = "Number of active reservations.")
+    private int reservations;
+    @Schema(description = "Total number of guests.")
+    private int covers;
+    @Schema(description = "Total reserved time in hours.")
+    private double bookedHours;
+    @Schema(description = "Projected minimum spend in restaurant local currency.")
+    private double minSpend;
+    @Schema(description = "Totals per table / room.")
+    private List<ApiTableDailyRollup> tables;
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public int getReservations() {
+        return reservations;
+    }
+
+    public void setReservations(int reservations) {
+        this.reservations = reservations;
+    }
+
+    public int getCovers() {
+        return covers;
+    }
+
+    public void setCovers(int covers) {
+        this.covers = covers;
+    }
+
+    public double getBookedHours() {
+        return bookedHours;
+    }
+
+    public void setBookedHours(double bookedHours) {
+        this.bookedHours = bookedHours;
+    }
+
+    public double getMinSpend() {
+        return minSpend;
+    }
+
+    public void setMinSpend(double minSpend) {
+        this.minSpend = minSpend;
+    }
+
+    public List<ApiTableDailyRollup> getTables() {
+        return tables;
+    }
+
+    public void setTables(List<ApiTableDailyRollup> tables) {
+        this.tables = tables;
+    }
+
+    public ApiRestaurantDailyRollup() {
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ApiRestaurantDailyRollup[day='%s', reservations='%d', covers='%d', bookedHours='%s', minSpend='%s', tables='%s']",
+                day, reservations, covers, bookedHours, minSpend, tables);
+    }
+}
@@ -20,6 +20,8 @@ public class ApiTable {
     private RoomType roomType;
     @Schema(description = "Minimum spend in restaurant local currency. Optional. 0 means no minimum.")
     private double minSpend;
+    @Schema(description = "Opening hours of the table. Optional. Defaults to the opening hours of the restaurant.")
+    private ApiOpeningHours openingHours;
 
     public String getId() {
         return id;
@@ -69,6 +71,14 @@ public class ApiTable {
         this.minSpend = minSpend;
     }
 
+    public ApiOpeningHours getOpeningHours() {
+        return openingHours;
+    }
+
+    public void setOpeningHours(ApiOpeningHours openingHours) {
+        this.openingHours = openingHours;
+    }
+
     public ApiTable() {
     }
 
@@ -88,8 +98,8 @@ public class ApiTable {
     @Override
     public String toString() {
         return String.format(
-                "ApiTable[id='%s', name='%s', minCapacity='%s', maxCapacity='%s', roomType='%s', minSpend='%s']",
-                id, name, minCapacity, maxCapacity, roomType, minSpend);
+                "ApiTable[id='%s', name='%s', minCapacity='%s', maxCapacity='%s', roomType='%s', minSpend='%s', openingHours='%s']",
+                id, name, minCapacity, maxCapacity, roomType, minSpend, openingHours);
     }
 
     @Override
@@ -104,6 +114,7 @@ public class ApiTable {
         long temp;
         temp = Double.doubleToLongBits(minSpend);
         result = prime * result + (int) (temp ^ (temp >>> 32));
+        result = prime * result + ((openingHours == null) ? 0 : openingHours.hashCode());
         return result;
     }
 
@@ -134,6 +145,11 @@ public class ApiTable {
             return false;
         if (Double.doubleToLongBits(minSpend) != Double.doubleToLongBits(other.minSpend))
             return false;
+        if (openingHours == null) {
+            if (other.openingHours != null)
+                return false;
+        } else if (!openingHours.equals(other.openingHours))
+            return false;
         return true;
     }
 }
@@ -0,0 +1,88 @@
+package paterben.privatedining.api.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import paterben.privatedining.core.model.RoomType;
+
+@Schema(description = "Daily totals of the active reservations of one table.")
+public class ApiTableDailyRollup {
+    @Schema(description = "Table ID.")
+    private String tableId;
+    @Schema(description = "Table name.")
+    private String tableName;
+    @Schema(description = "Room type.")
+    private RoomType roomType;
+    @Schema(description = "Number of active reservations.")
+    private int reservations;
+    @Schema(description = "Total number of guests.")
+    private int covers;
+    @Schema(description = "Total reserved time in hours.")
+    private double bookedHours;
+    @Schema(description = "Projected minimum spend in restaurant local currency.")
+    private double minSpend;
+
+    public String getTableId() {
+        return tableId;
+    }
+
+    public void setTableId(String tableId) {
+        this.tableId = tableId;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(RoomType roomType) {
+        this.roomType = roomType;
+    }
+
+    public int getReservations() {
+        return reservations;
+    }
+
+    public void setReservations(int reservations) {
+        this.reservations = reservations;
+    }
+
+    public int getCovers() {
+        return covers;
+    }
+
+    public void setCovers(int covers) {
+        this.covers = covers;
+    }
+
+    public double getBookedHours() {
+        return bookedHours;
+    }
+
+    public void setBookedHours(double bookedHours) {
+        this.bookedHours = bookedHours;
+    }
+
+    public double getMinSpend() {
+        return minSpend;
+    }
+
+    public void setMinSpend(double minSpend) {
+        this.minSpend = minSpend;
+    }
+
+    public ApiTableDailyRollup() {
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ApiTableDailyRollup[tableId='%s', tableName='%s', roomType='%s', reservations='%d', covers='%d', bookedHours='%s', minSpend='%s']",
+                tableId, tableName, roomType, reservations, covers, bookedHours, minSpend);
+    }
+}
@@ -0,0 +1,53 @@
+package paterben.privatedining.core;
+
+/**
+ * Concurrency limit adjusted with additive increase / multiplicative decrease
+ * (AIMD) from the outcome of each request.
+ *
+ * The limit grows by one after each request that completed within the latency
+ * target while the limit was in use, and shrinks by {@code backoffRatio} after
+ * each request that was too slow or failed because of contention. Not thread
+ * safe.
+ */
+public class AimdLimit {
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyTargetNanos;
+
+    private double limit;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyTargetNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTargetNanos = latencyTargetNanos;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * @return the current limit, between the min and max limits.
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Updates the limit from a completed request.
+     *
+     * @param latencyNanos the latency of the request.
+     * @param inFlight     the number of requests in flight when it started,
+     *                     including itself.
+     * @param contended    whether the request failed because of contention, e.g.
+     *                     a transaction write conflict.
+     */
+    public void onSample(long latencyNanos, int inFlight, boolean contended) {
+        if (contended || latencyNanos > latencyTargetNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlight >= getLimit()) {
+            // Only grow when the limit was actually reached, otherwise a mostly idle
+            // table would end up with the max limit.
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+}
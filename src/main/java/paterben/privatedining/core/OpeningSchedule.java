@@ -0,0 +1,143 @@
+package paterben.privatedining.core;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import paterben.privatedining.core.model.OpeningHours;
+import paterben.privatedining.core.model.OpeningPeriod;
+
+/**
+ * {@link OpeningHours} compiled for fast checks: the weekly periods become a
+ * sorted array of merged intervals, in seconds since Monday 00:00 local time,
+ * and the closure dates a hash set. Checking a reservation is a binary search
+ * plus one lookup per local date it touches. Immutable.
+ */
+public class OpeningSchedule {
+    private static final int DAY = 24 * 3600;
+    private static final int WEEK = 7 * DAY;
+
+    private final ZoneId zone;
+    // Intervals are repeated for a second week, and reservations are looked up in
+    // that second week, so that periods and reservations that wrap around from
+    // Sunday to Monday don't need special handling: the Monday morning part of a
+    // Sunday night period is found in the first week's copy of the period.
+    private final int[] opens;
+    private final int[] closes;
+    private final Set<LocalDate> closedDates;
+
+    private OpeningSchedule(ZoneId zone, int[] opens, int[] closes, Set<LocalDate> closedDates) {
+        this.zone = zone;
+        this.opens = opens;
+        this.closes = closes;
+        this.closedDates = closedDates;
+    }
+
+    /**
+     * Compiles the given opening hours.
+     *
+     * @throws IllegalArgumentException if the opening hours are invalid.
+     */
+    public static OpeningSchedule compile(OpeningHours hours) {
+        ZoneId zone = ZoneOffset.UTC;
+        if (hours.getTimeZone() != null) {
+            try {
+                zone = ZoneId.of(hours.getTimeZone());
+            } catch (DateTimeException e) {
+                throw new IllegalArgumentException(hours.getTimeZone() + " is not a valid time zone.");
+            }
+        }
+
+        List<int[]> intervals = new ArrayList<>();
+        if (hours.getPeriods() == null || hours.getPeriods().isEmpty()) {
+            intervals.add(new int[] { 0, 3 * WEEK });
+        } else {
+            for (OpeningPeriod period : hours.getPeriods()) {
+                if (period == null || period.getDayOfWeek() == null || period.getOpens() == null
+                        || period.getCloses() == null) {
+                    throw new IllegalArgumentException("`dayOfWeek`, `opens` and `closes` are required in periods.");
+                }
+                int dayStart = (period.getDayOfWeek().getValue() - 1) * DAY;
+                int open = dayStart + period.getOpens().toSecondOfDay();
+                int close = dayStart + period.getCloses().toSecondOfDay();
+                if (close <= open) {
+                    close += DAY;
+                }
+                intervals.add(new int[] { open, close });
+                intervals.add(new int[] { open + WEEK, close + WEEK });
+            }
+        }
+        intervals.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+        // Merge overlapping and adjacent intervals, so that a reservation spanning
+        // two back-to-back periods is accepted.
+        int[] opens = new int[intervals.size()];
+        int[] closes = new int[intervals.size()];
+        int n = 0;
+        for (int[] interval : intervals) {
+            if (n > 0 && interval[0] <= closes[n - 1]) {
+                closes[n - 1] = Math.max(closes[n - 1], interval[1]);
+            } else {
+                opens[n] = interval[0];
+                closes[n] = interval[1];
+                ++n;
+            }
+        }
+
+        Set<LocalDate> closedDates = new HashSet<>();
+        if (hours.getClosedDates() != null) {
+            for (LocalDate date : hours.getClosedDates()) {
+                if (date == null) {
+                    throw new IllegalArgumentException("`closedDates` must not contain null dates.");
+                }
+                closedDates.add(date);
+            }
+        }
+        return new OpeningSchedule(zone, Arrays.copyOf(opens, n), Arrays.copyOf(closes, n), closedDates);
+    }
+
+    /**
+     * Returns whether {@code [start, end)} falls entirely within one opening
+     * period, in local time, and doesn't touch a closure date.
+     */
+    public boolean isOpen(Instant start, Instant end) {
+        LocalDateTime localStart = LocalDateTime.ofInstant(start, zone);
+        LocalDateTime localEnd = LocalDateTime.ofInstant(end, zone);
+        if (!closedDates.isEmpty()) {
+            LocalDate lastDate = LocalDateTime.ofInstant(end.minusNanos(1), zone).toLocalDate();
+            for (LocalDate date = localStart.toLocalDate(); !date.isAfter(lastDate); date = date.plusDays(1)) {
+                if (closedDates.contains(date)) {
+                    return false;
+                }
+            }
+        }
+
+        // Lengths are in local time, so that opening hours keep their wall-clock
+        // meaning across DST changes.
+        int from = WEEK + (localStart.getDayOfWeek().getValue() - 1) * DAY
+                + localStart.toLocalTime().toSecondOfDay();
+        Duration length = Duration.between(localStart, localEnd);
+        long to = from + length.getSeconds() + (length.getNano() > 0 ? 1 : 0);
+        // Last interval opening at or before the start.
+        int low = 0;
+        int high = opens.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (opens[mid] <= from) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low > 0 && to <= closes[low - 1];
+    }
+}
@@ -1,6 +1,8 @@
 package paterben.privatedining.core;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 
 import paterben.privatedining.core.model.Reservation;
 
@@ -33,4 +35,35 @@ public class ReservationConflict {
         }
         return true;
     }
+
+    /**
+     * Returns a reservation of {@code existing} that overlaps a reservation of
+     * {@code candidates}, if any.
+     * 
+     * Both lists must be sorted by start time, and the reservations within each
+     * list must not overlap each other. Runs in a single merged pass over both
+     * lists.
+     * 
+     * @param existing   The existing reservations.
+     * @param candidates The reservations to check.
+     * @return The first conflicting existing reservation found.
+     */
+    public static Optional<Reservation> findOverlap(List<Reservation> existing, List<Reservation> candidates) {
+        int i = 0;
+        int j = 0;
+        while (i < existing.size() && j < candidates.size()) {
+            Reservation e = existing.get(i);
+            Reservation c = candidates.get(j);
+            if (reservationsOverlap(e, c)) {
+                return Optional.of(e);
+            }
+            // The one that ends first can't overlap anything later in the other list.
+            if (e.getReservationEnd().isAfter(c.getReservationEnd())) {
+                ++j;
+            } else {
+                ++i;
+            }
+        }
+        return Optional.empty();
+    }
 }
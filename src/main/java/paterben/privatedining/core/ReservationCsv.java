@@ -0,0 +1,40 @@
+package paterben.privatedining.core;
+
+import java.util.Objects;
+
+import paterben.privatedining.core.model.Reservation;
+
+/**
+ * CSV representation of reservations, following RFC 4180.
+ */
+public class ReservationCsv {
+    public static final String HEADER = "id,restaurantId,tableId,dinerId,name,numGuests,reservationStart,reservationEnd,isCancelled,createdAt,cancelledAt";
+
+    /**
+     * Returns the CSV row for the given reservation, without line terminator.
+     * Missing values are written as empty fields.
+     */
+    public static String toRow(Reservation r) {
+        return String.join(",",
+                escape(r.getId()),
+                escape(r.getRestaurantId()),
+                escape(r.getTableId()),
+                escape(r.getDinerId()),
+                escape(r.getName()),
+                Integer.toString(r.getNumGuests()),
+                escape(r.getReservationStart()),
+                escape(r.getReservationEnd()),
+                escape(r.getIsCancelled()),
+                escape(r.getCreatedAt()),
+                escape(r.getCancelledAt()));
+    }
+
+    // Quotes the value if it contains a character that is special in CSV.
+    static String escape(Object value) {
+        String s = Objects.toString(value, "");
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) {
+            return s;
+        }
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+}
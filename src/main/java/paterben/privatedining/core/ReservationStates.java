@@ -0,0 +1,79 @@
+package paterben.privatedining.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.ReservationEventType;
+
+/**
+ * Last known state of the reservations of a table, used to turn full
+ * {@code tableReservations} documents into incremental changes.
+ */
+public class ReservationStates {
+    /**
+     * A change to a single reservation.
+     */
+    public record Change(ReservationEventType type, Reservation reservation) {
+    }
+
+    // Reservation ID -> last known snapshot of the reservation.
+    private final Map<String, Reservation> reservationsById = new HashMap<>();
+
+    public ReservationStates(List<Reservation> reservations) {
+        update(reservations);
+    }
+
+    /**
+     * Records the given reservations as the current state and returns what changed
+     * since the previous state, in the order of {@code reservations}.
+     *
+     * Reservations that are seen for the first time in the cancelled state are
+     * reported as a creation followed by a cancellation. Reservations that
+     * disappear, i.e. were moved to another table, are reported as removed with
+     * their last known state, after the other changes, and are forgotten.
+     *
+     * @param reservations the current reservations of the table.
+     * @return the list of changes, empty if nothing changed.
+     */
+    public List<Change> update(List<Reservation> reservations) {
+        List<Change> changes = new ArrayList<>();
+        Set<String> currentIds = new HashSet<>();
+        for (Reservation r : reservations) {
+            currentIds.add(r.getId());
+            boolean cancelled = isCancelled(r);
+            Reservation previous = reservationsById.put(r.getId(), r);
+            if (previous == null) {
+                changes.add(new Change(ReservationEventType.RESERVATION_CREATED, r));
+                if (cancelled) {
+                    changes.add(new Change(ReservationEventType.RESERVATION_CANCELLED, r));
+                }
+            } else if (!isCancelled(previous) && cancelled) {
+                changes.add(new Change(ReservationEventType.RESERVATION_CANCELLED, r));
+            } else if (!cancelled && (previous.getNumGuests() != r.getNumGuests()
+                    || !Objects.equals(previous.getReservationStart(), r.getReservationStart())
+                    || !Objects.equals(previous.getReservationEnd(), r.getReservationEnd()))) {
+                changes.add(new Change(ReservationEventType.RESERVATION_UPDATED, r));
+            }
+        }
+        Iterator<Reservation> it = reservationsById.values().iterator();
+        while (it.hasNext()) {
+            Reservation previous = it.next();
+            if (!currentIds.contains(previous.getId())) {
+                changes.add(new Change(ReservationEventType.RESERVATION_REMOVED, previous));
+                it.remove();
+            }
+        }
+        return changes;
+    }
+
+    private static boolean isCancelled(Reservation r) {
+        return r.getIsCancelled() != null && r.getIsCancelled();
+    }
+}
@@ -0,0 +1,95 @@
+package paterben.privatedining.core;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.ReservationSeries;
+
+/**
+ * Expansion of {@link ReservationSeries} into their occurrences.
+ *
+ * Occurrences are evenly spaced in local time, so the ones overlapping a time
+ * window are found by arithmetic rather than by enumerating the series from its
+ * start. The estimate assumes evenly spaced instants, and is widened by one
+ * occurrence on each side to account for DST changes, which shift occurrences
+ * by much less than a day.
+ */
+public class SeriesOccurrences {
+    /**
+     * Returns the ID of occurrence {@code index} of the given series.
+     */
+    public static String occurrenceId(String seriesId, int index) {
+        return seriesId + ":" + index;
+    }
+
+    /**
+     * Returns the start of the last occurrence of the given series.
+     */
+    public static Instant lastStart(ReservationSeries series) {
+        return shift(series.getFirstReservationStart(), zone(series), series.periodDays(), series.getCount() - 1);
+    }
+
+    /**
+     * Returns the occurrences of the given series that overlap {@code [from, to)},
+     * sorted by start time, as reservations of the given restaurant and table.
+     *
+     * @param limit the maximum number of occurrences to return.
+     */
+    public static List<Reservation> between(ReservationSeries series, String restaurantId, String tableId,
+            Instant from, Instant to, int limit) {
+        long periodMillis = Duration.ofDays(series.periodDays()).toMillis();
+        Instant firstStart = series.getFirstReservationStart();
+        Instant firstEnd = series.getFirstReservationEnd();
+        // Without DST changes, occurrence i overlaps the window iff
+        // firstEnd + i * period > from and firstStart + i * period < to. Candidates
+        // are then checked exactly.
+        long first = Math.max(0, Math.floorDiv(Duration.between(firstEnd, from).toMillis(), periodMillis));
+        long last = Math.min(series.getCount() - 1,
+                Math.ceilDiv(Duration.between(firstStart, to).toMillis(), periodMillis));
+        ZoneId zone = zone(series);
+        List<Reservation> occurrences = new ArrayList<>();
+        for (long i = first; i <= last && occurrences.size() < limit; ++i) {
+            Reservation occurrence = occurrence(series, zone, restaurantId, tableId, (int) i);
+            if (occurrence.getReservationEnd().isAfter(from) && occurrence.getReservationStart().isBefore(to)) {
+                occurrences.add(occurrence);
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * Returns all occurrences of the given series, sorted by start time.
+     */
+    public static List<Reservation> all(ReservationSeries series, String restaurantId, String tableId) {
+        ZoneId zone = zone(series);
+        List<Reservation> occurrences = new ArrayList<>(series.getCount());
+        for (int i = 0; i < series.getCount(); ++i) {
+            occurrences.add(occurrence(series, zone, restaurantId, tableId, i));
+        }
+        return occurrences;
+    }
+
+    private static Reservation occurrence(ReservationSeries series, ZoneId zone, String restaurantId,
+            String tableId, int index) {
+        return new Reservation(occurrenceId(series.getId(), index), restaurantId, tableId, series.getDinerId(),
+                series.getName(), series.getNumGuests(),
+                shift(series.getFirstReservationStart(), zone, series.periodDays(), index),
+                shift(series.getFirstReservationEnd(), zone, series.periodDays(), index), series.getCreatedAt());
+    }
+
+    // Adds index periods to the given instant in local time, so that it keeps its
+    // wall-clock time across DST changes.
+    private static Instant shift(Instant instant, ZoneId zone, int periodDays, long index) {
+        return ZonedDateTime.ofInstant(instant, zone).plusDays(periodDays * index).toInstant();
+    }
+
+    private static ZoneId zone(ReservationSeries series) {
+        return series.getTimeZone() != null ? ZoneId.of(series.getTimeZone()) : ZoneOffset.UTC;
+    }
+}
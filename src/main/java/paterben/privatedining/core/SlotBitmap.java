@@ -0,0 +1,93 @@
+package paterben.privatedining.core;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Occupancy of a table as 15-minute slots, with one 96-bit bitmap per UTC day.
+ *
+ * Bit {@code i} of a day is set if the slot starting {@code 15 * i} minutes
+ * after midnight UTC is reserved. The bitmap is stored as two longs: {@code low}
+ * holds slots 0 to 63 and {@code high} holds slots 64 to 95.
+ */
+public class SlotBitmap {
+    public static final int SLOT_SECONDS = 15 * 60;
+    public static final int SLOTS_PER_DAY = 24 * 60 * 60 / SLOT_SECONDS;
+
+    /**
+     * The slots covered by a time range on a single day.
+     */
+    public record DayMask(LocalDate day, long low, long high) {
+        /**
+         * Returns true if any slot of this mask is set in the given bitmap.
+         */
+        public boolean overlaps(long otherLow, long otherHigh) {
+            return (low & otherLow) != 0 || (high & otherHigh) != 0;
+        }
+    }
+
+    /**
+     * Returns true if the given time is on a slot boundary.
+     */
+    public static boolean isAligned(Instant time) {
+        return time.getNano() == 0 && Math.floorMod(time.getEpochSecond(), SLOT_SECONDS) == 0;
+    }
+
+    /**
+     * Returns the masks of the slots that overlap {@code [start, end)}, one per
+     * day in chronological order.
+     *
+     * Assumes that start < end.
+     */
+    public static List<DayMask> masks(Instant start, Instant end) {
+        long firstSlot = Math.floorDiv(start.getEpochSecond(), SLOT_SECONDS);
+        long lastSlot = Math.floorDiv(end.getEpochSecond() - 1, SLOT_SECONDS);
+        if (end.getNano() > 0) {
+            lastSlot = Math.floorDiv(end.getEpochSecond(), SLOT_SECONDS);
+        }
+        // Epoch day -> {low, high}.
+        Map<Long, long[]> bitsByDay = new LinkedHashMap<>();
+        for (long slot = firstSlot; slot <= lastSlot; ++slot) {
+            long[] bits = bitsByDay.computeIfAbsent(Math.floorDiv(slot, SLOTS_PER_DAY), d -> new long[2]);
+            int index = (int) Math.floorMod(slot, SLOTS_PER_DAY);
+            bits[index / 64] |= 1L << (index % 64);
+        }
+        List<DayMask> masks = new ArrayList<>();
+        bitsByDay.forEach((day, bits) -> masks.add(new DayMask(LocalDate.ofEpochDay(day), bits[0], bits[1])));
+        return masks;
+    }
+
+    /**
+     * Returns the bit positions that are set in the given word, for use with
+     * MongoDB bitwise query operators.
+     */
+    public static List<Integer> positions(long word) {
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < 64; ++i) {
+            if ((word & (1L << i)) != 0) {
+                positions.add(i);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Returns the start times of the free slots of the given day.
+     */
+    public static List<Instant> freeSlots(LocalDate day, long low, long high) {
+        Instant midnight = day.atStartOfDay().toInstant(ZoneOffset.UTC);
+        List<Instant> free = new ArrayList<>();
+        for (int i = 0; i < SLOTS_PER_DAY; ++i) {
+            long word = i < 64 ? low : high;
+            if ((word & (1L << (i % 64))) == 0) {
+                free.add(midnight.plusSeconds((long) i * SLOT_SECONDS));
+            }
+        }
+        return free;
+    }
+}
@@ -0,0 +1,59 @@
+package paterben.privatedining.core;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import paterben.privatedining.core.model.RoomType;
+import paterben.privatedining.core.model.Table;
+
+/**
+ * Tables of a restaurant in best-fit order: smallest {@code maxCapacity} first,
+ * then lowest {@code minSpend}. Immutable.
+ */
+public class TableFit {
+    private static final Comparator<Table> BEST_FIT = Comparator.comparingInt(Table::getMaxCapacity)
+            .thenComparingDouble(Table::getMinSpend)
+            .thenComparing(Table::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final List<Table> tables;
+
+    public TableFit(List<Table> tables) {
+        List<Table> sorted = new ArrayList<>(tables);
+        sorted.sort(BEST_FIT);
+        this.tables = List.copyOf(sorted);
+    }
+
+    /**
+     * Returns the tables that can seat {@code numGuests}, in best-fit order.
+     *
+     * @param roomType only return tables of this room type, or all tables if
+     *                 {@code null}.
+     */
+    public List<Table> candidates(int numGuests, RoomType roomType) {
+        List<Table> candidates = new ArrayList<>();
+        for (int i = firstFitting(numGuests); i < tables.size(); ++i) {
+            Table table = tables.get(i);
+            if (table.getMinCapacity() <= numGuests && (roomType == null || roomType == table.getRoomType())) {
+                candidates.add(table);
+            }
+        }
+        return candidates;
+    }
+
+    // Binary search for the first table with maxCapacity >= numGuests. Smaller
+    // tables are skipped without being looked at.
+    private int firstFitting(int numGuests) {
+        int low = 0;
+        int high = tables.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (tables.get(mid).getMaxCapacity() < numGuests) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,67 @@
+package paterben.privatedining.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ *
+ * Implemented as a generic cell rate algorithm: instead of a token count, the
+ * bucket stores the time at which it will be full again, which is updated with
+ * a single compare-and-set per request. A bucket whose full time is in the past
+ * is full, so idle buckets can be dropped without changing behavior.
+ */
+public class TokenBucket {
+    /**
+     * Outcome of {@link #tryConsume(long)}.
+     *
+     * @param allowed        whether a token was consumed.
+     * @param remaining      tokens left after this request.
+     * @param retryAfterNanos when not allowed, time until a token is available.
+     */
+    public record Result(boolean allowed, long remaining, long retryAfterNanos) {
+    }
+
+    private final long capacity;
+    // Time to refill one token.
+    private final long intervalNanos;
+    // Time to refill the whole bucket.
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = capacity * intervalNanos;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Tries to consume one token.
+     *
+     * @param nowNanos current time, from {@link System#nanoTime()}.
+     */
+    public Result tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long debt = next - nowNanos;
+            if (debt > burstNanos) {
+                return new Result(false, 0, debt - burstNanos);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return new Result(true, (burstNanos - debt) / intervalNanos, 0);
+            }
+        }
+    }
+
+    /**
+     * @return whether the bucket is full, i.e. it can be forgotten.
+     */
+    public boolean isFull(long nowNanos) {
+        return fullAt.get() <= nowNanos;
+    }
+}
@@ -0,0 +1,91 @@
+package paterben.privatedining.core.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Marker of a reservation event already applied to the
+ * {@link RestaurantDailyRollup RestaurantDailyRollups}, so that redelivered
+ * events are not counted twice. Written in the same transaction as the rollup
+ * update.
+ */
+@Document(collection = "appliedRollupEvents")
+public class AppliedRollupEvent {
+    /**
+     * ID of the applied change: the outbox event ID, suffixed with
+     * {@code :previous} for the removal of the previous snapshot of an updated
+     * reservation.
+     */
+    @Id
+    private String id;
+    /**
+     * Time the change was applied. Markers are deleted automatically after 7 days
+     * by a TTL index, like dispatched outbox events, after which the event can no
+     * longer be redelivered.
+     */
+    @Indexed(expireAfter = "7d")
+    private Instant appliedAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Instant getAppliedAt() {
+        return appliedAt;
+    }
+
+    public void setAppliedAt(Instant appliedAt) {
+        this.appliedAt = appliedAt;
+    }
+
+    public AppliedRollupEvent() {
+    }
+
+    public AppliedRollupEvent(String id, Instant appliedAt) {
+        this.id = id;
+        this.appliedAt = appliedAt;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AppliedRollupEvent[id='%s', appliedAt='%s']", id, appliedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((id == null) ? 0 : id.hashCode());
+        result = prime * result + ((appliedAt == null) ? 0 : appliedAt.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        AppliedRollupEvent other = (AppliedRollupEvent) obj;
+        if (id == null) {
+            if (other.id != null)
+                return false;
+        } else if (!id.equals(other.id))
+            return false;
+        if (appliedAt == null) {
+            if (other.appliedAt != null)
+                return false;
+        } else if (!appliedAt.equals(other.appliedAt))
+            return false;
+        return true;
+    }
+}
@@ -0,0 +1,127 @@
+package paterben.privatedining.core.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Pending cleanup of the data of a deleted restaurant or table, e.g. its
+ * reservations and their copies in {@link DinerReservations}. Written when the
+ * restaurant or table is deleted and run in chunks in the background by the
+ * {@code CascadeDeleter}, then deleted.
+ */
+@Document(collection = "deletionJobs")
+public class DeletionJob {
+    /**
+     * Job ID. Globally unique. Set automatically on creation.
+     */
+    @Id
+    private String id;
+    /**
+     * ID of the deleted restaurant, or of the restaurant of the deleted table.
+     * Required.
+     */
+    private String restaurantId;
+    /**
+     * ID of the deleted table, or null if the whole restaurant was deleted.
+     */
+    private String tableId;
+    /**
+     * Job creation time. Jobs are run in creation order. Required.
+     */
+    @Indexed
+    private Instant createdAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(String restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public String getTableId() {
+        return tableId;
+    }
+
+    public void setTableId(String tableId) {
+        this.tableId = tableId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public DeletionJob() {
+    }
+
+    public DeletionJob(String restaurantId, String tableId, Instant createdAt) {
+        this.restaurantId = restaurantId;
+        this.tableId = tableId;
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "DeletionJob[id='%s', restaurantId='%s', tableId='%s', createdAt='%s']",
+                id, restaurantId, tableId, createdAt);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((id == null) ? 0 : id.hashCode());
+        result = prime * result + ((restaurantId == null) ? 0 : restaurantId.hashCode());
+        result = prime * result + ((tableId == null) ? 0 : tableId.hashCode());
+        result = prime * result + ((createdAt == null) ? 0 : createdAt.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        DeletionJob other = (DeletionJob) obj;
+        if (id == null) {
+            if (other.id != null)
+                return false;
+        } else if (!id.equals(other.id))
+            return false;
+        if (restaurantId == null) {
+            if (other.restaurantId != null)
+                return false;
+        } else if (!restaurantId.equals(other.restaurantId))
+            return false;
+        if (tableId == null) {
+            if (other.tableId != null)
+                return false;
+        } else if (!tableId.equals(other.tableId))
+            return false;
+        if (createdAt == null) {
+            if (other.createdAt != null)
+                return false;
+        } else if (!createdAt.equals(other.createdAt))
+            return false;
+        return true;
+    }
+}
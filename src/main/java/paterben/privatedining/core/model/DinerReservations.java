@@ -5,11 +5,14 @@ import java.util.List;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Sharded;
+import org.springframework.data.mongodb.core.mapping.ShardingStrategy;
 
 /**
  * List of reservations for a diner.
  */
 @Document(collection = "dinerReservations")
+@Sharded(shardKey = "id", shardingStrategy = ShardingStrategy.HASH)
 public class DinerReservations {
     /**
      * Diner ID. Globally unique. Set automatically on creation.
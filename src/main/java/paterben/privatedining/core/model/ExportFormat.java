@@ -0,0 +1,16 @@
+package paterben.privatedining.core.model;
+
+/**
+ * Output format of a reservation export.
+ */
+public enum ExportFormat {
+    /**
+     * Newline-delimited JSON, one reservation per line.
+     */
+    NDJSON,
+    /**
+     * Comma-separated values with a header row, see
+     * {@link paterben.privatedining.core.ReservationCsv}.
+     */
+    CSV,
+}
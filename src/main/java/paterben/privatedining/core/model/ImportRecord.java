@@ -0,0 +1,149 @@
+package paterben.privatedining.core.model;
+
+/**
+ * A single record of a bulk import. Exactly one of {@code restaurant},
+ * {@code table} and {@code diner} is set, depending on {@code type}.
+ */
+public class ImportRecord {
+    /**
+     * 1-based line number of the record in the import.
+     */
+    private int lineNumber;
+    /**
+     * Type of the record. Not set if the line could not be parsed.
+     */
+    private ImportRecordType type;
+    /**
+     * Restaurant to create, for records of type {@code RESTAURANT}.
+     */
+    private Restaurant restaurant;
+    /**
+     * Table to create, for records of type {@code TABLE}.
+     */
+    private Table table;
+    /**
+     * Diner to create, for records of type {@code DINER}.
+     */
+    private Diner diner;
+    /**
+     * ID of the restaurant to add the table to, for records of type {@code TABLE}.
+     */
+    private String restaurantId;
+    /**
+     * Email of the restaurant to add the table to, for records of type
+     * {@code TABLE}. Used if {@code restaurantId} is not set, so that tables can
+     * refer to restaurants created earlier in the same import.
+     */
+    private String restaurantEmail;
+    /**
+     * Error message if the line could not be parsed.
+     */
+    private String parseError;
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public void setLineNumber(int lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
+    public ImportRecordType getType() {
+        return type;
+    }
+
+    public void setType(ImportRecordType type) {
+        this.type = type;
+    }
+
+    public Restaurant getRestaurant() {
+        return restaurant;
+    }
+
+    public void setRestaurant(Restaurant restaurant) {
+        this.restaurant = restaurant;
+    }
+
+    public Table getTable() {
+        return table;
+    }
+
+    public void setTable(Table table) {
+        this.table = table;
+    }
+
+    public Diner getDiner() {
+        return diner;
+    }
+
+    public void setDiner(Diner diner) {
+        this.diner = diner;
+    }
+
+    public String getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(String restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public String getRestaurantEmail() {
+        return restaurantEmail;
+    }
+
+    public void setRestaurantEmail(String restaurantEmail) {
+        this.restaurantEmail = restaurantEmail;
+    }
+
+    public String getParseError() {
+        return parseError;
+    }
+
+    public void setParseError(String parseError) {
+        this.parseError = parseError;
+    }
+
+    public ImportRecord() {
+    }
+
+    public static ImportRecord ofRestaurant(int lineNumber, Restaurant restaurant) {
+        ImportRecord record = new ImportRecord();
+        record.lineNumber = lineNumber;
+        record.type = ImportRecordType.RESTAURANT;
+        record.restaurant = restaurant;
+        return record;
+    }
+
+    public static ImportRecord ofTable(int lineNumber, String restaurantId, String restaurantEmail, Table table) {
+        ImportRecord record = new ImportRecord();
+        record.lineNumber = lineNumber;
+        record.type = ImportRecordType.TABLE;
+        record.restaurantId = restaurantId;
+        record.restaurantEmail = restaurantEmail;
+        record.table = table;
+        return record;
+    }
+
+    public static ImportRecord ofDiner(int lineNumber, Diner diner) {
+        ImportRecord record = new ImportRecord();
+        record.lineNumber = lineNumber;
+        record.type = ImportRecordType.DINER;
+        record.diner = diner;
+        return record;
+    }
+
+    public static ImportRecord ofParseError(int lineNumber, String parseError) {
+        ImportRecord record = new ImportRecord();
+        record.lineNumber = lineNumber;
+        record.parseError = parseError;
+        return record;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ImportRecord[lineNumber='%d', type='%s', restaurant='%s', table='%s', diner='%s', restaurantId='%s', restaurantEmail='%s', parseError='%s']",
+                lineNumber, type, restaurant, table, diner, restaurantId, restaurantEmail, parseError);
+    }
+}
@@ -0,0 +1,10 @@
+package paterben.privatedining.core.model;
+
+/**
+ * Type of a record in a bulk import.
+ */
+public enum ImportRecordType {
+    RESTAURANT,
+    TABLE,
+    DINER,
+}
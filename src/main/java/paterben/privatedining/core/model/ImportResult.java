@@ -0,0 +1,108 @@
+package paterben.privatedining.core.model;
+
+/**
+ * Outcome of a single record of a bulk import.
+ */
+public class ImportResult {
+    /**
+     * 1-based line number of the record in the import.
+     */
+    private int lineNumber;
+    /**
+     * HTTP status code that creating the entity on its own would have returned.
+     */
+    private int status;
+    /**
+     * ID of the created entity, if successful.
+     */
+    private String id;
+    /**
+     * Error message, if not successful.
+     */
+    private String errorMessage;
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public void setLineNumber(int lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public ImportResult() {
+    }
+
+    public ImportResult(int lineNumber, int status, String id, String errorMessage) {
+        this.lineNumber = lineNumber;
+        this.status = status;
+        this.id = id;
+        this.errorMessage = errorMessage;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ImportResult[lineNumber='%d', status='%d', id='%s', errorMessage='%s']",
+                lineNumber, status, id, errorMessage);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + lineNumber;
+        result = prime * result + status;
+        result = prime * result + ((id == null) ? 0 : id.hashCode());
+        result = prime * result + ((errorMessage == null) ? 0 : errorMessage.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        ImportResult other = (ImportResult) obj;
+        if (lineNumber != other.lineNumber)
+            return false;
+        if (status != other.status)
+            return false;
+        if (id == null) {
+            if (other.id != null)
+                return false;
+        } else if (!id.equals(other.id))
+            return false;
+        if (errorMessage == null) {
+            if (other.errorMessage != null)
+                return false;
+        } else if (!errorMessage.equals(other.errorMessage))
+            return false;
+        return true;
+    }
+}
@@ -0,0 +1,108 @@
+package paterben.privatedining.core.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opening hours of a restaurant or table: weekly periods plus closure dates.
+ * Reservations must fall entirely within one period and not touch a closure
+ * date. Compiled for validation by
+ * {@link paterben.privatedining.core.OpeningSchedule}.
+ */
+// No Document annotation since opening hours are embedded in the restaurant,
+// table and table reservations documents.
+public class OpeningHours {
+    /**
+     * IANA time zone of the periods and closure dates, e.g. "Europe/Paris".
+     * Optional. Defaults to UTC.
+     */
+    private String timeZone;
+    /**
+     * Weekly opening periods. Optional. Open all week if empty.
+     */
+    private List<OpeningPeriod> periods;
+    /**
+     * Local dates on which the restaurant or table is closed all day. Optional.
+     */
+    private List<LocalDate> closedDates;
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    public List<OpeningPeriod> getPeriods() {
+        return periods;
+    }
+
+    public void setPeriods(List<OpeningPeriod> periods) {
+        this.periods = periods;
+    }
+
+    public List<LocalDate> getClosedDates() {
+        return closedDates;
+    }
+
+    public void setClosedDates(List<LocalDate> closedDates) {
+        this.closedDates = closedDates;
+    }
+
+    public OpeningHours() {
+        this.periods = new ArrayList<>();
+        this.closedDates = new ArrayList<>();
+    }
+
+    public OpeningHours(String timeZone, List<OpeningPeriod> periods, List<LocalDate> closedDates) {
+        this.timeZone = timeZone;
+        this.periods = periods;
+        this.closedDates = closedDates;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "OpeningHours[timeZone='%s', periods='%s', closedDates='%s']",
+                timeZone, periods, closedDates);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((timeZone == null) ? 0 : timeZone.hashCode());
+        result = prime * result + ((periods == null) ? 0 : periods.hashCode());
+        result = prime * result + ((closedDates == null) ? 0 : closedDates.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        OpeningHours other = (OpeningHours) obj;
+        if (timeZone == null) {
+            if (other.timeZone != null)
+                return false;
+        } else if (!timeZone.equals(other.timeZone))
+            return false;
+        if (periods == null) {
+            if (other.periods != null)
+                return false;
+        } else if (!periods.equals(other.periods))
+            return false;
+        if (closedDates == null) {
+            if (other.closedDates != null)
+                return false;
+        } else if (!closedDates.equals(other.closedDates))
+            return false;
+        return true;
+    }
+}
@@ -0,0 +1,98 @@
+package paterben.privatedining.core.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Weekly period during which a table can be booked, in the local time of its
+ * {@link OpeningHours}. If {@code closes} is not after {@code opens}, the
+ * period ends the next day, e.g. Friday 18:00 to 02:00.
+ */
+public class OpeningPeriod {
+    /**
+     * Day the period starts. Required.
+     */
+    private DayOfWeek dayOfWeek;
+    /**
+     * Local opening time. Required.
+     */
+    private LocalTime opens;
+    /**
+     * Local closing time. Required.
+     */
+    private LocalTime closes;
+
+    public DayOfWeek getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    public void setDayOfWeek(DayOfWeek dayOfWeek) {
+        this.dayOfWeek = dayOfWeek;
+    }
+
+    public LocalTime getOpens() {
+        return opens;
+    }
+
+    public void setOpens(LocalTime opens) {
+        this.opens = opens;
+    }
+
+    public LocalTime getCloses() {
+        return closes;
+    }
+
+    public void setCloses(LocalTime closes) {
+        this.closes = closes;
+    }
+
+    public OpeningPeriod() {
+    }
+
+    public OpeningPeriod(DayOfWeek dayOfWeek, LocalTime opens, LocalTime closes) {
+        this.dayOfWeek = dayOfWeek;
+        this.opens = opens;
+        this.closes = closes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "OpeningPeriod[dayOfWeek='%s', opens='%s', closes='%s']",
+                dayOfWeek, opens, closes);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((dayOfWeek == null) ? 0 : dayOfWeek.hashCode());
+        result = prime * result + ((opens == null) ? 0 : opens.hashCode());
+        result = prime * result + ((closes == null) ? 0 : closes.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        OpeningPeriod other = (OpeningPeriod) obj;
+        if (dayOfWeek != other.dayOfWeek)
+            return false;
+        if (opens == null) {
+            if (other.opens != null)
+                return false;
+        } else if (!opens.equals(other.opens))
+            return false;
+        if (closes == null) {
+            if (other.closes != null)
+                return false;
+        } else if (!closes.equals(other.closes))
+            return false;
+        return true;
+    }
+}
@@ -0,0 +1,207 @@
+package paterben.privatedining.core.model;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Reservation change event, written to the outbox in the same transaction as
+ * the change itself and published asynchronously to event sinks.
+ */
+@Document(collection = "outboxEvents")
+// Used by the dispatcher to fetch pending events in creation order.
+@CompoundIndex(name = "pending", def = "{'dispatchedAt': 1, 'createdAt': 1}")
+public class OutboxEvent {
+    /**
+     * Event ID. Globally unique. Set automatically on creation.
+     */
+    @Id
+    private String id;
+    /**
+     * Type of the event. Required.
+     */
+    private ReservationEventType type;
+    /**
+     * Snapshot of the reservation after the change. Required.
+     */
+    private Reservation reservation;
+    /**
+     * Snapshot of the reservation before the change, for
+     * {@link ReservationEventType#RESERVATION_UPDATED} events only.
+     */
+    private Reservation previousReservation;
+    /**
+     * Event creation time. Required.
+     */
+    private Instant createdAt;
+    /**
+     * Time the event was published to the event sinks, or null if not yet
+     * published. Dispatched events are deleted automatically after 7 days by a TTL
+     * index.
+     */
+    @Indexed(expireAfter = "7d")
+    private Instant dispatchedAt;
+    /**
+     * Names of the sinks the event was published to. Only recorded when
+     * publishing to some other sink failed, so that the event is retried for that
+     * sink only.
+     */
+    private List<String> deliveredTo;
+    /**
+     * Number of dispatches that failed to publish the event to some sink.
+     */
+    private int attempts;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public ReservationEventType getType() {
+        return type;
+    }
+
+    public void setType(ReservationEventType type) {
+        this.type = type;
+    }
+
+    public Reservation getReservation() {
+        return reservation;
+    }
+
+    public void setReservation(Reservation reservation) {
+        this.reservation = reservation;
+    }
+
+    public Reservation getPreviousReservation() {
+        return previousReservation;
+    }
+
+    public void setPreviousReservation(Reservation previousReservation) {
+        this.previousReservation = previousReservation;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getDispatchedAt() {
+        return dispatchedAt;
+    }
+
+    public void setDispatchedAt(Instant dispatchedAt) {
+        this.dispatchedAt = dispatchedAt;
+    }
+
+    public List<String> getDeliveredTo() {
+        return deliveredTo;
+    }
+
+    public void setDeliveredTo(List<String> deliveredTo) {
+        this.deliveredTo = deliveredTo;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(ReservationEventType type, Reservation reservation, Instant createdAt) {
+        this.type = type;
+        this.reservation = reservation;
+        this.createdAt = createdAt;
+    }
+
+    public OutboxEvent(ReservationEventType type, Reservation reservation, Reservation previousReservation,
+            Instant createdAt) {
+        this.type = type;
+        this.reservation = reservation;
+        this.previousReservation = previousReservation;
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "OutboxEvent[id='%s', type='%s', reservation='%s', previousReservation='%s', createdAt='%s', dispatchedAt='%s', deliveredTo='%s', attempts='%s']",
+                id, type, reservation, previousReservation, createdAt, dispatchedAt, deliveredTo, attempts);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((id == null) ? 0 : id.hashCode());
+        result = prime * result + ((type == null) ? 0 : type.hashCode());
+        result = prime * result + ((reservation == null) ? 0 : reservation.hashCode());
+        result = prime * result + ((previousReservation == null) ? 0 : previousReservation.hashCode());
+        result = prime * result + ((createdAt == null) ? 0 : createdAt.hashCode());
+        result = prime * result + ((dispatchedAt == null) ? 0 : dispatchedAt.hashCode());
+        result = prime * result + ((deliveredTo == null) ? 0 : deliveredTo.hashCode());
+        result = prime * result + attempts;
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        OutboxEvent other = (OutboxEvent) obj;
+        if (id == null) {
+            if (other.id != null)
+                return false;
+        } else if (!id.equals(other.id))
+            return false;
+        if (type != other.type)
+            return false;
+        if (reservation == null) {
+            if (other.reservation != null)
+                return false;
+        } else if (!reservation.equals(other.reservation))
+            return false;
+        if (previousReservation == null) {
+            if (other.previousReservation != null)
+                return false;
+        } else if (!previousReservation.equals(other.previousReservation))
+            return false;
+        if (createdAt == null) {
+            if (other.createdAt != null)
+                return false;
+        } else if (!createdAt.equals(other.createdAt))
+            return false;
+        if (dispatchedAt == null) {
+            if (other.dispatchedAt != null)
+                return false;
+        } else if (!dispatchedAt.equals(other.dispatchedAt))
+            return false;
+        if (deliveredTo == null) {
+            if (other.deliveredTo != null)
+                return false;
+        } else if (!deliveredTo.equals(other.deliveredTo))
+            return false;
+        if (attempts != other.attempts)
+            return false;
+        return true;
+    }
+}
@@ -59,6 +59,23 @@ public class Reservation {
      * automatically on cancellation.
      */
     private Instant cancelledAt;
+    /**
+     * Name of the table when the reservation was made or last moved. Set
+     * automatically.
+     */
+    private String tableName;
+    /**
+     * Room type of the table when the reservation was made or last moved. Set
+     * automatically.
+     */
+    private RoomType roomType;
+    /**
+     * Minimum spend of the table when the reservation was made or last moved, in
+     * restaurant local currency. Set automatically. Kept with the reservation so
+     * that the rollups add and later subtract the same amount, even if the table
+     * changed or was deleted in between.
+     */
+    private double minSpend;
 
     public String getId() {
         return id;
@@ -148,6 +165,30 @@ public class Reservation {
         this.cancelledAt = cancelledAt;
     }
 
+    public String getTableName() {
+        return tableName;
+    }
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(RoomType roomType) {
+        this.roomType = roomType;
+    }
+
+    public double getMinSpend() {
+        return minSpend;
+    }
+
+    public void setMinSpend(double minSpend) {
+        this.minSpend = minSpend;
+    }
+
     public Reservation() {
         this.isCancelled = false;
     }
@@ -173,9 +214,9 @@ public class Reservation {
     @Override
     public String toString() {
         return String.format(
-                "Reservation[id='%s', restaurantId='%s', tableId='%s', dinerId='%s', name='%s', numGuests='%s', reservationStart='%s', reservationEnd='%s', isCancelled='%s', createdAt='%s', cancelledAt='%s']",
+                "Reservation[id='%s', restaurantId='%s', tableId='%s', dinerId='%s', name='%s', numGuests='%s', reservationStart='%s', reservationEnd='%s', isCancelled='%s', createdAt='%s', cancelledAt='%s', tableName='%s', roomType='%s', minSpend='%s']",
                 id, restaurantId, tableId, dinerId, name, numGuests, reservationStart, reservationEnd, isCancelled,
-                createdAt, cancelledAt);
+                createdAt, cancelledAt, tableName, roomType, minSpend);
     }
 
     @Override
@@ -193,6 +234,11 @@ public class Reservation {
         result = prime * result + ((isCancelled == null) ? 0 : isCancelled.hashCode());
         result = prime * result + ((createdAt == null) ? 0 : createdAt.hashCode());
         result = prime * result + ((cancelledAt == null) ? 0 : cancelledAt.hashCode());
+        result = prime * result + ((tableName == null) ? 0 : tableName.hashCode());
+        result = prime * result + ((roomType == null) ? 0 : roomType.hashCode());
+        long temp;
+        temp = Double.doubleToLongBits(minSpend);
+        result = prime * result + (int) (temp ^ (temp >>> 32));
         return result;
     }
 
@@ -257,6 +303,15 @@ public class Reservation {
                 return false;
         } else if (!cancelledAt.equals(other.cancelledAt))
             return false;
+        if (tableName == null) {
+            if (other.tableName != null)
+                return false;
+        } else if (!tableName.equals(other.tableName))
+            return false;
+        if (roomType != other.roomType)
+            return false;
+        if (Double.doubleToLongBits(minSpend) != Double.doubleToLongBits(other.minSpend))
+            return false;
         return true;
     }
 }
@@ -0,0 +1,14 @@
+package paterben.privatedining.core.model;
+
+/**
+ * Type of change made to a reservation.
+ */
+public enum ReservationEventType {
+    RESERVATION_CREATED,
+    RESERVATION_CANCELLED,
+    // Rescheduled, resized or moved to another table.
+    RESERVATION_UPDATED,
+    // No longer on the table, i.e. moved to another table. Only reported by the
+    // table schedule feed, which sees each table separately.
+    RESERVATION_REMOVED,
+}
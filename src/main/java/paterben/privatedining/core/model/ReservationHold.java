@@ -0,0 +1,265 @@
+package paterben.privatedining.core.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Sharded;
+
+/**
+ * Temporary lease on a time slot of a table, e.g. while the diner pays. Holds
+ * block conflicting reservations and holds until they expire, and are turned
+ * into a {@link Reservation} when confirmed.
+ *
+ * Holds live in their own collection rather than in
+ * {@link TableReservations}, so that expired holds are deleted by a TTL index
+ * without writing the table document. Creating a hold still bumps
+ * {@link TableReservations#getHoldVersion()}, so that it conflicts with
+ * concurrent bookings and holds of the table.
+ */
+@Document(collection = "holds")
+// Sharded by restaurant and table, with the same zone ranges as
+// tableReservations, so that the conflict check in a booking transaction stays on
+// the shard of the table.
+@Sharded(shardKey = { "restaurantId", "tableId" }, immutableKey = true)
+// Used by the conflict check to find the holds of a table overlapping a time
+// window. Also serves as the shard key index.
+@CompoundIndex(name = "restaurant_table_start", def = "{'restaurantId': 1, 'tableId': 1, 'reservationStart': 1}")
+public class ReservationHold {
+    /**
+     * Hold ID. Globally unique. Set automatically on creation.
+     */
+    @Id
+    private String id;
+    /**
+     * ID of the restaurant the hold is for. Required.
+     */
+    private String restaurantId;
+    /**
+     * ID of the table the hold is for. Required.
+     */
+    private String tableId;
+    /**
+     * ID of the diner the hold is for. Required. Indexed to delete the holds of
+     * a deleted diner.
+     */
+    @Indexed
+    private String dinerId;
+    /**
+     * Name under which the reservation will be made. Required.
+     */
+    private String name;
+    /**
+     * Number of guests in the reservation. Required.
+     */
+    private int numGuests;
+    /**
+     * Start time of the reservation. Required.
+     */
+    private Instant reservationStart;
+    /**
+     * End time of the reservation. Required.
+     */
+    private Instant reservationEnd;
+    /**
+     * Hold creation time. Required.
+     */
+    private Instant createdAt;
+    /**
+     * Time after which the hold no longer blocks the slot and can't be confirmed.
+     * Expired holds are deleted automatically by a TTL index, which runs about
+     * once a minute, so readers must also check this field. Required.
+     */
+    @Indexed(expireAfter = "0s")
+    private Instant expiresAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(String restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public String getTableId() {
+        return tableId;
+    }
+
+    public void setTableId(String tableId) {
+        this.tableId = tableId;
+    }
+
+    public String getDinerId() {
+        return dinerId;
+    }
+
+    public void setDinerId(String dinerId) {
+        this.dinerId = dinerId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getNumGuests() {
+        return numGuests;
+    }
+
+    public void setNumGuests(int numGuests) {
+        this.numGuests = numGuests;
+    }
+
+    public Instant getReservationStart() {
+        return reservationStart;
+    }
+
+    public void setReservationStart(Instant reservationStart) {
+        this.reservationStart = reservationStart;
+    }
+
+    public Instant getReservationEnd() {
+        return reservationEnd;
+    }
+
+    public void setReservationEnd(Instant reservationEnd) {
+        this.reservationEnd = reservationEnd;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public ReservationHold() {
+    }
+
+    public ReservationHold(String id, String restaurantId, String tableId, String dinerId, String name,
+            int numGuests, Instant reservationStart, Instant reservationEnd, Instant createdAt, Instant expiresAt) {
+        this.id = id;
+        this.restaurantId = restaurantId;
+        this.tableId = tableId;
+        this.dinerId = dinerId;
+        this.name = name;
+        this.numGuests = numGuests;
+        this.reservationStart = reservationStart;
+        this.reservationEnd = reservationEnd;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Returns the reservation to create when the hold is confirmed.
+     */
+    public Reservation toReservation() {
+        return new Reservation(dinerId, name, numGuests, reservationStart, reservationEnd);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ReservationHold[id='%s', restaurantId='%s', tableId='%s', dinerId='%s', name='%s', numGuests='%s', reservationStart='%s', reservationEnd='%s', createdAt='%s', expiresAt='%s']",
+                id, restaurantId, tableId, dinerId, name, numGuests, reservationStart, reservationEnd, createdAt,
+                expiresAt);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((id == null) ? 0 : id.hashCode());
+        result = prime * result + ((restaurantId == null) ? 0 : restaurantId.hashCode());
+        result = prime * result + ((tableId == null) ? 0 : tableId.hashCode());
+        result = prime * result + ((dinerId == null) ? 0 : dinerId.hashCode());
+        result = prime * result + ((name == null) ? 0 : name.hashCode());
+        result = prime * result + numGuests;
+        result = prime * result + ((reservationStart == null) ? 0 : reservationStart.hashCode());
+        result = prime * result + ((reservationEnd == null) ? 0 : reservationEnd.hashCode());
+        result = prime * result + ((createdAt == null) ? 0 : createdAt.hashCode());
+        result = prime * result + ((expiresAt == null) ? 0 : expiresAt.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        ReservationHold other = (ReservationHold) obj;
+        if (id == null) {
+            if (other.id != null)
+                return false;
+        } else if (!id.equals(other.id))
+            return false;
+        if (restaurantId == null) {
+            if (other.restaurantId != null)
+                return false;
+        } else if (!restaurantId.equals(other.restaurantId))
+            return false;
+        if (tableId == null) {
+            if (other.tableId != null)
+                return false;
+        } else if (!tableId.equals(other.tableId))
+            return false;
+        if (dinerId == null) {
+            if (other.dinerId != null)
+                return false;
+        } else if (!dinerId.equals(other.dinerId))
+            return false;
+        if (name == null) {
+            if (other.name != null)
+                return false;
+        } else if (!name.equals(other.name))
+            return false;
+        if (numGuests != other.numGuests)
+            return false;
+        if (reservationStart == null) {
+            if (other.reservationStart != null)
+                return false;
+        } else if (!reservationStart.equals(other.reservationStart))
+            return false;
+        if (reservationEnd == null) {
+            if (other.reservationEnd != null)
+                return false;
+        } else if (!reservationEnd.equals(other.reservationEnd))
+            return false;
+        if (createdAt == null) {
+            if (other.createdAt != null)
+                return false;
+        } else if (!createdAt.equals(other.createdAt))
+            return false;
+        if (expiresAt == null) {
+            if (other.expiresAt != null)
+                return false;
+        } else if (!expiresAt.equals(other.expiresAt))
+            return false;
+        return true;
+    }
+}
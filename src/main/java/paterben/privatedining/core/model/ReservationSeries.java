@@ -0,0 +1,261 @@
+package paterben.privatedining.core.model;
+
+import java.time.Instant;
+
+/**
+ * Recurring reservation, e.g. every Tuesday evening for a year. Embedded in
+ * {@link TableReservations}, so that creating one is a single write of the
+ * table document however many occurrences it has.
+ *
+ * Occurrences are not stored: they are computed on demand with
+ * {@link paterben.privatedining.core.SeriesOccurrences}. Occurrence {@code i}
+ * starts {@code i * interval} days or weeks after the first one, at the same
+ * local time in {@code timeZone}.
+ */
+public class ReservationSeries {
+    /**
+     * Series ID. Globally unique. Set automatically on creation.
+     */
+    private String id;
+    /**
+     * ID of the diner the series is for. Required.
+     */
+    private String dinerId;
+    /**
+     * Name under which the reservations are made. Required.
+     */
+    private String name;
+    /**
+     * Number of guests of each reservation. Required.
+     */
+    private int numGuests;
+    /**
+     * Start time of the first occurrence. Required.
+     */
+    private Instant firstReservationStart;
+    /**
+     * End time of the first occurrence. Required.
+     */
+    private Instant firstReservationEnd;
+    /**
+     * Recurrence frequency. Required.
+     */
+    private SeriesFrequency frequency;
+    /**
+     * Number of days or weeks between occurrences. Optional, defaults to 1.
+     */
+    private int interval;
+    /**
+     * Number of occurrences. Required.
+     */
+    private int count;
+    /**
+     * Series creation time. Set automatically on creation.
+     */
+    private Instant createdAt;
+    /**
+     * Time zone in which occurrences keep the local time of the first one across
+     * DST changes. Set automatically on creation from the opening hours of the
+     * table. Optional, defaults to UTC.
+     */
+    private String timeZone;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getDinerId() {
+        return dinerId;
+    }
+
+    public void setDinerId(String dinerId) {
+        this.dinerId = dinerId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getNumGuests() {
+        return numGuests;
+    }
+
+    public void setNumGuests(int numGuests) {
+        this.numGuests = numGuests;
+    }
+
+    public Instant getFirstReservationStart() {
+        return firstReservationStart;
+    }
+
+    public void setFirstReservationStart(Instant firstReservationStart) {
+        this.firstReservationStart = firstReservationStart;
+    }
+
+    public Instant getFirstReservationEnd() {
+        return firstReservationEnd;
+    }
+
+    public void setFirstReservationEnd(Instant firstReservationEnd) {
+        this.firstReservationEnd = firstReservationEnd;
+    }
+
+    public SeriesFrequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(SeriesFrequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public void setInterval(int interval) {
+        this.interval = interval;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    /**
+     * Returns the number of days between the starts of two consecutive
+     * occurrences, in local time.
+     */
+    public int periodDays() {
+        return (frequency == SeriesFrequency.WEEKLY ? 7 : 1) * interval;
+    }
+
+    public ReservationSeries() {
+    }
+
+    public ReservationSeries(String dinerId, String name, int numGuests, Instant firstReservationStart,
+            Instant firstReservationEnd, SeriesFrequency frequency, int interval, int count) {
+        this.dinerId = dinerId;
+        this.name = name;
+        this.numGuests = numGuests;
+        this.firstReservationStart = firstReservationStart;
+        this.firstReservationEnd = firstReservationEnd;
+        this.frequency = frequency;
+        this.interval = interval;
+        this.count = count;
+    }
+
+    public ReservationSeries(String id, String dinerId, String name, int numGuests, Instant firstReservationStart,
+            Instant firstReservationEnd, SeriesFrequency frequency, int interval, int count, Instant createdAt) {
+        this(dinerId, name, numGuests, firstReservationStart, firstReservationEnd, frequency, interval, count);
+        this.id = id;
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ReservationSeries[id='%s', dinerId='%s', name='%s', numGuests='%s', firstReservationStart='%s', firstReservationEnd='%s', frequency='%s', interval='%s', count='%s', createdAt='%s', timeZone='%s']",
+                id, dinerId, name, numGuests, firstReservationStart, firstReservationEnd, frequency, interval, count,
+                createdAt, timeZone);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((id == null) ? 0 : id.hashCode());
+        result = prime * result + ((dinerId == null) ? 0 : dinerId.hashCode());
+        result = prime * result + ((name == null) ? 0 : name.hashCode());
+        result = prime * result + numGuests;
+        result = prime * result + ((firstReservationStart == null) ? 0 : firstReservationStart.hashCode());
+        result = prime * result + ((firstReservationEnd == null) ? 0 : firstReservationEnd.hashCode());
+        result = prime * result + ((frequency == null) ? 0 : frequency.hashCode());
+        result = prime * result + interval;
+        result = prime * result + count;
+        result = prime * result + ((createdAt == null) ? 0 : createdAt.hashCode());
+        result = prime * result + ((timeZone == null) ? 0 : timeZone.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        ReservationSeries other = (ReservationSeries) obj;
+        if (id == null) {
+            if (other.id != null)
+                return false;
+        } else if (!id.equals(other.id))
+            return false;
+        if (dinerId == null) {
+            if (other.dinerId != null)
+                return false;
+        } else if (!dinerId.equals(other.dinerId))
+            return false;
+        if (name == null) {
+            if (other.name != null)
+                return false;
+        } else if (!name.equals(other.name))
+            return false;
+        if (numGuests != other.numGuests)
+            return false;
+        if (firstReservationStart == null) {
+            if (other.firstReservationStart != null)
+                return false;
+        } else if (!firstReservationStart.equals(other.firstReservationStart))
+            return false;
+        if (firstReservationEnd == null) {
+            if (other.firstReservationEnd != null)
+                return false;
+        } else if (!firstReservationEnd.equals(other.firstReservationEnd))
+            return false;
+        if (frequency != other.frequency)
+            return false;
+        if (interval != other.interval)
+            return false;
+        if (count != other.count)
+            return false;
+        if (createdAt == null) {
+            if (other.createdAt != null)
+                return false;
+        } else if (!createdAt.equals(other.createdAt))
+            return false;
+        if (timeZone == null) {
+            if (other.timeZone != null)
+                return false;
+        } else if (!timeZone.equals(other.timeZone))
+            return false;
+        return true;
+    }
+}
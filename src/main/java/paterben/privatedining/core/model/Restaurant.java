@@ -40,6 +40,11 @@ public class Restaurant {
      */
     @CreatedDate
     private Instant createdAt;
+    /**
+     * Opening hours of the restaurant, used by tables that don't have their own.
+     * Optional. Open 24/7 if not set.
+     */
+    private OpeningHours openingHours;
 
     public String getId() {
         return id;
@@ -89,6 +94,14 @@ public class Restaurant {
         this.createdAt = createdAt;
     }
 
+    public OpeningHours getOpeningHours() {
+        return openingHours;
+    }
+
+    public void setOpeningHours(OpeningHours openingHours) {
+        this.openingHours = openingHours;
+    }
+
     public Restaurant() {
     }
 
@@ -108,8 +121,8 @@ public class Restaurant {
     @Override
     public String toString() {
         return String.format(
-                "Restaurant[id='%s', name='%s', address='%s', email='%s', currency='%s', createdAt='%s']",
-                id, name, address, email, currency, createdAt);
+                "Restaurant[id='%s', name='%s', address='%s', email='%s', currency='%s', createdAt='%s', openingHours='%s']",
+                id, name, address, email, currency, createdAt, openingHours);
     }
 
     @Override
@@ -122,6 +135,7 @@ public class Restaurant {
         result = prime * result + ((email == null) ? 0 : email.hashCode());
         result = prime * result + ((currency == null) ? 0 : currency.hashCode());
         result = prime * result + ((createdAt == null) ? 0 : createdAt.hashCode());
+        result = prime * result + ((openingHours == null) ? 0 : openingHours.hashCode());
         return result;
     }
 
@@ -164,6 +178,11 @@ public class Restaurant {
                 return false;
         } else if (!createdAt.equals(other.createdAt))
             return false;
+        if (openingHours == null) {
+            if (other.openingHours != null)
+                return false;
+        } else if (!openingHours.equals(other.openingHours))
+            return false;
         return true;
     }
 }
@@ -0,0 +1,200 @@
+package paterben.privatedining.core.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Totals of the active reservations of a restaurant on one UTC day, maintained
+ * incrementally from reservation events. Reservations count towards the day
+ * they start on.
+ */
+@Document(collection = "restaurantDailyRollups")
+@CompoundIndex(name = "restaurant_day", def = "{'restaurantId': 1, 'day': 1}")
+public class RestaurantDailyRollup {
+    /**
+     * Document ID, {@code <restaurantId>:<day>}.
+     */
+    @Id
+    private String id;
+    /**
+     * ID of the restaurant.
+     */
+    private String restaurantId;
+    /**
+     * Day in ISO-8601 format, e.g. {@code 2026-10-19}.
+     */
+    private String day;
+    /**
+     * Number of active reservations.
+     */
+    private int reservations;
+    /**
+     * Total number of guests.
+     */
+    private int covers;
+    /**
+     * Total reserved time in minutes.
+     */
+    private long bookedMinutes;
+    /**
+     * Sum of the table minimum spend over all reservations, in restaurant local
+     * currency.
+     */
+    private double minSpend;
+    /**
+     * Table ID -> totals for that table.
+     */
+    private Map<String, TableDailyRollup> tables;
+
+    public static String makeId(String restaurantId, String day) {
+        return restaurantId + ":" + day;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(String restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public String getDay() {
+        return day;
+    }
+
+    public void setDay(String day) {
+        this.day = day;
+    }
+
+    public int getReservations() {
+        return reservations;
+    }
+
+    public void setReservations(int reservations) {
+        this.reservations = reservations;
+    }
+
+    public int getCovers() {
+        return covers;
+    }
+
+    public void setCovers(int covers) {
+        this.covers = covers;
+    }
+
+    public long getBookedMinutes() {
+        return bookedMinutes;
+    }
+
+    public void setBookedMinutes(long bookedMinutes) {
+        this.bookedMinutes = bookedMinutes;
+    }
+
+    public double getMinSpend() {
+        return minSpend;
+    }
+
+    public void setMinSpend(double minSpend) {
+        this.minSpend = minSpend;
+    }
+
+    public Map<String, TableDailyRollup> getTables() {
+        return tables;
+    }
+
+    public void setTables(Map<String, TableDailyRollup> tables) {
+        this.tables = tables;
+    }
+
+    public RestaurantDailyRollup() {
+        this.tables = new HashMap<>();
+    }
+
+    public RestaurantDailyRollup(String restaurantId, String day, int reservations, int covers, long bookedMinutes,
+            double minSpend, Map<String, TableDailyRollup> tables) {
+        this.id = makeId(restaurantId, day);
+        this.restaurantId = restaurantId;
+        this.day = day;
+        this.reservations = reservations;
+        this.covers = covers;
+        this.bookedMinutes = bookedMinutes;
+        this.minSpend = minSpend;
+        this.tables = tables;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "RestaurantDailyRollup[id='%s', restaurantId='%s', day='%s', reservations='%d', covers='%d', bookedMinutes='%d', minSpend='%s', tables='%s']",
+                id, restaurantId, day, reservations, covers, bookedMinutes, minSpend, tables);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((id == null) ? 0 : id.hashCode());
+        result = prime * result + ((restaurantId == null) ? 0 : restaurantId.hashCode());
+        result = prime * result + ((day == null) ? 0 : day.hashCode());
+        result = prime * result + reservations;
+        result = prime * result + covers;
+        result = prime * result + (int) (bookedMinutes ^ (bookedMinutes >>> 32));
+        long temp;
+        temp = Double.doubleToLongBits(minSpend);
+        result = prime * result + (int) (temp ^ (temp >>> 32));
+        result = prime * result + ((tables == null) ? 0 : tables.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        RestaurantDailyRollup other = (RestaurantDailyRollup) obj;
+        if (id == null) {
+            if (other.id != null)
+                return false;
+        } else if (!id.equals(other.id))
+            return false;
+        if (restaurantId == null) {
+            if (other.restaurantId != null)
+                return false;
+        } else if (!restaurantId.equals(other.restaurantId))
+            return false;
+        if (day == null) {
+            if (other.day != null)
+                return false;
+        } else if (!day.equals(other.day))
+            return false;
+        if (reservations != other.reservations)
+            return false;
+        if (covers != other.covers)
+            return false;
+        if (bookedMinutes != other.bookedMinutes)
+            return false;
+        if (Double.doubleToLongBits(minSpend) != Double.doubleToLongBits(other.minSpend))
+            return false;
+        if (tables == null) {
+            if (other.tables != null)
+                return false;
+        } else if (!tables.equals(other.tables))
+            return false;
+        return true;
+    }
+}
@@ -20,6 +20,11 @@ public class RestaurantTables {
      * The list of tables. Set to empty on creation.
      */
     private List<Table> tables;
+    /**
+     * Copy of the opening hours of the restaurant, used for new tables that don't
+     * have their own.
+     */
+    private OpeningHours openingHours;
 
     public String getId() {
         return id;
@@ -37,6 +42,14 @@ public class RestaurantTables {
         this.tables = tables;
     }
 
+    public OpeningHours getOpeningHours() {
+        return openingHours;
+    }
+
+    public void setOpeningHours(OpeningHours openingHours) {
+        this.openingHours = openingHours;
+    }
+
     public RestaurantTables() {
         this.tables = new ArrayList<>();
     }
@@ -53,7 +66,7 @@ public class RestaurantTables {
 
     @Override
     public String toString() {
-        return String.format("RestaurantTables[id='%s', tables='%s']", id, tables);
+        return String.format("RestaurantTables[id='%s', tables='%s', openingHours='%s']", id, tables, openingHours);
     }
 
     @Override
@@ -62,6 +75,7 @@ public class RestaurantTables {
         int result = 1;
         result = prime * result + ((id == null) ? 0 : id.hashCode());
         result = prime * result + ((tables == null) ? 0 : tables.hashCode());
+        result = prime * result + ((openingHours == null) ? 0 : openingHours.hashCode());
         return result;
     }
 
@@ -84,6 +98,11 @@ public class RestaurantTables {
                 return false;
         } else if (!tables.equals(other.tables))
             return false;
+        if (openingHours == null) {
+            if (other.openingHours != null)
+                return false;
+        } else if (!openingHours.equals(other.openingHours))
+            return false;
         return true;
     }
 }
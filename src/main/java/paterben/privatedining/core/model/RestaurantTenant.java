@@ -0,0 +1,83 @@
+package paterben.privatedining.core.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Tenant that a restaurant's data belongs to. Always stored in the shared
+ * database. Restaurants without a mapping are in the shared database.
+ */
+@Document(collection = "restaurantTenants")
+public class RestaurantTenant {
+    /**
+     * Restaurant ID.
+     */
+    @Id
+    private String id;
+    /**
+     * Tenant ID, as configured in {@code privatedining.tenancy.tenants}.
+     */
+    @Indexed
+    private String tenantId;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public RestaurantTenant() {
+    }
+
+    public RestaurantTenant(String id, String tenantId) {
+        this.id = id;
+        this.tenantId = tenantId;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RestaurantTenant[id='%s', tenantId='%s']", id, tenantId);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((id == null) ? 0 : id.hashCode());
+        result = prime * result + ((tenantId == null) ? 0 : tenantId.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        RestaurantTenant other = (RestaurantTenant) obj;
+        if (id == null) {
+            if (other.id != null)
+                return false;
+        } else if (!id.equals(other.id))
+            return false;
+        if (tenantId == null) {
+            if (other.tenantId != null)
+                return false;
+        } else if (!tenantId.equals(other.tenantId))
+            return false;
+        return true;
+    }
+}
@@ -0,0 +1,9 @@
+package paterben.privatedining.core.model;
+
+/**
+ * Recurrence frequency of a {@link ReservationSeries}.
+ */
+public enum SeriesFrequency {
+    DAILY,
+    WEEKLY,
+}
@@ -33,6 +33,11 @@ public class Table {
      * Minimum spend in restaurant local currency. Optional. 0 means no minimum.
      */
     private double minSpend;
+    /**
+     * Opening hours of the table. Optional. Defaults to the opening hours of the
+     * restaurant.
+     */
+    private OpeningHours openingHours;
 
     public String getId() {
         return id;
@@ -82,6 +87,14 @@ public class Table {
         this.minSpend = minSpend;
     }
 
+    public OpeningHours getOpeningHours() {
+        return openingHours;
+    }
+
+    public void setOpeningHours(OpeningHours openingHours) {
+        this.openingHours = openingHours;
+    }
+
     public Table() {
     }
 
@@ -101,8 +114,8 @@ public class Table {
     @Override
     public String toString() {
         return String.format(
-                "Table[id='%s', name='%s', minCapacity='%s', maxCapacity='%s', roomType='%s', minSpend='%s']",
-                id, name, minCapacity, maxCapacity, roomType, minSpend);
+                "Table[id='%s', name='%s', minCapacity='%s', maxCapacity='%s', roomType='%s', minSpend='%s', openingHours='%s']",
+                id, name, minCapacity, maxCapacity, roomType, minSpend, openingHours);
     }
 
     @Override
@@ -117,6 +130,7 @@ public class Table {
         long temp;
         temp = Double.doubleToLongBits(minSpend);
         result = prime * result + (int) (temp ^ (temp >>> 32));
+        result = prime * result + ((openingHours == null) ? 0 : openingHours.hashCode());
         return result;
     }
 
@@ -147,6 +161,11 @@ public class Table {
             return false;
         if (Double.doubleToLongBits(minSpend) != Double.doubleToLongBits(other.minSpend))
             return false;
+        if (openingHours == null) {
+            if (other.openingHours != null)
+                return false;
+        } else if (!openingHours.equals(other.openingHours))
+            return false;
         return true;
     }
 }
@@ -0,0 +1,144 @@
+package paterben.privatedining.core.model;
+
+/**
+ * Totals of the active reservations of one table on one day.
+ */
+// No Document annotation since table rollups live within the restaurant
+// rollup document.
+public class TableDailyRollup {
+    /**
+     * Table name, as of the last update.
+     */
+    private String tableName;
+    /**
+     * Room type, as of the last update.
+     */
+    private RoomType roomType;
+    /**
+     * Number of active reservations.
+     */
+    private int reservations;
+    /**
+     * Total number of guests.
+     */
+    private int covers;
+    /**
+     * Total reserved time in minutes.
+     */
+    private long bookedMinutes;
+    /**
+     * Sum of the table minimum spend over all reservations, in restaurant local
+     * currency.
+     */
+    private double minSpend;
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(RoomType roomType) {
+        this.roomType = roomType;
+    }
+
+    public int getReservations() {
+        return reservations;
+    }
+
+    public void setReservations(int reservations) {
+        this.reservations = reservations;
+    }
+
+    public int getCovers() {
+        return covers;
+    }
+
+    public void setCovers(int covers) {
+        this.covers = covers;
+    }
+
+    public long getBookedMinutes() {
+        return bookedMinutes;
+    }
+
+    public void setBookedMinutes(long bookedMinutes) {
+        this.bookedMinutes = bookedMinutes;
+    }
+
+    public double getMinSpend() {
+        return minSpend;
+    }
+
+    public void setMinSpend(double minSpend) {
+        this.minSpend = minSpend;
+    }
+
+    public TableDailyRollup() {
+    }
+
+    public TableDailyRollup(String tableName, RoomType roomType, int reservations, int covers, long bookedMinutes,
+            double minSpend) {
+        this.tableName = tableName;
+        this.roomType = roomType;
+        this.reservations = reservations;
+        this.covers = covers;
+        this.bookedMinutes = bookedMinutes;
+        this.minSpend = minSpend;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "TableDailyRollup[tableName='%s', roomType='%s', reservations='%d', covers='%d', bookedMinutes='%d', minSpend='%s']",
+                tableName, roomType, reservations, covers, bookedMinutes, minSpend);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((tableName == null) ? 0 : tableName.hashCode());
+        result = prime * result + ((roomType == null) ? 0 : roomType.hashCode());
+        result = prime * result + reservations;
+        result = prime * result + covers;
+        result = prime * result + (int) (bookedMinutes ^ (bookedMinutes >>> 32));
+        long temp;
+        temp = Double.doubleToLongBits(minSpend);
+        result = prime * result + (int) (temp ^ (temp >>> 32));
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        TableDailyRollup other = (TableDailyRollup) obj;
+        if (tableName == null) {
+            if (other.tableName != null)
+                return false;
+        } else if (!tableName.equals(other.tableName))
+            return false;
+        if (roomType != other.roomType)
+            return false;
+        if (reservations != other.reservations)
+            return false;
+        if (covers != other.covers)
+            return false;
+        if (bookedMinutes != other.bookedMinutes)
+            return false;
+        if (Double.doubleToLongBits(minSpend) != Double.doubleToLongBits(other.minSpend))
+            return false;
+        return true;
+    }
+}
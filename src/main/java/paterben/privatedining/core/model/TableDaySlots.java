@@ -0,0 +1,140 @@
+package paterben.privatedining.core.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Occupancy bitmap of a table for one UTC day, see
+ * {@link paterben.privatedining.core.SlotBitmap}. Only maintained when slot
+ * mode is enabled.
+ */
+@Document(collection = "tableDaySlots")
+@CompoundIndex(name = "table_day", def = "{'tableId': 1, 'day': 1}")
+public class TableDaySlots {
+    /**
+     * Document ID, {@code <tableId>:<day>}.
+     */
+    @Id
+    private String id;
+    /**
+     * ID of the table.
+     */
+    private String tableId;
+    /**
+     * Day in ISO-8601 format, e.g. {@code 2026-10-19}.
+     */
+    private String day;
+    /**
+     * Slots 0 to 63 of the day.
+     */
+    private long slots0;
+    /**
+     * Slots 64 to 95 of the day.
+     */
+    private long slots1;
+
+    public static String makeId(String tableId, String day) {
+        return tableId + ":" + day;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTableId() {
+        return tableId;
+    }
+
+    public void setTableId(String tableId) {
+        this.tableId = tableId;
+    }
+
+    public String getDay() {
+        return day;
+    }
+
+    public void setDay(String day) {
+        this.day = day;
+    }
+
+    public long getSlots0() {
+        return slots0;
+    }
+
+    public void setSlots0(long slots0) {
+        this.slots0 = slots0;
+    }
+
+    public long getSlots1() {
+        return slots1;
+    }
+
+    public void setSlots1(long slots1) {
+        this.slots1 = slots1;
+    }
+
+    public TableDaySlots() {
+    }
+
+    public TableDaySlots(String tableId, String day, long slots0, long slots1) {
+        this.id = makeId(tableId, day);
+        this.tableId = tableId;
+        this.day = day;
+        this.slots0 = slots0;
+        this.slots1 = slots1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TableDaySlots[id='%s', tableId='%s', day='%s', slots0='%x', slots1='%x']", id,
+                tableId, day, slots0, slots1);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((id == null) ? 0 : id.hashCode());
+        result = prime * result + ((tableId == null) ? 0 : tableId.hashCode());
+        result = prime * result + ((day == null) ? 0 : day.hashCode());
+        result = prime * result + (int) (slots0 ^ (slots0 >>> 32));
+        result = prime * result + (int) (slots1 ^ (slots1 >>> 32));
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        TableDaySlots other = (TableDaySlots) obj;
+        if (id == null) {
+            if (other.id != null)
+                return false;
+        } else if (!id.equals(other.id))
+            return false;
+        if (tableId == null) {
+            if (other.tableId != null)
+                return false;
+        } else if (!tableId.equals(other.tableId))
+            return false;
+        if (day == null) {
+            if (other.day != null)
+                return false;
+        } else if (!day.equals(other.day))
+            return false;
+        if (slots0 != other.slots0)
+            return false;
+        if (slots1 != other.slots1)
+            return false;
+        return true;
+    }
+}
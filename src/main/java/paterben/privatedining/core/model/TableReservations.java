@@ -4,13 +4,34 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Sharded;
 
 /**
  * List of reservations for a table, and some table metadata needed to check
  * reservation compatibility.
  */
 @Document(collection = "tableReservations")
+// Sharded by restaurant so that all tables of a restaurant live on the same
+// shard. The shard key is included in the filter of replacements. A table never
+// changes restaurant, so the key is immutable and replacements take it from the
+// entity rather than reading it from the stored document first.
+@Sharded(shardKey = { "restaurantId", "id" }, immutableKey = true)
+// Indexes on embedded reservation fields are declared here rather than on
+// Reservation, which would also index them in dinerReservations.
+@CompoundIndexes({
+        // Restaurant-wide reservation queries, optionally restricted to a time
+        // window. Also serves queries on restaurantId alone.
+        @CompoundIndex(name = "restaurant_reservationStart", def = "{'restaurantId': 1, 'reservations.reservationStart': 1}"),
+        // Lookups of a single reservation by ID.
+        @CompoundIndex(name = "reservationId", def = "{'reservations._id': 1}"),
+        // Lookups of a diner's reservations from the table side.
+        @CompoundIndex(name = "reservationDinerId", def = "{'reservations.dinerId': 1}"),
+        // Lookups of a diner's reservation series, e.g. before deleting the diner.
+        @CompoundIndex(name = "seriesDinerId", def = "{'series.dinerId': 1}"),
+})
 public class TableReservations {
     /**
      * Table ID. Globally unique. Set automatically on creation.
@@ -29,10 +50,39 @@ public class TableReservations {
      * Table max capacity. Set automatically on creation.
      */
     private int maxCapacity;
+    /**
+     * Table name, room type and minimum spend. Copied here so that they are
+     * recorded on reservations without another read.
+     */
+    private String name;
+    private RoomType roomType;
+    private double minSpend;
     /**
      * The list of reservations. Set to empty on creation.
      */
     private List<Reservation> reservations;
+    /**
+     * The list of recurring reservations. Set to empty on creation.
+     */
+    private List<ReservationSeries> series;
+    /**
+     * Effective opening hours of the table: its own, or else the restaurant's.
+     * Copied here so that reservations are checked against them without another
+     * read. Open 24/7 if not set.
+     */
+    private OpeningHours openingHours;
+    /**
+     * Whether the table was deleted. Set in the same transaction as the removal of
+     * the table from restaurantTables. The document itself is removed later by the
+     * CascadeDeleter, which still needs its reservations.
+     */
+    private Boolean isDeleted;
+    /**
+     * Incremented by each hold created on the table, in the same transaction as
+     * the hold. Bookings write this document too, so a hold and a booking created
+     * concurrently fail with a write conflict rather than both going through.
+     */
+    private long holdVersion;
 
     public String getId() {
         return id;
@@ -50,6 +100,30 @@ public class TableReservations {
         this.restaurantId = restaurantId;
     }
 
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(RoomType roomType) {
+        this.roomType = roomType;
+    }
+
+    public double getMinSpend() {
+        return minSpend;
+    }
+
+    public void setMinSpend(double minSpend) {
+        this.minSpend = minSpend;
+    }
+
     public List<Reservation> getReservations() {
         return reservations;
     }
@@ -74,8 +148,41 @@ public class TableReservations {
         this.reservations = reservations;
     }
 
+    public List<ReservationSeries> getSeries() {
+        return series;
+    }
+
+    public void setSeries(List<ReservationSeries> series) {
+        this.series = series;
+    }
+
+    public OpeningHours getOpeningHours() {
+        return openingHours;
+    }
+
+    public void setOpeningHours(OpeningHours openingHours) {
+        this.openingHours = openingHours;
+    }
+
+    public Boolean getIsDeleted() {
+        return isDeleted;
+    }
+
+    public void setIsDeleted(Boolean isDeleted) {
+        this.isDeleted = isDeleted;
+    }
+
+    public long getHoldVersion() {
+        return holdVersion;
+    }
+
+    public void setHoldVersion(long holdVersion) {
+        this.holdVersion = holdVersion;
+    }
+
     public TableReservations() {
         this.reservations = new ArrayList<>();
+        this.series = new ArrayList<>();
     }
 
     public TableReservations(String id, String restaurantId, int minCapacity, int maxCapacity) {
@@ -84,6 +191,7 @@ public class TableReservations {
         this.minCapacity = minCapacity;
         this.maxCapacity = maxCapacity;
         this.reservations = new ArrayList<>();
+        this.series = new ArrayList<>();
     }
 
     public TableReservations(String id, String restaurantId, int minCapacity, int maxCapacity,
@@ -95,8 +203,9 @@ public class TableReservations {
     @Override
     public String toString() {
         return String.format(
-                "TableReservations[id='%s', restaurantId='%s', minCapacity='%s', maxCapacity='%s', reservations='%s']",
-                id, restaurantId, minCapacity, maxCapacity, reservations);
+                "TableReservations[id='%s', restaurantId='%s', minCapacity='%s', maxCapacity='%s', name='%s', roomType='%s', minSpend='%s', reservations='%s', series='%s', openingHours='%s', isDeleted='%s', holdVersion='%s']",
+                id, restaurantId, minCapacity, maxCapacity, name, roomType, minSpend, reservations, series,
+                openingHours, isDeleted, holdVersion);
     }
 
     @Override
@@ -107,7 +216,16 @@ public class TableReservations {
         result = prime * result + ((restaurantId == null) ? 0 : restaurantId.hashCode());
         result = prime * result + minCapacity;
         result = prime * result + maxCapacity;
+        result = prime * result + ((name == null) ? 0 : name.hashCode());
+        result = prime * result + ((roomType == null) ? 0 : roomType.hashCode());
+        long temp;
+        temp = Double.doubleToLongBits(minSpend);
+        result = prime * result + (int) (temp ^ (temp >>> 32));
         result = prime * result + ((reservations == null) ? 0 : reservations.hashCode());
+        result = prime * result + ((series == null) ? 0 : series.hashCode());
+        result = prime * result + ((openingHours == null) ? 0 : openingHours.hashCode());
+        result = prime * result + ((isDeleted == null) ? 0 : isDeleted.hashCode());
+        result = prime * result + (int) (holdVersion ^ (holdVersion >>> 32));
         return result;
     }
 
@@ -134,11 +252,37 @@ public class TableReservations {
             return false;
         if (maxCapacity != other.maxCapacity)
             return false;
+        if (name == null) {
+            if (other.name != null)
+                return false;
+        } else if (!name.equals(other.name))
+            return false;
+        if (roomType != other.roomType)
+            return false;
+        if (Double.doubleToLongBits(minSpend) != Double.doubleToLongBits(other.minSpend))
+            return false;
         if (reservations == null) {
             if (other.reservations != null)
                 return false;
         } else if (!reservations.equals(other.reservations))
             return false;
+        if (series == null) {
+            if (other.series != null)
+                return false;
+        } else if (!series.equals(other.series))
+            return false;
+        if (openingHours == null) {
+            if (other.openingHours != null)
+                return false;
+        } else if (!openingHours.equals(other.openingHours))
+            return false;
+        if (isDeleted == null) {
+            if (other.isDeleted != null)
+                return false;
+        } else if (!isDeleted.equals(other.isDeleted))
+            return false;
+        if (holdVersion != other.holdVersion)
+            return false;
         return true;
     }
 }
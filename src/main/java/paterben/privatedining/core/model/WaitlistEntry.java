@@ -0,0 +1,256 @@
+package paterben.privatedining.core.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Request to be booked on a table if a conflicting reservation is cancelled.
+ * Deleted when booked.
+ */
+@Document(collection = "waitlist")
+@CompoundIndexes({
+        // Used by the matcher to find the entries overlapping a freed interval.
+        @CompoundIndex(name = "table_start", def = "{'tableId': 1, 'reservationStart': 1}"),
+        // Used to list the waitlist of a table in priority order.
+        @CompoundIndex(name = "table_priority", def = "{'tableId': 1, 'priority': -1, 'createdAt': 1}"),
+        // Used to delete the entries of a deleted diner.
+        @CompoundIndex(name = "dinerId", def = "{'dinerId': 1}")
+})
+public class WaitlistEntry {
+    /**
+     * Entry ID. Globally unique. Set automatically on creation.
+     */
+    @Id
+    private String id;
+    /**
+     * ID of the restaurant the entry is for. Set automatically on creation.
+     */
+    private String restaurantId;
+    /**
+     * ID of the table the entry is for. Set automatically on creation.
+     */
+    private String tableId;
+    /**
+     * ID of the diner the entry is for. Required.
+     */
+    private String dinerId;
+    /**
+     * Name under which the reservation will be made. Required.
+     */
+    private String name;
+    /**
+     * Number of guests in the reservation. Required.
+     */
+    private int numGuests;
+    /**
+     * Start time of the requested reservation. Required.
+     */
+    private Instant reservationStart;
+    /**
+     * End time of the requested reservation. Required.
+     */
+    private Instant reservationEnd;
+    /**
+     * Priority of the entry. Optional. Entries with a higher priority are booked
+     * first, then entries created earlier.
+     */
+    private int priority;
+    /**
+     * Entry creation time. Set automatically on creation.
+     */
+    private Instant createdAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(String restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public String getTableId() {
+        return tableId;
+    }
+
+    public void setTableId(String tableId) {
+        this.tableId = tableId;
+    }
+
+    public String getDinerId() {
+        return dinerId;
+    }
+
+    public void setDinerId(String dinerId) {
+        this.dinerId = dinerId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getNumGuests() {
+        return numGuests;
+    }
+
+    public void setNumGuests(int numGuests) {
+        this.numGuests = numGuests;
+    }
+
+    public Instant getReservationStart() {
+        return reservationStart;
+    }
+
+    public void setReservationStart(Instant reservationStart) {
+        this.reservationStart = reservationStart;
+    }
+
+    public Instant getReservationEnd() {
+        return reservationEnd;
+    }
+
+    public void setReservationEnd(Instant reservationEnd) {
+        this.reservationEnd = reservationEnd;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public WaitlistEntry() {
+    }
+
+    public WaitlistEntry(String dinerId, String name, int numGuests, Instant reservationStart,
+            Instant reservationEnd, int priority) {
+        this.dinerId = dinerId;
+        this.name = name;
+        this.numGuests = numGuests;
+        this.reservationStart = reservationStart;
+        this.reservationEnd = reservationEnd;
+        this.priority = priority;
+    }
+
+    public WaitlistEntry(String id, String restaurantId, String tableId, String dinerId, String name,
+            int numGuests, Instant reservationStart, Instant reservationEnd, int priority, Instant createdAt) {
+        this(dinerId, name, numGuests, reservationStart, reservationEnd, priority);
+        this.id = id;
+        this.restaurantId = restaurantId;
+        this.tableId = tableId;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Returns the reservation to create when the entry is booked.
+     */
+    public Reservation toReservation() {
+        return new Reservation(dinerId, name, numGuests, reservationStart, reservationEnd);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "WaitlistEntry[id='%s', restaurantId='%s', tableId='%s', dinerId='%s', name='%s', numGuests='%s', reservationStart='%s', reservationEnd='%s', priority='%s', createdAt='%s']",
+                id, restaurantId, tableId, dinerId, name, numGuests, reservationStart, reservationEnd, priority,
+                createdAt);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((id == null) ? 0 : id.hashCode());
+        result = prime * result + ((restaurantId == null) ? 0 : restaurantId.hashCode());
+        result = prime * result + ((tableId == null) ? 0 : tableId.hashCode());
+        result = prime * result + ((dinerId == null) ? 0 : dinerId.hashCode());
+        result = prime * result + ((name == null) ? 0 : name.hashCode());
+        result = prime * result + numGuests;
+        result = prime * result + ((reservationStart == null) ? 0 : reservationStart.hashCode());
+        result = prime * result + ((reservationEnd == null) ? 0 : reservationEnd.hashCode());
+        result = prime * result + priority;
+        result = prime * result + ((createdAt == null) ? 0 : createdAt.hashCode());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        WaitlistEntry other = (WaitlistEntry) obj;
+        if (id == null) {
+            if (other.id != null)
+                return false;
+        } else if (!id.equals(other.id))
+            return false;
+        if (restaurantId == null) {
+            if (other.restaurantId != null)
+                return false;
+        } else if (!restaurantId.equals(other.restaurantId))
+            return false;
+        if (tableId == null) {
+            if (other.tableId != null)
+                return false;
+        } else if (!tableId.equals(other.tableId))
+            return false;
+        if (dinerId == null) {
+            if (other.dinerId != null)
+                return false;
+        } else if (!dinerId.equals(other.dinerId))
+            return false;
+        if (name == null) {
+            if (other.name != null)
+                return false;
+        } else if (!name.equals(other.name))
+            return false;
+        if (numGuests != other.numGuests)
+            return false;
+        if (reservationStart == null) {
+            if (other.reservationStart != null)
+                return false;
+        } else if (!reservationStart.equals(other.reservationStart))
+            return false;
+        if (reservationEnd == null) {
+            if (other.reservationEnd != null)
+                return false;
+        } else if (!reservationEnd.equals(other.reservationEnd))
+            return false;
+        if (priority != other.priority)
+            return false;
+        if (createdAt == null) {
+            if (other.createdAt != null)
+                return false;
+        } else if (!createdAt.equals(other.createdAt))
+            return false;
+        return true;
+    }
+}
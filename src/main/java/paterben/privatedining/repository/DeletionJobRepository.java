@@ -0,0 +1,12 @@
+package paterben.privatedining.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import paterben.privatedining.core.model.DeletionJob;
+
+public interface DeletionJobRepository extends MongoRepository<DeletionJob, String> {
+  public List<DeletionJob> findByOrderByCreatedAtAsc(Pageable pageable);
+}
@@ -0,0 +1,12 @@
+package paterben.privatedining.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import paterben.privatedining.core.model.OutboxEvent;
+
+public interface OutboxEventRepository extends MongoRepository<OutboxEvent, String> {
+  public List<OutboxEvent> findByDispatchedAtIsNullOrderByCreatedAtAsc(Pageable pageable);
+}
@@ -0,0 +1,18 @@
+package paterben.privatedining.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import paterben.privatedining.core.model.ReservationHold;
+
+public interface ReservationHoldRepository extends MongoRepository<ReservationHold, String> {
+  // Unexpired holds of the table overlapping [start, end). Expired holds may
+  // linger until the TTL monitor runs, hence the expiresAt filter. The restaurant
+  // ID is the shard key prefix, so that the query targets a single shard.
+  @Query("{ 'restaurantId': ?0, 'tableId': ?1, 'reservationStart': { $lt: ?3 }, 'reservationEnd': { $gt: ?2 }, 'expiresAt': { $gt: ?4 } }")
+  public List<ReservationHold> findLiveOverlapping(String restaurantId, String tableId, Instant start, Instant end,
+      Instant now);
+}
@@ -0,0 +1,16 @@
+package paterben.privatedining.repository;
+
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import paterben.privatedining.core.model.RestaurantDailyRollup;
+
+public interface RestaurantDailyRollupRepository extends MongoRepository<RestaurantDailyRollup, String> {
+  // Days are ISO-8601 strings, so string order is chronological order. Both
+  // bounds are inclusive.
+  @Query(value = "{ 'restaurantId': ?0, 'day': { $gte: ?1, $lte: ?2 } }", sort = "{ 'day': 1 }")
+  public List<RestaurantDailyRollup> findByRestaurantIdAndDayRange(String restaurantId, String fromDay,
+      String toDay);
+}
@@ -0,0 +1,8 @@
+package paterben.privatedining.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import paterben.privatedining.core.model.RestaurantTenant;
+
+public interface RestaurantTenantRepository extends MongoRepository<RestaurantTenant, String> {
+}
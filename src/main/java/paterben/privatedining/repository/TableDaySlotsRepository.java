@@ -0,0 +1,8 @@
+package paterben.privatedining.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import paterben.privatedining.core.model.TableDaySlots;
+
+public interface TableDaySlotsRepository extends MongoRepository<TableDaySlots, String> {
+}
@@ -1,8 +1,28 @@
 package paterben.privatedining.repository;
 
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import paterben.privatedining.core.model.TableReservations;
 
+// Lookups by restaurant skip deleted tables, whose documents are kept until the
+// CascadeDeleter runs, so that they can no longer be read or booked.
 public interface TableReservationsRepository extends MongoRepository<TableReservations, String> {
+  @Query("{ 'restaurantId': ?0, 'isDeleted': { '$ne': true } }")
+  public List<TableReservations> findByRestaurantId(String restaurantId);
+
+  // Preferred over findById: the restaurant ID is the shard key prefix, so this
+  // is routed to a single shard.
+  @Query("{ '_id': ?0, 'restaurantId': ?1, 'isDeleted': { '$ne': true } }")
+  public Optional<TableReservations> findByIdAndRestaurantId(String id, String restaurantId);
+
+  @Query(value = "{ '_id': ?0, 'restaurantId': ?1, 'isDeleted': { '$ne': true } }", exists = true)
+  public boolean existsByIdAndRestaurantId(String id, String restaurantId);
+
+  // Only loads the opening hours, not the reservations.
+  @Query(value = "{ '_id': ?0, 'restaurantId': ?1, 'isDeleted': { '$ne': true } }", fields = "{ 'restaurantId': 1, 'openingHours': 1 }")
+  public Optional<TableReservations> findOpeningHoursByIdAndRestaurantId(String id, String restaurantId);
 }
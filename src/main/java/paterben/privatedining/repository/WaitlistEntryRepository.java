@@ -0,0 +1,25 @@
+package paterben.privatedining.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Hint;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import paterben.privatedining.core.model.WaitlistEntry;
+
+public interface WaitlistEntryRepository extends MongoRepository<WaitlistEntry, String> {
+  public List<WaitlistEntry> findByTableIdOrderByPriorityDescCreatedAtAsc(String tableId);
+
+  // Entries of the table overlapping [start, end) that start after minStart, in
+  // priority order. minStart bounds the index range scan on reservationStart,
+  // since reservations are at most a few hours long. The planner may prefer
+  // table_priority, which serves the sort but scans the whole waitlist of the
+  // table, so the index is hinted; the few matching entries are sorted in memory.
+  @Hint("table_start")
+  @Query(value = "{ 'tableId': ?0, 'reservationStart': { $gt: ?1, $lt: ?3 }, 'reservationEnd': { $gt: ?2 } }", sort = "{ 'priority': -1, 'createdAt': 1 }")
+  public List<WaitlistEntry> findCandidates(String tableId, Instant minStart, Instant start, Instant end,
+      Pageable pageable);
+}
@@ -3,11 +3,20 @@ package paterben.privatedining.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import paterben.privatedining.TenantContext;
+import paterben.privatedining.repository.AppliedRollupEventRepository;
+import paterben.privatedining.repository.DeletionJobRepository;
 import paterben.privatedining.repository.DinerRepository;
 import paterben.privatedining.repository.DinerReservationsRepository;
+import paterben.privatedining.repository.OutboxEventRepository;
+import paterben.privatedining.repository.ReservationHoldRepository;
+import paterben.privatedining.repository.RestaurantDailyRollupRepository;
 import paterben.privatedining.repository.RestaurantRepository;
 import paterben.privatedining.repository.RestaurantTablesRepository;
+import paterben.privatedining.repository.RestaurantTenantRepository;
+import paterben.privatedining.repository.TableDaySlotsRepository;
 import paterben.privatedining.repository.TableReservationsRepository;
+import paterben.privatedining.repository.WaitlistEntryRepository;
 
 @Service
 public class AdminServiceImpl implements AdminService {
@@ -27,6 +36,36 @@ public class AdminServiceImpl implements AdminService {
     @Autowired
     private DinerReservationsRepository dinerReservationsRepository;
 
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TableDaySlotsRepository tableDaySlotsRepository;
+
+    @Autowired
+    private ReservationHoldRepository reservationHoldRepository;
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    private RestaurantDailyRollupRepository restaurantDailyRollupRepository;
+
+    @Autowired
+    private AppliedRollupEventRepository appliedRollupEventRepository;
+
+    @Autowired
+    private DeletionJobRepository deletionJobRepository;
+
+    @Autowired
+    private RestaurantTenantRepository restaurantTenantRepository;
+
+    @Autowired
+    private TenantDirectory tenantDirectory;
+
+    @Autowired
+    private TableCapacityIndex tableCapacityIndex;
+
     @Override
     public void deleteAllData() {
         tableReservationsRepository.deleteAll();
@@ -34,5 +73,20 @@ public class AdminServiceImpl implements AdminService {
         restaurantTablesRepository.deleteAll();
         restaurantRepository.deleteAll();
         dinerRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        tableDaySlotsRepository.deleteAll();
+        reservationHoldRepository.deleteAll();
+        waitlistEntryRepository.deleteAll();
+        restaurantDailyRollupRepository.deleteAll();
+        appliedRollupEventRepository.deleteAll();
+        deletionJobRepository.deleteAll();
+        tableCapacityIndex.clear();
+        // Deletes the data of the current tenant only. The restaurant to tenant
+        // mapping is in the shared database.
+        if (TenantContext.current() == null) {
+            restaurantTenantRepository.deleteAll();
+        } else {
+            tenantDirectory.unregisterAllRestaurants();
+        }
     }
 }
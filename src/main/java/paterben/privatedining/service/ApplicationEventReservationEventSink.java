@@ -0,0 +1,27 @@
+package paterben.privatedining.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import paterben.privatedining.core.model.OutboxEvent;
+
+/**
+ * Publishes reservation events to in-process listeners. Listeners are regular
+ * Spring {@code @EventListener} methods taking an {@link OutboxEvent}.
+ */
+@Component
+public class ApplicationEventReservationEventSink implements ReservationEventSink {
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            applicationEventPublisher.publishEvent(event);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package paterben.privatedining.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import paterben.privatedining.TenancyProperties;
+import paterben.privatedining.TenantContext;
+import paterben.privatedining.core.model.DeletionJob;
+import paterben.privatedining.core.model.DinerReservations;
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.ReservationHold;
+import paterben.privatedining.core.model.RestaurantDailyRollup;
+import paterben.privatedining.core.model.TableDaySlots;
+import paterben.privatedining.core.model.TableReservations;
+import paterben.privatedining.core.model.WaitlistEntry;
+import paterben.privatedining.repository.DeletionJobRepository;
+
+/**
+ * Background job that runs pending {@link DeletionJob DeletionJobs}: deletes
+ * the reservations, slots, holds, waitlist entries and rollups of deleted
+ * restaurants and tables, and the copies of their reservations in
+ * {@link DinerReservations}.
+ *
+ * Data is deleted in chunks of bounded size rather than in one large
+ * transaction, so that deleting a busy restaurant doesn't hold locks or build a
+ * huge oplog entry. Every step can be repeated, so a job that fails halfway is
+ * simply run again from the start on the next poll.
+ */
+@Component
+public class CascadeDeleter {
+    private static final Logger logger = LoggerFactory.getLogger(CascadeDeleter.class);
+
+    @Autowired
+    private DeletionJobRepository deletionJobRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TenancyProperties tenancyProperties;
+
+    @Value("${privatedining.cascade-delete.chunk-size:500}")
+    private int chunkSize;
+
+    @Scheduled(fixedDelayString = "${privatedining.cascade-delete.poll-interval-ms:1000}")
+    public void runPendingJobs() {
+        // Each tenant database has its own jobs.
+        runPendingJobsOfCurrentTenant();
+        for (String tenantId : tenancyProperties.getTenants().keySet()) {
+            TenantContext.runAs(tenantId, this::runPendingJobsOfCurrentTenant);
+        }
+    }
+
+    private void runPendingJobsOfCurrentTenant() {
+        List<DeletionJob> jobs = deletionJobRepository.findByOrderByCreatedAtAsc(PageRequest.of(0, chunkSize));
+        for (DeletionJob job : jobs) {
+            try {
+                runJob(job);
+            } catch (RuntimeException e) {
+                // Retry the job on the next poll.
+                logger.warn("Failed to run deletion job {}", job, e);
+            }
+        }
+    }
+
+    void runJob(DeletionJob job) {
+        if (job.getTableId() != null) {
+            deleteTableData(job.getRestaurantId(), job.getTableId());
+        } else {
+            deleteRestaurantData(job.getRestaurantId());
+        }
+        deletionJobRepository.deleteById(job.getId());
+    }
+
+    private void deleteRestaurantData(String restaurantId) {
+        // Each table document is removed once its data is gone, so this ends when all
+        // tables are done.
+        List<TableReservations> tables;
+        do {
+            Query query = Query.query(Criteria.where("restaurantId").is(restaurantId)).limit(chunkSize);
+            query.fields().include("_id");
+            tables = mongoTemplate.find(query, TableReservations.class);
+            for (TableReservations table : tables) {
+                deleteTableData(restaurantId, table.getId());
+            }
+        } while (!tables.isEmpty());
+        deleteInChunks(Criteria.where("restaurantId").is(restaurantId), RestaurantDailyRollup.class);
+    }
+
+    private void deleteTableData(String restaurantId, String tableId) {
+        // Diners are found through the table's reservations, so their copies are
+        // cleaned up before the table document is removed.
+        List<String> dinerIds = mongoTemplate.findDistinct(Query.query(Criteria.where("_id").is(tableId)),
+                "reservations.dinerId", TableReservations.class, String.class);
+        pullDinerReservations(dinerIds, tableId);
+        deleteInChunks(Criteria.where("tableId").is(tableId), TableDaySlots.class);
+        // Holds are sharded and indexed on the restaurant ID first.
+        deleteInChunks(Criteria.where("restaurantId").is(restaurantId).and("tableId").is(tableId),
+                ReservationHold.class);
+        deleteInChunks(Criteria.where("tableId").is(tableId), WaitlistEntry.class);
+
+        Query query = Query.query(Criteria.where("_id").is(tableId));
+        query.fields().include("reservations.dinerId");
+        TableReservations removed = mongoTemplate.findAndRemove(query, TableReservations.class);
+        if (removed == null) {
+            return;
+        }
+        // Reservations may have been made in the meantime by instances that didn't
+        // see the deletion yet.
+        Set<String> seen = new HashSet<>(dinerIds);
+        List<String> lateDinerIds = removed.getReservations().stream().map(Reservation::getDinerId)
+                .filter(Objects::nonNull).filter(seen::add).toList();
+        pullDinerReservations(lateDinerIds, tableId);
+    }
+
+    private void pullDinerReservations(List<String> dinerIds, String tableId) {
+        Update update = new Update().pull("reservations", Query.query(Criteria.where("tableId").is(tableId)));
+        for (int i = 0; i < dinerIds.size(); i += chunkSize) {
+            List<String> chunk = dinerIds.subList(i, Math.min(i + chunkSize, dinerIds.size()));
+            mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(chunk)), update,
+                    DinerReservations.class);
+        }
+    }
+
+    private void deleteInChunks(Criteria criteria, Class<?> entityClass) {
+        // IDs are read and removed as is, without mapping them to entities.
+        String collectionName = mongoTemplate.getCollectionName(entityClass);
+        while (true) {
+            Query query = Query.query(criteria).limit(chunkSize);
+            query.fields().include("_id");
+            List<Object> ids = mongoTemplate.find(query, Document.class, collectionName).stream()
+                    .map(d -> d.get("_id")).toList();
+            if (ids.isEmpty()) {
+                return;
+            }
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(ids)), collectionName);
+        }
+    }
+}
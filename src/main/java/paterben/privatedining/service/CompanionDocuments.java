@@ -0,0 +1,74 @@
+package paterben.privatedining.service;
+
+import java.util.ArrayList;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import paterben.privatedining.core.model.DinerReservations;
+import paterben.privatedining.core.model.Restaurant;
+import paterben.privatedining.core.model.RestaurantTables;
+import paterben.privatedining.repository.DinerRepository;
+import paterben.privatedining.repository.RestaurantRepository;
+
+/**
+ * Creates the {@link RestaurantTables} document of a restaurant, or the
+ * {@link DinerReservations} document of a diner, when it is missing.
+ *
+ * These documents are inserted right after the restaurant or diner, without a
+ * transaction. If the process dies between the two inserts, the restaurant or
+ * diner exists without its document. Code that doesn't find the document calls
+ * these methods before reporting the restaurant or diner as not found, so the
+ * document is created on first use.
+ */
+@Component
+public class CompanionDocuments {
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private DinerRepository dinerRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Creates the restaurantTables document of the restaurant if the restaurant
+     * exists and the document doesn't.
+     *
+     * @return whether the restaurant exists.
+     */
+    public boolean ensureRestaurantTables(String restaurantId) {
+        Optional<Restaurant> restaurant = restaurantRepository.findById(restaurantId);
+        if (restaurant.isEmpty()) {
+            return false;
+        }
+        // Fields are only set on insert, so that a document created in the meantime
+        // is left as is.
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(restaurantId)),
+                new Update().setOnInsert("tables", new ArrayList<>()).setOnInsert("openingHours",
+                        restaurant.get().getOpeningHours()),
+                RestaurantTables.class);
+        return true;
+    }
+
+    /**
+     * Creates the dinerReservations document of the diner if the diner exists and
+     * the document doesn't.
+     *
+     * @return whether the diner exists.
+     */
+    public boolean ensureDinerReservations(String dinerId) {
+        if (!dinerRepository.existsById(dinerId)) {
+            return false;
+        }
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(dinerId)),
+                new Update().setOnInsert("reservations", new ArrayList<>()), DinerReservations.class);
+        return true;
+    }
+}
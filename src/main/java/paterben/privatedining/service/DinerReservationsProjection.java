@@ -0,0 +1,84 @@
+package paterben.privatedining.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.result.UpdateResult;
+
+import paterben.privatedining.core.model.DinerReservations;
+import paterben.privatedining.core.model.OutboxEvent;
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.ReservationEventType;
+
+/**
+ * Keeps {@code dinerReservations} up to date from reservation events when
+ * {@code privatedining.sharding.async-diner-projection} is enabled, instead of
+ * writing it in the reservation transaction.
+ *
+ * Events may be delivered more than once, so each update is conditional on the
+ * reservation not having been applied yet.
+ */
+@Component
+public class DinerReservationsProjection {
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${privatedining.sharding.async-diner-projection:false}")
+    private boolean asyncDinerProjection;
+
+    // Events are delivered by the OutboxDispatcher through
+    // ApplicationEventReservationEventSink. A failure here fails the batch, which
+    // is then retried.
+    @EventListener
+    public void onReservationEvent(OutboxEvent event) {
+        if (asyncDinerProjection) {
+            applyEvent(event);
+        }
+    }
+
+    void applyEvent(OutboxEvent event) {
+        Reservation reservation = event.getReservation();
+        if (event.getType() == ReservationEventType.RESERVATION_CANCELLED) {
+            UpdateResult result = mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(reservation.getDinerId())
+                            .and("reservations._id").is(reservation.getId())),
+                    new Update()
+                            .set("reservations.$.isCancelled", true)
+                            .set("reservations.$.cancelledAt", reservation.getCancelledAt()),
+                    DinerReservations.class);
+            if (result.getMatchedCount() > 0) {
+                return;
+            }
+            // The creation was never projected, e.g. because the reservation was created
+            // before the projection was enabled. Add the cancelled snapshot instead.
+        } else if (event.getType() == ReservationEventType.RESERVATION_UPDATED) {
+            UpdateResult result = mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(reservation.getDinerId())
+                            .and("reservations._id").is(reservation.getId())),
+                    new Update()
+                            .set("reservations.$.tableId", reservation.getTableId())
+                            .set("reservations.$.numGuests", reservation.getNumGuests())
+                            .set("reservations.$.reservationStart", reservation.getReservationStart())
+                            .set("reservations.$.reservationEnd", reservation.getReservationEnd())
+                            .set("reservations.$.tableName", reservation.getTableName())
+                            .set("reservations.$.roomType", reservation.getRoomType())
+                            .set("reservations.$.minSpend", reservation.getMinSpend()),
+                    DinerReservations.class);
+            if (result.getMatchedCount() > 0) {
+                return;
+            }
+            // Same as above, add the updated snapshot instead.
+        }
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(reservation.getDinerId())
+                        .and("reservations._id").ne(reservation.getId())),
+                new Update().push("reservations", reservation),
+                DinerReservations.class);
+    }
+}
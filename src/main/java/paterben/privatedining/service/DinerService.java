@@ -33,4 +33,27 @@ public interface DinerService {
      *         not exist.
      */
     public Optional<Diner> getDinerById(String dinerId);
+
+    /**
+     * Replaces the diner with the given ID.
+     * 
+     * @param dinerId the diner ID.
+     * @param diner   the new diner. Required fields must be set. Fields that are
+     *                set automatically must not be set.
+     * @throws ServiceException if the {@code diner} is invalid, the diner does not
+     *                          exist or another diner with the same email already
+     *                          exists.
+     * @return the updated diner.
+     */
+    public Diner updateDiner(String dinerId, Diner diner) throws ServiceException;
+
+    /**
+     * Deletes the diner with the given ID, along with their holds and waitlist
+     * entries. Their past and cancelled reservations are kept by the restaurants.
+     * 
+     * @param dinerId the diner ID.
+     * @throws ServiceException if the diner does not exist or has upcoming
+     *                          reservations or reservation series.
+     */
+    public void deleteDiner(String dinerId) throws ServiceException;
 }
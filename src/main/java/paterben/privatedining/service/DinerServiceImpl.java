@@ -1,17 +1,28 @@
 package paterben.privatedining.service;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import paterben.privatedining.core.SeriesOccurrences;
 import paterben.privatedining.core.model.Diner;
 import paterben.privatedining.core.model.DinerReservations;
+import paterben.privatedining.core.model.ReservationHold;
+import paterben.privatedining.core.model.TableReservations;
+import paterben.privatedining.core.model.WaitlistEntry;
 import paterben.privatedining.repository.DinerRepository;
 import paterben.privatedining.repository.DinerReservationsRepository;
 
@@ -24,30 +35,104 @@ public class DinerServiceImpl implements DinerService {
     @Autowired
     private DinerReservationsRepository dinerReservationsRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private Clock clock;
+
+    // No multi-document transaction: both writes below are single-document inserts.
+    // If the second one throws, the diner is deleted again. If the process dies
+    // between them, the dinerReservations document is missing, and is created on
+    // first use by CompanionDocuments.
     @Override
-    @Transactional
     public Diner createDiner(Diner diner) {
         ValidateDinerForCreation(diner);
 
-        Optional<Diner> existingDiner = dinerRepository.findByEmail(diner.getEmail());
-        if (existingDiner.isPresent()) {
+        // Duplicate emails are detected by the unique index on `email` rather than by
+        // looking the email up first, which would cost a round trip and be racy.
+        Diner newDiner;
+        try {
+            newDiner = dinerRepository.save(diner);
+        } catch (DuplicateKeyException e) {
             throw new ServiceException("Diner with email \"" + diner.getEmail() + "\" already exists",
                     HttpStatus.CONFLICT);
         }
-
-        Diner newDiner = dinerRepository.save(diner);
         // MongoDB silently truncates the created time to milliseconds.
         // See https://github.com/spring-projects/spring-data-mongodb/issues/2883.
         newDiner.setCreatedAt(newDiner.getCreatedAt().truncatedTo(ChronoUnit.MILLIS));
-        // Create the document for the diner in the dinerReservations repository within
-        // the same transaction.
+        // Create the document for the diner in the dinerReservations repository.
         DinerReservations dinerReservations = new DinerReservations();
         dinerReservations.setId(newDiner.getId());
-        dinerReservationsRepository.save(dinerReservations);
+        try {
+            dinerReservationsRepository.save(dinerReservations);
+        } catch (RuntimeException e) {
+            dinerRepository.deleteById(newDiner.getId());
+            throw e;
+        }
 
         return newDiner;
     }
 
+    @Override
+    public Diner updateDiner(String dinerId, Diner diner) {
+        ValidateDinerForUpdate(diner);
+
+        Optional<Diner> existingDiner = dinerRepository.findById(dinerId);
+        if (existingDiner.isEmpty()) {
+            throw new ServiceException("Diner with ID " + dinerId + " not found", HttpStatus.NOT_FOUND);
+        }
+        diner.setId(dinerId);
+        diner.setCreatedAt(existingDiner.get().getCreatedAt());
+        try {
+            return dinerRepository.save(diner);
+        } catch (DuplicateKeyException e) {
+            throw new ServiceException("Diner with email \"" + diner.getEmail() + "\" already exists",
+                    HttpStatus.CONFLICT);
+        }
+    }
+
+    // Diners with upcoming reservations or reservation series can't be deleted,
+    // since the restaurants still expect them. Past and cancelled reservations are
+    // kept in tableReservations as the restaurants' history. Both checks read
+    // tableReservations, which is the source of truth, rather than the diner's
+    // projection in dinerReservations, which may lag behind.
+    @Override
+    @Transactional
+    public void deleteDiner(String dinerId) {
+        if (!dinerRepository.existsById(dinerId)) {
+            throw new ServiceException("Diner with ID " + dinerId + " not found", HttpStatus.NOT_FOUND);
+        }
+        Instant now = Instant.now(clock);
+        Query upcomingReservations = Query.query(Criteria.where("reservations").elemMatch(Criteria.where("dinerId")
+                .is(dinerId).and("isCancelled").ne(true).and("reservationEnd").gt(now)));
+        if (mongoTemplate.exists(upcomingReservations, TableReservations.class)) {
+            throw new ServiceException("Diner with ID " + dinerId + " has upcoming reservations",
+                    HttpStatus.CONFLICT);
+        }
+        // Series are never materialized, so the end of their last occurrence is
+        // computed here.
+        Query series = Query.query(Criteria.where("series.dinerId").is(dinerId));
+        series.fields().include("series");
+        boolean hasUpcomingSeries = mongoTemplate.find(series, TableReservations.class).stream()
+                .flatMap(tr -> tr.getSeries().stream())
+                .filter(s -> dinerId.equals(s.getDinerId()))
+                .anyMatch(s -> SeriesOccurrences.lastStart(s)
+                        .plus(Duration.between(s.getFirstReservationStart(), s.getFirstReservationEnd()))
+                        .isAfter(now));
+        if (hasUpcomingSeries) {
+            throw new ServiceException("Diner with ID " + dinerId + " has upcoming reservation series",
+                    HttpStatus.CONFLICT);
+        }
+        // Holds and waitlist entries of the diner are not kept: they would otherwise
+        // block slots or be promoted for a diner who no longer exists.
+        Query ofDiner = Query.query(Criteria.where("dinerId").is(dinerId));
+        mongoTemplate.remove(ofDiner, ReservationHold.class);
+        mongoTemplate.remove(ofDiner, WaitlistEntry.class);
+        dinerReservationsRepository.deleteById(dinerId);
+        dinerRepository.deleteById(dinerId);
+    }
+
     @Override
     public Optional<Diner> getDinerById(String dinerId) {
         Optional<Diner> diner = dinerRepository.findById(dinerId);
@@ -60,7 +145,7 @@ public class DinerServiceImpl implements DinerService {
         return diners;
     }
 
-    private void ValidateDinerForCreation(Diner diner) {
+    static void ValidateDinerForCreation(Diner diner) {
         if (StringUtils.hasLength(diner.getId())) {
             throw new ServiceException("`id` must not be set when creating a diner.",
                     HttpStatus.BAD_REQUEST);
@@ -78,4 +163,23 @@ public class DinerServiceImpl implements DinerService {
                     HttpStatus.BAD_REQUEST);
         }
     }
+
+    static void ValidateDinerForUpdate(Diner diner) {
+        if (StringUtils.hasLength(diner.getId())) {
+            throw new ServiceException("`id` must not be set when updating a diner.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (!StringUtils.hasLength(diner.getName())) {
+            throw new ServiceException("`name` is required when updating a diner.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (!StringUtils.hasLength(diner.getEmail())) {
+            throw new ServiceException("`email` is required when updating a diner.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (diner.getCreatedAt() != null) {
+            throw new ServiceException("`createdAt` must not be set when updating a diner.",
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package paterben.privatedining.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import paterben.privatedining.core.model.OutboxEvent;
+
+/**
+ * Appends reservation events to a local file, one JSON document per line.
+ * Enabled by setting {@code privatedining.outbox.file.path}.
+ */
+@Component
+@ConditionalOnProperty(name = "privatedining.outbox.file.path")
+public class FileReservationEventSink implements ReservationEventSink {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${privatedining.outbox.file.path}")
+    private Path path;
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) throws IOException {
+        // The whole batch is written with a single open / flush of the file.
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OutboxEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.newLine();
+            }
+        }
+    }
+}
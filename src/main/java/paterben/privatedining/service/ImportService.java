@@ -0,0 +1,25 @@
+package paterben.privatedining.service;
+
+import java.util.Iterator;
+import java.util.List;
+
+import paterben.privatedining.core.model.ImportRecord;
+import paterben.privatedining.core.model.ImportResult;
+
+/**
+ * Service for bulk imports of restaurants, tables and diners.
+ */
+public interface ImportService {
+    /**
+     * Imports the given records.
+     * 
+     * Records are consumed lazily and written in chunks, so that large imports do
+     * not have to be held in memory. Each record is validated with the same rules
+     * as when the entity is created on its own. Invalid records do not prevent the
+     * other records from being imported.
+     * 
+     * @param records the records to import, in line order.
+     * @return one result per record, in line order.
+     */
+    public List<ImportResult> importRecords(Iterator<ImportRecord> records);
+}
@@ -0,0 +1,381 @@
+package paterben.privatedining.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import com.mongodb.bulk.BulkWriteError;
+
+import paterben.privatedining.core.model.Diner;
+import paterben.privatedining.core.model.DinerReservations;
+import paterben.privatedining.core.model.ImportRecord;
+import paterben.privatedining.core.model.ImportResult;
+import paterben.privatedining.core.model.Restaurant;
+import paterben.privatedining.core.model.OpeningHours;
+import paterben.privatedining.core.model.RestaurantTables;
+import paterben.privatedining.core.model.Table;
+import paterben.privatedining.core.model.TableReservations;
+import paterben.privatedining.repository.RestaurantRepository;
+
+@Service
+public class ImportServiceImpl implements ImportService {
+    private static final int DUPLICATE_KEY_ERROR_CODE = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private TenantDirectory tenantDirectory;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${privatedining.import.chunk-size:500}")
+    private int chunkSize;
+
+    // Like for single creations, there is no multi-document transaction: each
+    // chunk is written with one unordered bulk write per collection, and companion
+    // documents are only written for the entities that were inserted. Entities
+    // whose companion document could not be inserted are deleted again and
+    // reported as failed.
+    @Override
+    public List<ImportResult> importRecords(Iterator<ImportRecord> records) {
+        List<ImportResult> results = new ArrayList<>();
+        // Restaurant email -> ID, so that tables can refer to restaurants created
+        // earlier in the import.
+        Map<String, String> restaurantIdsByEmail = new HashMap<>();
+        List<ImportRecord> chunk = new ArrayList<>(chunkSize);
+        while (records.hasNext()) {
+            chunk.add(records.next());
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, restaurantIdsByEmail, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, restaurantIdsByEmail, results);
+        }
+        results.sort(Comparator.comparingInt(ImportResult::getLineNumber));
+        return results;
+    }
+
+    private void importChunk(List<ImportRecord> chunk, Map<String, String> restaurantIdsByEmail,
+            List<ImportResult> results) {
+        List<ImportRecord> restaurantRecords = new ArrayList<>();
+        List<ImportRecord> tableRecords = new ArrayList<>();
+        List<ImportRecord> dinerRecords = new ArrayList<>();
+        for (ImportRecord record : chunk) {
+            if (record.getParseError() != null) {
+                results.add(failure(record, record.getParseError(), HttpStatus.BAD_REQUEST));
+                continue;
+            }
+            try {
+                switch (record.getType()) {
+                    case RESTAURANT -> {
+                        RestaurantServiceImpl.ValidateRestaurantForCreation(record.getRestaurant());
+                        restaurantRecords.add(record);
+                    }
+                    case TABLE -> {
+                        TableServiceImpl.ValidateTableForCreation(record.getTable());
+                        tableRecords.add(record);
+                    }
+                    case DINER -> {
+                        DinerServiceImpl.ValidateDinerForCreation(record.getDiner());
+                        dinerRecords.add(record);
+                    }
+                }
+            } catch (ServiceException e) {
+                results.add(failure(record, e.getMessage(), e.getHttpStatusCode().value()));
+            }
+        }
+        // Restaurants go first so that tables in the same chunk can refer to them.
+        importRestaurants(restaurantRecords, restaurantIdsByEmail, results);
+        importTables(tableRecords, restaurantIdsByEmail, results);
+        importDiners(dinerRecords, results);
+    }
+
+    private void importRestaurants(List<ImportRecord> records, Map<String, String> restaurantIdsByEmail,
+            List<ImportResult> results) {
+        if (records.isEmpty()) {
+            return;
+        }
+        // IDs and creation times are set here rather than by the database, since the
+        // companion documents need the IDs. MongoDB stores times with millisecond
+        // precision.
+        Instant now = Instant.now(clock).truncatedTo(ChronoUnit.MILLIS);
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (ImportRecord record : records) {
+            Restaurant restaurant = record.getRestaurant();
+            restaurant.setId(new ObjectId().toString());
+            restaurant.setCreatedAt(now);
+            restaurants.add(restaurant);
+        }
+        Set<Integer> failed = bulkInsert(Restaurant.class, restaurants, records,
+                r -> "Restaurant with email \"" + r.getRestaurant().getEmail() + "\" already exists", results);
+
+        List<Integer> inserted = new ArrayList<>();
+        List<RestaurantTables> restaurantTables = new ArrayList<>();
+        for (int i = 0; i < records.size(); ++i) {
+            if (!failed.contains(i)) {
+                RestaurantTables rt = new RestaurantTables(restaurants.get(i).getId());
+                rt.setOpeningHours(restaurants.get(i).getOpeningHours());
+                inserted.add(i);
+                restaurantTables.add(rt);
+            }
+        }
+        Set<Integer> companionFailed = insertCompanions(RestaurantTables.class, restaurantTables,
+                inserted.stream().map(records::get).toList(), results);
+        if (!companionFailed.isEmpty()) {
+            // A restaurant without its restaurantTables document can't be used, so it is
+            // deleted again.
+            List<String> ids = companionFailed.stream().map(i -> restaurants.get(inserted.get(i)).getId()).toList();
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(ids)), Restaurant.class);
+        }
+        for (int j = 0; j < inserted.size(); ++j) {
+            if (!companionFailed.contains(j)) {
+                Restaurant restaurant = restaurants.get(inserted.get(j));
+                restaurantIdsByEmail.put(restaurant.getEmail(), restaurant.getId());
+                tenantDirectory.registerRestaurant(restaurant.getId());
+                results.add(success(records.get(inserted.get(j)), restaurant.getId()));
+            }
+        }
+    }
+
+    private void importTables(List<ImportRecord> records, Map<String, String> restaurantIdsByEmail,
+            List<ImportResult> results) {
+        if (records.isEmpty()) {
+            return;
+        }
+        Map<ImportRecord, String> restaurantIds = new HashMap<>();
+        for (ImportRecord record : records) {
+            Optional<String> restaurantId = resolveRestaurantId(record, restaurantIdsByEmail);
+            if (restaurantId.isEmpty()) {
+                String reference = StringUtils.hasLength(record.getRestaurantId())
+                        ? "ID " + record.getRestaurantId()
+                        : "email \"" + record.getRestaurantEmail() + "\"";
+                results.add(failure(record, "Restaurant with " + reference + " not found", HttpStatus.NOT_FOUND));
+            } else {
+                restaurantIds.put(record, restaurantId.get());
+            }
+        }
+        if (restaurantIds.isEmpty()) {
+            return;
+        }
+
+        // Load the opening hours of all restaurants of the chunk at once. This also
+        // tells which restaurants exist.
+        Query query = Query.query(Criteria.where("_id").in(new HashSet<>(restaurantIds.values())));
+        query.fields().include("openingHours");
+        Map<String, OpeningHours> openingHoursByRestaurantId = new HashMap<>();
+        for (RestaurantTables rt : mongoTemplate.find(query, RestaurantTables.class)) {
+            openingHoursByRestaurantId.put(rt.getId(), rt.getOpeningHours());
+        }
+
+        // Each table is pushed with a condition on its name, like a single creation, so
+        // that a table with the same name added concurrently or earlier in the chunk is
+        // not duplicated.
+        BulkOperations tableOps = mongoTemplate.bulkOps(BulkMode.UNORDERED, RestaurantTables.class);
+        List<ImportRecord> pushed = new ArrayList<>();
+        for (ImportRecord record : records) {
+            String restaurantId = restaurantIds.get(record);
+            if (restaurantId == null) {
+                continue;
+            }
+            if (!openingHoursByRestaurantId.containsKey(restaurantId)) {
+                results.add(failure(record, "Restaurant with ID " + restaurantId + " not found", HttpStatus.NOT_FOUND));
+                continue;
+            }
+            // We generate the table ID ourselves since it is an embedded document in
+            // restaurantTables.
+            Table table = record.getTable();
+            table.setId(new ObjectId().toString());
+            tableOps.updateOne(
+                    Query.query(Criteria.where("_id").is(restaurantId).and("tables.name").ne(table.getName())),
+                    new Update().push("tables", table));
+            pushed.add(record);
+        }
+        if (pushed.isEmpty()) {
+            return;
+        }
+        tableOps.execute();
+
+        // Bulk writes don't report which updates matched, so the tables that were
+        // actually added are read back.
+        Query addedQuery = Query.query(Criteria.where("_id").in(new HashSet<>(restaurantIds.values())));
+        addedQuery.fields().include("tables._id");
+        Set<String> addedTableIds = new HashSet<>();
+        for (RestaurantTables rt : mongoTemplate.find(addedQuery, RestaurantTables.class)) {
+            rt.getTables().forEach(t -> addedTableIds.add(t.getId()));
+        }
+        List<ImportRecord> added = new ArrayList<>();
+        List<TableReservations> tableReservations = new ArrayList<>();
+        for (ImportRecord record : pushed) {
+            Table table = record.getTable();
+            if (!addedTableIds.contains(table.getId())) {
+                results.add(failure(record, "Table with name \"" + table.getName() + "\" already exists",
+                        HttpStatus.CONFLICT));
+                continue;
+            }
+            String restaurantId = restaurantIds.get(record);
+            TableReservations tr = new TableReservations(table.getId(), restaurantId, table.getMinCapacity(),
+                    table.getMaxCapacity());
+            tr.setName(table.getName());
+            tr.setRoomType(table.getRoomType());
+            tr.setMinSpend(table.getMinSpend());
+            tr.setOpeningHours(table.getOpeningHours() != null ? table.getOpeningHours()
+                    : openingHoursByRestaurantId.get(restaurantId));
+            added.add(record);
+            tableReservations.add(tr);
+        }
+
+        Set<Integer> companionFailed = insertCompanions(TableReservations.class, tableReservations, added, results);
+        if (!companionFailed.isEmpty()) {
+            // A table without its tableReservations document can't be booked, so it is
+            // removed again.
+            List<String> ids = companionFailed.stream().map(i -> added.get(i).getTable().getId()).toList();
+            mongoTemplate.updateMulti(Query.query(Criteria.where("tables._id").in(ids)),
+                    new Update().pull("tables", Query.query(Criteria.where("_id").in(ids))), RestaurantTables.class);
+        }
+        for (int i = 0; i < added.size(); ++i) {
+            if (!companionFailed.contains(i)) {
+                results.add(success(added.get(i), added.get(i).getTable().getId()));
+            }
+        }
+    }
+
+    private Optional<String> resolveRestaurantId(ImportRecord record, Map<String, String> restaurantIdsByEmail) {
+        if (StringUtils.hasLength(record.getRestaurantId())) {
+            return Optional.of(record.getRestaurantId());
+        }
+        if (!StringUtils.hasLength(record.getRestaurantEmail())) {
+            return Optional.empty();
+        }
+        String restaurantId = restaurantIdsByEmail.get(record.getRestaurantEmail());
+        if (restaurantId != null) {
+            return Optional.of(restaurantId);
+        }
+        Optional<Restaurant> restaurant = restaurantRepository.findByEmail(record.getRestaurantEmail());
+        restaurant.ifPresent(r -> restaurantIdsByEmail.put(r.getEmail(), r.getId()));
+        return restaurant.map(Restaurant::getId);
+    }
+
+    private void importDiners(List<ImportRecord> records, List<ImportResult> results) {
+        if (records.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now(clock).truncatedTo(ChronoUnit.MILLIS);
+        List<Diner> diners = new ArrayList<>();
+        for (ImportRecord record : records) {
+            Diner diner = record.getDiner();
+            diner.setId(new ObjectId().toString());
+            diner.setCreatedAt(now);
+            diners.add(diner);
+        }
+        Set<Integer> failed = bulkInsert(Diner.class, diners, records,
+                r -> "Diner with email \"" + r.getDiner().getEmail() + "\" already exists", results);
+
+        List<Integer> inserted = new ArrayList<>();
+        List<DinerReservations> dinerReservations = new ArrayList<>();
+        for (int i = 0; i < records.size(); ++i) {
+            if (!failed.contains(i)) {
+                inserted.add(i);
+                dinerReservations.add(new DinerReservations(diners.get(i).getId()));
+            }
+        }
+        Set<Integer> companionFailed = insertCompanions(DinerReservations.class, dinerReservations,
+                inserted.stream().map(records::get).toList(), results);
+        if (!companionFailed.isEmpty()) {
+            // A diner without their dinerReservations document can't book, so they are
+            // deleted again.
+            List<String> ids = companionFailed.stream().map(i -> diners.get(inserted.get(i)).getId()).toList();
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(ids)), Diner.class);
+        }
+        for (int j = 0; j < inserted.size(); ++j) {
+            if (!companionFailed.contains(j)) {
+                results.add(success(records.get(inserted.get(j)), diners.get(inserted.get(j)).getId()));
+            }
+        }
+    }
+
+    // Inserts the given documents with a single unordered bulk write, records a
+    // failure for each document that could not be inserted and returns the indexes
+    // of those documents.
+    private Set<Integer> bulkInsert(Class<?> entityClass, List<?> documents, List<ImportRecord> records,
+            Function<ImportRecord, String> duplicateMessage, List<ImportResult> results) {
+        Set<Integer> failed = new HashSet<>();
+        try {
+            mongoTemplate.bulkOps(BulkMode.UNORDERED, entityClass).insert(documents).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                ImportRecord record = records.get(error.getIndex());
+                failed.add(error.getIndex());
+                if (error.getCode() == DUPLICATE_KEY_ERROR_CODE) {
+                    results.add(failure(record, duplicateMessage.apply(record), HttpStatus.CONFLICT));
+                } else {
+                    results.add(failure(record, error.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR));
+                }
+            }
+        }
+        return failed;
+    }
+
+    // Inserts the companion documents of entities that were just created, records
+    // a failure for each entity whose companion could not be inserted and returns
+    // the indexes of those entities. The caller deletes them again.
+    private Set<Integer> insertCompanions(Class<?> entityClass, List<?> documents, List<ImportRecord> records,
+            List<ImportResult> results) {
+        Set<Integer> failed = new HashSet<>();
+        if (documents.isEmpty()) {
+            return failed;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkMode.UNORDERED, entityClass).insert(documents).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(error.getIndex());
+                results.add(failure(records.get(error.getIndex()), error.getMessage(),
+                        HttpStatus.INTERNAL_SERVER_ERROR));
+            }
+        }
+        return failed;
+    }
+
+    private static ImportResult success(ImportRecord record, String id) {
+        return new ImportResult(record.getLineNumber(), HttpStatus.OK.value(), id, null);
+    }
+
+    private static ImportResult failure(ImportRecord record, String errorMessage, HttpStatus status) {
+        return failure(record, errorMessage, status.value());
+    }
+
+    private static ImportResult failure(ImportRecord record, String errorMessage, int status) {
+        return new ImportResult(record.getLineNumber(), status, null, errorMessage);
+    }
+}
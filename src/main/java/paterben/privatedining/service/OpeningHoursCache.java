@@ -0,0 +1,51 @@
+package paterben.privatedining.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import paterben.privatedining.core.OpeningSchedule;
+import paterben.privatedining.core.model.OpeningHours;
+
+/**
+ * Cache of compiled {@link OpeningHours}, so that they are compiled once rather
+ * than on every reservation.
+ *
+ * Entries are keyed by the opening hours themselves, so they never go stale,
+ * and tables with the same hours share one.
+ */
+@Component
+public class OpeningHoursCache {
+    private static final int MAX_SIZE = 10000;
+
+    private final Map<OpeningHours, OpeningSchedule> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the compiled form of the given opening hours, which must be valid.
+     */
+    public OpeningSchedule get(OpeningHours hours) {
+        OpeningSchedule schedule = cache.get(hours);
+        if (schedule == null) {
+            schedule = OpeningSchedule.compile(hours);
+            // Crude bound on memory: entries are cheap to recompile.
+            if (cache.size() >= MAX_SIZE) {
+                cache.clear();
+            }
+            cache.put(hours, schedule);
+        }
+        return schedule;
+    }
+
+    static void ValidateOpeningHours(OpeningHours hours) {
+        if (hours == null) {
+            return;
+        }
+        try {
+            OpeningSchedule.compile(hours);
+        } catch (IllegalArgumentException e) {
+            throw new ServiceException("Invalid `openingHours`: " + e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package paterben.privatedining.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import paterben.privatedining.TenancyProperties;
+import paterben.privatedining.TenantContext;
+import paterben.privatedining.core.model.OutboxEvent;
+import paterben.privatedining.repository.OutboxEventRepository;
+
+/**
+ * Background job that publishes pending {@link OutboxEvent OutboxEvents} in
+ * batches to all registered {@link ReservationEventSink ReservationEventSinks},
+ * then marks them as dispatched.
+ *
+ * When a sink fails, the sinks that did get the batch are recorded on its
+ * events, so that the retry on the next poll only goes to the failed sinks.
+ * After {@code maxAttempts} failed dispatches, events are marked as dispatched
+ * anyway, so that a broken sink doesn't hold up later events forever.
+ */
+@Component
+public class OutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private List<ReservationEventSink> sinks;
+
+    @Autowired
+    private Clock clock;
+
+    @Autowired
+    private TenancyProperties tenancyProperties;
+
+    @Value("${privatedining.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${privatedining.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Scheduled(fixedDelayString = "${privatedining.outbox.poll-interval-ms:500}")
+    public void dispatchPendingEvents() {
+        // Each tenant database has its own outbox. Sinks are called with the tenant
+        // set, so that listeners write to the same database.
+        dispatchPendingEventsOfCurrentTenant();
+        for (String tenantId : tenancyProperties.getTenants().keySet()) {
+            TenantContext.runAs(tenantId, this::dispatchPendingEventsOfCurrentTenant);
+        }
+    }
+
+    private void dispatchPendingEventsOfCurrentTenant() {
+        // Keep going until the backlog is drained, so a burst of changes does not
+        // have to wait for several poll intervals.
+        List<OutboxEvent> events;
+        do {
+            events = outboxEventRepository.findByDispatchedAtIsNullOrderByCreatedAtAsc(PageRequest.of(0, batchSize));
+            if (events.isEmpty()) {
+                return;
+            }
+            if (publishToSinks(events)) {
+                markDispatched(events);
+                continue;
+            }
+            List<OutboxEvent> givenUp = events.stream().filter(e -> e.getAttempts() >= maxAttempts).toList();
+            for (OutboxEvent event : givenUp) {
+                logger.error("Giving up on event {} after {} attempts, only published to {}", event.getId(),
+                        event.getAttempts(), event.getDeliveredTo());
+            }
+            if (!givenUp.isEmpty()) {
+                markDispatched(givenUp);
+            }
+            if (givenUp.size() < events.size()) {
+                // Retry the rest of the batch on the next poll.
+                return;
+            }
+        } while (events.size() == batchSize);
+    }
+
+    // Publishes each event to the sinks that haven't got it yet. If a sink fails,
+    // records the deliveries and the failed attempt on the events, and returns
+    // false.
+    private boolean publishToSinks(List<OutboxEvent> events) {
+        Map<String, List<String>> deliveredIdsBySink = new LinkedHashMap<>();
+        boolean success = true;
+        for (ReservationEventSink sink : sinks) {
+            String name = sink.name();
+            List<OutboxEvent> pending = events.stream()
+                    .filter(e -> e.getDeliveredTo() == null || !e.getDeliveredTo().contains(name)).toList();
+            if (pending.isEmpty()) {
+                continue;
+            }
+            try {
+                sink.publish(pending);
+                deliveredIdsBySink.put(name, pending.stream().map(OutboxEvent::getId).toList());
+            } catch (Exception e) {
+                logger.warn("Failed to publish {} events to {}", pending.size(), name, e);
+                success = false;
+            }
+        }
+        if (success) {
+            return true;
+        }
+
+        // Only reached on failures, so that the common case is a single write.
+        for (Map.Entry<String, List<String>> delivered : deliveredIdsBySink.entrySet()) {
+            mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(delivered.getValue())),
+                    new Update().addToSet("deliveredTo", delivered.getKey()), OutboxEvent.class);
+        }
+        mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(events.stream().map(OutboxEvent::getId)
+                .toList())), new Update().inc("attempts", 1), OutboxEvent.class);
+        for (OutboxEvent event : events) {
+            event.setAttempts(event.getAttempts() + 1);
+            List<String> deliveredTo = new ArrayList<>(
+                    event.getDeliveredTo() != null ? event.getDeliveredTo() : List.of());
+            deliveredIdsBySink.forEach((name, ids) -> {
+                if (ids.contains(event.getId())) {
+                    deliveredTo.add(name);
+                }
+            });
+            event.setDeliveredTo(deliveredTo);
+        }
+        return false;
+    }
+
+    private void markDispatched(List<OutboxEvent> events) {
+        List<String> ids = events.stream().map(OutboxEvent::getId).toList();
+        Instant dispatchedAt = Instant.now(clock).truncatedTo(ChronoUnit.MILLIS);
+        mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(ids)),
+                Update.update("dispatchedAt", dispatchedAt), OutboxEvent.class);
+    }
+}
@@ -0,0 +1,223 @@
+package paterben.privatedining.service;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import paterben.privatedining.core.AimdLimit;
+
+/**
+ * Limits the number of concurrent reservation writes per table and per
+ * restaurant, so that a booking storm on a popular table doesn't turn into a
+ * pile of aborted transactions.
+ *
+ * Requests over the limit wait in a bounded queue for a short time, and are
+ * otherwise rejected right away with 503 and a {@code Retry-After}. Limits
+ * adapt to the observed latency of the writes with AIMD (see
+ * {@link AimdLimit}).
+ */
+@Component
+public class ReservationAdmissionControl {
+    @Value("${privatedining.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${privatedining.admission.table-max-limit:8}")
+    private int tableMaxLimit;
+
+    @Value("${privatedining.admission.restaurant-max-limit:64}")
+    private int restaurantMaxLimit;
+
+    @Value("${privatedining.admission.max-queue:32}")
+    private int maxQueue;
+
+    @Value("${privatedining.admission.max-wait:500ms}")
+    private Duration maxWait;
+
+    @Value("${privatedining.admission.latency-target:250ms}")
+    private Duration latencyTarget;
+
+    @Value("${privatedining.admission.retry-after:1s}")
+    private Duration retryAfter;
+
+    @Value("${privatedining.admission.idle-expiry:10m}")
+    private Duration idleExpiry;
+
+    // Limiters keep what they learned while their table or restaurant receives
+    // reservations. IDs come from the request path before the table is looked up,
+    // so limiters are dropped once idle for idleExpiry, rather than growing the
+    // maps with each ID ever requested.
+    private final ConcurrentHashMap<String, Limiter> tableLimiters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Limiter> restaurantLimiters = new ConcurrentHashMap<>();
+
+    /**
+     * Runs a reservation write for the given table once admitted.
+     *
+     * @throws ServiceException with status 503 if the request was not admitted.
+     */
+    public <T> T admit(String restaurantId, String tableId, Supplier<T> write) {
+        if (!enabled) {
+            return write.get();
+        }
+        Limiter restaurantLimiter = retainLimiter(restaurantLimiters, restaurantId, restaurantMaxLimit);
+        Limiter tableLimiter = retainLimiter(tableLimiters, tableId, tableMaxLimit);
+        try {
+            return admit(restaurantLimiter, tableLimiter, write);
+        } finally {
+            releaseLimiter(tableLimiters, tableId);
+            releaseLimiter(restaurantLimiters, restaurantId);
+        }
+    }
+
+    private <T> T admit(Limiter restaurantLimiter, Limiter tableLimiter, Supplier<T> write) {
+        int restaurantInFlight = acquire(restaurantLimiter, "restaurant");
+        int tableInFlight;
+        try {
+            tableInFlight = acquire(tableLimiter, "table");
+        } catch (ServiceException e) {
+            restaurantLimiter.cancel();
+            throw e;
+        }
+        long start = System.nanoTime();
+        boolean contended = false;
+        try {
+            return write.get();
+        } catch (ConcurrencyFailureException | TransientDataAccessException e) {
+            contended = true;
+            throw e;
+        } finally {
+            long latency = System.nanoTime() - start;
+            tableLimiter.release(latency, tableInFlight, contended);
+            restaurantLimiter.release(latency, restaurantInFlight, contended);
+        }
+    }
+
+    // Limiters in use are counted, so that they aren't dropped while requests hold
+    // on to them. The count and last use time are only accessed within compute
+    // calls, which are atomic per ID.
+    private Limiter retainLimiter(ConcurrentHashMap<String, Limiter> limiters, String id, int maxLimit) {
+        return limiters.compute(id, (k, limiter) -> {
+            if (limiter == null) {
+                limiter = new Limiter(maxLimit);
+            }
+            ++limiter.users;
+            return limiter;
+        });
+    }
+
+    private void releaseLimiter(ConcurrentHashMap<String, Limiter> limiters, String id) {
+        long now = System.nanoTime();
+        limiters.computeIfPresent(id, (k, limiter) -> {
+            --limiter.users;
+            limiter.lastUsedNanos = now;
+            return limiter;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${privatedining.admission.sweep-interval-ms:60000}")
+    void evictIdleLimiters() {
+        long cutoff = System.nanoTime() - idleExpiry.toNanos();
+        evictIdleLimiters(tableLimiters, cutoff);
+        evictIdleLimiters(restaurantLimiters, cutoff);
+    }
+
+    private static void evictIdleLimiters(ConcurrentHashMap<String, Limiter> limiters, long cutoff) {
+        for (String id : limiters.keySet()) {
+            limiters.computeIfPresent(id,
+                    (k, limiter) -> limiter.users == 0 && limiter.lastUsedNanos - cutoff <= 0 ? null : limiter);
+        }
+    }
+
+    private int acquire(Limiter limiter, String scope) {
+        try {
+            int inFlight = limiter.acquire(maxQueue, maxWait);
+            if (inFlight > 0) {
+                return inFlight;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new ServiceException("Too many concurrent reservation requests for this " + scope + ", please retry.",
+                HttpStatus.SERVICE_UNAVAILABLE, retryAfter);
+    }
+
+    /**
+     * Adaptive concurrency limit with a bounded wait queue.
+     */
+    private class Limiter {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition available = lock.newCondition();
+        private final AimdLimit limit;
+        private int inFlight;
+        private int waiting;
+        // Requests holding on to the limiter, and the time the last one let go.
+        private int users;
+        private long lastUsedNanos = System.nanoTime();
+
+        Limiter(int maxLimit) {
+            this.limit = new AimdLimit(Math.max(1, maxLimit / 2), 1, maxLimit, 0.9, latencyTarget.toNanos());
+        }
+
+        /**
+         * @return the number of requests in flight including this one, or 0 if the
+         *         request was not admitted.
+         */
+        int acquire(int maxQueue, Duration maxWait) throws InterruptedException {
+            lock.lock();
+            try {
+                if (inFlight < limit.getLimit()) {
+                    return ++inFlight;
+                }
+                if (waiting >= maxQueue) {
+                    return 0;
+                }
+                ++waiting;
+                try {
+                    long nanos = maxWait.toNanos();
+                    while (inFlight >= limit.getLimit()) {
+                        if (nanos <= 0) {
+                            return 0;
+                        }
+                        nanos = available.awaitNanos(nanos);
+                    }
+                    return ++inFlight;
+                } finally {
+                    --waiting;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release(long latencyNanos, int inFlightAtStart, boolean contended) {
+            lock.lock();
+            try {
+                --inFlight;
+                limit.onSample(latencyNanos, inFlightAtStart, contended);
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Releases a permit without using the request as a sample, e.g. when it was
+        // rejected by another limiter.
+        void cancel() {
+            lock.lock();
+            try {
+                --inFlight;
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
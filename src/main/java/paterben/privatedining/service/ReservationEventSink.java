@@ -0,0 +1,34 @@
+package paterben.privatedining.service;
+
+import java.util.List;
+
+import org.springframework.util.ClassUtils;
+
+import paterben.privatedining.core.model.OutboxEvent;
+
+/**
+ * Destination for reservation change events published by the
+ * {@link OutboxDispatcher}.
+ */
+public interface ReservationEventSink {
+    /**
+     * Publishes the given batch of events.
+     *
+     * Delivery is at-least-once: if a sink fails, the events are retried on the
+     * next dispatch for that sink only, so a sink may see the same event more than
+     * once if it fails after publishing part of the batch. Events that a sink still
+     * fails to publish after {@code privatedining.outbox.max-attempts} dispatches
+     * are dropped for that sink.
+     *
+     * @param events the events to publish, in creation order.
+     * @throws Exception if the events could not be published.
+     */
+    public void publish(List<OutboxEvent> events) throws Exception;
+
+    /**
+     * Returns the name under which deliveries to this sink are recorded on events.
+     */
+    public default String name() {
+        return ClassUtils.getUserClass(getClass()).getSimpleName();
+    }
+}
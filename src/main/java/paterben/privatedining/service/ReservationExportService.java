@@ -0,0 +1,25 @@
+package paterben.privatedining.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import paterben.privatedining.core.model.ExportFormat;
+
+/**
+ * Service for exporting all reservations, e.g. for analytics.
+ */
+public interface ReservationExportService {
+    /**
+     * Writes all table reservations, including cancelled ones, to the given
+     * stream as gzip-compressed {@code format}.
+     * 
+     * Reservations are streamed from the database with a server-side cursor, so
+     * memory use does not depend on the number of reservations. The stream is not
+     * closed.
+     * 
+     * @param format the output format.
+     * @param out    the stream to write to.
+     * @return the number of reservations written.
+     */
+    public long exportAllReservations(ExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,73 @@
+package paterben.privatedining.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import paterben.privatedining.core.ReservationCsv;
+import paterben.privatedining.core.model.ExportFormat;
+import paterben.privatedining.core.model.Reservation;
+
+@Service
+public class ReservationExportServiceImpl implements ReservationExportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${privatedining.export.cursor-batch-size:1000}")
+    private int cursorBatchSize;
+
+    // Table reservations are the source of truth; dinerReservations holds copies
+    // of the same reservations.
+    @Override
+    public long exportAllReservations(ExportFormat format, OutputStream out) throws IOException {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.unwind("reservations"),
+                Aggregation.replaceRoot("reservations"))
+                .withOptions(AggregationOptions.builder().cursorBatchSize(cursorBatchSize).build());
+
+        GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), BUFFER_SIZE);
+        ObjectWriter jsonWriter = objectMapper.writerFor(Reservation.class);
+        long count = 0;
+        try (Stream<Reservation> reservations = mongoTemplate.aggregateStream(aggregation, "tableReservations",
+                Reservation.class)) {
+            if (format == ExportFormat.CSV) {
+                writer.write(ReservationCsv.HEADER);
+                writer.write('\n');
+            }
+            Iterator<Reservation> it = reservations.iterator();
+            while (it.hasNext()) {
+                Reservation r = it.next();
+                writer.write(format == ExportFormat.CSV ? ReservationCsv.toRow(r) : jsonWriter.writeValueAsString(r));
+                writer.write('\n');
+                ++count;
+            }
+        }
+        writer.flush();
+        // Finish rather than close the gzip stream so that the caller's stream stays
+        // open.
+        gzip.finish();
+        return count;
+    }
+}
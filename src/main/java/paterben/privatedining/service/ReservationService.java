@@ -1,9 +1,13 @@
 package paterben.privatedining.service;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.ReservationHold;
+import paterben.privatedining.core.model.ReservationSeries;
 
 /**
  * Service for managing {@link Reservation Reservations}.
@@ -19,6 +23,34 @@ public interface ReservationService {
      */
     public Optional<List<Reservation>> listReservationsForRestaurantAndTable(String restaurantId, String tableId);
 
+    /**
+     * Lists the reservations of all tables of the given restaurant that overlap
+     * {@code [from, to)}, sorted by start time.
+     * 
+     * @param restaurantId the restaurant ID.
+     * @param from         the start of the time window.
+     * @param to           the end of the time window.
+     * @param page         the 0-based page number.
+     * @param size         the page size.
+     * @throws ServiceException if the time window or page is invalid.
+     * @return the page of reservations, or an empty {@link Optional} if the
+     *         restaurant does not exist.
+     */
+    public Optional<List<Reservation>> listReservationsForRestaurant(String restaurantId, Instant from, Instant to,
+            int page, int size) throws ServiceException;
+
+    /**
+     * Lists the free 15-minute slots of the given table on the given UTC day.
+     * 
+     * @param restaurantId the restaurant ID.
+     * @param tableId      the table ID.
+     * @param day          the day.
+     * @return the start times of the free slots, or an empty {@link Optional} if
+     *         the restaurant or table does not exist.
+     */
+    public Optional<List<Instant>> listFreeSlotsForRestaurantAndTable(String restaurantId, String tableId,
+            LocalDate day);
+
     /**
      * Lists all reservations for the given diner.
      * 
@@ -68,17 +100,83 @@ public interface ReservationService {
             Reservation reservation) throws ServiceException;
 
     /**
-     * Updates the given reservation for the given restaurant and table. Currently,
-     * only cancellation is supported.
+     * Holds the time slot of the given reservation on the given restaurant and
+     * table for a limited time, without creating the reservation. The hold blocks
+     * conflicting reservations and holds until it expires or is confirmed.
+     * 
+     * @param restaurantId the restaurant ID.
+     * @param tableId      the table ID.
+     * @param reservation  the reservation to hold. Same requirements as for
+     *                     {@link #createReservationForRestaurantAndTable}.
+     * @throws ServiceException if the {@code reservation} is invalid, conflicts
+     *                          with an existing reservation or hold for the same
+     *                          table, or the restaurant, table or diner does not
+     *                          exist.
+     * @return the created hold.
+     */
+    public ReservationHold createHoldForRestaurantAndTable(String restaurantId, String tableId,
+            Reservation reservation) throws ServiceException;
+
+    /**
+     * Turns the given hold into a reservation.
+     * 
+     * @param restaurantId the restaurant ID.
+     * @param tableId      the table ID.
+     * @param holdId       the hold ID.
+     * @throws ServiceException if the hold does not exist or has expired, or the
+     *                          reservation can't be created, e.g. it conflicts with
+     *                          a reservation created concurrently with the hold.
+     * @return the created reservation.
+     */
+    public Reservation confirmHoldForRestaurantAndTable(String restaurantId, String tableId, String holdId)
+            throws ServiceException;
+
+    /**
+     * Lists the reservation series of the given restaurant and table.
+     * 
+     * @param restaurantId the restaurant ID.
+     * @param tableId      the table ID.
+     * @return the list of series, or an empty {@link Optional} if the restaurant
+     *         or table does not exist.
+     */
+    public Optional<List<ReservationSeries>> listSeriesForRestaurantAndTable(String restaurantId, String tableId);
+
+    /**
+     * Creates the given reservation series for the given restaurant and table.
+     * Its occurrences are listed by
+     * {@link #listReservationsForRestaurant} and
+     * {@link #listFreeSlotsForRestaurantAndTable}.
+     * 
+     * @param restaurantId the restaurant ID.
+     * @param tableId      the table ID.
+     * @param series       the series to create. Required fields must be set.
+     *                     Fields that are set automatically must not be set.
+     * @throws ServiceException if the {@code series} is invalid, any occurrence
+     *                          conflicts with an existing reservation, series or
+     *                          hold for the same table, or the restaurant, table or
+     *                          diner does not exist.
+     * @return the created series.
+     */
+    public ReservationSeries createSeriesForRestaurantAndTable(String restaurantId, String tableId,
+            ReservationSeries series) throws ServiceException;
+
+    /**
+     * Updates the given reservation for the given restaurant and table: cancels
+     * it, or reschedules, resizes or moves it to another table of the restaurant.
+     * Modifications are checked like a new reservation, against the schedule
+     * without the reservation itself, and applied atomically.
      * 
      * @param restaurantId  the restaurant ID.
      * @param tableId       the table ID.
      * @param reservationId the reservation ID.
      * @param reservation   the reservation to update. To cancel the reservation,
-     *                      set {@link Reservation#isCancelled} to true. Other
-     *                      fields are ignored.
+     *                      set {@link Reservation#isCancelled} to true. Otherwise,
+     *                      {@code reservationStart}, {@code reservationEnd},
+     *                      {@code numGuests} and {@code tableId} are applied if
+     *                      set. Other fields are ignored.
      * @throws ServiceException if the {@code reservation} is invalid, has already
-     *                          started or the restaurant, table or reservation does
+     *                          started, conflicts with the schedule of the target
+     *                          table, or the restaurant, table or reservation does
      *                          not exist.
      * @return the updated reservation.
      */
@@ -1,27 +1,59 @@
 package paterben.privatedining.service;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
+import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import com.mongodb.client.result.UpdateResult;
+
+import paterben.privatedining.core.OpeningSchedule;
 import paterben.privatedining.core.ReservationConflict;
+import paterben.privatedining.core.SeriesOccurrences;
+import paterben.privatedining.core.SlotBitmap;
 import paterben.privatedining.core.model.DinerReservations;
+import paterben.privatedining.core.model.OutboxEvent;
 import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.ReservationEventType;
+import paterben.privatedining.core.model.ReservationHold;
+import paterben.privatedining.core.model.ReservationSeries;
 import paterben.privatedining.core.model.TableReservations;
 import paterben.privatedining.repository.DinerReservationsRepository;
+import paterben.privatedining.repository.OutboxEventRepository;
+import paterben.privatedining.repository.ReservationHoldRepository;
+import paterben.privatedining.repository.RestaurantTablesRepository;
 import paterben.privatedining.repository.TableReservationsRepository;
 
 @Service
 public class ReservationServiceImpl implements ReservationService {
+    private static final int MAX_PAGE_SIZE = 500;
+    // A bit more than a year of daily occurrences, or 7 years of weekly ones.
+    private static final int MAX_SERIES_OCCURRENCES = 366;
 
     @Autowired
     private TableReservationsRepository tableReservationsRepository;
@@ -29,12 +61,54 @@ public class ReservationServiceImpl implements ReservationService {
     @Autowired
     private DinerReservationsRepository dinerReservationsRepository;
 
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ReservationHoldRepository reservationHoldRepository;
+
+    @Autowired
+    private RestaurantTablesRepository restaurantTablesRepository;
+
+    @Autowired
+    private CompanionDocuments companionDocuments;
+
+    @Autowired
+    private TableSlotsService tableSlotsService;
+
+    @Autowired
+    private TableSlotsBackfill tableSlotsBackfill;
+
+    @Autowired
+    private OpeningHoursCache openingHoursCache;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     @Autowired
     private Clock clock;
 
+    // In slot mode, reservations must be aligned on 15-minute slots and conflicts
+    // are detected with per-day occupancy bitmaps rather than by scanning the
+    // reservations of the table, once the bitmaps were rebuilt on startup (see
+    // slotsReady).
+    @Value("${privatedining.slots.enabled:false}")
+    private boolean slotsEnabled;
+
+    // When enabled, reservation writes only touch restaurant-keyed collections and
+    // dinerReservations is updated asynchronously from outbox events by
+    // DinerReservationsProjection. On a sharded cluster, this keeps the write on a
+    // single shard.
+    @Value("${privatedining.sharding.async-diner-projection:false}")
+    private boolean asyncDinerProjection;
+
+    // How long a hold blocks its slot before it must be confirmed.
+    @Value("${privatedining.holds.ttl:10m}")
+    private Duration holdTtl;
+
     @Override
     public Optional<List<Reservation>> listReservationsForRestaurantAndTable(String restaurantId, String tableId) {
-        Optional<TableReservations> tableReservations = tableReservationsRepository.findById(tableId);
+        Optional<TableReservations> tableReservations = tableReservationsRepository.findByIdAndRestaurantId(tableId, restaurantId);
         if (!tableReservations.isPresent()) {
             return Optional.empty();
         }
@@ -47,10 +121,132 @@ public class ReservationServiceImpl implements ReservationService {
         return Optional.of(tableReservations.get().getReservations());
     }
 
+    @Override
+    public Optional<List<Reservation>> listReservationsForRestaurant(String restaurantId, Instant from, Instant to,
+            int page, int size) {
+        if (!from.isBefore(to)) {
+            throw new ServiceException("`to` must be strictly later than `from`.", HttpStatus.BAD_REQUEST);
+        }
+        if (page < 0) {
+            throw new ServiceException("`page` must not be negative.", HttpStatus.BAD_REQUEST);
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ServiceException("`size` must be between 1 and " + MAX_PAGE_SIZE + ".",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (!restaurantTablesRepository.existsById(restaurantId)
+                && !companionDocuments.ensureRestaurantTables(restaurantId)) {
+            return Optional.empty();
+        }
+
+        // Occurrences of reservation series are not stored, so they are expanded in
+        // the window and merged with the stored reservations. Only the first pages
+        // are needed for that, up to the requested one.
+        int needed = (int) Math.min(Integer.MAX_VALUE, ((long) page + 1) * size);
+        List<Reservation> occurrences = listSeriesOccurrencesForRestaurant(restaurantId, from, to, needed);
+        if (occurrences.isEmpty()) {
+            return Optional.of(aggregateReservationsForRestaurant(restaurantId, from, to, (long) page * size, size));
+        }
+        List<Reservation> merged = new ArrayList<>(aggregateReservationsForRestaurant(restaurantId, from, to, 0,
+                needed));
+        merged.addAll(occurrences);
+        merged.sort(Comparator.comparing(Reservation::getReservationStart).thenComparing(Reservation::getId));
+        int fromIndex = (int) Math.min(merged.size(), (long) page * size);
+        return Optional.of(merged.subList(fromIndex, Math.min(merged.size(), needed)));
+    }
+
+    private List<Reservation> aggregateReservationsForRestaurant(String restaurantId, Instant from, Instant to,
+            long skip, int limit) {
+        // Filter the reservations of each table server-side before unwinding, so
+        // that only reservations in the window leave the tableReservations documents.
+        AggregationExpression inWindow = context -> new Document("$and", Arrays.asList(
+                new Document("$lt", Arrays.asList("$$r.reservationStart", Date.from(to))),
+                new Document("$gt", Arrays.asList("$$r.reservationEnd", Date.from(from)))));
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("restaurantId").is(restaurantId).and("isDeleted").ne(true)),
+                Aggregation.project()
+                        .and(ArrayOperators.Filter.filter("reservations").as("r").by(inWindow))
+                        .as("reservations"),
+                Aggregation.unwind("reservations"),
+                Aggregation.replaceRoot("reservations"),
+                Aggregation.sort(Sort.by("reservationStart", "_id")),
+                Aggregation.skip(skip),
+                Aggregation.limit(limit));
+        return mongoTemplate.aggregate(aggregation, "tableReservations", Reservation.class).getMappedResults();
+    }
+
+    private List<Reservation> listSeriesOccurrencesForRestaurant(String restaurantId, Instant from, Instant to,
+            int limit) {
+        Query query = Query.query(Criteria.where("restaurantId").is(restaurantId).and("isDeleted").ne(true)
+                .and("series.0").exists(true));
+        query.fields().include("restaurantId", "series");
+        List<Reservation> occurrences = new ArrayList<>();
+        for (TableReservations tableReservations : mongoTemplate.find(query, TableReservations.class)) {
+            for (ReservationSeries series : tableReservations.getSeries()) {
+                occurrences.addAll(SeriesOccurrences.between(series, restaurantId, tableReservations.getId(), from,
+                        to, limit));
+            }
+        }
+        return occurrences;
+    }
+
+    @Override
+    public Optional<List<Instant>> listFreeSlotsForRestaurantAndTable(String restaurantId, String tableId,
+            LocalDate day) {
+        if (slotsReady()) {
+            Optional<TableReservations> table = tableReservationsRepository
+                    .findOpeningHoursByIdAndRestaurantId(tableId, restaurantId);
+            if (table.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(filterOpenSlots(tableSlotsService.listFreeSlots(tableId, day), table.get()));
+        }
+
+        // Without bitmaps, build the bitmap of the day from the reservations and the
+        // series occurrences of the day. Slots that are only partially reserved are
+        // not free.
+        Optional<TableReservations> tableReservations = tableReservationsRepository.findByIdAndRestaurantId(tableId,
+                restaurantId);
+        if (tableReservations.isEmpty()) {
+            return Optional.empty();
+        }
+        List<Reservation> reservations = new ArrayList<>(tableReservations.get().getReservations());
+        Instant dayStart = day.atStartOfDay(ZoneOffset.UTC).toInstant();
+        for (ReservationSeries series : tableReservations.get().getSeries()) {
+            reservations.addAll(SeriesOccurrences.between(series, restaurantId, tableId, dayStart,
+                    dayStart.plus(1, ChronoUnit.DAYS), Integer.MAX_VALUE));
+        }
+        long low = 0;
+        long high = 0;
+        for (Reservation r : reservations) {
+            if (r.getIsCancelled() != null && r.getIsCancelled()) {
+                continue;
+            }
+            for (SlotBitmap.DayMask mask : SlotBitmap.masks(r.getReservationStart(), r.getReservationEnd())) {
+                if (mask.day().equals(day)) {
+                    low |= mask.low();
+                    high |= mask.high();
+                }
+            }
+        }
+        return Optional.of(filterOpenSlots(SlotBitmap.freeSlots(day, low, high), tableReservations.get()));
+    }
+
+    private List<Instant> filterOpenSlots(List<Instant> slots, TableReservations tableReservations) {
+        if (tableReservations.getOpeningHours() == null) {
+            return slots;
+        }
+        OpeningSchedule schedule = openingHoursCache.get(tableReservations.getOpeningHours());
+        return slots.stream().filter(s -> schedule.isOpen(s, s.plusSeconds(SlotBitmap.SLOT_SECONDS))).toList();
+    }
+
     @Override
     public Optional<List<Reservation>> listReservationsForDiner(String dinerId) {
         Optional<DinerReservations> dinerReservations = dinerReservationsRepository.findById(dinerId);
         if (!dinerReservations.isPresent()) {
+            if (companionDocuments.ensureDinerReservations(dinerId)) {
+                return Optional.of(new ArrayList<>());
+            }
             return Optional.empty();
         }
         return Optional.of(dinerReservations.get().getReservations());
@@ -70,7 +266,7 @@ public class ReservationServiceImpl implements ReservationService {
     @Override
     public Optional<Reservation> getReservationForRestaurantAndTableById(String restaurantId, String tableId,
             String reservationId) {
-        Optional<TableReservations> tableReservations = tableReservationsRepository.findById(tableId);
+        Optional<TableReservations> tableReservations = tableReservationsRepository.findByIdAndRestaurantId(tableId, restaurantId);
         if (!tableReservations.isPresent()) {
             return Optional.empty();
         }
@@ -89,9 +285,168 @@ public class ReservationServiceImpl implements ReservationService {
     @Transactional
     public Reservation createReservationForRestaurantAndTable(String restaurantId, String tableId,
             Reservation reservation) {
+        return createReservation(restaurantId, tableId, reservation, null);
+    }
+
+    @Override
+    @Transactional
+    public ReservationHold createHoldForRestaurantAndTable(String restaurantId, String tableId,
+            Reservation reservation) {
         ValidateReservationForCreation(reservation);
 
-        Optional<TableReservations> tableReservations = tableReservationsRepository.findById(tableId);
+        Optional<TableReservations> tableReservations = tableReservationsRepository.findByIdAndRestaurantId(tableId, restaurantId);
+        if (tableReservations.isEmpty()) {
+            throw new ServiceException("Table with ID " + tableId + " not found",
+                    HttpStatus.NOT_FOUND);
+        }
+        // Same checks as when creating the reservation. In slot mode, the bitmaps are
+        // only written on confirmation, so the reservations are scanned instead.
+        verifyReservationToCreateIsCompatibleWithTableReservations(reservation, tableReservations.get(), null, null);
+        if (slotsReady()) {
+            verifyReservationDoesNotOverlapSchedule(reservation, tableReservations.get(), null);
+        }
+        if (!dinerExists(reservation.getDinerId())) {
+            throw new ServiceException("Diner with ID " + reservation.getDinerId() + " not found",
+                    HttpStatus.NOT_FOUND);
+        }
+
+        // The hold check above reads from the transaction snapshot, so it doesn't see
+        // a hold or booking committed concurrently. Writing the table document makes
+        // the transaction fail with a write conflict instead, since bookings and other
+        // holds write it too.
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(tableId).and("restaurantId").is(restaurantId)),
+                new Update().inc("holdVersion", 1), TableReservations.class);
+
+        Instant now = Instant.now(clock).truncatedTo(ChronoUnit.MILLIS);
+        return reservationHoldRepository.insert(new ReservationHold(null, restaurantId, tableId,
+                reservation.getDinerId(), reservation.getName(), reservation.getNumGuests(),
+                reservation.getReservationStart(), reservation.getReservationEnd(), now, now.plus(holdTtl)));
+    }
+
+    @Override
+    @Transactional
+    public Reservation confirmHoldForRestaurantAndTable(String restaurantId, String tableId, String holdId) {
+        Optional<ReservationHold> hold = reservationHoldRepository.findById(holdId);
+        if (hold.isEmpty() || !restaurantId.equals(hold.get().getRestaurantId())
+                || !tableId.equals(hold.get().getTableId())
+                || !hold.get().getExpiresAt().isAfter(Instant.now(clock))) {
+            throw new ServiceException("Hold with ID " + holdId + " not found or expired", HttpStatus.NOT_FOUND);
+        }
+        // The reservation is checked again against the table, which is authoritative:
+        // a reservation created concurrently with the hold makes the confirmation fail.
+        Reservation reservation = createReservation(restaurantId, tableId, hold.get().toReservation(), holdId);
+        reservationHoldRepository.deleteById(holdId);
+        return reservation;
+    }
+
+    @Override
+    public Optional<List<ReservationSeries>> listSeriesForRestaurantAndTable(String restaurantId, String tableId) {
+        Optional<TableReservations> tableReservations = tableReservationsRepository.findByIdAndRestaurantId(tableId,
+                restaurantId);
+        if (tableReservations.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(tableReservations.get().getSeries());
+    }
+
+    @Override
+    @Transactional
+    public ReservationSeries createSeriesForRestaurantAndTable(String restaurantId, String tableId,
+            ReservationSeries series) {
+        ValidateSeriesForCreation(series);
+
+        Optional<TableReservations> tableReservations = tableReservationsRepository.findByIdAndRestaurantId(tableId,
+                restaurantId);
+        if (tableReservations.isEmpty()) {
+            throw new ServiceException("Table with ID " + tableId + " not found",
+                    HttpStatus.NOT_FOUND);
+        }
+        TableReservations table = tableReservations.get();
+        if (series.getNumGuests() > table.getMaxCapacity() || series.getNumGuests() < table.getMinCapacity()) {
+            throw new ServiceException("Number of guests in reservation series doesn't fit the table (minCapacity "
+                    + table.getMinCapacity() + ", maxCapacity " + table.getMaxCapacity() + ", numGuests "
+                    + series.getNumGuests() + ").",
+                    HttpStatus.CONFLICT);
+        }
+        if (!dinerExists(series.getDinerId())) {
+            throw new ServiceException("Diner with ID " + series.getDinerId() + " not found",
+                    HttpStatus.NOT_FOUND);
+        }
+
+        Instant now = Instant.now(clock);
+        series.setId(new ObjectId().toString());
+        series.setCreatedAt(now.truncatedTo(ChronoUnit.MILLIS));
+        // Occurrences keep their local time in the time zone of the table.
+        series.setTimeZone(table.getOpeningHours() != null ? table.getOpeningHours().getTimeZone() : null);
+
+        // All occurrences are checked in one merged pass over the schedule of the
+        // table, sorted by start time, rather than once per occurrence.
+        List<Reservation> occurrences = SeriesOccurrences.all(series, restaurantId, tableId);
+        if (table.getOpeningHours() != null) {
+            OpeningSchedule schedule = openingHoursCache.get(table.getOpeningHours());
+            for (Reservation occurrence : occurrences) {
+                if (!schedule.isOpen(occurrence.getReservationStart(), occurrence.getReservationEnd())) {
+                    throw new ServiceException("Reservation series occurrence on "
+                            + occurrence.getReservationStart() + " is outside the opening hours of the table.",
+                            HttpStatus.CONFLICT);
+                }
+            }
+        }
+        Instant spanStart = series.getFirstReservationStart();
+        Instant spanEnd = occurrences.getLast().getReservationEnd();
+        List<Reservation> holds = new ArrayList<>();
+        for (ReservationHold h : reservationHoldRepository.findLiveOverlapping(restaurantId, tableId, spanStart,
+                spanEnd, now)) {
+            holds.add(new Reservation(h.getId(), h.getRestaurantId(), h.getTableId(), h.getDinerId(), h.getName(),
+                    h.getNumGuests(), h.getReservationStart(), h.getReservationEnd(), h.getCreatedAt()));
+        }
+        holds.sort(Comparator.comparing(Reservation::getReservationStart));
+        Optional<Reservation> conflict = ReservationConflict.findOverlap(holds, occurrences);
+        if (conflict.isPresent()) {
+            throw new ServiceException(
+                    "Reservation series conflicts with hold with ID " + conflict.get().getId() + ".",
+                    HttpStatus.CONFLICT);
+        }
+        if (!slotsReady()) {
+            List<Reservation> schedule = new ArrayList<>();
+            for (Reservation r : table.getReservations()) {
+                if ((r.getIsCancelled() == null || !r.getIsCancelled())
+                        && r.getReservationEnd().isAfter(spanStart) && r.getReservationStart().isBefore(spanEnd)) {
+                    schedule.add(r);
+                }
+            }
+            for (ReservationSeries other : table.getSeries()) {
+                schedule.addAll(SeriesOccurrences.between(other, restaurantId, tableId, spanStart, spanEnd,
+                        Integer.MAX_VALUE));
+            }
+            schedule.sort(Comparator.comparing(Reservation::getReservationStart));
+            conflict = ReservationConflict.findOverlap(schedule, occurrences);
+            if (conflict.isPresent()) {
+                throw new ServiceException(
+                        "Reservation series conflicts with reservation with ID " + conflict.get().getId() + ".",
+                        HttpStatus.CONFLICT);
+            }
+        }
+        if (slotsEnabled) {
+            for (Reservation occurrence : occurrences) {
+                tableSlotsService.reserveSlots(tableId, occurrence.getReservationStart(),
+                        occurrence.getReservationEnd());
+            }
+        }
+
+        // A single write of the table document, which also conflicts with concurrent
+        // reservation writes to the same table.
+        table.getSeries().add(series);
+        tableReservationsRepository.save(table);
+        return series;
+    }
+
+    private Reservation createReservation(String restaurantId, String tableId, Reservation reservation,
+            String confirmedHoldId) {
+        ValidateReservationForCreation(reservation);
+
+        Optional<TableReservations> tableReservations = tableReservationsRepository.findByIdAndRestaurantId(tableId, restaurantId);
         if (tableReservations.isEmpty()) {
             throw new ServiceException("Table with ID " + tableId + " not found",
                     HttpStatus.NOT_FOUND);
@@ -107,12 +462,23 @@ public class ReservationServiceImpl implements ReservationService {
         // Verify that the reservation doesn't conflict with existing reservations, that
         // the table is big enough, etc.
         verifyReservationToCreateIsCompatibleWithTableReservations(reservation,
-                tableReservations.get());
+                tableReservations.get(), confirmedHoldId, null);
 
-        Optional<DinerReservations> dinerReservations = dinerReservationsRepository.findById(reservation.getDinerId());
-        if (dinerReservations.isEmpty()) {
-            throw new ServiceException("Diner with ID " + reservation.getDinerId() + " not found",
-                    HttpStatus.NOT_FOUND);
+        Optional<DinerReservations> dinerReservations = Optional.empty();
+        if (asyncDinerProjection) {
+            if (!dinerExists(reservation.getDinerId())) {
+                throw new ServiceException("Diner with ID " + reservation.getDinerId() + " not found",
+                        HttpStatus.NOT_FOUND);
+            }
+        } else {
+            dinerReservations = dinerReservationsRepository.findById(reservation.getDinerId());
+            if (dinerReservations.isEmpty() && companionDocuments.ensureDinerReservations(reservation.getDinerId())) {
+                dinerReservations = dinerReservationsRepository.findById(reservation.getDinerId());
+            }
+            if (dinerReservations.isEmpty()) {
+                throw new ServiceException("Diner with ID " + reservation.getDinerId() + " not found",
+                        HttpStatus.NOT_FOUND);
+            }
         }
 
         // We generate the reservation ID ourselves since it is an embedded document in
@@ -123,14 +489,29 @@ public class ReservationServiceImpl implements ReservationService {
         reservation.setTableId(tableId);
         // We also generate the creation time ourselves for the same reason.
         reservation.setCreatedAt(Instant.now(clock).truncatedTo(ChronoUnit.MILLIS));
+        // The table's details are recorded with the reservation, so that the
+        // reservation's events don't depend on the table's current state.
+        copyTableDetails(tableReservations.get(), reservation);
+
+        if (slotsEnabled) {
+            tableSlotsService.reserveSlots(tableId, reservation.getReservationStart(),
+                    reservation.getReservationEnd());
+        }
 
         // Finally, add the reservation to both tableReservations and dinerReservations
         // in the same transaction.
         tableReservations.get().getReservations().addLast(reservation);
         TableReservations newTableReservations = tableReservationsRepository.save(tableReservations.get());
         Reservation newReservation = newTableReservations.getReservations().getLast();
-        dinerReservations.get().getReservations().addLast(reservation);
-        dinerReservationsRepository.save(dinerReservations.get());
+        if (dinerReservations.isPresent()) {
+            dinerReservations.get().getReservations().addLast(reservation);
+            dinerReservationsRepository.save(dinerReservations.get());
+        }
+
+        // Record the change in the outbox within the same transaction. It is published
+        // to event sinks asynchronously by the OutboxDispatcher.
+        outboxEventRepository.save(new OutboxEvent(ReservationEventType.RESERVATION_CREATED, newReservation,
+                newReservation.getCreatedAt()));
 
         return newReservation;
     }
@@ -139,13 +520,14 @@ public class ReservationServiceImpl implements ReservationService {
     @Transactional
     public Reservation updateReservationForRestaurantAndTable(String restaurantId, String tableId, String reservationId,
             Reservation reservation) {
-        if (!reservation.getIsCancelled()) {
-            throw new ServiceException(
-                    "Setting `isCancelled` to true is required when updating a reservation. Only cancellation is supported.",
-                    HttpStatus.BAD_REQUEST);
+        if (reservation.getIsCancelled() != null && reservation.getIsCancelled()) {
+            return cancelReservation(restaurantId, tableId, reservationId);
         }
+        return modifyReservation(restaurantId, tableId, reservationId, reservation);
+    }
 
-        Optional<TableReservations> tableReservations = tableReservationsRepository.findById(tableId);
+    private Reservation cancelReservation(String restaurantId, String tableId, String reservationId) {
+        Optional<TableReservations> tableReservations = tableReservationsRepository.findByIdAndRestaurantId(tableId, restaurantId);
         if (tableReservations.isEmpty()) {
             throw new ServiceException("Table with ID " + tableId + " not found",
                     HttpStatus.NOT_FOUND);
@@ -178,21 +560,25 @@ public class ReservationServiceImpl implements ReservationService {
                     HttpStatus.BAD_REQUEST);
         }
 
-        String dinerId = existingTableReservation.get().getDinerId();
-        Optional<DinerReservations> dinerReservations = dinerReservationsRepository.findById(dinerId);
-        if (dinerReservations.isEmpty()) {
-            // The diner for the reservation should always exist, hence the internal server
-            // error.
-            throw new ServiceException("Diner with ID " + dinerId + " not found, this is unexpected",
-                    HttpStatus.INTERNAL_SERVER_ERROR);
-        }
-        Optional<Reservation> existingDinerReservation = dinerReservations.get().getReservations().stream()
-                .filter(r -> r.getId() != null && r.getId().equals(reservationId)).findFirst();
-        if (existingDinerReservation.isEmpty()) {
-            // The reservation should always exist in dinerReservations if it exists in
-            // tableReservations, hence the internal server error.
-            throw new ServiceException("Reservation with ID " + reservationId + " not found, this unexpected",
-                    HttpStatus.INTERNAL_SERVER_ERROR);
+        Optional<DinerReservations> dinerReservations = Optional.empty();
+        Optional<Reservation> existingDinerReservation = Optional.empty();
+        if (!asyncDinerProjection) {
+            String dinerId = existingTableReservation.get().getDinerId();
+            dinerReservations = dinerReservationsRepository.findById(dinerId);
+            if (dinerReservations.isEmpty()) {
+                // The diner for the reservation should always exist, hence the internal server
+                // error.
+                throw new ServiceException("Diner with ID " + dinerId + " not found, this is unexpected",
+                        HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+            existingDinerReservation = dinerReservations.get().getReservations().stream()
+                    .filter(r -> r.getId() != null && r.getId().equals(reservationId)).findFirst();
+            if (existingDinerReservation.isEmpty()) {
+                // The reservation should always exist in dinerReservations if it exists in
+                // tableReservations, hence the internal server error.
+                throw new ServiceException("Reservation with ID " + reservationId + " not found, this unexpected",
+                        HttpStatus.INTERNAL_SERVER_ERROR);
+            }
         }
 
         // Generate reservation cancellation time.
@@ -200,19 +586,158 @@ public class ReservationServiceImpl implements ReservationService {
 
         // Finally, update the reservation in both tableReservations and
         // dinerReservations in the same transaction.
+        if (slotsEnabled) {
+            tableSlotsService.releaseSlots(tableId, existingTableReservation.get().getReservationStart(),
+                    existingTableReservation.get().getReservationEnd());
+        }
         existingTableReservation.get().setIsCancelled(true);
         existingTableReservation.get().setCancelledAt(cancelledAt);
         TableReservations newTableReservations = tableReservationsRepository.save(tableReservations.get());
 
-        existingDinerReservation.get().setIsCancelled(true);
-        existingDinerReservation.get().setCancelledAt(cancelledAt);
-        dinerReservationsRepository.save(dinerReservations.get());
+        if (existingDinerReservation.isPresent()) {
+            existingDinerReservation.get().setIsCancelled(true);
+            existingDinerReservation.get().setCancelledAt(cancelledAt);
+            dinerReservationsRepository.save(dinerReservations.get());
+        }
 
         Reservation newReservation = newTableReservations.getReservations().stream()
                 .filter(r -> r.getId() != null && r.getId().equals(reservationId)).findFirst().get();
+
+        // Record the change in the outbox within the same transaction.
+        outboxEventRepository.save(new OutboxEvent(ReservationEventType.RESERVATION_CANCELLED, newReservation,
+                cancelledAt));
+
         return newReservation;
     }
 
+    private Reservation modifyReservation(String restaurantId, String tableId, String reservationId,
+            Reservation changes) {
+        if (changes.getReservationStart() == null && changes.getReservationEnd() == null
+                && changes.getNumGuests() == 0 && !StringUtils.hasLength(changes.getTableId())) {
+            throw new ServiceException(
+                    "Set `isCancelled` to true to cancel the reservation, or set `reservationStart`, `reservationEnd`, `numGuests` or `tableId` to modify it.",
+                    HttpStatus.BAD_REQUEST);
+        }
+
+        Optional<TableReservations> tableReservations = tableReservationsRepository.findByIdAndRestaurantId(tableId,
+                restaurantId);
+        if (tableReservations.isEmpty() || !restaurantId.equals(tableReservations.get().getRestaurantId())) {
+            throw new ServiceException("Table with ID " + tableId + " not found",
+                    HttpStatus.NOT_FOUND);
+        }
+        Optional<Reservation> existing = tableReservations.get().getReservations().stream()
+                .filter(r -> r.getId() != null && r.getId().equals(reservationId)).findFirst();
+        if (existing.isEmpty()) {
+            throw new ServiceException("Reservation with ID " + reservationId + " not found",
+                    HttpStatus.NOT_FOUND);
+        }
+        Reservation previous = existing.get();
+        if (previous.getIsCancelled() != null && previous.getIsCancelled()) {
+            throw new ServiceException("Reservation with ID " + reservationId + " is cancelled",
+                    HttpStatus.PRECONDITION_FAILED);
+        }
+        Instant now = Instant.now(clock);
+        if (previous.getReservationStart().isBefore(now)) {
+            throw new ServiceException("Cannot modify a reservation that has already begun.",
+                    HttpStatus.BAD_REQUEST);
+        }
+
+        // Fields that are not set keep their current value. The ID, diner, name and
+        // creation time never change.
+        String newTableId = StringUtils.hasLength(changes.getTableId()) ? changes.getTableId() : tableId;
+        Reservation updated = new Reservation(reservationId, restaurantId, newTableId, previous.getDinerId(),
+                previous.getName(), changes.getNumGuests() != 0 ? changes.getNumGuests() : previous.getNumGuests(),
+                changes.getReservationStart() != null ? changes.getReservationStart()
+                        : previous.getReservationStart(),
+                changes.getReservationEnd() != null ? changes.getReservationEnd() : previous.getReservationEnd(),
+                previous.getCreatedAt());
+        ValidateReservationForUpdate(updated);
+
+        boolean move = !newTableId.equals(tableId);
+        if (!move && updated.getNumGuests() == previous.getNumGuests()
+                && updated.getReservationStart().equals(previous.getReservationStart())
+                && updated.getReservationEnd().equals(previous.getReservationEnd())) {
+            return previous;
+        }
+        TableReservations targetTableReservations = tableReservations.get();
+        if (move) {
+            Optional<TableReservations> target = tableReservationsRepository.findByIdAndRestaurantId(newTableId,
+                    restaurantId);
+            if (target.isEmpty() || !restaurantId.equals(target.get().getRestaurantId())) {
+                throw new ServiceException("Table with ID " + newTableId + " not found",
+                        HttpStatus.NOT_FOUND);
+            }
+            targetTableReservations = target.get();
+            copyTableDetails(targetTableReservations, updated);
+        } else {
+            // The table's details recorded when the reservation was made are kept.
+            updated.setTableName(previous.getTableName());
+            updated.setRoomType(previous.getRoomType());
+            updated.setMinSpend(previous.getMinSpend());
+        }
+
+        // Same checks as when creating the reservation, against the schedule of the
+        // target table without the reservation itself.
+        verifyReservationToCreateIsCompatibleWithTableReservations(updated, targetTableReservations, null,
+                reservationId);
+        if (slotsEnabled) {
+            // Released first so that the new slots may overlap the old ones. If they
+            // can't be reserved, the transaction rolls back and the old slots are kept.
+            tableSlotsService.releaseSlots(tableId, previous.getReservationStart(), previous.getReservationEnd());
+            tableSlotsService.reserveSlots(newTableId, updated.getReservationStart(), updated.getReservationEnd());
+        }
+
+        // One targeted update per affected document rather than a rewrite of whole
+        // documents, in the same transaction. Concurrent writes to the same
+        // documents make the transaction fail with a write conflict. Filters include
+        // the restaurant ID, so that they target a single shard.
+        if (move) {
+            mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(tableId).and("restaurantId").is(restaurantId)),
+                    new Update().pull("reservations", Query.query(Criteria.where("_id").is(reservationId))),
+                    TableReservations.class);
+            mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(newTableId).and("restaurantId").is(restaurantId)),
+                    new Update().push("reservations", updated), TableReservations.class);
+        } else {
+            mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(tableId).and("restaurantId").is(restaurantId)
+                            .and("reservations._id").is(reservationId)),
+                    new Update()
+                            .set("reservations.$.numGuests", updated.getNumGuests())
+                            .set("reservations.$.reservationStart", updated.getReservationStart())
+                            .set("reservations.$.reservationEnd", updated.getReservationEnd()),
+                    TableReservations.class);
+        }
+        if (!asyncDinerProjection) {
+            UpdateResult result = mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(updated.getDinerId())
+                            .and("reservations._id").is(reservationId)),
+                    new Update()
+                            .set("reservations.$.tableId", updated.getTableId())
+                            .set("reservations.$.numGuests", updated.getNumGuests())
+                            .set("reservations.$.reservationStart", updated.getReservationStart())
+                            .set("reservations.$.reservationEnd", updated.getReservationEnd())
+                            .set("reservations.$.tableName", updated.getTableName())
+                            .set("reservations.$.roomType", updated.getRoomType())
+                            .set("reservations.$.minSpend", updated.getMinSpend()),
+                    DinerReservations.class);
+            if (result.getMatchedCount() == 0) {
+                // The reservation should always exist in dinerReservations if it exists in
+                // tableReservations, hence the internal server error.
+                throw new ServiceException("Reservation with ID " + reservationId
+                        + " not found for diner " + updated.getDinerId() + ", this is unexpected",
+                        HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+        }
+
+        // Record the change in the outbox within the same transaction.
+        outboxEventRepository.save(new OutboxEvent(ReservationEventType.RESERVATION_UPDATED, updated, previous,
+                now.truncatedTo(ChronoUnit.MILLIS)));
+
+        return updated;
+    }
+
     private void ValidateReservationForCreation(Reservation reservation) {
         if (StringUtils.hasLength(reservation.getId())) {
             throw new ServiceException("`id` must not be set when creating a reservation.",
@@ -273,10 +798,109 @@ public class ReservationServiceImpl implements ReservationService {
             throw new ServiceException("`reservationStart` must not be in the past when creating a reservation.",
                     HttpStatus.BAD_REQUEST);
         }
+        if (slotsEnabled && (!SlotBitmap.isAligned(reservation.getReservationStart())
+                || !SlotBitmap.isAligned(reservation.getReservationEnd()))) {
+            throw new ServiceException(
+                    "`reservationStart` and `reservationEnd` must be on 15-minute boundaries.",
+                    HttpStatus.BAD_REQUEST);
+        }
     }
 
+    private void ValidateReservationForUpdate(Reservation reservation) {
+        if (reservation.getNumGuests() < 0) {
+            throw new ServiceException("`numGuests` must not be negative.", HttpStatus.BAD_REQUEST);
+        }
+        if (reservation.getReservationStart().compareTo(reservation.getReservationEnd()) >= 0) {
+            throw new ServiceException("`reservationEnd` must be strictly later than `reservationStart`.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (ChronoUnit.HOURS.between(reservation.getReservationStart(), reservation.getReservationEnd()) > 10) {
+            throw new ServiceException("Hours between `reservationStart` and `reservationEnd` must be 10 or less.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (reservation.getReservationStart().isBefore(Instant.now(clock))) {
+            throw new ServiceException("`reservationStart` must not be in the past when modifying a reservation.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (slotsEnabled && (!SlotBitmap.isAligned(reservation.getReservationStart())
+                || !SlotBitmap.isAligned(reservation.getReservationEnd()))) {
+            throw new ServiceException(
+                    "`reservationStart` and `reservationEnd` must be on 15-minute boundaries.",
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private void ValidateSeriesForCreation(ReservationSeries series) {
+        if (StringUtils.hasLength(series.getId())) {
+            throw new ServiceException("`id` must not be set when creating a reservation series.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (!StringUtils.hasLength(series.getDinerId())) {
+            throw new ServiceException("`dinerId` is required when creating a reservation series.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (!StringUtils.hasLength(series.getName())) {
+            throw new ServiceException("`name` is required when creating a reservation series.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (series.getNumGuests() == 0) {
+            throw new ServiceException("`numGuests` is required when creating a reservation series.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (series.getFirstReservationStart() == null) {
+            throw new ServiceException("`firstReservationStart` is required when creating a reservation series.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (series.getFirstReservationEnd() == null) {
+            throw new ServiceException("`firstReservationEnd` is required when creating a reservation series.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (series.getFirstReservationStart().compareTo(series.getFirstReservationEnd()) >= 0) {
+            throw new ServiceException("`firstReservationEnd` must be strictly later than `firstReservationStart`.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        // This also guarantees that occurrences, at least a day apart, don't overlap.
+        if (ChronoUnit.HOURS.between(series.getFirstReservationStart(), series.getFirstReservationEnd()) > 10) {
+            throw new ServiceException(
+                    "Hours between `firstReservationStart` and `firstReservationEnd` must be 10 or less.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (series.getFrequency() == null) {
+            throw new ServiceException("`frequency` is required when creating a reservation series.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (series.getInterval() < 0) {
+            throw new ServiceException("`interval` must not be negative.", HttpStatus.BAD_REQUEST);
+        }
+        // Set interval to 1 in case it is not set.
+        if (series.getInterval() == 0) {
+            series.setInterval(1);
+        }
+        if (series.getCount() < 1 || series.getCount() > MAX_SERIES_OCCURRENCES) {
+            throw new ServiceException("`count` must be between 1 and " + MAX_SERIES_OCCURRENCES + ".",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (series.getCreatedAt() != null) {
+            throw new ServiceException("`createdAt` must not be set when creating a reservation series.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (series.getFirstReservationStart().isBefore(Instant.now(clock))) {
+            throw new ServiceException(
+                    "`firstReservationStart` must not be in the past when creating a reservation series.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (slotsEnabled && (!SlotBitmap.isAligned(series.getFirstReservationStart())
+                || !SlotBitmap.isAligned(series.getFirstReservationEnd()))) {
+            throw new ServiceException(
+                    "`firstReservationStart` and `firstReservationEnd` must be on 15-minute boundaries.",
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // The reservation with ID modifiedReservationId, if set, is ignored when
+    // checking for overlaps, since it is the one being modified.
     private void verifyReservationToCreateIsCompatibleWithTableReservations(Reservation reservation,
-            TableReservations tableReservations) {
+            TableReservations tableReservations, String confirmedHoldId, String modifiedReservationId) {
         // Check compatibility with table metadata.
         if (reservation.getNumGuests() > tableReservations.getMaxCapacity()) {
             throw new ServiceException(
@@ -291,11 +915,49 @@ public class ReservationServiceImpl implements ReservationService {
                     HttpStatus.CONFLICT);
         }
 
-        // Check compatibility with existing reservations.
+        // Check compatibility with opening hours. They are part of the table document,
+        // so this doesn't cost a read.
+        if (tableReservations.getOpeningHours() != null
+                && !openingHoursCache.get(tableReservations.getOpeningHours())
+                        .isOpen(reservation.getReservationStart(), reservation.getReservationEnd())) {
+            throw new ServiceException("Reservation is outside the opening hours of the table.",
+                    HttpStatus.CONFLICT);
+        }
+
+        // Check compatibility with unexpired holds, apart from the one being confirmed.
+        for (ReservationHold h : reservationHoldRepository.findLiveOverlapping(tableReservations.getRestaurantId(),
+                tableReservations.getId(), reservation.getReservationStart(), reservation.getReservationEnd(),
+                Instant.now(clock))) {
+            if (!h.getId().equals(confirmedHoldId)) {
+                throw new ServiceException("Reservation to create conflicts with hold with ID " + h.getId() + ".",
+                        HttpStatus.CONFLICT);
+            }
+        }
+
+        // Check compatibility with existing reservations. In slot mode, this is done
+        // when reserving the slots instead, once the bitmaps are complete.
+        if (slotsReady()) {
+            return;
+        }
+        verifyReservationDoesNotOverlapSchedule(reservation, tableReservations, modifiedReservationId);
+    }
+
+    // Until the bitmaps are rebuilt on startup, they may miss reservations made
+    // while slot mode was disabled. They are still written, but conflicts are
+    // detected by scanning the schedule of the table.
+    private boolean slotsReady() {
+        return slotsEnabled && tableSlotsBackfill.isDone();
+    }
+
+    private void verifyReservationDoesNotOverlapSchedule(Reservation reservation,
+            TableReservations tableReservations, String modifiedReservationId) {
         for (Reservation r : tableReservations.getReservations()) {
             if (r.getIsCancelled() != null && r.getIsCancelled()) {
                 continue;
             }
+            if (r.getId() != null && r.getId().equals(modifiedReservationId)) {
+                continue;
+            }
 
             if (ReservationConflict.reservationsOverlap(r, reservation)) {
                 throw new ServiceException(
@@ -303,5 +965,24 @@ public class ReservationServiceImpl implements ReservationService {
                         HttpStatus.CONFLICT);
             }
         }
+        for (ReservationSeries series : tableReservations.getSeries()) {
+            if (!SeriesOccurrences.between(series, tableReservations.getRestaurantId(), tableReservations.getId(),
+                    reservation.getReservationStart(), reservation.getReservationEnd(), 1).isEmpty()) {
+                throw new ServiceException(
+                        "Reservation to create conflicts with reservation series with ID " + series.getId() + ".",
+                        HttpStatus.CONFLICT);
+            }
+        }
+    }
+
+    // Creates the dinerReservations document of the diner if it is missing.
+    private boolean dinerExists(String dinerId) {
+        return dinerReservationsRepository.existsById(dinerId) || companionDocuments.ensureDinerReservations(dinerId);
+    }
+
+    private static void copyTableDetails(TableReservations tableReservations, Reservation reservation) {
+        reservation.setTableName(tableReservations.getName());
+        reservation.setRoomType(tableReservations.getRoomType());
+        reservation.setMinSpend(tableReservations.getMinSpend());
     }
 }
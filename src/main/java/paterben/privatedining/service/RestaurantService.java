@@ -33,4 +33,28 @@ public interface RestaurantService {
      *         restaurant does not exist.
      */
     public Optional<Restaurant> getRestaurantById(String restaurantId);
+
+    /**
+     * Replaces the restaurant with the given ID. Tables without opening hours of
+     * their own follow the restaurant's new opening hours. Existing reservations
+     * are kept.
+     * 
+     * @param restaurantId the restaurant ID.
+     * @param restaurant   the new restaurant. Required fields must be set. Fields
+     *                     that are set automatically must not be set.
+     * @throws ServiceException if the {@code restaurant} is invalid, the restaurant
+     *                          does not exist or another restaurant with the same
+     *                          email already exists.
+     * @return the updated restaurant.
+     */
+    public Restaurant updateRestaurant(String restaurantId, Restaurant restaurant) throws ServiceException;
+
+    /**
+     * Deletes the restaurant with the given ID and its tables. Their reservations
+     * are deleted in the background, including from the diners' reservations.
+     * 
+     * @param restaurantId the restaurant ID.
+     * @throws ServiceException if the restaurant does not exist.
+     */
+    public void deleteRestaurant(String restaurantId) throws ServiceException;
 }
@@ -1,18 +1,31 @@
 package paterben.privatedining.service;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Currency;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import paterben.privatedining.core.model.DeletionJob;
+import paterben.privatedining.core.model.OpeningHours;
 import paterben.privatedining.core.model.Restaurant;
 import paterben.privatedining.core.model.RestaurantTables;
+import paterben.privatedining.core.model.Table;
+import paterben.privatedining.core.model.TableReservations;
+import paterben.privatedining.repository.DeletionJobRepository;
 import paterben.privatedining.repository.RestaurantRepository;
 import paterben.privatedining.repository.RestaurantTablesRepository;
 
@@ -25,26 +38,54 @@ public class RestaurantServiceImpl implements RestaurantService {
     @Autowired
     private RestaurantTablesRepository restaurantTablesRepository;
 
+    @Autowired
+    private DeletionJobRepository deletionJobRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TenantDirectory tenantDirectory;
+
+    @Autowired
+    private TableCapacityIndex tableCapacityIndex;
+
+    @Autowired
+    private Clock clock;
+
+    // No multi-document transaction: both writes below are single-document inserts.
+    // If the second one throws, the restaurant is deleted again. If the process dies
+    // between them, the restaurantTables document is missing, and is created on
+    // first use by CompanionDocuments.
     @Override
-    @Transactional
     public Restaurant createRestaurant(Restaurant restaurant) {
         ValidateRestaurantForCreation(restaurant);
 
-        Optional<Restaurant> existingRestaurant = restaurantRepository.findByEmail(restaurant.getEmail());
-        if (existingRestaurant.isPresent()) {
+        // Duplicate emails are detected by the unique index on `email` rather than by
+        // looking the email up first, which would cost a round trip and be racy.
+        Restaurant newRestaurant;
+        try {
+            newRestaurant = restaurantRepository.save(restaurant);
+        } catch (DuplicateKeyException e) {
             throw new ServiceException("Restaurant with email \"" + restaurant.getEmail() + "\" already exists",
                     HttpStatus.CONFLICT);
         }
-
-        Restaurant newRestaurant = restaurantRepository.save(restaurant);
         // MongoDB silently truncates the created time to milliseconds.
         // See https://github.com/spring-projects/spring-data-mongodb/issues/2883.
         newRestaurant.setCreatedAt(newRestaurant.getCreatedAt().truncatedTo(ChronoUnit.MILLIS));
-        // Create an empty document in the restaurantTables repository within the same
-        // transaction, so it does not have to be created when adding the first table.
+        // Create an empty document in the restaurantTables repository, so it does not
+        // have to be created when adding the first table.
         RestaurantTables restaurantTables = new RestaurantTables();
         restaurantTables.setId(newRestaurant.getId());
-        restaurantTablesRepository.save(restaurantTables);
+        // Copied so that adding a table doesn't need to read the restaurant.
+        restaurantTables.setOpeningHours(newRestaurant.getOpeningHours());
+        try {
+            restaurantTablesRepository.save(restaurantTables);
+        } catch (RuntimeException e) {
+            restaurantRepository.deleteById(newRestaurant.getId());
+            throw e;
+        }
+        tenantDirectory.registerRestaurant(newRestaurant.getId());
 
         return newRestaurant;
     }
@@ -61,7 +102,74 @@ public class RestaurantServiceImpl implements RestaurantService {
         return restaurants;
     }
 
-    private void ValidateRestaurantForCreation(Restaurant restaurant) {
+    @Override
+    @Transactional
+    public Restaurant updateRestaurant(String restaurantId, Restaurant restaurant) {
+        ValidateRestaurantForUpdate(restaurant);
+
+        Optional<Restaurant> existingRestaurant = restaurantRepository.findById(restaurantId);
+        if (existingRestaurant.isEmpty()) {
+            throw new ServiceException("Restaurant with ID " + restaurantId + " not found",
+                    HttpStatus.NOT_FOUND);
+        }
+        restaurant.setId(restaurantId);
+        restaurant.setCreatedAt(existingRestaurant.get().getCreatedAt());
+        Restaurant updatedRestaurant;
+        try {
+            updatedRestaurant = restaurantRepository.save(restaurant);
+        } catch (DuplicateKeyException e) {
+            throw new ServiceException("Restaurant with email \"" + restaurant.getEmail() + "\" already exists",
+                    HttpStatus.CONFLICT);
+        }
+        if (!Objects.equals(existingRestaurant.get().getOpeningHours(), restaurant.getOpeningHours())) {
+            propagateOpeningHours(restaurantId, restaurant.getOpeningHours());
+        }
+        return updatedRestaurant;
+    }
+
+    // Updates the copies of the restaurant's opening hours, in restaurantTables and
+    // in the tableReservations documents of tables without hours of their own, with
+    // one bulk update per collection rather than one write per table.
+    private void propagateOpeningHours(String restaurantId, OpeningHours openingHours) {
+        RestaurantTables restaurantTables = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(restaurantId)), Update.update("openingHours", openingHours),
+                RestaurantTables.class);
+        if (restaurantTables == null) {
+            return;
+        }
+        List<String> tableIds = restaurantTables.getTables().stream().filter(t -> t.getOpeningHours() == null)
+                .map(Table::getId).toList();
+        if (tableIds.isEmpty()) {
+            return;
+        }
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("restaurantId").is(restaurantId).and("_id").in(tableIds)),
+                Update.update("openingHours", openingHours), TableReservations.class);
+    }
+
+    // Only the restaurant and its tables are deleted here. Their reservations and
+    // other data are deleted in the background by the CascadeDeleter, so that the
+    // request doesn't depend on how much data the restaurant has. The
+    // tableReservations documents are flagged as deleted in the same transaction,
+    // so that they can no longer be booked in the meantime.
+    @Override
+    @Transactional
+    public void deleteRestaurant(String restaurantId) {
+        if (!restaurantRepository.existsById(restaurantId)) {
+            throw new ServiceException("Restaurant with ID " + restaurantId + " not found",
+                    HttpStatus.NOT_FOUND);
+        }
+        restaurantRepository.deleteById(restaurantId);
+        restaurantTablesRepository.deleteById(restaurantId);
+        mongoTemplate.updateMulti(Query.query(Criteria.where("restaurantId").is(restaurantId)),
+                Update.update("isDeleted", true), TableReservations.class);
+        deletionJobRepository.save(
+                new DeletionJob(restaurantId, null, Instant.now(clock).truncatedTo(ChronoUnit.MILLIS)));
+        tableCapacityIndex.invalidate(restaurantId);
+        tenantDirectory.unregisterRestaurant(restaurantId);
+    }
+
+    static void ValidateRestaurantForCreation(Restaurant restaurant) {
         if (StringUtils.hasLength(restaurant.getId())) {
             throw new ServiceException("`id` must not be set when creating a restaurant.",
                     HttpStatus.BAD_REQUEST);
@@ -90,5 +198,37 @@ public class RestaurantServiceImpl implements RestaurantService {
             throw new ServiceException("`createdAt` must not be set when creating a restaurant.",
                     HttpStatus.BAD_REQUEST);
         }
+        OpeningHoursCache.ValidateOpeningHours(restaurant.getOpeningHours());
+    }
+
+    static void ValidateRestaurantForUpdate(Restaurant restaurant) {
+        if (StringUtils.hasLength(restaurant.getId())) {
+            throw new ServiceException("`id` must not be set when updating a restaurant.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (!StringUtils.hasLength(restaurant.getName())) {
+            throw new ServiceException("`name` is required when updating a restaurant.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (!StringUtils.hasLength(restaurant.getEmail())) {
+            throw new ServiceException("`email` is required when updating a restaurant.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (!StringUtils.hasLength(restaurant.getCurrency())) {
+            throw new ServiceException("`currency` is required when updating a restaurant.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        restaurant.setCurrency(restaurant.getCurrency().toUpperCase());
+        try {
+            Currency.getInstance(restaurant.getCurrency());
+        } catch (IllegalArgumentException e) {
+            throw new ServiceException(restaurant.getCurrency() + " is not a valid ISO 4217 currency.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (restaurant.getCreatedAt() != null) {
+            throw new ServiceException("`createdAt` must not be set when updating a restaurant.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        OpeningHoursCache.ValidateOpeningHours(restaurant.getOpeningHours());
     }
 }
@@ -0,0 +1,31 @@
+package paterben.privatedining.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import paterben.privatedining.core.model.OutboxEvent;
+import paterben.privatedining.core.model.RestaurantDailyRollup;
+
+/**
+ * Service for the per-restaurant, per-day reservation rollups used by the
+ * dashboard.
+ */
+public interface RollupService {
+    /**
+     * Applies the given reservation event to the rollup of the day the
+     * reservation starts on. Applying the same event twice has no effect.
+     */
+    public void applyEvent(OutboxEvent event);
+
+    /**
+     * Lists the rollups of the given restaurant between the given UTC days,
+     * inclusive. Days without reservations are omitted.
+     * 
+     * @throws ServiceException if the range is invalid or too long.
+     * @return the rollups in chronological order, or an empty {@link Optional} if
+     *         the restaurant does not exist.
+     */
+    public Optional<List<RestaurantDailyRollup>> listDailyRollups(String restaurantId, LocalDate from,
+            LocalDate to) throws ServiceException;
+}
@@ -0,0 +1,136 @@
+package paterben.privatedining.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mongodb.client.result.UpdateResult;
+
+import paterben.privatedining.core.model.AppliedRollupEvent;
+import paterben.privatedining.core.model.OutboxEvent;
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.ReservationEventType;
+import paterben.privatedining.core.model.RestaurantDailyRollup;
+import paterben.privatedining.repository.RestaurantDailyRollupRepository;
+import paterben.privatedining.repository.RestaurantRepository;
+
+@Service
+public class RollupServiceImpl implements RollupService {
+    private static final Logger logger = LoggerFactory.getLogger(RollupServiceImpl.class);
+
+    private static final int MAX_DAYS = 366;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RestaurantDailyRollupRepository restaurantDailyRollupRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private Clock clock;
+
+    // Events are delivered by the OutboxDispatcher through
+    // ApplicationEventReservationEventSink. A failure here fails the batch, which
+    // is then retried.
+    @EventListener
+    @Transactional
+    public void onReservationEvent(OutboxEvent event) {
+        applyEvent(event);
+    }
+
+    // The applied markers and the rollup updates are written in one transaction,
+    // so that an event is either fully applied and marked, or not at all.
+    @Override
+    @Transactional
+    public void applyEvent(OutboxEvent event) {
+        if (event.getType() == ReservationEventType.RESERVATION_UPDATED) {
+            // Counted as the removal of the previous snapshot and the addition of the new
+            // one, which may be on different days. Each is applied at most once, under
+            // its own ID.
+            applyChange(event.getId() + ":previous", event.getPreviousReservation(), -1);
+            applyChange(event.getId(), event.getReservation(), 1);
+            return;
+        }
+        applyChange(event.getId(), event.getReservation(),
+                event.getType() == ReservationEventType.RESERVATION_CREATED ? 1 : -1);
+    }
+
+    private void applyChange(String changeId, Reservation reservation, int sign) {
+        // Applied changes are recorded in their own collection, whose markers expire,
+        // rather than in the rollup documents, which would grow with every event. The
+        // marker is only inserted if it doesn't exist yet. A concurrent delivery of
+        // the same event makes one of the transactions fail with a write conflict.
+        UpdateResult marker = mongoTemplate.upsert(Query.query(Criteria.where("_id").is(changeId)),
+                new Update().setOnInsert("appliedAt", Instant.now(clock)), AppliedRollupEvent.class);
+        if (marker.getUpsertedId() == null) {
+            logger.debug("Event {} already applied to rollup, skipping", changeId);
+            return;
+        }
+
+        String day = LocalDate.ofInstant(reservation.getReservationStart(), ZoneOffset.UTC).toString();
+        long minutes = Duration.between(reservation.getReservationStart(), reservation.getReservationEnd())
+                .toMinutes();
+        // The table's minimum spend, name and room type are those recorded on the
+        // reservation, so that a cancellation subtracts what the creation added even if
+        // the table changed in between.
+        double minSpend = reservation.getMinSpend();
+
+        String prefix = "tables." + reservation.getTableId() + ".";
+        Update update = new Update()
+                .inc("reservations", sign)
+                .inc("covers", sign * reservation.getNumGuests())
+                .inc("bookedMinutes", sign * minutes)
+                .inc("minSpend", sign * minSpend)
+                .inc(prefix + "reservations", sign)
+                .inc(prefix + "covers", sign * reservation.getNumGuests())
+                .inc(prefix + "bookedMinutes", sign * minutes)
+                .inc(prefix + "minSpend", sign * minSpend)
+                .setOnInsert("restaurantId", reservation.getRestaurantId())
+                .setOnInsert("day", day);
+        if (reservation.getTableName() != null) {
+            update.set(prefix + "tableName", reservation.getTableName());
+        }
+        if (reservation.getRoomType() != null) {
+            update.set(prefix + "roomType", reservation.getRoomType());
+        }
+        String id = RestaurantDailyRollup.makeId(reservation.getRestaurantId(), day);
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(id)), update, RestaurantDailyRollup.class);
+    }
+
+    @Override
+    public Optional<List<RestaurantDailyRollup>> listDailyRollups(String restaurantId, LocalDate from,
+            LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ServiceException("`from` must not be after `to`.", HttpStatus.BAD_REQUEST);
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new ServiceException("At most " + MAX_DAYS + " days can be requested at once.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (!restaurantRepository.existsById(restaurantId)) {
+            return Optional.empty();
+        }
+        return Optional.of(restaurantDailyRollupRepository.findByRestaurantIdAndDayRange(restaurantId,
+                from.toString(), to.toString()));
+    }
+}
@@ -1,16 +1,39 @@
 package paterben.privatedining.service;
 
+import java.time.Duration;
+
 import org.springframework.http.HttpStatusCode;
 
+/**
+ * Error reported by a service, mapped to an HTTP status by the controllers.
+ *
+ * Client errors (4xx) and retryable errors (e.g. load shedding) are expected
+ * outcomes, e.g. during booking storms, and are only ever turned into a
+ * response. They don't capture a stack trace, which would otherwise dominate
+ * their cost given the depth of the Spring call stack. Other server errors keep
+ * theirs for debugging.
+ */
 public class ServiceException extends RuntimeException {
     private HttpStatusCode httpStatusCode;
+    // Set for errors caused by contention or overload, which are worth retrying
+    // after the given delay. Sent as the Retry-After header.
+    private Duration retryAfter;
 
     public HttpStatusCode getHttpStatusCode() {
         return httpStatusCode;
     }
 
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
     public ServiceException(String message, HttpStatusCode httpStatusCode) {
-        super(message);
+        this(message, httpStatusCode, null);
+    }
+
+    public ServiceException(String message, HttpStatusCode httpStatusCode, Duration retryAfter) {
+        super(message, null, false, !httpStatusCode.is4xxClientError() && retryAfter == null);
         this.httpStatusCode = httpStatusCode;
+        this.retryAfter = retryAfter;
     }
 }
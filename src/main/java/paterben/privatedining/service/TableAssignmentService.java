@@ -0,0 +1,29 @@
+package paterben.privatedining.service;
+
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.RoomType;
+
+/**
+ * Service for booking reservations on the best available table of a
+ * restaurant.
+ */
+public interface TableAssignmentService {
+    /**
+     * Creates the given reservation on the best-fitting free table of the given
+     * restaurant: the one with the smallest {@code maxCapacity} that can seat the
+     * guests, then the lowest {@code minSpend}. If a table turns out to be booked,
+     * the next best one is tried.
+     * 
+     * @param restaurantId the restaurant ID.
+     * @param roomType     the room type to book, or {@code null} for any.
+     * @param reservation  the reservation to create. Required fields must be set.
+     *                     Fields that are set automatically, including
+     *                     {@code tableId}, must not be set.
+     * @throws ServiceException if the {@code reservation} is invalid, no table
+     *                          fits or is free, or the restaurant or diner does
+     *                          not exist.
+     * @return the created reservation.
+     */
+    public Reservation autoAssignReservationForRestaurant(String restaurantId, RoomType roomType,
+            Reservation reservation) throws ServiceException;
+}
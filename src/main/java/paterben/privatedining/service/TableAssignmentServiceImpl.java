@@ -0,0 +1,85 @@
+package paterben.privatedining.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.RoomType;
+import paterben.privatedining.core.model.Table;
+
+@Service
+public class TableAssignmentServiceImpl implements TableAssignmentService {
+    @Autowired
+    private TableCapacityIndex tableCapacityIndex;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationAdmissionControl admissionControl;
+
+    @Value("${privatedining.auto-assign.max-attempts:10}")
+    private int maxAttempts;
+
+    @Override
+    public Reservation autoAssignReservationForRestaurant(String restaurantId, RoomType roomType,
+            Reservation reservation) {
+        if (reservation.getNumGuests() <= 0) {
+            throw new ServiceException("`numGuests` is required when creating a reservation.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        Optional<List<Table>> candidates = tableCapacityIndex.findCandidates(restaurantId,
+                reservation.getNumGuests(), roomType);
+        if (candidates.isEmpty()) {
+            throw new ServiceException("Restaurant with ID " + restaurantId + " not found",
+                    HttpStatus.NOT_FOUND);
+        }
+
+        // Each attempt is its own reservation transaction on a single table, so a
+        // conflict on one table doesn't hold up the next one.
+        ServiceException overloaded = null;
+        int attempts = 0;
+        for (Table table : candidates.get()) {
+            if (attempts++ == maxAttempts) {
+                break;
+            }
+            // The reservation is modified on creation, so each attempt gets a copy.
+            Reservation attempt = new Reservation(reservation.getDinerId(), reservation.getName(),
+                    reservation.getNumGuests(), reservation.getReservationStart(), reservation.getReservationEnd());
+            attempt.setIsCancelled(reservation.getIsCancelled());
+            attempt.setId(reservation.getId());
+            attempt.setRestaurantId(reservation.getRestaurantId());
+            attempt.setTableId(reservation.getTableId());
+            attempt.setCreatedAt(reservation.getCreatedAt());
+            attempt.setCancelledAt(reservation.getCancelledAt());
+            try {
+                return admissionControl.admit(restaurantId, table.getId(),
+                        () -> reservationService.createReservationForRestaurantAndTable(restaurantId,
+                                table.getId(), attempt));
+            } catch (ServiceException e) {
+                if (HttpStatus.SERVICE_UNAVAILABLE.equals(e.getHttpStatusCode())) {
+                    overloaded = e;
+                } else if (HttpStatus.NOT_FOUND.equals(e.getHttpStatusCode())
+                        && e.getMessage().startsWith("Table with ID ")) {
+                    // The table was deleted through another instance since the index was
+                    // loaded.
+                    tableCapacityIndex.invalidate(restaurantId);
+                } else if (!HttpStatus.CONFLICT.equals(e.getHttpStatusCode())) {
+                    throw e;
+                }
+            }
+        }
+        // Overload is worth retrying, unlike a fully booked restaurant.
+        if (overloaded != null) {
+            throw overloaded;
+        }
+        throw new ServiceException("No table fits " + reservation.getNumGuests() + " guests"
+                + (roomType == null ? "" : " in a " + roomType + " room") + " at that time.",
+                HttpStatus.CONFLICT);
+    }
+}
@@ -0,0 +1,89 @@
+package paterben.privatedining.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import paterben.privatedining.core.TableFit;
+import paterben.privatedining.core.model.RoomType;
+import paterben.privatedining.core.model.Table;
+import paterben.privatedining.repository.RestaurantTablesRepository;
+
+/**
+ * Cached per-restaurant index of tables by capacity, used to pick tables
+ * without loading their reservations.
+ *
+ * Entries are dropped when a table is added through this instance, and expire
+ * after a TTL to pick up changes made through other instances. A stale entry
+ * only affects which tables are tried: bookings are still checked against the
+ * table.
+ */
+@Component
+public class TableCapacityIndex {
+    @Autowired
+    private RestaurantTablesRepository restaurantTablesRepository;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${privatedining.table-index.ttl:1m}")
+    private Duration ttl;
+
+    @Value("${privatedining.table-index.max-size:10000}")
+    private int maxSize;
+
+    private record CachedTables(TableFit tables, Instant expiresAt) {
+    }
+
+    private final Map<String, CachedTables> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the tables of the restaurant that can seat {@code numGuests}, in
+     * best-fit order (see {@link TableFit}).
+     *
+     * @param roomType only return tables of this room type, or all tables if
+     *                 {@code null}.
+     * @return the tables, or an empty {@link Optional} if the restaurant does not
+     *         exist.
+     */
+    public Optional<List<Table>> findCandidates(String restaurantId, int numGuests, RoomType roomType) {
+        Instant now = Instant.now(clock);
+        CachedTables cached = cache.get(restaurantId);
+        if (cached == null || !cached.expiresAt().isAfter(now)) {
+            Optional<TableFit> tables = restaurantTablesRepository.findById(restaurantId)
+                    .map(rt -> new TableFit(rt.getTables()));
+            if (tables.isEmpty()) {
+                return Optional.empty();
+            }
+            // Crude bound on memory: entries are cheap to reload.
+            if (cache.size() >= maxSize) {
+                cache.clear();
+            }
+            cached = new CachedTables(tables.get(), now.plus(ttl));
+            cache.put(restaurantId, cached);
+        }
+        return Optional.of(cached.tables().candidates(numGuests, roomType));
+    }
+
+    /**
+     * Forgets the tables of the given restaurant, after they changed.
+     */
+    public void invalidate(String restaurantId) {
+        cache.remove(restaurantId);
+    }
+
+    /**
+     * Forgets the tables of all restaurants.
+     */
+    public void clear() {
+        cache.clear();
+    }
+}
@@ -22,6 +22,32 @@ public interface TableService {
      */
     public Table addTableToRestaurant(String restaurantId, Table table) throws ServiceException;
 
+    /**
+     * Replaces the table with the given ID in the restaurant with the given ID.
+     * Existing reservations are kept.
+     * 
+     * @param restaurantId the restaurant ID.
+     * @param tableId      the table ID.
+     * @param table        the new table. Required fields must be set. Fields that
+     *                     are set automatically must not be set.
+     * @throws ServiceException if the {@code table} is invalid, the restaurant or
+     *                          table does not exist or another table with the same
+     *                          name already exists within the restaurant.
+     * @return the updated table.
+     */
+    public Table updateTableForRestaurant(String restaurantId, String tableId, Table table) throws ServiceException;
+
+    /**
+     * Deletes the table with the given ID from the restaurant with the given ID.
+     * Its reservations are deleted in the background, including from the diners'
+     * reservations.
+     * 
+     * @param restaurantId the restaurant ID.
+     * @param tableId      the table ID.
+     * @throws ServiceException if the restaurant or table does not exist.
+     */
+    public void deleteTableFromRestaurant(String restaurantId, String tableId) throws ServiceException;
+
     /**
      * Gets the table with the given ID for the restaurant with the given ID.
      * 
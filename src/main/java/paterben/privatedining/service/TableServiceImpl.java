@@ -1,18 +1,30 @@
 package paterben.privatedining.service;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import com.mongodb.client.result.UpdateResult;
+
+import paterben.privatedining.core.model.DeletionJob;
 import paterben.privatedining.core.model.RestaurantTables;
 import paterben.privatedining.core.model.Table;
 import paterben.privatedining.core.model.TableReservations;
+import paterben.privatedining.repository.DeletionJobRepository;
 import paterben.privatedining.repository.RestaurantTablesRepository;
 import paterben.privatedining.repository.TableReservationsRepository;
 
@@ -25,28 +37,45 @@ public class TableServiceImpl implements TableService {
     @Autowired
     private TableReservationsRepository tableReservationsRepository;
 
+    @Autowired
+    private DeletionJobRepository deletionJobRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TableCapacityIndex tableCapacityIndex;
+
+    @Autowired
+    private CompanionDocuments companionDocuments;
+
+    @Autowired
+    private Clock clock;
+
     @Override
     @Transactional
     public Table addTableToRestaurant(String restaurantId, Table table) {
         ValidateTableForCreation(table);
 
-        Optional<RestaurantTables> restaurantTables = restaurantTablesRepository.findById(restaurantId);
-        if (restaurantTables.isEmpty()) {
-            throw new ServiceException("Restaurant with ID " + restaurantId + " not found",
-                    HttpStatus.NOT_FOUND);
-        }
-        if (restaurantTables.get().getTables().stream()
-                .anyMatch(t -> t.getName() != null && t.getName().equals(table.getName()))) {
-            throw new ServiceException("Table with name \"" + table.getName() + "\" already exists",
-                    HttpStatus.CONFLICT);
-        }
         // We generate the table ID ourselves since it is an embedded document in
         // restaurantTables.
         String tableId = new ObjectId().toString();
         table.setId(tableId);
-        restaurantTables.get().getTables().addLast(table);
-        RestaurantTables newRestaurantTables = restaurantTablesRepository.save(restaurantTables.get());
-        Table newTable = newRestaurantTables.getTables().getLast();
+        // The duplicate name check and the insert are a single conditional $push,
+        // rather than reading and rewriting all the tables of the restaurant. Only the
+        // opening hours are returned, for the table's schedule.
+        RestaurantTables restaurantTables = pushTable(restaurantId, table);
+        if (restaurantTables == null && !restaurantTablesRepository.existsById(restaurantId)) {
+            if (!companionDocuments.ensureRestaurantTables(restaurantId)) {
+                throw new ServiceException("Restaurant with ID " + restaurantId + " not found",
+                        HttpStatus.NOT_FOUND);
+            }
+            restaurantTables = pushTable(restaurantId, table);
+        }
+        if (restaurantTables == null) {
+            throw new ServiceException("Table with name \"" + table.getName() + "\" already exists",
+                    HttpStatus.CONFLICT);
+        }
 
         // Create the document for the table in the tableReservations repository within
         // the same transaction.
@@ -55,9 +84,102 @@ public class TableServiceImpl implements TableService {
         tableReservations.setRestaurantId(restaurantId);
         tableReservations.setMinCapacity(table.getMinCapacity());
         tableReservations.setMaxCapacity(table.getMaxCapacity());
+        tableReservations.setName(table.getName());
+        tableReservations.setRoomType(table.getRoomType());
+        tableReservations.setMinSpend(table.getMinSpend());
+        tableReservations.setOpeningHours(table.getOpeningHours() != null ? table.getOpeningHours()
+                : restaurantTables.getOpeningHours());
         tableReservationsRepository.save(tableReservations);
+        tableCapacityIndex.invalidate(restaurantId);
+
+        return table;
+    }
+
+    // Returns null if the restaurantTables document doesn't exist or already has a
+    // table with the same name.
+    private RestaurantTables pushTable(String restaurantId, Table table) {
+        Query query = Query.query(Criteria.where("_id").is(restaurantId).and("tables.name").ne(table.getName()));
+        query.fields().include("openingHours");
+        return mongoTemplate.findAndModify(query, new Update().push("tables", table), RestaurantTables.class);
+    }
+
+    // Existing reservations are kept, even if they no longer fit the table's new
+    // capacity or opening hours.
+    @Override
+    @Transactional
+    public Table updateTableForRestaurant(String restaurantId, String tableId, Table table) {
+        ValidateTableForUpdate(table);
 
-        return newTable;
+        // As when adding a table, the duplicate name check and the update are a single
+        // conditional $set of the table, rather than reading and rewriting all the
+        // tables of the restaurant. The name may be kept as is, or changed to one that
+        // no other table has. The query has several conditions on tables, so the
+        // positional $ could point to the element matched by any of them; the table is
+        // targeted with an array filter on its ID instead.
+        table.setId(tableId);
+        Query query = Query.query(Criteria.where("_id").is(restaurantId)
+                .and("tables").elemMatch(Criteria.where("_id").is(tableId))
+                .orOperator(Criteria.where("tables.name").ne(table.getName()),
+                        Criteria.where("tables").elemMatch(Criteria.where("_id").is(tableId)
+                                .and("name").is(table.getName()))));
+        query.fields().include("openingHours");
+        Update tableUpdate = new Update().set("tables.$[t]", table)
+                .filterArray(Criteria.where("t._id").is(tableId));
+        RestaurantTables restaurantTables = mongoTemplate.findAndModify(query, tableUpdate, RestaurantTables.class);
+        if (restaurantTables == null) {
+            throwTableNotFoundOrConflict(restaurantId, tableId, table.getName());
+        }
+
+        // Update the fields copied to the tableReservations document within the same
+        // transaction, without reading its reservations. The filter includes the
+        // restaurant ID, so that it targets a single shard.
+        Update update = new Update()
+                .set("minCapacity", table.getMinCapacity())
+                .set("maxCapacity", table.getMaxCapacity())
+                .set("name", table.getName())
+                .set("roomType", table.getRoomType())
+                .set("minSpend", table.getMinSpend())
+                .set("openingHours", table.getOpeningHours() != null ? table.getOpeningHours()
+                        : restaurantTables.getOpeningHours());
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(tableId).and("restaurantId").is(restaurantId)),
+                update, TableReservations.class);
+        tableCapacityIndex.invalidate(restaurantId);
+
+        return table;
+    }
+
+    // Only the table is deleted here. Its reservations and other data are deleted in
+    // the background by the CascadeDeleter. Its tableReservations document is
+    // flagged as deleted in the same transaction, so that it can no longer be
+    // booked in the meantime.
+    @Override
+    @Transactional
+    public void deleteTableFromRestaurant(String restaurantId, String tableId) {
+        // A $pull of the table, so that concurrent changes to other tables are kept.
+        UpdateResult result = mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(restaurantId).and("tables._id").is(tableId)),
+                new Update().pull("tables", Query.query(Criteria.where("_id").is(tableId))), RestaurantTables.class);
+        if (result.getMatchedCount() == 0) {
+            throwTableNotFoundOrConflict(restaurantId, tableId, null);
+        }
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(tableId).and("restaurantId").is(restaurantId)),
+                Update.update("isDeleted", true), TableReservations.class);
+        deletionJobRepository.save(
+                new DeletionJob(restaurantId, tableId, Instant.now(clock).truncatedTo(ChronoUnit.MILLIS)));
+        tableCapacityIndex.invalidate(restaurantId);
+    }
+
+    // Called when a conditional write of a table matched nothing, to find out why.
+    private void throwTableNotFoundOrConflict(String restaurantId, String tableId, String name) {
+        if (!restaurantTablesRepository.existsById(restaurantId)) {
+            throw new ServiceException("Restaurant with ID " + restaurantId + " not found", HttpStatus.NOT_FOUND);
+        }
+        if (name == null || !mongoTemplate.exists(
+                Query.query(Criteria.where("_id").is(restaurantId).and("tables._id").is(tableId)),
+                RestaurantTables.class)) {
+            throw new ServiceException("Table with ID " + tableId + " not found", HttpStatus.NOT_FOUND);
+        }
+        throw new ServiceException("Table with name \"" + name + "\" already exists", HttpStatus.CONFLICT);
     }
 
     @Override
@@ -74,12 +196,15 @@ public class TableServiceImpl implements TableService {
     public Optional<List<Table>> listTablesForRestaurant(String restaurantId) {
         Optional<RestaurantTables> restaurantTables = restaurantTablesRepository.findById(restaurantId);
         if (!restaurantTables.isPresent()) {
+            if (companionDocuments.ensureRestaurantTables(restaurantId)) {
+                return Optional.of(new ArrayList<>());
+            }
             return Optional.empty();
         }
         return Optional.of(restaurantTables.get().getTables());
     }
 
-    private void ValidateTableForCreation(Table table) {
+    static void ValidateTableForCreation(Table table) {
         if (StringUtils.hasLength(table.getId())) {
             throw new ServiceException("Table `id` must not be set when creating a table.",
                     HttpStatus.BAD_REQUEST);
@@ -96,5 +221,26 @@ public class TableServiceImpl implements TableService {
             throw new ServiceException("`roomType` is required when creating a table.",
                     HttpStatus.BAD_REQUEST);
         }
+        OpeningHoursCache.ValidateOpeningHours(table.getOpeningHours());
+    }
+
+    static void ValidateTableForUpdate(Table table) {
+        if (StringUtils.hasLength(table.getId())) {
+            throw new ServiceException("Table `id` must not be set when updating a table.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (!StringUtils.hasLength(table.getName())) {
+            throw new ServiceException("`name` is required when updating a table.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (table.getMaxCapacity() == 0) {
+            throw new ServiceException("`maxCapacity` is required when updating a table.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (table.getRoomType() == null) {
+            throw new ServiceException("`roomType` is required when updating a table.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        OpeningHoursCache.ValidateOpeningHours(table.getOpeningHours());
     }
 }
@@ -0,0 +1,121 @@
+package paterben.privatedining.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import paterben.privatedining.TenancyProperties;
+import paterben.privatedining.TenantContext;
+import paterben.privatedining.core.model.TableReservations;
+
+/**
+ * Rebuilds the slot bitmaps of all tables on startup when slot mode is
+ * enabled, see {@link TableSlotsService#rebuildSlots(String)}.
+ *
+ * Bitmaps are only written while slot mode is enabled, so after turning it on
+ * over existing data they miss the reservations made before. Until the rebuild
+ * is done, reservations write the bitmaps but are still checked by scanning the
+ * table schedule, which is always complete.
+ */
+@Component
+// After the indexes are created.
+@Order(1)
+public class TableSlotsBackfill implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(TableSlotsBackfill.class);
+
+    // Attempts per table. Each one fails only if a reservation of the table
+    // changed the same bitmaps concurrently.
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private TableSlotsService tableSlotsService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TenancyProperties tenancyProperties;
+
+    @Value("${privatedining.slots.enabled:false}")
+    private boolean slotsEnabled;
+
+    @Value("${privatedining.slots.backfill-chunk-size:500}")
+    private int chunkSize;
+
+    private volatile boolean done;
+
+    /**
+     * @return whether the bitmaps of all tables were rebuilt, i.e. whether they
+     *         can be relied on to detect conflicts.
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!slotsEnabled) {
+            return;
+        }
+        try {
+            // Each tenant database has its own tables and bitmaps.
+            rebuildTablesOfCurrentTenant();
+            for (String tenantId : tenancyProperties.getTenants().keySet()) {
+                TenantContext.runAs(tenantId, this::rebuildTablesOfCurrentTenant);
+            }
+        } catch (RuntimeException e) {
+            // Reservations keep scanning the table schedules until the next start.
+            logger.error("Failed to rebuild the slot bitmaps, they won't be used to detect conflicts", e);
+            return;
+        }
+        done = true;
+        logger.info("Rebuilt the slot bitmaps of all tables");
+    }
+
+    private void rebuildTablesOfCurrentTenant() {
+        // Tables are read by increasing ID, one chunk at a time.
+        String lastId = null;
+        while (true) {
+            Criteria criteria = Criteria.where("isDeleted").ne(true);
+            if (lastId != null) {
+                criteria = criteria.and("_id").gt(lastId);
+            }
+            Query query = Query.query(criteria).with(Sort.by("_id")).limit(chunkSize);
+            query.fields().include("_id");
+            List<TableReservations> tables = mongoTemplate.find(query, TableReservations.class);
+            if (tables.isEmpty()) {
+                return;
+            }
+            for (TableReservations table : tables) {
+                rebuildTable(table.getId());
+            }
+            lastId = tables.getLast().getId();
+        }
+    }
+
+    private void rebuildTable(String tableId) {
+        for (int attempt = 1;; ++attempt) {
+            try {
+                tableSlotsService.rebuildSlots(tableId);
+                return;
+            } catch (ConcurrencyFailureException | TransientDataAccessException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package paterben.privatedining.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service for the per-day occupancy bitmaps of tables, see
+ * {@link paterben.privatedining.core.SlotBitmap}.
+ */
+public interface TableSlotsService {
+    /**
+     * Atomically marks the slots overlapping {@code [start, end)} as reserved.
+     * 
+     * Must be called within the transaction that saves the reservation, so that a
+     * conflict on a later day also undoes the earlier days.
+     * 
+     * @throws ServiceException if any of the slots is already reserved.
+     */
+    public void reserveSlots(String tableId, Instant start, Instant end) throws ServiceException;
+
+    /**
+     * Marks the slots overlapping {@code [start, end)} as free.
+     */
+    public void releaseSlots(String tableId, Instant start, Instant end);
+
+    /**
+     * Rebuilds the bitmaps of the table from the current UTC day on, from its
+     * reservations and reservation series, so that they also cover reservations
+     * made while slot mode was disabled.
+     * 
+     * Runs in its own transaction, which fails with a write conflict if a
+     * reservation of the table changes the same bitmaps concurrently.
+     */
+    public void rebuildSlots(String tableId);
+
+    /**
+     * Lists the start times of the free slots of the table on the given UTC day.
+     */
+    public List<Instant> listFreeSlots(String tableId, LocalDate day);
+}
@@ -0,0 +1,149 @@
+package paterben.privatedining.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import paterben.privatedining.core.SeriesOccurrences;
+import paterben.privatedining.core.SlotBitmap;
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.ReservationSeries;
+import paterben.privatedining.core.model.TableDaySlots;
+import paterben.privatedining.core.model.TableReservations;
+import paterben.privatedining.repository.TableDaySlotsRepository;
+import paterben.privatedining.repository.TableReservationsRepository;
+
+@Service
+public class TableSlotsServiceImpl implements TableSlotsService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TableDaySlotsRepository tableDaySlotsRepository;
+
+    @Autowired
+    private TableReservationsRepository tableReservationsRepository;
+
+    @Autowired
+    private Clock clock;
+
+    @Override
+    public void reserveSlots(String tableId, Instant start, Instant end) {
+        for (SlotBitmap.DayMask mask : SlotBitmap.masks(start, end)) {
+            String day = mask.day().toString();
+            // Only matches if none of the slots are reserved. If the document exists but
+            // doesn't match, the upsert tries to insert a document with the same ID and
+            // fails, which is how conflicts are detected without reading the bitmap.
+            // Bit positions are used rather than numeric masks since MongoDB only accepts
+            // numeric masks that fit in a non-negative 32-bit integer.
+            Criteria criteria = Criteria.where("_id").is(TableDaySlots.makeId(tableId, day));
+            if (mask.low() != 0) {
+                criteria = criteria.and("slots0").bits().allClear(SlotBitmap.positions(mask.low()));
+            }
+            if (mask.high() != 0) {
+                criteria = criteria.and("slots1").bits().allClear(SlotBitmap.positions(mask.high()));
+            }
+            Update update = new Update()
+                    .bitwise("slots0").or(mask.low())
+                    .bitwise("slots1").or(mask.high())
+                    .setOnInsert("tableId", tableId)
+                    .setOnInsert("day", day);
+            try {
+                mongoTemplate.upsert(Query.query(criteria), update, TableDaySlots.class);
+            } catch (DuplicateKeyException e) {
+                throw new ServiceException("Reservation to create conflicts with an existing reservation.",
+                        HttpStatus.CONFLICT);
+            }
+        }
+    }
+
+    @Override
+    public void releaseSlots(String tableId, Instant start, Instant end) {
+        for (SlotBitmap.DayMask mask : SlotBitmap.masks(start, end)) {
+            String day = mask.day().toString();
+            Update update = new Update()
+                    .bitwise("slots0").and(~mask.low())
+                    .bitwise("slots1").and(~mask.high());
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(TableDaySlots.makeId(tableId, day))),
+                    update, TableDaySlots.class);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void rebuildSlots(String tableId) {
+        Optional<TableReservations> table = tableReservationsRepository.findById(tableId);
+        if (table.isEmpty()) {
+            return;
+        }
+        LocalDate today = LocalDate.ofInstant(Instant.now(clock), ZoneOffset.UTC);
+        Instant from = today.atStartOfDay(ZoneOffset.UTC).toInstant();
+        List<Reservation> reservations = new ArrayList<>();
+        for (Reservation r : table.get().getReservations()) {
+            if ((r.getIsCancelled() == null || !r.getIsCancelled()) && r.getReservationEnd().isAfter(from)) {
+                reservations.add(r);
+            }
+        }
+        for (ReservationSeries series : table.get().getSeries()) {
+            for (Reservation r : SeriesOccurrences.all(series, table.get().getRestaurantId(), tableId)) {
+                if (r.getReservationEnd().isAfter(from)) {
+                    reservations.add(r);
+                }
+            }
+        }
+        // Day -> {low, high}.
+        Map<LocalDate, long[]> bitsByDay = new TreeMap<>();
+        for (Reservation r : reservations) {
+            for (SlotBitmap.DayMask mask : SlotBitmap.masks(r.getReservationStart(), r.getReservationEnd())) {
+                if (mask.day().isBefore(today)) {
+                    continue;
+                }
+                long[] bits = bitsByDay.computeIfAbsent(mask.day(), d -> new long[2]);
+                bits[0] |= mask.low();
+                bits[1] |= mask.high();
+            }
+        }
+
+        // The bitmaps are overwritten rather than merged, so that slots of
+        // reservations cancelled while slot mode was disabled are freed. Days are ISO
+        // strings, so they compare like dates.
+        mongoTemplate.updateMulti(Query.query(Criteria.where("tableId").is(tableId).and("day").gte(today.toString())),
+                new Update().set("slots0", 0L).set("slots1", 0L), TableDaySlots.class);
+        for (Map.Entry<LocalDate, long[]> entry : bitsByDay.entrySet()) {
+            String day = entry.getKey().toString();
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(TableDaySlots.makeId(tableId, day))),
+                    new Update()
+                            .set("slots0", entry.getValue()[0])
+                            .set("slots1", entry.getValue()[1])
+                            .setOnInsert("tableId", tableId)
+                            .setOnInsert("day", day),
+                    TableDaySlots.class);
+        }
+    }
+
+    @Override
+    public List<Instant> listFreeSlots(String tableId, LocalDate day) {
+        Optional<TableDaySlots> slots = tableDaySlotsRepository.findById(TableDaySlots.makeId(tableId, day.toString()));
+        if (slots.isEmpty()) {
+            return SlotBitmap.freeSlots(day, 0, 0);
+        }
+        return SlotBitmap.freeSlots(day, slots.get().getSlots0(), slots.get().getSlots1());
+    }
+}
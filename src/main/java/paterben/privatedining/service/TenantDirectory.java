@@ -0,0 +1,129 @@
+package paterben.privatedining.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import paterben.privatedining.TenancyProperties;
+import paterben.privatedining.TenantContext;
+import paterben.privatedining.core.model.RestaurantTenant;
+
+/**
+ * Cached mapping from restaurants to the tenant holding their data. The mapping
+ * itself is stored in the shared database.
+ *
+ * The mapping is read and written through a template bound to the shared
+ * database, outside of the tenant's transaction if there is one. Mappings are
+ * created right away, so that they exist before the restaurant can be found,
+ * and removed once the transaction that deleted the restaurant commits.
+ */
+@Component
+public class TenantDirectory {
+    @Autowired
+    @Qualifier("sharedMongoTemplate")
+    private MongoTemplate sharedMongoTemplate;
+
+    @Autowired
+    private TenancyProperties properties;
+
+    @Autowired
+    private Clock clock;
+
+    // Tenant ID is null for restaurants in the shared database, which are cached
+    // too.
+    private record CachedTenant(String tenantId, Instant expiresAt) {
+    }
+
+    private final Map<String, CachedTenant> cache = new ConcurrentHashMap<>();
+
+    /**
+     * @return the tenant ID of the restaurant, or {@code null} if it is in the
+     *         shared database or doesn't exist.
+     */
+    public String findTenantOfRestaurant(String restaurantId) {
+        Instant now = Instant.now(clock);
+        CachedTenant cached = cache.get(restaurantId);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            return cached.tenantId();
+        }
+        RestaurantTenant restaurantTenant = sharedMongoTemplate.findById(restaurantId, RestaurantTenant.class);
+        String tenantId = restaurantTenant == null ? null : restaurantTenant.getTenantId();
+        put(restaurantId, tenantId, now);
+        return tenantId;
+    }
+
+    /**
+     * Records that a restaurant just created belongs to the current tenant. Does
+     * nothing in the shared database.
+     */
+    public void registerRestaurant(String restaurantId) {
+        String tenantId = TenantContext.current();
+        if (tenantId == null) {
+            return;
+        }
+        sharedMongoTemplate.save(new RestaurantTenant(restaurantId, tenantId));
+        put(restaurantId, tenantId, Instant.now(clock));
+    }
+
+    /**
+     * Forgets a restaurant of the current tenant, after it was deleted. Does
+     * nothing in the shared database.
+     */
+    public void unregisterRestaurant(String restaurantId) {
+        if (TenantContext.current() == null) {
+            return;
+        }
+        afterCommit(() -> {
+            sharedMongoTemplate.remove(Query.query(Criteria.where("_id").is(restaurantId)), RestaurantTenant.class);
+            cache.remove(restaurantId);
+        });
+    }
+
+    /**
+     * Forgets all restaurants of the current tenant, after its data was deleted.
+     * Does nothing in the shared database.
+     */
+    public void unregisterAllRestaurants() {
+        String tenantId = TenantContext.current();
+        if (tenantId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            sharedMongoTemplate.remove(Query.query(Criteria.where("tenantId").is(tenantId)), RestaurantTenant.class);
+            cache.clear();
+        });
+    }
+
+    // Runs the action once the current transaction commits, or right away if there
+    // is none. A rolled back deletion keeps its restaurant, and so its mapping.
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void put(String restaurantId, String tenantId, Instant now) {
+        // Crude bound on memory: entries are cheap to reload.
+        if (cache.size() >= properties.getCacheMaxSize()) {
+            cache.clear();
+        }
+        cache.put(restaurantId, new CachedTenant(tenantId, now.plus(properties.getCacheTtl())));
+    }
+}
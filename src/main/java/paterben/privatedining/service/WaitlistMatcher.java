@@ -0,0 +1,99 @@
+package paterben.privatedining.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import paterben.privatedining.core.model.OutboxEvent;
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.ReservationEventType;
+import paterben.privatedining.core.model.WaitlistEntry;
+import paterben.privatedining.repository.WaitlistEntryRepository;
+
+/**
+ * Books waitlisted requests into the slots freed by cancelled or rescheduled
+ * reservations.
+ *
+ * Only the entries overlapping the freed reservation slot can have become
+ * bookable, and reservations are at most 10 hours long, so candidates are
+ * found with a bounded range scan of the waitlist index of the table rather
+ * than by scanning the whole waitlist. They are then tried in priority order
+ * until one is booked; each attempt runs the usual conflict checks.
+ */
+@Component
+public class WaitlistMatcher {
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistMatcher.class);
+
+    // Must be at least the maximum reservation length.
+    private static final Duration MAX_RESERVATION_LENGTH = Duration.ofHours(10);
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${privatedining.waitlist.enabled:true}")
+    private boolean enabled;
+
+    // Upper bound on the booking attempts per cancellation, e.g. if many entries
+    // overlap the freed slot but also other reservations.
+    @Value("${privatedining.waitlist.max-attempts:20}")
+    private int maxAttempts;
+
+    // Events are delivered asynchronously by the OutboxDispatcher, through
+    // ApplicationEventReservationEventSink. Redelivered events only retry the
+    // match, which is harmless.
+    @EventListener
+    public void onReservationEvent(OutboxEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.getType() == ReservationEventType.RESERVATION_CANCELLED) {
+            matchFreedSlot(event.getReservation());
+        } else if (event.getType() == ReservationEventType.RESERVATION_UPDATED
+                && freesSlot(event.getPreviousReservation(), event.getReservation())) {
+            // Entries that only fit the part of the previous slot still occupied fail
+            // to book and are skipped.
+            matchFreedSlot(event.getPreviousReservation());
+        }
+    }
+
+    private static boolean freesSlot(Reservation previous, Reservation updated) {
+        return !previous.getTableId().equals(updated.getTableId())
+                || previous.getReservationStart().isBefore(updated.getReservationStart())
+                || previous.getReservationEnd().isAfter(updated.getReservationEnd());
+    }
+
+    void matchFreedSlot(Reservation cancelled) {
+        Instant now = Instant.now(clock);
+        Instant minStart = cancelled.getReservationStart().minus(MAX_RESERVATION_LENGTH);
+        if (minStart.isBefore(now)) {
+            minStart = now;
+        }
+        List<WaitlistEntry> candidates = waitlistEntryRepository.findCandidates(cancelled.getTableId(), minStart,
+                cancelled.getReservationStart(), cancelled.getReservationEnd(), PageRequest.of(0, maxAttempts));
+        for (WaitlistEntry entry : candidates) {
+            try {
+                Reservation reservation = waitlistService.bookWaitlistEntry(entry);
+                logger.info("Booked waitlist entry {} as reservation {}", entry.getId(), reservation.getId());
+                return;
+            } catch (ServiceException e) {
+                // Doesn't fit, e.g. overlaps another reservation. Try the next one.
+                logger.debug("Could not book waitlist entry {}: {}", entry.getId(), e.getMessage());
+            }
+        }
+    }
+}
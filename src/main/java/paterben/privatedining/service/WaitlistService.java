@@ -0,0 +1,48 @@
+package paterben.privatedining.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.WaitlistEntry;
+
+/**
+ * Service for managing the {@link WaitlistEntry waitlists} of tables.
+ */
+public interface WaitlistService {
+    /**
+     * Lists the waitlist of the given restaurant and table, in priority order.
+     * 
+     * @param restaurantId the restaurant ID.
+     * @param tableId      the table ID.
+     * @return the list of entries, or an empty {@link Optional} if the restaurant
+     *         or table does not exist.
+     */
+    public Optional<List<WaitlistEntry>> listWaitlistForRestaurantAndTable(String restaurantId, String tableId);
+
+    /**
+     * Adds the given entry to the waitlist of the given restaurant and table.
+     * 
+     * @param restaurantId the restaurant ID.
+     * @param tableId      the table ID.
+     * @param entry        the entry to add. Required fields must be set. Fields
+     *                     that are set automatically must not be set.
+     * @throws ServiceException if the {@code entry} is invalid, doesn't fit the
+     *                          capacity of the table, or the restaurant, table or
+     *                          diner does not exist.
+     * @return the created entry.
+     */
+    public WaitlistEntry addToWaitlistForRestaurantAndTable(String restaurantId, String tableId,
+            WaitlistEntry entry) throws ServiceException;
+
+    /**
+     * Books the given entry and removes it from the waitlist, atomically.
+     * 
+     * @param entry the entry to book.
+     * @throws ServiceException if the reservation can't be created, e.g. because
+     *                          the slot is not free, or the entry was already
+     *                          booked.
+     * @return the created reservation.
+     */
+    public Reservation bookWaitlistEntry(WaitlistEntry entry) throws ServiceException;
+}
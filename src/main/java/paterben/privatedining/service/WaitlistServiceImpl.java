@@ -0,0 +1,151 @@
+package paterben.privatedining.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.TableReservations;
+import paterben.privatedining.core.model.WaitlistEntry;
+import paterben.privatedining.repository.DinerRepository;
+import paterben.privatedining.repository.TableReservationsRepository;
+import paterben.privatedining.repository.WaitlistEntryRepository;
+
+@Service
+public class WaitlistServiceImpl implements WaitlistService {
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    private TableReservationsRepository tableReservationsRepository;
+
+    @Autowired
+    private DinerRepository dinerRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private Clock clock;
+
+    @Override
+    public Optional<List<WaitlistEntry>> listWaitlistForRestaurantAndTable(String restaurantId, String tableId) {
+        if (!tableReservationsRepository.existsByIdAndRestaurantId(tableId, restaurantId)) {
+            return Optional.empty();
+        }
+        return Optional.of(waitlistEntryRepository.findByTableIdOrderByPriorityDescCreatedAtAsc(tableId));
+    }
+
+    @Override
+    public WaitlistEntry addToWaitlistForRestaurantAndTable(String restaurantId, String tableId,
+            WaitlistEntry entry) {
+        Instant now = Instant.now(clock);
+        ValidateWaitlistEntryForCreation(entry, now);
+
+        Optional<TableReservations> tableReservations = tableReservationsRepository.findByIdAndRestaurantId(tableId,
+                restaurantId);
+        if (tableReservations.isEmpty()) {
+            throw new ServiceException("Table with ID " + tableId + " not found",
+                    HttpStatus.NOT_FOUND);
+        }
+        // Entries that can never be booked are rejected upfront. The schedule is not
+        // checked: waiting for a booked slot is the point of the waitlist.
+        if (entry.getNumGuests() > tableReservations.get().getMaxCapacity()
+                || entry.getNumGuests() < tableReservations.get().getMinCapacity()) {
+            throw new ServiceException("Number of guests in waitlist entry doesn't fit the table (minCapacity "
+                    + tableReservations.get().getMinCapacity() + ", maxCapacity "
+                    + tableReservations.get().getMaxCapacity() + ", numGuests " + entry.getNumGuests() + ").",
+                    HttpStatus.CONFLICT);
+        }
+        if (!dinerRepository.existsById(entry.getDinerId())) {
+            throw new ServiceException("Diner with ID " + entry.getDinerId() + " not found",
+                    HttpStatus.NOT_FOUND);
+        }
+
+        entry.setRestaurantId(restaurantId);
+        entry.setTableId(tableId);
+        entry.setCreatedAt(now.truncatedTo(ChronoUnit.MILLIS));
+        return waitlistEntryRepository.insert(entry);
+    }
+
+    @Override
+    @Transactional
+    public Reservation bookWaitlistEntry(WaitlistEntry entry) {
+        Reservation reservation = reservationService.createReservationForRestaurantAndTable(entry.getRestaurantId(),
+                entry.getTableId(), entry.toReservation());
+        // Removing the entry in the same transaction guarantees that it is booked at
+        // most once, even if several cancellations pick it concurrently.
+        long deleted = mongoTemplate.remove(Query.query(Criteria.where("_id").is(entry.getId())), WaitlistEntry.class)
+                .getDeletedCount();
+        if (deleted == 0) {
+            throw new ServiceException("Waitlist entry with ID " + entry.getId() + " was already booked",
+                    HttpStatus.CONFLICT);
+        }
+        return reservation;
+    }
+
+    static void ValidateWaitlistEntryForCreation(WaitlistEntry entry, Instant now) {
+        if (StringUtils.hasLength(entry.getId())) {
+            throw new ServiceException("`id` must not be set when creating a waitlist entry.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (StringUtils.hasLength(entry.getRestaurantId())) {
+            throw new ServiceException("`restaurantId` must not be set when creating a waitlist entry.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (StringUtils.hasLength(entry.getTableId())) {
+            throw new ServiceException("`tableId` must not be set when creating a waitlist entry.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (!StringUtils.hasLength(entry.getDinerId())) {
+            throw new ServiceException("`dinerId` is required when creating a waitlist entry.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (!StringUtils.hasLength(entry.getName())) {
+            throw new ServiceException("`name` is required when creating a waitlist entry.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (entry.getNumGuests() == 0) {
+            throw new ServiceException("`numGuests` is required when creating a waitlist entry.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (entry.getReservationStart() == null) {
+            throw new ServiceException("`reservationStart` is required when creating a waitlist entry.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (entry.getReservationEnd() == null) {
+            throw new ServiceException("`reservationEnd` is required when creating a waitlist entry.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (entry.getReservationStart().compareTo(entry.getReservationEnd()) >= 0) {
+            throw new ServiceException("`reservationEnd` must be strictly later than `reservationStart`.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (ChronoUnit.HOURS.between(entry.getReservationStart(), entry.getReservationEnd()) > 10) {
+            throw new ServiceException("Hours between `reservationStart` and `reservationEnd` must be 10 or less.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (entry.getReservationStart().isBefore(now)) {
+            throw new ServiceException("`reservationStart` must not be in the past when creating a waitlist entry.",
+                    HttpStatus.BAD_REQUEST);
+        }
+        if (entry.getCreatedAt() != null) {
+            throw new ServiceException("`createdAt` must not be set when creating a waitlist entry.",
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
+}
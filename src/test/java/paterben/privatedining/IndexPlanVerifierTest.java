@@ -0,0 +1,28 @@
+package paterben.privatedining;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class IndexPlanVerifierTest {
+    @Test
+    @DisplayName("IndexPlanVerifier.containsCollectionScan() finds nested COLLSCAN stages")
+    void testContainsCollectionScanNested() {
+        Document plan = Document.parse(
+                "{stage: 'SORT', inputStage: {stage: 'OR', inputStages: [{stage: 'IXSCAN'}, {stage: 'COLLSCAN'}]}}");
+
+        assertTrue(IndexPlanVerifier.containsCollectionScan(plan));
+    }
+
+    @Test
+    @DisplayName("IndexPlanVerifier.containsCollectionScan() accepts index scans")
+    void testContainsCollectionScanIndexScan() {
+        Document plan = Document.parse(
+                "{queryPlan: {stage: 'FETCH', inputStage: {stage: 'IXSCAN', indexName: 'email'}}}");
+
+        assertFalse(IndexPlanVerifier.containsCollectionScan(plan));
+    }
+}
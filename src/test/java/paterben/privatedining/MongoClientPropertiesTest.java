@@ -0,0 +1,49 @@
+package paterben.privatedining;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+
+public class MongoClientPropertiesTest {
+    @Test
+    @DisplayName("Default properties use majority journaled writes and primary reads")
+    void testDefaults() {
+        MongoClientProperties properties = new MongoClientProperties();
+
+        assertThat(properties.toWriteConcern()).isEqualTo(WriteConcern.MAJORITY.withJournal(true));
+        assertThat(properties.toReadPreference()).isEqualTo(ReadPreference.primary());
+        assertThat(properties.toCompressorList()).extracting(MongoCompressor::getName)
+                .containsExactly("zstd", "snappy", "zlib");
+    }
+
+    @Test
+    @DisplayName("Numeric write concern and custom read preference are parsed")
+    void testCustom() {
+        MongoClientProperties properties = new MongoClientProperties();
+        properties.setWriteConcern("2");
+        properties.setJournal(false);
+        properties.setReadPreference("secondaryPreferred");
+        properties.setCompressors(Arrays.asList("snappy"));
+
+        assertThat(properties.toWriteConcern()).isEqualTo(new WriteConcern(2).withJournal(false));
+        assertThat(properties.toReadPreference()).isEqualTo(ReadPreference.secondaryPreferred());
+        assertThat(properties.toCompressorList()).extracting(MongoCompressor::getName).containsExactly("snappy");
+    }
+
+    @Test
+    @DisplayName("Unknown compressors are rejected")
+    void testUnknownCompressor() {
+        MongoClientProperties properties = new MongoClientProperties();
+        properties.setCompressors(Arrays.asList("lz4"));
+
+        assertThrows(IllegalArgumentException.class, () -> properties.toCompressorList());
+    }
+}
@@ -0,0 +1,172 @@
+package paterben.privatedining;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class RateLimitFilterTest {
+    private RateLimitFilter filter = new RateLimitFilter();
+
+    private RateLimitProperties properties = new RateLimitProperties();
+
+    @BeforeEach
+    void setUp() {
+        properties.setApiKeys(new HashSet<>(Arrays.asList("client1", "client2")));
+        properties.getDefaultLimit().setCapacity(5);
+        properties.getDefaultLimit().setRefillPerSecond(1);
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPattern("/api/restaurants/{restaurantId}/tables/{tableId}/reservations");
+        route.setMethods(Arrays.asList("post"));
+        route.setCapacity(1);
+        route.setRefillPerSecond(0.5);
+        properties.getRoutes().add(route);
+        ReflectionTestUtils.setField(filter, "properties", properties);
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(filter, "nanoClock", (LongSupplier) () -> 0L);
+        filter.init();
+    }
+
+    @Test
+    @DisplayName("Requests within the limit pass with rate limit headers")
+    void testAllowed() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/restaurants");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(response.getHeader("X-RateLimit-Limit")).isEqualTo("5");
+        assertThat(response.getHeader("X-RateLimit-Remaining")).isEqualTo("4");
+    }
+
+    @Test
+    @DisplayName("Requests over the route limit are rejected with TOO_MANY_REQUESTS and Retry-After, per client")
+    void testRouteLimitExceeded() throws Exception {
+        // Arrange
+        String uri = "/api/restaurants/1111/tables/2222/reservations";
+        MockHttpServletRequest first = new MockHttpServletRequest("POST", uri);
+        first.addHeader("X-Api-Key", "client1");
+        filter.doFilter(first, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Act
+        MockHttpServletRequest second = new MockHttpServletRequest("POST", uri);
+        second.addHeader("X-Api-Key", "client1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(second, response, chain);
+
+        // Assert
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(response.getContentAsString()).contains("Rate limit exceeded");
+
+        // Other clients and routes have their own buckets.
+        MockHttpServletRequest otherClient = new MockHttpServletRequest("POST", uri);
+        otherClient.addHeader("X-Api-Key", "client2");
+        MockHttpServletResponse otherResponse = new MockHttpServletResponse();
+        filter.doFilter(otherClient, otherResponse, new MockFilterChain());
+        assertThat(otherResponse.getStatus()).isEqualTo(200);
+        MockHttpServletRequest otherRoute = new MockHttpServletRequest("GET", uri);
+        otherRoute.addHeader("X-Api-Key", "client1");
+        MockHttpServletResponse otherRouteResponse = new MockHttpServletResponse();
+        filter.doFilter(otherRoute, otherRouteResponse, new MockFilterChain());
+        assertThat(otherRouteResponse.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Requests with an unknown API key share the bucket of their address")
+    void testUnknownApiKey() throws Exception {
+        // Arrange
+        String uri = "/api/restaurants/1111/tables/2222/reservations";
+        MockHttpServletRequest first = new MockHttpServletRequest("POST", uri);
+        first.addHeader("X-Api-Key", "random1");
+        filter.doFilter(first, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Act
+        MockHttpServletRequest second = new MockHttpServletRequest("POST", uri);
+        second.addHeader("X-Api-Key", "random2");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(second, response, new MockFilterChain());
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("When all buckets are in use, requests from new clients are rejected with TOO_MANY_REQUESTS")
+    void testMaxBucketsReached() throws Exception {
+        // Arrange
+        properties.setMaxBuckets(1);
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/api/restaurants");
+        first.addHeader("X-Api-Key", "client1");
+        filter.doFilter(first, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Act
+        MockHttpServletRequest second = new MockHttpServletRequest("GET", "/api/restaurants");
+        second.addHeader("X-Api-Key", "client2");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(second, response, chain);
+
+        // Assert
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getContentAsString()).contains("Too many clients");
+    }
+
+    @Test
+    @DisplayName("When all buckets are tracked but some are full, a full bucket is dropped to make room for a new client")
+    void testMaxBucketsReachedEvictsFullBucket() throws Exception {
+        // Arrange
+        properties.setMaxBuckets(1);
+        long[] now = { 0L };
+        ReflectionTestUtils.setField(filter, "nanoClock", (LongSupplier) () -> now[0]);
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/api/restaurants");
+        first.addHeader("X-Api-Key", "client1");
+        filter.doFilter(first, new MockHttpServletResponse(), new MockFilterChain());
+        // The bucket of client1 is full again after a second.
+        now[0] = 1_000_000_000L;
+
+        // Act
+        MockHttpServletRequest second = new MockHttpServletRequest("GET", "/api/restaurants");
+        second.addHeader("X-Api-Key", "client2");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(second, response, new MockFilterChain());
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Non-API requests are not limited")
+    void testNonApiNotFiltered() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/swagger-ui.html");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Assert
+        assertThat(response.getHeader("X-RateLimit-Limit")).isNull();
+    }
+}
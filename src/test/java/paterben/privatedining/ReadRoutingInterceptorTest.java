@@ -0,0 +1,84 @@
+package paterben.privatedining;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mongodb.ReadPreference;
+
+import jakarta.servlet.http.Cookie;
+
+public class ReadRoutingInterceptorTest {
+    private ReadRoutingInterceptor interceptor = new ReadRoutingInterceptor();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(interceptor, "secondaryReadsEnabled", true);
+        ReflectionTestUtils.setField(interceptor, "maxStaleness", Duration.ofSeconds(120));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadRouting.clear();
+    }
+
+    @Test
+    @DisplayName("GET requests read from secondaries with bounded staleness")
+    void testGetRoutesToSecondaries() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/restaurants");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        interceptor.preHandle(request, response, null);
+
+        // Assert
+        assertThat(ReadRouting.current())
+                .isEqualTo(ReadPreference.secondaryPreferred(120, TimeUnit.SECONDS));
+        interceptor.afterCompletion(request, response, null, null);
+        assertThat(ReadRouting.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("GET requests with the read-your-writes header or cookie use the default read preference")
+    void testReadYourWrites() {
+        // Arrange
+        MockHttpServletRequest withHeader = new MockHttpServletRequest("GET", "/api/restaurants");
+        withHeader.addHeader(ReadRoutingInterceptor.READ_YOUR_WRITES_HEADER, "true");
+        MockHttpServletRequest withCookie = new MockHttpServletRequest("GET", "/api/restaurants");
+        withCookie.setCookies(new Cookie(ReadRoutingInterceptor.READ_YOUR_WRITES_COOKIE, "1"));
+
+        // Act & Assert
+        interceptor.preHandle(withHeader, new MockHttpServletResponse(), null);
+        assertThat(ReadRouting.current()).isNull();
+        interceptor.preHandle(withCookie, new MockHttpServletResponse(), null);
+        assertThat(ReadRouting.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Write requests use the default read preference and set the read-your-writes cookie")
+    void testWriteSetsCookie() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/restaurants");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        interceptor.preHandle(request, response, null);
+
+        // Assert
+        assertThat(ReadRouting.current()).isNull();
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE))
+                .startsWith(ReadRoutingInterceptor.READ_YOUR_WRITES_COOKIE + "=1")
+                .contains("Max-Age=120");
+    }
+}
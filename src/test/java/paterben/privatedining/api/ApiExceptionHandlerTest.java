@@ -0,0 +1,85 @@
+package paterben.privatedining.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import paterben.privatedining.service.ServiceException;
+
+public class ApiExceptionHandlerTest {
+    private ApiExceptionHandler handler = new ApiExceptionHandler();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(handler, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(handler, "conflictRetryAfter", Duration.ofSeconds(2));
+        handler.initWriters();
+    }
+
+    @Test
+    @DisplayName("ServiceExceptions are returned as ApiErrorInfo by default")
+    void testServiceExceptionAsErrorInfo() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/restaurants");
+
+        // Act
+        ResponseEntity<byte[]> response = handler.handleServiceException(request,
+                new ServiceException("Table with ID 1234 not found", HttpStatus.NOT_FOUND));
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().containsKey(HttpHeaders.RETRY_AFTER)).isFalse();
+        assertThat(new String(response.getBody(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"errorMessage\":\"Table with ID 1234 not found\"}");
+    }
+
+    @Test
+    @DisplayName("ServiceExceptions are returned as problem details when the client accepts them, with Retry-After if set")
+    void testServiceExceptionAsProblemDetail() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/restaurants");
+        request.addHeader(HttpHeaders.ACCEPT, "application/problem+json, application/json");
+
+        // Act
+        ResponseEntity<byte[]> response = handler.handleServiceException(request,
+                new ServiceException("Too many requests", HttpStatus.SERVICE_UNAVAILABLE, Duration.ofSeconds(3)));
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+        assertThat(new String(response.getBody(), StandardCharsets.UTF_8))
+                .contains("\"status\":503")
+                .contains("\"detail\":\"Too many requests\"");
+    }
+
+    @Test
+    @DisplayName("Concurrency failures are returned as CONFLICT with Retry-After")
+    void testConcurrencyFailure() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/restaurants");
+
+        // Act
+        ResponseEntity<byte[]> response = handler.handleDataAccessException(request,
+                new OptimisticLockingFailureException("conflict"));
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+    }
+}
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.UnsupportedEncodingException;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,16 +23,27 @@ import org.springframework.test.web.servlet.assertj.MvcTestResult;
 import com.fasterxml.jackson.core.JsonProcessingException;
 
 import paterben.privatedining.api.model.ApiDiner;
+import paterben.privatedining.api.model.ApiReservation;
+import paterben.privatedining.api.model.ApiRestaurant;
+import paterben.privatedining.api.model.ApiTable;
 import paterben.privatedining.core.model.Diner;
 import paterben.privatedining.core.model.DinerReservations;
+import paterben.privatedining.core.model.ReservationHold;
+import paterben.privatedining.core.model.RoomType;
+import paterben.privatedining.core.model.WaitlistEntry;
 import paterben.privatedining.repository.DinerRepository;
 import paterben.privatedining.repository.DinerReservationsRepository;
+import paterben.privatedining.repository.ReservationHoldRepository;
+import paterben.privatedining.repository.RestaurantRepository;
+import paterben.privatedining.repository.RestaurantTablesRepository;
+import paterben.privatedining.repository.TableReservationsRepository;
+import paterben.privatedining.repository.WaitlistEntryRepository;
 
 @SpringBootTest
 @AutoConfigureMockMvc
 @Import(IntegrationTestUtils.class)
 @ActiveProfiles("test")
-// Integration tests for diner creation and retrieval.
+// Integration tests for diner creation, retrieval, update and deletion.
 // Requires a running MongoDB instance using `docker compose up -d` from the
 // root directory.
 public class DinerIT {
@@ -41,6 +53,21 @@ public class DinerIT {
     @Autowired
     private DinerReservationsRepository dinerReservationsRepository;
 
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantTablesRepository restaurantTablesRepository;
+
+    @Autowired
+    private TableReservationsRepository tableReservationsRepository;
+
+    @Autowired
+    private ReservationHoldRepository reservationHoldRepository;
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
     @Autowired
     private IntegrationTestUtils utils;
 
@@ -48,6 +75,11 @@ public class DinerIT {
     void setUp() {
         dinerRepository.deleteAll();
         dinerReservationsRepository.deleteAll();
+        restaurantRepository.deleteAll();
+        restaurantTablesRepository.deleteAll();
+        tableReservationsRepository.deleteAll();
+        reservationHoldRepository.deleteAll();
+        waitlistEntryRepository.deleteAll();
     }
 
     @Test
@@ -166,4 +198,118 @@ public class DinerIT {
         List<ApiDiner> diners = utils.listDinersAndGetResult();
         assertThat(diners).isEmpty();
     }
+
+    @Test
+    @DisplayName("Diner update followed by get returns the updated diner")
+    void testUpdateAndGetDiner() throws JsonProcessingException, UnsupportedEncodingException {
+        // Call create diner API.
+        ApiDiner apiDiner = new ApiDiner("diner1", "email1");
+        ApiDiner newDiner = utils.createDinerAndGetResult(apiDiner);
+        String dinerId = newDiner.getId();
+
+        // Call update diner API.
+        ApiDiner apiDiner2 = new ApiDiner("diner2", "email2");
+        ApiDiner updatedDiner = utils.updateDinerAndGetResult(dinerId, apiDiner2);
+
+        // Check that returned diner matches request and keeps its creation time.
+        apiDiner2.setId(dinerId);
+        apiDiner2.setCreatedAt(newDiner.getCreatedAt());
+        assertEquals(apiDiner2, updatedDiner);
+
+        // Call get diner API.
+        ApiDiner getDiner = utils.getDinerAndGetResult(dinerId);
+
+        // Check that returned diner matches updated one.
+        assertEquals(updatedDiner, getDiner);
+    }
+
+    @Test
+    @DisplayName("Updating a diner to the email of another diner fails")
+    void testUpdateDinerWithSameEmailFails() throws JsonProcessingException, UnsupportedEncodingException {
+        // Call create diner API twice.
+        ApiDiner apiDiner1 = new ApiDiner("diner1", "email1");
+        ApiDiner apiDiner2 = new ApiDiner("diner2", "email2");
+        ApiDiner newDiner1 = utils.createDinerAndGetResult(apiDiner1);
+        ApiDiner newDiner2 = utils.createDinerAndGetResult(apiDiner2);
+
+        // Call update diner API with the email of the first diner.
+        ApiDiner apiDiner3 = new ApiDiner("diner2", "email1");
+        MvcTestResult updateResult = utils.updateDiner(newDiner2.getId(), apiDiner3);
+
+        // Check that request fails.
+        assertThat(updateResult).hasStatus(HttpStatus.CONFLICT);
+        assertThat(updateResult).bodyText().contains("already exists");
+
+        // Check that diners are unchanged by calling listDiners API.
+        List<ApiDiner> diners = utils.listDinersAndGetResult();
+        assertThat(diners).satisfiesExactly(
+                r -> assertEquals(newDiner1, r),
+                r -> assertEquals(newDiner2, r));
+    }
+
+    @Test
+    @DisplayName("Updating a diner that doesn't exist returns NOT_FOUND")
+    void testUpdateNonExistentDiner() throws JsonProcessingException, UnsupportedEncodingException {
+        // Call update diner API.
+        ApiDiner apiDiner = new ApiDiner("diner1", "email1");
+        MvcTestResult updateResult = utils.updateDiner("1234", apiDiner);
+
+        // Check that request fails.
+        assertThat(updateResult).hasStatus(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Diner deletion followed by get returns NOT_FOUND and deletes their holds and waitlist entries")
+    void testDeleteAndGetDiner() throws JsonProcessingException, UnsupportedEncodingException {
+        // Call create diner API.
+        ApiDiner apiDiner = new ApiDiner("diner1", "email1");
+        String dinerId = utils.createDinerAndGetResult(apiDiner).getId();
+
+        // Add a hold and a waitlist entry for the diner in DB.
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        reservationHoldRepository.save(new ReservationHold(null, "1234", "2345", dinerId, "hold1", 3,
+                now.plus(1, ChronoUnit.HOURS), now.plus(2, ChronoUnit.HOURS), now, now.plus(1, ChronoUnit.HOURS)));
+        waitlistEntryRepository.save(new WaitlistEntry(null, "1234", "2345", dinerId, "entry1", 3,
+                now.plus(1, ChronoUnit.HOURS), now.plus(2, ChronoUnit.HOURS), 0, now));
+
+        // Call delete diner API.
+        assertThat(utils.deleteDiner(dinerId)).hasStatusOk();
+
+        // Check that get and a second delete fail.
+        assertThat(utils.getDiner(dinerId)).hasStatus(HttpStatus.NOT_FOUND);
+        assertThat(utils.deleteDiner(dinerId)).hasStatus(HttpStatus.NOT_FOUND);
+
+        // Check that the diner's data was deleted from DB.
+        assertThat(dinerRepository.findById(dinerId)).isNotPresent();
+        assertThat(dinerReservationsRepository.findById(dinerId)).isNotPresent();
+        assertThat(reservationHoldRepository.findAll()).isEmpty();
+        assertThat(waitlistEntryRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deleting a diner with an upcoming reservation fails")
+    void testDeleteDinerWithUpcomingReservationFails() throws JsonProcessingException, UnsupportedEncodingException {
+        // Call create restaurant, table and diner APIs.
+        ApiRestaurant apiRestaurant = new ApiRestaurant("Restaurant1", "Address1", "email1", "EUR");
+        String restaurantId = utils.createRestaurantAndGetResult(apiRestaurant).getId();
+        ApiTable apiTable = new ApiTable("table1", 1, 3, RoomType.HALL, 1.5);
+        String tableId = utils.addTableToRestaurantAndGetResult(restaurantId, apiTable).getId();
+        ApiDiner apiDiner = new ApiDiner("diner1", "email1");
+        ApiDiner newDiner = utils.createDinerAndGetResult(apiDiner);
+        String dinerId = newDiner.getId();
+
+        // Call create reservation API.
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        ApiReservation apiReservation = new ApiReservation(dinerId, "reservation1", 3,
+                now.plus(1, ChronoUnit.HOURS), now.plus(2, ChronoUnit.HOURS));
+        utils.createReservationForRestaurantAndTableAndGetResult(restaurantId, tableId, apiReservation);
+
+        // Call delete diner API.
+        MvcTestResult deleteResult = utils.deleteDiner(dinerId);
+
+        // Check that request fails and the diner still exists.
+        assertThat(deleteResult).hasStatus(HttpStatus.CONFLICT);
+        assertThat(deleteResult).bodyText().contains("has upcoming reservations");
+        assertEquals(newDiner, utils.getDinerAndGetResult(dinerId));
+    }
 }
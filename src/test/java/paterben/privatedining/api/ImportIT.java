@@ -0,0 +1,174 @@
+package paterben.privatedining.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import paterben.privatedining.api.model.ApiDiner;
+import paterben.privatedining.api.model.ApiImportRecord;
+import paterben.privatedining.api.model.ApiImportResult;
+import paterben.privatedining.api.model.ApiRestaurant;
+import paterben.privatedining.api.model.ApiTable;
+import paterben.privatedining.core.model.ImportRecordType;
+import paterben.privatedining.core.model.RoomType;
+import paterben.privatedining.core.model.TableReservations;
+import paterben.privatedining.repository.DinerRepository;
+import paterben.privatedining.repository.DinerReservationsRepository;
+import paterben.privatedining.repository.RestaurantRepository;
+import paterben.privatedining.repository.RestaurantTablesRepository;
+import paterben.privatedining.repository.TableReservationsRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(IntegrationTestUtils.class)
+@ActiveProfiles("test")
+// Integration tests for the bulk import.
+// Requires a running MongoDB instance using `docker compose up -d` from the
+// root directory.
+public class ImportIT {
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantTablesRepository restaurantTablesRepository;
+
+    @Autowired
+    private TableReservationsRepository tableReservationsRepository;
+
+    @Autowired
+    private DinerRepository dinerRepository;
+
+    @Autowired
+    private DinerReservationsRepository dinerReservationsRepository;
+
+    @Autowired
+    private IntegrationTestUtils utils;
+
+    @BeforeEach
+    void setUp() {
+        restaurantRepository.deleteAll();
+        restaurantTablesRepository.deleteAll();
+        tableReservationsRepository.deleteAll();
+        dinerRepository.deleteAll();
+        dinerReservationsRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Importing restaurants, tables and diners creates them with their companion documents")
+    void testImport() throws JsonProcessingException, UnsupportedEncodingException {
+        // Call import API. The table refers to the restaurant created earlier in the
+        // import by its email.
+        List<ApiImportResult> results = utils.importRecordsAndGetResult(Arrays.asList(
+                makeRestaurantRecord(new ApiRestaurant("Restaurant1", "Address1", "email1", "EUR")),
+                makeTableRecord(null, "email1", new ApiTable("table1", 1, 3, RoomType.PRIVATE_ROOM, 150)),
+                makeDinerRecord(new ApiDiner("diner1", "email2"))));
+
+        assertThat(results).hasSize(3);
+        assertThat(results).allSatisfy(r -> assertEquals(200, r.getStatus()));
+        String restaurantId = results.get(0).getId();
+        String tableId = results.get(1).getId();
+        String dinerId = results.get(2).getId();
+
+        // Call get restaurant, list tables and get diner APIs.
+        ApiRestaurant restaurant = utils.getRestaurantAndGetResult(restaurantId);
+        assertEquals("Restaurant1", restaurant.getName());
+        List<ApiTable> tables = utils.listTablesForRestaurantAndGetResult(restaurantId);
+        assertThat(tables).hasSize(1);
+        assertEquals(tableId, tables.get(0).getId());
+        ApiDiner diner = utils.getDinerAndGetResult(dinerId);
+        assertEquals("diner1", diner.getName());
+
+        // Check the companion documents.
+        Optional<TableReservations> tableReservations = tableReservationsRepository.findById(tableId);
+        assertThat(tableReservations).isPresent();
+        assertEquals(restaurantId, tableReservations.get().getRestaurantId());
+        assertEquals("table1", tableReservations.get().getName());
+        assertEquals(150, tableReservations.get().getMinSpend());
+        assertThat(dinerReservationsRepository.existsById(dinerId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Importing tables with names that already exist, or appear twice in the import, adds only one table per name")
+    void testImportDuplicateTables() throws JsonProcessingException, UnsupportedEncodingException {
+        // Call create restaurant API.
+        ApiRestaurant restaurant = utils.createRestaurantAndGetResult(
+                new ApiRestaurant("Restaurant1", "Address1", "email1", "EUR"));
+        // Call add table API.
+        ApiTable existingTable = utils.addTableToRestaurantAndGetResult(restaurant.getId(),
+                new ApiTable("table1", 1, 3, RoomType.HALL, 0));
+
+        // Call import API.
+        List<ApiImportResult> results = utils.importRecordsAndGetResult(Arrays.asList(
+                makeTableRecord(restaurant.getId(), null, new ApiTable("table1", 2, 4, RoomType.HALL, 0)),
+                makeTableRecord(restaurant.getId(), null, new ApiTable("table2", 2, 4, RoomType.HALL, 0)),
+                makeTableRecord(restaurant.getId(), null, new ApiTable("table2", 2, 6, RoomType.HALL, 0))));
+
+        assertThat(results).hasSize(3);
+        assertEquals(409, results.get(0).getStatus());
+        assertThat(results.get(0).getErrorMessage()).contains("table1");
+        // Exactly one of the two table2 records is added.
+        assertThat(results.subList(1, 3)).extracting(ApiImportResult::getStatus)
+                .containsExactlyInAnyOrder(200, 409);
+        String newTableId = results.get(1).getStatus() == 200 ? results.get(1).getId() : results.get(2).getId();
+
+        // Call list tables API.
+        List<ApiTable> tables = utils.listTablesForRestaurantAndGetResult(restaurant.getId());
+        assertThat(tables).extracting(ApiTable::getId).containsExactlyInAnyOrder(existingTable.getId(), newTableId);
+        // Only the added table has a tableReservations document, besides the existing
+        // one.
+        assertEquals(2, tableReservationsRepository.count());
+        assertThat(tableReservationsRepository.existsById(newTableId)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Importing invalid records and tables of missing restaurants reports them without creating anything")
+    void testImportFailures() throws JsonProcessingException, UnsupportedEncodingException {
+        // Call import API.
+        List<ApiImportResult> results = utils.importRecordsAndGetResult(Arrays.asList(
+                makeRestaurantRecord(new ApiRestaurant(null, "Address1", "email1", "EUR")),
+                makeTableRecord("123456789012345678901234", null, new ApiTable("table1", 1, 3, RoomType.HALL, 0)),
+                makeTableRecord(null, "missing@example.com", new ApiTable("table1", 1, 3, RoomType.HALL, 0))));
+
+        assertThat(results).extracting(ApiImportResult::getStatus).containsExactly(400, 404, 404);
+        assertEquals(0, restaurantRepository.count());
+        assertEquals(0, tableReservationsRepository.count());
+    }
+
+    private static ApiImportRecord makeRestaurantRecord(ApiRestaurant restaurant) {
+        ApiImportRecord record = new ApiImportRecord();
+        record.setType(ImportRecordType.RESTAURANT);
+        record.setRestaurant(restaurant);
+        return record;
+    }
+
+    private static ApiImportRecord makeTableRecord(String restaurantId, String restaurantEmail, ApiTable table) {
+        ApiImportRecord record = new ApiImportRecord();
+        record.setType(ImportRecordType.TABLE);
+        record.setRestaurantId(restaurantId);
+        record.setRestaurantEmail(restaurantEmail);
+        record.setTable(table);
+        return record;
+    }
+
+    private static ApiImportRecord makeDinerRecord(ApiDiner diner) {
+        ApiImportRecord record = new ApiImportRecord();
+        record.setType(ImportRecordType.DINER);
+        record.setDiner(diner);
+        return record;
+    }
+}
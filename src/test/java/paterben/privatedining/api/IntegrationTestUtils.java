@@ -16,6 +16,8 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import paterben.privatedining.api.model.ApiDiner;
+import paterben.privatedining.api.model.ApiImportRecord;
+import paterben.privatedining.api.model.ApiImportResult;
 import paterben.privatedining.api.model.ApiReservation;
 import paterben.privatedining.api.model.ApiRestaurant;
 import paterben.privatedining.api.model.ApiTable;
@@ -72,6 +74,28 @@ public class IntegrationTestUtils {
         return getRestaurantListFromResponseBody(result);
     }
 
+    public MvcTestResult updateRestaurant(String id, ApiRestaurant apiRestaurant) throws JsonProcessingException {
+        MvcTestResult result = this.mockMvcTester.put()
+                .uri("/api/restaurants/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(apiRestaurant))
+                .exchange();
+        return result;
+    }
+
+    public ApiRestaurant updateRestaurantAndGetResult(String id, ApiRestaurant apiRestaurant)
+            throws JsonProcessingException, UnsupportedEncodingException {
+        MvcTestResult result = updateRestaurant(id, apiRestaurant);
+        return getRestaurantFromResponseBody(result);
+    }
+
+    public MvcTestResult deleteRestaurant(String id) {
+        MvcTestResult result = this.mockMvcTester.delete()
+                .uri("/api/restaurants/{id}", id)
+                .exchange();
+        return result;
+    }
+
     public MvcTestResult createDiner(ApiDiner apiDiner) throws JsonProcessingException {
         MvcTestResult result = this.mockMvcTester.post()
                 .uri("/api/diners")
@@ -111,6 +135,28 @@ public class IntegrationTestUtils {
         return getDinerListFromResponseBody(result);
     }
 
+    public MvcTestResult updateDiner(String id, ApiDiner apiDiner) throws JsonProcessingException {
+        MvcTestResult result = this.mockMvcTester.put()
+                .uri("/api/diners/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(apiDiner))
+                .exchange();
+        return result;
+    }
+
+    public ApiDiner updateDinerAndGetResult(String id, ApiDiner apiDiner)
+            throws JsonProcessingException, UnsupportedEncodingException {
+        MvcTestResult result = updateDiner(id, apiDiner);
+        return getDinerFromResponseBody(result);
+    }
+
+    public MvcTestResult deleteDiner(String id) {
+        MvcTestResult result = this.mockMvcTester.delete()
+                .uri("/api/diners/{id}", id)
+                .exchange();
+        return result;
+    }
+
     public MvcTestResult addTableToRestaurant(String restaurantId, ApiTable apiTable) throws JsonProcessingException {
         MvcTestResult result = this.mockMvcTester.post()
                 .uri("/api/restaurants/{restaurantId}/tables", restaurantId)
@@ -152,6 +198,29 @@ public class IntegrationTestUtils {
         return getTableListFromResponseBody(result);
     }
 
+    public MvcTestResult updateTableForRestaurant(String restaurantId, String tableId, ApiTable apiTable)
+            throws JsonProcessingException {
+        MvcTestResult result = this.mockMvcTester.put()
+                .uri("/api/restaurants/{restaurantId}/tables/{tableId}", restaurantId, tableId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(apiTable))
+                .exchange();
+        return result;
+    }
+
+    public ApiTable updateTableForRestaurantAndGetResult(String restaurantId, String tableId, ApiTable apiTable)
+            throws JsonProcessingException, UnsupportedEncodingException {
+        MvcTestResult result = updateTableForRestaurant(restaurantId, tableId, apiTable);
+        return getTableFromResponseBody(result);
+    }
+
+    public MvcTestResult deleteTableFromRestaurant(String restaurantId, String tableId) {
+        MvcTestResult result = this.mockMvcTester.delete()
+                .uri("/api/restaurants/{restaurantId}/tables/{tableId}", restaurantId, tableId)
+                .exchange();
+        return result;
+    }
+
     public MvcTestResult listReservationsForRestaurantAndTable(String restaurantId, String tableId) {
         MvcTestResult result = this.mockMvcTester.get()
                 .uri("/api/restaurants/{restaurantId}/tables/{tableId}/reservations", restaurantId, tableId)
@@ -314,6 +383,30 @@ public class IntegrationTestUtils {
         return reservations;
     }
 
+    public MvcTestResult importRecords(List<ApiImportRecord> records) throws JsonProcessingException {
+        StringBuilder ndjson = new StringBuilder();
+        for (ApiImportRecord record : records) {
+            ndjson.append(objectMapper.writeValueAsString(record)).append('\n');
+        }
+        MvcTestResult result = this.mockMvcTester.post()
+                .uri("/api/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson.toString())
+                .exchange();
+        return result;
+    }
+
+    public List<ApiImportResult> importRecordsAndGetResult(List<ApiImportRecord> records)
+            throws JsonProcessingException, UnsupportedEncodingException {
+        MvcTestResult result = importRecords(records);
+        assertThat(result).hasStatusOk();
+        String responseBody = result.getResponse().getContentAsString();
+        List<ApiImportResult> results = objectMapper.readValue(responseBody,
+                new TypeReference<List<ApiImportResult>>() {
+                });
+        return results;
+    }
+
     public MvcTestResult deleteAllData() {
         MvcTestResult result = this.mockMvcTester.post()
                 .uri("/admin/deleteAllData")
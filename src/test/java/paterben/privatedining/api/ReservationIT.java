@@ -642,4 +642,146 @@ public class ReservationIT {
         // Check that returned reservation matches cancelled one.
         assertEquals(updatedReservation, getReservationForDiner);
     }
+
+    @Test
+    @DisplayName("Reservation rescheduling updates the reservation for the table and for the diner")
+    void testRescheduleReservation() throws JsonProcessingException, UnsupportedEncodingException {
+        // Call create restaurant, table and diner APIs.
+        ApiRestaurant newRestaurant = utils
+                .createRestaurantAndGetResult(new ApiRestaurant("Restaurant1", "Address1", "email1", "EUR"));
+        String restaurantId = newRestaurant.getId();
+        ApiTable newTable = utils.addTableToRestaurantAndGetResult(restaurantId,
+                new ApiTable("table1", 1, 3, RoomType.HALL, 1.5));
+        String tableId = newTable.getId();
+        ApiDiner newDiner = utils.createDinerAndGetResult(new ApiDiner("diner1", "email1"));
+        String dinerId = newDiner.getId();
+
+        // Call create reservation API.
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        ApiReservation newReservation = utils.createReservationForRestaurantAndTableAndGetResult(restaurantId,
+                tableId, new ApiReservation(dinerId, "reservation1", 3, now.plus(1, ChronoUnit.HOURS),
+                        now.plus(2, ChronoUnit.HOURS)));
+        String reservationId = newReservation.getId();
+
+        // Reschedule the reservation so that it overlaps its current slot.
+        ApiReservation apiUpdate = new ApiReservation(null, null, null, null, null, 0,
+                now.plus(90, ChronoUnit.MINUTES), now.plus(150, ChronoUnit.MINUTES), null);
+        ApiReservation updatedReservation = utils.updateReservationForRestaurantAndTableAndGetResult(restaurantId,
+                tableId, reservationId, apiUpdate);
+
+        // Check that only the times changed.
+        ApiReservation expectedReservation = new ApiReservation(reservationId, restaurantId, tableId, dinerId,
+                "reservation1", 3, now.plus(90, ChronoUnit.MINUTES), now.plus(150, ChronoUnit.MINUTES),
+                newReservation.getCreatedAt());
+        assertEquals(expectedReservation, updatedReservation);
+
+        // Check that both copies of the reservation were updated.
+        assertEquals(updatedReservation,
+                utils.getReservationForRestaurantAndTableAndGetResult(restaurantId, tableId, reservationId));
+        assertEquals(updatedReservation, utils.getReservationForDinerAndGetResult(dinerId, reservationId));
+    }
+
+    @Test
+    @DisplayName("Reservation resizing updates the number of guests, and fails if the table is too small")
+    void testResizeReservation() throws JsonProcessingException, UnsupportedEncodingException {
+        // Call create restaurant, table and diner APIs.
+        ApiRestaurant newRestaurant = utils
+                .createRestaurantAndGetResult(new ApiRestaurant("Restaurant1", "Address1", "email1", "EUR"));
+        String restaurantId = newRestaurant.getId();
+        ApiTable newTable = utils.addTableToRestaurantAndGetResult(restaurantId,
+                new ApiTable("table1", 1, 3, RoomType.HALL, 1.5));
+        String tableId = newTable.getId();
+        ApiDiner newDiner = utils.createDinerAndGetResult(new ApiDiner("diner1", "email1"));
+        String dinerId = newDiner.getId();
+
+        // Call create reservation API.
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        ApiReservation newReservation = utils.createReservationForRestaurantAndTableAndGetResult(restaurantId,
+                tableId, new ApiReservation(dinerId, "reservation1", 3, now.plus(1, ChronoUnit.HOURS),
+                        now.plus(2, ChronoUnit.HOURS)));
+        String reservationId = newReservation.getId();
+
+        // Resize the reservation.
+        ApiReservation updatedReservation = utils.updateReservationForRestaurantAndTableAndGetResult(restaurantId,
+                tableId, reservationId, new ApiReservation(null, null, null, null, null, 2, null, null, null));
+
+        // Check that the number of guests changed for the table and for the diner.
+        assertThat(updatedReservation.getNumGuests()).isEqualTo(2);
+        assertEquals(updatedReservation, utils.getReservationForDinerAndGetResult(dinerId, reservationId));
+
+        // Resize the reservation beyond the table's capacity.
+        MvcTestResult resizeResult = utils.updateReservationForRestaurantAndTable(restaurantId, tableId,
+                reservationId, new ApiReservation(null, null, null, null, null, 5, null, null, null));
+
+        // Check that the request fails and the reservation is unchanged.
+        assertThat(resizeResult).hasStatus(HttpStatus.CONFLICT);
+        assertEquals(updatedReservation,
+                utils.getReservationForRestaurantAndTableAndGetResult(restaurantId, tableId, reservationId));
+    }
+
+    @Test
+    @DisplayName("Reservation move to another table removes it from the old table and adds it to the new one")
+    void testMoveReservation() throws JsonProcessingException, UnsupportedEncodingException {
+        // Call create restaurant, table and diner APIs.
+        ApiRestaurant newRestaurant = utils
+                .createRestaurantAndGetResult(new ApiRestaurant("Restaurant1", "Address1", "email1", "EUR"));
+        String restaurantId = newRestaurant.getId();
+        String tableId1 = utils.addTableToRestaurantAndGetResult(restaurantId,
+                new ApiTable("table1", 1, 3, RoomType.HALL, 1.5)).getId();
+        String tableId2 = utils.addTableToRestaurantAndGetResult(restaurantId,
+                new ApiTable("table2", 1, 4, RoomType.HALL, 0)).getId();
+        ApiDiner newDiner = utils.createDinerAndGetResult(new ApiDiner("diner1", "email1"));
+        String dinerId = newDiner.getId();
+
+        // Call create reservation API.
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        ApiReservation newReservation = utils.createReservationForRestaurantAndTableAndGetResult(restaurantId,
+                tableId1, new ApiReservation(dinerId, "reservation1", 3, now.plus(1, ChronoUnit.HOURS),
+                        now.plus(2, ChronoUnit.HOURS)));
+        String reservationId = newReservation.getId();
+
+        // Move the reservation to the second table.
+        ApiReservation movedReservation = utils.updateReservationForRestaurantAndTableAndGetResult(restaurantId,
+                tableId1, reservationId, new ApiReservation(null, null, tableId2, null, null, 0, null, null, null));
+
+        // Check that the reservation moved for the tables and for the diner.
+        assertThat(movedReservation.getTableId()).isEqualTo(tableId2);
+        assertThat(utils.listReservationsForRestaurantAndTableAndGetResult(restaurantId, tableId1)).isEmpty();
+        assertThat(utils.listReservationsForRestaurantAndTableAndGetResult(restaurantId, tableId2))
+                .satisfiesExactly(r -> assertEquals(movedReservation, r));
+        assertEquals(movedReservation, utils.getReservationForDinerAndGetResult(dinerId, reservationId));
+    }
+
+    @Test
+    @DisplayName("Reservation rescheduling over another reservation fails with CONFLICT")
+    void testRescheduleReservationWithScheduleConflictFails()
+            throws JsonProcessingException, UnsupportedEncodingException {
+        // Call create restaurant, table and diner APIs.
+        ApiRestaurant newRestaurant = utils
+                .createRestaurantAndGetResult(new ApiRestaurant("Restaurant1", "Address1", "email1", "EUR"));
+        String restaurantId = newRestaurant.getId();
+        ApiTable newTable = utils.addTableToRestaurantAndGetResult(restaurantId,
+                new ApiTable("table1", 1, 3, RoomType.HALL, 1.5));
+        String tableId = newTable.getId();
+        ApiDiner newDiner = utils.createDinerAndGetResult(new ApiDiner("diner1", "email1"));
+        String dinerId = newDiner.getId();
+
+        // Call create reservation API twice, at different times.
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        utils.createReservationForRestaurantAndTableAndGetResult(restaurantId, tableId, new ApiReservation(dinerId,
+                "reservation1", 3, now.plus(1, ChronoUnit.HOURS), now.plus(2, ChronoUnit.HOURS)));
+        ApiReservation newReservation2 = utils.createReservationForRestaurantAndTableAndGetResult(restaurantId,
+                tableId, new ApiReservation(dinerId, "reservation2", 3, now.plus(3, ChronoUnit.HOURS),
+                        now.plus(4, ChronoUnit.HOURS)));
+
+        // Reschedule the second reservation over the first one.
+        MvcTestResult updateResult = utils.updateReservationForRestaurantAndTable(restaurantId, tableId,
+                newReservation2.getId(), new ApiReservation(null, null, null, null, null, 0,
+                        now.plus(90, ChronoUnit.MINUTES), now.plus(150, ChronoUnit.MINUTES), null));
+
+        // Check that the request fails and the reservation is unchanged.
+        assertThat(updateResult).hasStatus(HttpStatus.CONFLICT);
+        assertThat(updateResult).bodyText().contains("conflicts with reservation");
+        assertEquals(newReservation2, utils.getReservationForDinerAndGetResult(dinerId, newReservation2.getId()));
+    }
 }
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.UnsupportedEncodingException;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,17 +22,30 @@ import org.springframework.test.web.servlet.assertj.MvcTestResult;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 
+import paterben.privatedining.api.model.ApiDiner;
+import paterben.privatedining.api.model.ApiReservation;
 import paterben.privatedining.api.model.ApiRestaurant;
+import paterben.privatedining.api.model.ApiTable;
+import paterben.privatedining.core.model.DinerReservations;
+import paterben.privatedining.core.model.ReservationHold;
 import paterben.privatedining.core.model.Restaurant;
 import paterben.privatedining.core.model.RestaurantTables;
+import paterben.privatedining.core.model.RoomType;
+import paterben.privatedining.core.model.TableDaySlots;
+import paterben.privatedining.repository.DinerRepository;
+import paterben.privatedining.repository.DinerReservationsRepository;
+import paterben.privatedining.repository.ReservationHoldRepository;
 import paterben.privatedining.repository.RestaurantRepository;
 import paterben.privatedining.repository.RestaurantTablesRepository;
+import paterben.privatedining.repository.TableDaySlotsRepository;
+import paterben.privatedining.repository.TableReservationsRepository;
+import paterben.privatedining.service.CascadeDeleter;
 
 @SpringBootTest
 @AutoConfigureMockMvc
 @Import(IntegrationTestUtils.class)
 @ActiveProfiles("test")
-// Integration tests for restaurant creation and retrieval.
+// Integration tests for restaurant creation, retrieval, update and deletion.
 // Requires a running MongoDB instance using `docker compose up -d` from the
 // root directory.
 public class RestaurantIT {
@@ -41,6 +55,24 @@ public class RestaurantIT {
     @Autowired
     private RestaurantTablesRepository restaurantTablesRepository;
 
+    @Autowired
+    private TableReservationsRepository tableReservationsRepository;
+
+    @Autowired
+    private TableDaySlotsRepository tableDaySlotsRepository;
+
+    @Autowired
+    private ReservationHoldRepository reservationHoldRepository;
+
+    @Autowired
+    private DinerRepository dinerRepository;
+
+    @Autowired
+    private DinerReservationsRepository dinerReservationsRepository;
+
+    @Autowired
+    private CascadeDeleter cascadeDeleter;
+
     @Autowired
     private IntegrationTestUtils utils;
 
@@ -48,6 +80,11 @@ public class RestaurantIT {
     void setUp() {
         restaurantRepository.deleteAll();
         restaurantTablesRepository.deleteAll();
+        tableReservationsRepository.deleteAll();
+        tableDaySlotsRepository.deleteAll();
+        reservationHoldRepository.deleteAll();
+        dinerRepository.deleteAll();
+        dinerReservationsRepository.deleteAll();
     }
 
     @Test
@@ -168,4 +205,121 @@ public class RestaurantIT {
         List<ApiRestaurant> restaurants = utils.listRestaurantsAndGetResult();
         assertThat(restaurants).isEmpty();
     }
+
+    @Test
+    @DisplayName("Restaurant update followed by get returns the updated restaurant")
+    void testUpdateAndGetRestaurant() throws JsonProcessingException, UnsupportedEncodingException {
+        // Call create restaurant API.
+        ApiRestaurant apiRestaurant = new ApiRestaurant("Restaurant1", "Address1", "email1", "EUR");
+        ApiRestaurant newRestaurant = utils.createRestaurantAndGetResult(apiRestaurant);
+        String restaurantId = newRestaurant.getId();
+
+        // Call update restaurant API.
+        ApiRestaurant apiRestaurant2 = new ApiRestaurant("Restaurant2", "Address2", "email2", "USD");
+        ApiRestaurant updatedRestaurant = utils.updateRestaurantAndGetResult(restaurantId, apiRestaurant2);
+
+        // Check that returned restaurant matches request and keeps its creation time.
+        apiRestaurant2.setId(restaurantId);
+        apiRestaurant2.setCreatedAt(newRestaurant.getCreatedAt());
+        assertEquals(apiRestaurant2, updatedRestaurant);
+
+        // Call get restaurant API.
+        ApiRestaurant getRestaurant = utils.getRestaurantAndGetResult(restaurantId);
+
+        // Check that returned restaurant matches updated one.
+        assertEquals(updatedRestaurant, getRestaurant);
+    }
+
+    @Test
+    @DisplayName("Updating a restaurant to the email of another restaurant fails")
+    void testUpdateRestaurantWithSameEmailFails() throws JsonProcessingException, UnsupportedEncodingException {
+        // Call create restaurant API twice.
+        ApiRestaurant apiRestaurant1 = new ApiRestaurant("Restaurant1", "Address1", "email1", "EUR");
+        ApiRestaurant apiRestaurant2 = new ApiRestaurant("Restaurant2", "Address2", "email2", "USD");
+        ApiRestaurant newRestaurant1 = utils.createRestaurantAndGetResult(apiRestaurant1);
+        ApiRestaurant newRestaurant2 = utils.createRestaurantAndGetResult(apiRestaurant2);
+
+        // Call update restaurant API with the email of the first restaurant.
+        ApiRestaurant apiRestaurant3 = new ApiRestaurant("Restaurant2", "Address2", "email1", "USD");
+        MvcTestResult updateResult = utils.updateRestaurant(newRestaurant2.getId(), apiRestaurant3);
+
+        // Check that request fails.
+        assertThat(updateResult).hasStatus(HttpStatus.CONFLICT);
+        assertThat(updateResult).bodyText().contains("already exists");
+
+        // Check that restaurants are unchanged by calling listRestaurants API.
+        List<ApiRestaurant> restaurants = utils.listRestaurantsAndGetResult();
+        assertThat(restaurants).satisfiesExactly(
+                r -> assertEquals(newRestaurant1, r),
+                r -> assertEquals(newRestaurant2, r));
+    }
+
+    @Test
+    @DisplayName("Updating a restaurant that doesn't exist returns NOT_FOUND")
+    void testUpdateNonExistentRestaurant() throws JsonProcessingException, UnsupportedEncodingException {
+        // Call update restaurant API.
+        ApiRestaurant apiRestaurant = new ApiRestaurant("Restaurant1", "Address1", "email1", "EUR");
+        MvcTestResult updateResult = utils.updateRestaurant("1234", apiRestaurant);
+
+        // Check that request fails.
+        assertThat(updateResult).hasStatus(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("Restaurant deletion followed by get returns NOT_FOUND")
+    void testDeleteAndGetRestaurant() throws JsonProcessingException, UnsupportedEncodingException {
+        // Call create restaurant API.
+        ApiRestaurant apiRestaurant = new ApiRestaurant("Restaurant1", "Address1", "email1", "EUR");
+        ApiRestaurant newRestaurant = utils.createRestaurantAndGetResult(apiRestaurant);
+        String restaurantId = newRestaurant.getId();
+
+        // Call delete restaurant API.
+        MvcTestResult deleteResult = utils.deleteRestaurant(restaurantId);
+        assertThat(deleteResult).hasStatusOk();
+
+        // Check that get and a second delete fail.
+        assertThat(utils.getRestaurant(restaurantId)).hasStatus(HttpStatus.NOT_FOUND);
+        assertThat(utils.deleteRestaurant(restaurantId)).hasStatus(HttpStatus.NOT_FOUND);
+
+        // Check that the restaurant and its tables were deleted from DB.
+        assertThat(restaurantRepository.findById(restaurantId)).isNotPresent();
+        assertThat(restaurantTablesRepository.findById(restaurantId)).isNotPresent();
+
+        // Check that the email can be used again.
+        utils.createRestaurantAndGetResult(apiRestaurant);
+    }
+
+    @Test
+    @DisplayName("Restaurant deletion followed by the cascade deletes the data of its tables")
+    void testDeleteRestaurantCascades() throws JsonProcessingException, UnsupportedEncodingException {
+        // Call create restaurant, table and diner APIs.
+        ApiRestaurant apiRestaurant = new ApiRestaurant("Restaurant1", "Address1", "email1", "EUR");
+        String restaurantId = utils.createRestaurantAndGetResult(apiRestaurant).getId();
+        ApiTable apiTable = new ApiTable("table1", 1, 3, RoomType.HALL, 1.5);
+        String tableId = utils.addTableToRestaurantAndGetResult(restaurantId, apiTable).getId();
+        ApiDiner apiDiner = new ApiDiner("diner1", "email1");
+        String dinerId = utils.createDinerAndGetResult(apiDiner).getId();
+
+        // Call create reservation API, and add a hold and slots for the table in DB.
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        ApiReservation apiReservation = new ApiReservation(dinerId, "reservation1", 3,
+                now.plus(1, ChronoUnit.HOURS), now.plus(2, ChronoUnit.HOURS));
+        utils.createReservationForRestaurantAndTableAndGetResult(restaurantId, tableId, apiReservation);
+        reservationHoldRepository.save(new ReservationHold(null, restaurantId, tableId, dinerId, "hold1", 3,
+                now.plus(3, ChronoUnit.HOURS), now.plus(4, ChronoUnit.HOURS), now, now.plus(1, ChronoUnit.HOURS)));
+        tableDaySlotsRepository.save(new TableDaySlots(tableId, "2026-10-19", 1L, 0L));
+
+        // Call delete restaurant API, then run the cascade.
+        assertThat(utils.deleteRestaurant(restaurantId)).hasStatusOk();
+        cascadeDeleter.runPendingJobs();
+
+        // Check that the table's data and the diner's copy of the reservation were
+        // deleted from DB.
+        assertThat(tableReservationsRepository.findById(tableId)).isNotPresent();
+        assertThat(tableDaySlotsRepository.findAll()).isEmpty();
+        assertThat(reservationHoldRepository.findAll()).isEmpty();
+        Optional<DinerReservations> foundDinerReservations = dinerReservationsRepository.findById(dinerId);
+        assertThat(foundDinerReservations).isPresent();
+        assertThat(foundDinerReservations.get().getReservations()).isEmpty();
+    }
 }
@@ -5,6 +5,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.UnsupportedEncodingException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,20 +23,29 @@ import org.springframework.test.web.servlet.assertj.MvcTestResult;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 
+import paterben.privatedining.api.model.ApiDiner;
+import paterben.privatedining.api.model.ApiReservation;
 import paterben.privatedining.api.model.ApiRestaurant;
 import paterben.privatedining.api.model.ApiTable;
+import paterben.privatedining.core.model.ReservationHold;
 import paterben.privatedining.core.model.RestaurantTables;
 import paterben.privatedining.core.model.RoomType;
+import paterben.privatedining.core.model.TableDaySlots;
 import paterben.privatedining.core.model.TableReservations;
+import paterben.privatedining.repository.DinerRepository;
+import paterben.privatedining.repository.DinerReservationsRepository;
+import paterben.privatedining.repository.ReservationHoldRepository;
 import paterben.privatedining.repository.RestaurantRepository;
 import paterben.privatedining.repository.RestaurantTablesRepository;
+import paterben.privatedining.repository.TableDaySlotsRepository;
 import paterben.privatedining.repository.TableReservationsRepository;
+import paterben.privatedining.service.CascadeDeleter;
 
 @SpringBootTest
 @AutoConfigureMockMvc
 @Import(IntegrationTestUtils.class)
 @ActiveProfiles("test")
-// Integration tests for table creation and retrieval.
+// Integration tests for table creation, retrieval, update and deletion.
 // Requires a running MongoDB instance using `docker compose up -d` from the
 // root directory.
 public class TableIT {
@@ -47,6 +58,21 @@ public class TableIT {
     @Autowired
     private TableReservationsRepository tableReservationsRepository;
 
+    @Autowired
+    private TableDaySlotsRepository tableDaySlotsRepository;
+
+    @Autowired
+    private ReservationHoldRepository reservationHoldRepository;
+
+    @Autowired
+    private DinerRepository dinerRepository;
+
+    @Autowired
+    private DinerReservationsRepository dinerReservationsRepository;
+
+    @Autowired
+    private CascadeDeleter cascadeDeleter;
+
     @Autowired
     private IntegrationTestUtils utils;
 
@@ -55,6 +81,10 @@ public class TableIT {
         restaurantRepository.deleteAll();
         restaurantTablesRepository.deleteAll();
         tableReservationsRepository.deleteAll();
+        tableDaySlotsRepository.deleteAll();
+        reservationHoldRepository.deleteAll();
+        dinerRepository.deleteAll();
+        dinerReservationsRepository.deleteAll();
     }
 
     @Test
@@ -237,4 +267,151 @@ public class TableIT {
         assertThat(addResult).hasStatus(HttpStatus.NOT_FOUND);
         assertThat(addResult).bodyText().contains("not found");
     }
+
+    @Test
+    @DisplayName("Table update works and updates the table and its schedule in database")
+    void testUpdateTableWorksAndUpdatesTableInDatabase()
+            throws JsonProcessingException, UnsupportedEncodingException {
+        // Call create restaurant API.
+        ApiRestaurant apiRestaurant = new ApiRestaurant("Restaurant1", "Address1", "email1", "EUR");
+        String restaurantId = utils.createRestaurantAndGetResult(apiRestaurant).getId();
+
+        // Call create table API twice.
+        ApiTable apiTable1 = new ApiTable("table1", 1, 3, RoomType.HALL, 1.5);
+        ApiTable apiTable2 = new ApiTable("table2", 0, 3, RoomType.HALL, 0);
+        ApiTable newTable1 = utils.addTableToRestaurantAndGetResult(restaurantId, apiTable1);
+        String tableId = utils.addTableToRestaurantAndGetResult(restaurantId, apiTable2).getId();
+
+        // Call update table API, once with a new name and once keeping it.
+        ApiTable apiTable3 = new ApiTable("table2-renamed", 2, 6, RoomType.PRIVATE_ROOM, 10);
+        utils.updateTableForRestaurantAndGetResult(restaurantId, tableId, apiTable3);
+        ApiTable apiTable4 = new ApiTable("table2-renamed", 2, 8, RoomType.PRIVATE_ROOM, 10);
+        ApiTable updatedTable = utils.updateTableForRestaurantAndGetResult(restaurantId, tableId, apiTable4);
+
+        // Check that returned table matches request.
+        apiTable4.setId(tableId);
+        assertEquals(apiTable4, updatedTable);
+
+        // Check that only the second table was updated by calling listTables API.
+        List<ApiTable> tables = utils.listTablesForRestaurantAndGetResult(restaurantId);
+        assertThat(tables).satisfiesExactly(
+                t -> assertEquals(newTable1, t),
+                t -> assertEquals(updatedTable, t));
+
+        // Check that the capacities copied to tableReservations were updated in DB.
+        Optional<TableReservations> foundTableReservations = tableReservationsRepository.findById(tableId);
+        assertThat(foundTableReservations).isPresent();
+        assertEquals(2, foundTableReservations.get().getMinCapacity());
+        assertEquals(8, foundTableReservations.get().getMaxCapacity());
+    }
+
+    @Test
+    @DisplayName("Updating a table to the name of another table fails")
+    void testUpdateTableWithSameNameFails() throws JsonProcessingException, UnsupportedEncodingException {
+        // Call create restaurant API.
+        ApiRestaurant apiRestaurant = new ApiRestaurant("Restaurant1", "Address1", "email1", "EUR");
+        String restaurantId = utils.createRestaurantAndGetResult(apiRestaurant).getId();
+
+        // Call create table API twice.
+        ApiTable apiTable1 = new ApiTable("table1", 1, 3, RoomType.HALL, 1.5);
+        ApiTable apiTable2 = new ApiTable("table2", 0, 3, RoomType.HALL, 0);
+        ApiTable newTable1 = utils.addTableToRestaurantAndGetResult(restaurantId, apiTable1);
+        ApiTable newTable2 = utils.addTableToRestaurantAndGetResult(restaurantId, apiTable2);
+
+        // Call update table API with the name of the first table.
+        ApiTable apiTable3 = new ApiTable("table1", 0, 3, RoomType.HALL, 0);
+        MvcTestResult updateResult = utils.updateTableForRestaurant(restaurantId, newTable2.getId(), apiTable3);
+
+        // Check that request fails.
+        assertThat(updateResult).hasStatus(HttpStatus.CONFLICT);
+        assertThat(updateResult).bodyText().contains("already exists");
+
+        // Check that tables are unchanged by calling listTables API.
+        List<ApiTable> tables = utils.listTablesForRestaurantAndGetResult(restaurantId);
+        assertThat(tables).satisfiesExactly(
+                t -> assertEquals(newTable1, t),
+                t -> assertEquals(newTable2, t));
+    }
+
+    @Test
+    @DisplayName("Updating a table that doesn't exist returns NOT_FOUND")
+    void testUpdateNonExistentTable() throws JsonProcessingException, UnsupportedEncodingException {
+        // Call create restaurant API.
+        ApiRestaurant apiRestaurant = new ApiRestaurant("Restaurant1", "Address1", "email1", "EUR");
+        String restaurantId = utils.createRestaurantAndGetResult(apiRestaurant).getId();
+
+        // Call update table API.
+        ApiTable apiTable = new ApiTable("table1", 1, 3, RoomType.HALL, 1.5);
+        MvcTestResult updateResult = utils.updateTableForRestaurant(restaurantId, "1234", apiTable);
+
+        // Check that request fails.
+        assertThat(updateResult).hasStatus(HttpStatus.NOT_FOUND);
+        assertThat(updateResult).bodyText().contains("Table with ID 1234 not found");
+    }
+
+    @Test
+    @DisplayName("Table deletion followed by get returns NOT_FOUND and keeps the other tables")
+    void testDeleteAndGetTable() throws JsonProcessingException, UnsupportedEncodingException {
+        // Call create restaurant API.
+        ApiRestaurant apiRestaurant = new ApiRestaurant("Restaurant1", "Address1", "email1", "EUR");
+        String restaurantId = utils.createRestaurantAndGetResult(apiRestaurant).getId();
+
+        // Call create table API twice.
+        ApiTable apiTable1 = new ApiTable("table1", 1, 3, RoomType.HALL, 1.5);
+        ApiTable apiTable2 = new ApiTable("table2", 0, 3, RoomType.HALL, 0);
+        ApiTable newTable1 = utils.addTableToRestaurantAndGetResult(restaurantId, apiTable1);
+        String tableId = utils.addTableToRestaurantAndGetResult(restaurantId, apiTable2).getId();
+
+        // Call delete table API.
+        assertThat(utils.deleteTableFromRestaurant(restaurantId, tableId)).hasStatusOk();
+
+        // Check that get and a second delete fail.
+        assertThat(utils.getTableForRestaurant(restaurantId, tableId)).hasStatus(HttpStatus.NOT_FOUND);
+        assertThat(utils.deleteTableFromRestaurant(restaurantId, tableId)).hasStatus(HttpStatus.NOT_FOUND);
+
+        // Check that only the first table is left by calling listTables API.
+        List<ApiTable> tables = utils.listTablesForRestaurantAndGetResult(restaurantId);
+        assertThat(tables).satisfiesExactly(t -> assertEquals(newTable1, t));
+    }
+
+    @Test
+    @DisplayName("Table deletion followed by the cascade deletes its reservations, slots and holds")
+    void testDeleteTableCascades() throws JsonProcessingException, UnsupportedEncodingException {
+        // Call create restaurant, table and diner APIs.
+        ApiRestaurant apiRestaurant = new ApiRestaurant("Restaurant1", "Address1", "email1", "EUR");
+        String restaurantId = utils.createRestaurantAndGetResult(apiRestaurant).getId();
+        ApiTable apiTable = new ApiTable("table1", 1, 3, RoomType.HALL, 1.5);
+        String tableId = utils.addTableToRestaurantAndGetResult(restaurantId, apiTable).getId();
+        ApiDiner apiDiner = new ApiDiner("diner1", "email1");
+        String dinerId = utils.createDinerAndGetResult(apiDiner).getId();
+
+        // Call create reservation API, and add a hold and slots for the table in DB.
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        ApiReservation apiReservation = new ApiReservation(dinerId, "reservation1", 3,
+                now.plus(1, ChronoUnit.HOURS), now.plus(2, ChronoUnit.HOURS));
+        utils.createReservationForRestaurantAndTableAndGetResult(restaurantId, tableId, apiReservation);
+        reservationHoldRepository.save(new ReservationHold(null, restaurantId, tableId, dinerId, "hold1", 3,
+                now.plus(3, ChronoUnit.HOURS), now.plus(4, ChronoUnit.HOURS), now, now.plus(1, ChronoUnit.HOURS)));
+        tableDaySlotsRepository.save(new TableDaySlots(tableId, "2026-10-19", 1L, 0L));
+
+        // Call delete table API.
+        assertThat(utils.deleteTableFromRestaurant(restaurantId, tableId)).hasStatusOk();
+
+        // Check that the table can no longer be booked before the cascade runs, by
+        // calling create reservation API.
+        ApiReservation lateReservation = new ApiReservation(dinerId, "reservation2", 3,
+                now.plus(5, ChronoUnit.HOURS), now.plus(6, ChronoUnit.HOURS));
+        assertThat(utils.createReservationForRestaurantAndTable(restaurantId, tableId, lateReservation))
+                .hasStatus(HttpStatus.NOT_FOUND);
+
+        // Run the cascade.
+        cascadeDeleter.runPendingJobs();
+
+        // Check that the table's data and the diner's copy of the reservation were
+        // deleted from DB.
+        assertThat(tableReservationsRepository.findById(tableId)).isNotPresent();
+        assertThat(tableDaySlotsRepository.findAll()).isEmpty();
+        assertThat(reservationHoldRepository.findAll()).isEmpty();
+        assertThat(utils.listReservationsForDinerAndGetResult(dinerId)).isEmpty();
+    }
 }
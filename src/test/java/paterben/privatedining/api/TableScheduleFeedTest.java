@@ -0,0 +1,346 @@
+package paterben.privatedining.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Subscription;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+
+import paterben.privatedining.api.conversion.ApiConverter;
+import paterben.privatedining.api.model.ApiReservation;
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.TableReservations;
+import paterben.privatedining.repository.RestaurantTablesRepository;
+import paterben.privatedining.repository.TableReservationsRepository;
+import paterben.privatedining.service.CompanionDocuments;
+import paterben.privatedining.service.ServiceException;
+
+@ExtendWith(MockitoExtension.class)
+public class TableScheduleFeedTest {
+    @Mock
+    private MessageListenerContainer messageListenerContainer;
+
+    @Mock
+    private TableReservationsRepository tableReservationsRepository;
+
+    @Mock
+    private RestaurantTablesRepository restaurantTablesRepository;
+
+    @Mock
+    private CompanionDocuments companionDocuments;
+
+    @Mock
+    private ApiConverter converter;
+
+    @Mock
+    private Subscription changeStream;
+
+    @Spy
+    @InjectMocks
+    private TableScheduleFeed tableScheduleFeed;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        // Sends run on the calling thread, unless a test says otherwise.
+        ReflectionTestUtils.setField(tableScheduleFeed, "sendExecutor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(tableScheduleFeed, "maxQueuedEvents", 1000);
+        ReflectionTestUtils.setField(tableScheduleFeed, "changeStreamStartTimeout", Duration.ofSeconds(5));
+        lenient().when(messageListenerContainer.register(any(), eq(TableReservations.class), any()))
+                .thenReturn(changeStream);
+        lenient().when(changeStream.await(any())).thenReturn(true);
+        lenient().when(converter.toApi(any(Reservation.class))).thenAnswer(i -> {
+            Reservation r = i.getArgument(0);
+            return new ApiReservation(r.getId(), r.getRestaurantId(), r.getTableId(), r.getDinerId(), r.getName(),
+                    r.getNumGuests(), r.getReservationStart(), r.getReservationEnd(), r.getCreatedAt());
+        });
+    }
+
+    @Test
+    @DisplayName("When table exists, subscribeToTable sends a snapshot of its reservations")
+    void testSubscribeToTable() throws IOException {
+        // Arrange
+        SseEmitter emitter = mock(SseEmitter.class);
+        doReturn(emitter).when(tableScheduleFeed).createEmitter();
+        when(tableReservationsRepository.findByIdAndRestaurantId("2222", "1111"))
+                .thenReturn(Optional.of(makeTableReservations("2222", "1111", makeReservation("4111", "2222"))));
+
+        // Act
+        Optional<SseEmitter> result = tableScheduleFeed.subscribeToTable("1111", "2222");
+
+        // Assert
+        assertThat(result).contains(emitter);
+        ArgumentCaptor<SseEventBuilder> event = ArgumentCaptor.forClass(SseEventBuilder.class);
+        verify(emitter).send(event.capture());
+        assertThat(getText(event.getValue())).contains("event:SNAPSHOT\n");
+        List<?> reservations = (List<?>) getData(event.getValue());
+        assertThat(reservations).hasSize(1);
+        assertThat(((ApiReservation) reservations.get(0)).getId()).isEqualTo("4111");
+    }
+
+    @Test
+    @DisplayName("When table doesn't exist, subscribeToTable returns empty and doesn't receive changes")
+    void testSubscribeToTableNotFound() throws IOException {
+        // Arrange
+        SseEmitter emitter = mock(SseEmitter.class);
+        doReturn(emitter).when(tableScheduleFeed).createEmitter();
+        when(tableReservationsRepository.findByIdAndRestaurantId("2222", "1111")).thenReturn(Optional.empty());
+
+        // Act
+        Optional<SseEmitter> result = tableScheduleFeed.subscribeToTable("1111", "2222");
+        tableScheduleFeed.onMessage(makeMessage(makeTableReservations("2222", "1111",
+                makeReservation("4111", "2222"))));
+
+        // Assert
+        assertThat(result).isEmpty();
+        verify(emitter, never()).send(any(SseEventBuilder.class));
+    }
+
+    @Test
+    @DisplayName("onMessage sends new reservations to subscribers of the table and of its restaurant only")
+    void testOnMessageFanOut() throws IOException {
+        // Arrange
+        SseEmitter tableEmitter = mock(SseEmitter.class);
+        SseEmitter restaurantEmitter = mock(SseEmitter.class);
+        SseEmitter otherRestaurantEmitter = mock(SseEmitter.class);
+        doReturn(tableEmitter, restaurantEmitter, otherRestaurantEmitter).when(tableScheduleFeed).createEmitter();
+        Reservation existing = makeReservation("4111", "2222");
+        when(tableReservationsRepository.findByIdAndRestaurantId("2222", "1111"))
+                .thenReturn(Optional.of(makeTableReservations("2222", "1111", existing)));
+        when(restaurantTablesRepository.existsById(any())).thenReturn(true);
+        when(tableReservationsRepository.findByRestaurantId("1111"))
+                .thenReturn(Arrays.asList(makeTableReservations("2222", "1111", existing)));
+        when(tableReservationsRepository.findByRestaurantId("1999")).thenReturn(Collections.emptyList());
+        tableScheduleFeed.subscribeToTable("1111", "2222");
+        tableScheduleFeed.subscribeToRestaurant("1111");
+        tableScheduleFeed.subscribeToRestaurant("1999");
+
+        // Act
+        tableScheduleFeed.onMessage(makeMessage(makeTableReservations("2222", "1111", existing,
+                makeReservation("4222", "2222"))));
+
+        // Assert
+        for (SseEmitter emitter : Arrays.asList(tableEmitter, restaurantEmitter)) {
+            ArgumentCaptor<SseEventBuilder> event = ArgumentCaptor.forClass(SseEventBuilder.class);
+            verify(emitter, times(2)).send(event.capture());
+            assertThat(getText(event.getAllValues().get(0))).contains("event:SNAPSHOT\n");
+            assertThat(getText(event.getAllValues().get(1))).contains("id:4222\n", "event:RESERVATION_CREATED\n");
+        }
+        // Only the snapshot.
+        verify(otherRestaurantEmitter, times(1)).send(any(SseEventBuilder.class));
+    }
+
+    @Test
+    @DisplayName("onMessage sends a reservation moved to another table as removed to subscribers of the old table")
+    void testOnMessageMovedAway() throws IOException {
+        // Arrange
+        SseEmitter emitter = mock(SseEmitter.class);
+        doReturn(emitter).when(tableScheduleFeed).createEmitter();
+        when(tableReservationsRepository.findByIdAndRestaurantId("2222", "1111"))
+                .thenReturn(Optional.of(makeTableReservations("2222", "1111", makeReservation("4111", "2222"))));
+        tableScheduleFeed.subscribeToTable("1111", "2222");
+
+        // Act
+        tableScheduleFeed.onMessage(makeMessage(makeTableReservations("2222", "1111")));
+
+        // Assert
+        ArgumentCaptor<SseEventBuilder> event = ArgumentCaptor.forClass(SseEventBuilder.class);
+        verify(emitter, times(2)).send(event.capture());
+        assertThat(getText(event.getAllValues().get(1))).contains("id:4111\n", "event:RESERVATION_REMOVED\n");
+    }
+
+    @Test
+    @DisplayName("Once the emitter completes, the subscriber no longer receives changes")
+    void testCompletionRemovesSubscriber() throws IOException {
+        // Arrange
+        SseEmitter emitter = mock(SseEmitter.class);
+        doReturn(emitter).when(tableScheduleFeed).createEmitter();
+        when(tableReservationsRepository.findByIdAndRestaurantId("2222", "1111"))
+                .thenReturn(Optional.of(makeTableReservations("2222", "1111")));
+        tableScheduleFeed.subscribeToTable("1111", "2222");
+        ArgumentCaptor<Runnable> onCompletion = ArgumentCaptor.forClass(Runnable.class);
+        verify(emitter).onCompletion(onCompletion.capture());
+
+        // Act
+        onCompletion.getValue().run();
+        tableScheduleFeed.onMessage(makeMessage(makeTableReservations("2222", "1111",
+                makeReservation("4111", "2222"))));
+
+        // Assert
+        // Only the snapshot.
+        verify(emitter, times(1)).send(any(SseEventBuilder.class));
+    }
+
+    @Test
+    @DisplayName("When a send fails, the emitter is completed with the error and the subscriber no longer receives changes")
+    void testSendErrorRemovesSubscriber() throws IOException {
+        // Arrange
+        SseEmitter emitter = mock(SseEmitter.class);
+        doReturn(emitter).when(tableScheduleFeed).createEmitter();
+        IOException error = new IOException("Broken pipe");
+        doThrow(error).when(emitter).send(any(SseEventBuilder.class));
+        when(tableReservationsRepository.findByIdAndRestaurantId("2222", "1111"))
+                .thenReturn(Optional.of(makeTableReservations("2222", "1111")));
+
+        // Act
+        tableScheduleFeed.subscribeToTable("1111", "2222");
+        tableScheduleFeed.onMessage(makeMessage(makeTableReservations("2222", "1111",
+                makeReservation("4111", "2222"))));
+
+        // Assert
+        verify(emitter).completeWithError(error);
+        verify(emitter, times(1)).send(any(SseEventBuilder.class));
+    }
+
+    @Test
+    @DisplayName("onMessage only queues events, and disconnects subscribers that fall too far behind")
+    void testSlowSubscriberDisconnected() throws IOException {
+        // Arrange
+        List<Runnable> tasks = new ArrayList<>();
+        ReflectionTestUtils.setField(tableScheduleFeed, "sendExecutor", (Executor) tasks::add);
+        ReflectionTestUtils.setField(tableScheduleFeed, "maxQueuedEvents", 2);
+        SseEmitter emitter = mock(SseEmitter.class);
+        doReturn(emitter).when(tableScheduleFeed).createEmitter();
+        when(tableReservationsRepository.findByIdAndRestaurantId("2222", "1111"))
+                .thenReturn(Optional.of(makeTableReservations("2222", "1111")));
+        tableScheduleFeed.subscribeToTable("1111", "2222");
+
+        // Act
+        tableScheduleFeed.onMessage(makeMessage(makeTableReservations("2222", "1111",
+                makeReservation("4111", "2222"), makeReservation("4222", "2222"))));
+
+        // Assert
+        // The snapshot and the first reservation were queued, the second one didn't
+        // fit.
+        verify(emitter, never()).send(any(SseEventBuilder.class));
+        assertThat(tasks).hasSize(1);
+        verify(emitter).complete();
+    }
+
+    @Test
+    @DisplayName("The change stream only runs while there are subscribers, and only matches their restaurants")
+    void testChangeStreamLifecycle() throws InterruptedException {
+        // Arrange
+        SseEmitter emitter1 = mock(SseEmitter.class);
+        SseEmitter emitter2 = mock(SseEmitter.class);
+        SseEmitter emitter3 = mock(SseEmitter.class);
+        doReturn(emitter1, emitter2, emitter3).when(tableScheduleFeed).createEmitter();
+        when(tableReservationsRepository.findByIdAndRestaurantId(any(), any())).thenAnswer(
+                i -> Optional.of(makeTableReservations(i.getArgument(0), i.getArgument(1))));
+        Subscription secondChangeStream = mock(Subscription.class);
+        when(messageListenerContainer.register(any(), eq(TableReservations.class), any()))
+                .thenReturn(changeStream, secondChangeStream);
+        when(secondChangeStream.await(any())).thenReturn(true);
+
+        // Act
+        tableScheduleFeed.subscribeToTable("1111", "2222");
+        // Same restaurant, so the change stream already matches it.
+        tableScheduleFeed.subscribeToTable("1111", "3333");
+        tableScheduleFeed.subscribeToTable("1999", "4444");
+
+        // Assert
+        @SuppressWarnings("rawtypes")
+        ArgumentCaptor<ChangeStreamRequest> request = ArgumentCaptor.forClass(ChangeStreamRequest.class);
+        verify(messageListenerContainer, times(2)).register(request.capture(), eq(TableReservations.class), any());
+        assertThat(getFilter(request.getAllValues().get(0))).contains("1111").doesNotContain("1999");
+        assertThat(getFilter(request.getAllValues().get(1))).contains("1111", "1999");
+        verify(messageListenerContainer).remove(changeStream);
+
+        // The change stream stops with the last subscriber.
+        for (SseEmitter emitter : Arrays.asList(emitter1, emitter2, emitter3)) {
+            ArgumentCaptor<Runnable> onCompletion = ArgumentCaptor.forClass(Runnable.class);
+            verify(emitter).onCompletion(onCompletion.capture());
+            verify(messageListenerContainer, never()).remove(secondChangeStream);
+            onCompletion.getValue().run();
+        }
+        verify(messageListenerContainer).remove(secondChangeStream);
+    }
+
+    @Test
+    @DisplayName("When the change stream doesn't start in time, subscribeToTable fails with SERVICE_UNAVAILABLE")
+    void testChangeStreamNotStarted() throws InterruptedException {
+        // Arrange
+        when(changeStream.await(any())).thenReturn(false);
+
+        // Act
+        try {
+            tableScheduleFeed.subscribeToTable("1111", "2222");
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            verify(messageListenerContainer).remove(changeStream);
+            verify(tableReservationsRepository, never()).findByIdAndRestaurantId(any(), any());
+        }
+    }
+
+    private static String getFilter(ChangeStreamRequest<?> request) {
+        return request.getRequestOptions().getFilter().map(Object::toString).orElse("");
+    }
+
+    private static TableReservations makeTableReservations(String tableId, String restaurantId,
+            Reservation... reservations) {
+        return new TableReservations(tableId, restaurantId, 1, 4, new ArrayList<>(Arrays.asList(reservations)));
+    }
+
+    private static Reservation makeReservation(String id, String tableId) {
+        return new Reservation(id, "1111", tableId, "3111", "reservation1", 3, Instant.ofEpochSecond(11111),
+                Instant.ofEpochSecond(22222), Instant.ofEpochSecond(1234));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Message<ChangeStreamDocument<Document>, TableReservations> makeMessage(
+            TableReservations tableReservations) {
+        Message<ChangeStreamDocument<Document>, TableReservations> message = mock(Message.class);
+        when(message.getBody()).thenReturn(tableReservations);
+        return message;
+    }
+
+    private static String getText(SseEventBuilder event) {
+        return event.build().stream().map(d -> d.getData()).filter(String.class::isInstance).map(String.class::cast)
+                .collect(Collectors.joining());
+    }
+
+    private static Object getData(SseEventBuilder event) {
+        return event.build().stream().map(d -> d.getData()).filter(d -> !(d instanceof String)).findFirst()
+                .orElse(null);
+    }
+}
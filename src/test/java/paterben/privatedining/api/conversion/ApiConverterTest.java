@@ -2,21 +2,36 @@ package paterben.privatedining.api.conversion;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.time.DayOfWeek;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.modelmapper.ModelMapper;
 
 import paterben.privatedining.api.model.ApiDiner;
+import paterben.privatedining.api.model.ApiOpeningHours;
+import paterben.privatedining.api.model.ApiOpeningPeriod;
 import paterben.privatedining.api.model.ApiReservation;
+import paterben.privatedining.api.model.ApiReservationHold;
+import paterben.privatedining.api.model.ApiReservationSeries;
 import paterben.privatedining.api.model.ApiRestaurant;
 import paterben.privatedining.api.model.ApiTable;
+import paterben.privatedining.api.model.ApiWaitlistEntry;
 import paterben.privatedining.core.model.Diner;
+import paterben.privatedining.core.model.OpeningHours;
+import paterben.privatedining.core.model.OpeningPeriod;
 import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.ReservationHold;
+import paterben.privatedining.core.model.ReservationSeries;
 import paterben.privatedining.core.model.Restaurant;
 import paterben.privatedining.core.model.RoomType;
+import paterben.privatedining.core.model.SeriesFrequency;
 import paterben.privatedining.core.model.Table;
+import paterben.privatedining.core.model.WaitlistEntry;
 
 public class ApiConverterTest {
     private ApiConverter apiConverter = new ApiConverter(new ModelMapper());
@@ -43,6 +58,32 @@ public class ApiConverterTest {
         assertEquals(apiReservation, apiConverter.toApi(reservation));
     }
 
+    @Test
+    @DisplayName("ApiConverter converts ReservationHold to ApiReservationHold")
+    void testReservationHoldConversion() {
+        ReservationHold hold = new ReservationHold("1234", "2345", "3456", "4567", "reservation1", 3,
+                Instant.ofEpochSecond(11111), Instant.ofEpochSecond(22222), Instant.ofEpochSecond(1234),
+                Instant.ofEpochSecond(1834));
+        ApiReservationHold apiHold = new ApiReservationHold("1234", "2345", "3456", "4567", "reservation1", 3,
+                Instant.ofEpochSecond(11111), Instant.ofEpochSecond(22222), Instant.ofEpochSecond(1234),
+                Instant.ofEpochSecond(1834));
+
+        assertEquals(apiHold, apiConverter.toApi(hold));
+    }
+
+    @Test
+    @DisplayName("ApiConverter converts ApiReservationSeries to ReservationSeries and vice versa")
+    void testReservationSeriesConversion() {
+        ApiReservationSeries apiSeries = new ApiReservationSeries("1234", "2345", "series1", 3,
+                Instant.ofEpochSecond(11111), Instant.ofEpochSecond(22222), SeriesFrequency.WEEKLY, 2, 10,
+                Instant.ofEpochSecond(1234));
+        ReservationSeries series = new ReservationSeries("1234", "2345", "series1", 3, Instant.ofEpochSecond(11111),
+                Instant.ofEpochSecond(22222), SeriesFrequency.WEEKLY, 2, 10, Instant.ofEpochSecond(1234));
+
+        assertEquals(series, apiConverter.toCore(apiSeries));
+        assertEquals(apiSeries, apiConverter.toApi(series));
+    }
+
     @Test
     @DisplayName("ApiConverter converts ApiRestaurant to Restaurant and vice versa")
     void testRestaurantConversion() {
@@ -64,4 +105,32 @@ public class ApiConverterTest {
         assertEquals(table, apiConverter.toCore(apiTable));
         assertEquals(apiTable, apiConverter.toApi(table));
     }
+
+    @Test
+    @DisplayName("ApiConverter converts the opening hours of ApiTable to Table and vice versa")
+    void testTableWithOpeningHoursConversion() {
+        ApiTable apiTable = new ApiTable("1234", "table1", 1, 3, RoomType.HALL, 1.5);
+        apiTable.setOpeningHours(new ApiOpeningHours("Europe/Paris",
+                Arrays.asList(new ApiOpeningPeriod(DayOfWeek.FRIDAY, LocalTime.of(18, 0), LocalTime.of(2, 0))),
+                Arrays.asList(LocalDate.parse("2026-12-25"))));
+        Table table = new Table("1234", "table1", 1, 3, RoomType.HALL, 1.5);
+        table.setOpeningHours(new OpeningHours("Europe/Paris",
+                Arrays.asList(new OpeningPeriod(DayOfWeek.FRIDAY, LocalTime.of(18, 0), LocalTime.of(2, 0))),
+                Arrays.asList(LocalDate.parse("2026-12-25"))));
+
+        assertEquals(table, apiConverter.toCore(apiTable));
+        assertEquals(apiTable, apiConverter.toApi(table));
+    }
+
+    @Test
+    @DisplayName("ApiConverter converts ApiWaitlistEntry to WaitlistEntry and vice versa")
+    void testWaitlistEntryConversion() {
+        ApiWaitlistEntry apiEntry = new ApiWaitlistEntry("1234", "2345", "3456", "4567", "entry1", 3,
+                Instant.ofEpochSecond(11111), Instant.ofEpochSecond(22222), 1, Instant.ofEpochSecond(1234));
+        WaitlistEntry entry = new WaitlistEntry("1234", "2345", "3456", "4567", "entry1", 3,
+                Instant.ofEpochSecond(11111), Instant.ofEpochSecond(22222), 1, Instant.ofEpochSecond(1234));
+
+        assertEquals(entry, apiConverter.toCore(apiEntry));
+        assertEquals(apiEntry, apiConverter.toApi(entry));
+    }
 }
@@ -2,12 +2,17 @@ package paterben.privatedining.api.model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.time.DayOfWeek;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import paterben.privatedining.core.model.RoomType;
+import paterben.privatedining.core.model.SeriesFrequency;
 
 public class ApiModelToStringTest {
     @Test
@@ -28,13 +33,47 @@ public class ApiModelToStringTest {
                 reservation.toString());
     }
 
+    @Test
+    @DisplayName("ApiReservationHold.toString() works")
+    void testApiReservationHoldToString() {
+        ApiReservationHold hold = new ApiReservationHold("1234", "2345", "3456", "4567", "reservation1", 3,
+                Instant.ofEpochSecond(11111), Instant.ofEpochSecond(22222), Instant.ofEpochSecond(1234),
+                Instant.ofEpochSecond(1834));
+        assertEquals(
+                "ApiReservationHold[id='1234', restaurantId='2345', tableId='3456', dinerId='4567', name='reservation1', numGuests='3', reservationStart='1970-01-01T03:05:11Z', reservationEnd='1970-01-01T06:10:22Z', createdAt='1970-01-01T00:20:34Z', expiresAt='1970-01-01T00:30:34Z']",
+                hold.toString());
+    }
+
+    @Test
+    @DisplayName("ApiReservationSeries.toString() works")
+    void testApiReservationSeriesToString() {
+        ApiReservationSeries series = new ApiReservationSeries("1234", "2345", "series1", 3,
+                Instant.ofEpochSecond(11111), Instant.ofEpochSecond(22222), SeriesFrequency.WEEKLY, 2, 10,
+                Instant.ofEpochSecond(1234));
+        assertEquals(
+                "ApiReservationSeries[id='1234', dinerId='2345', name='series1', numGuests='3', firstReservationStart='1970-01-01T03:05:11Z', firstReservationEnd='1970-01-01T06:10:22Z', frequency='WEEKLY', interval='2', count='10', createdAt='1970-01-01T00:20:34Z']",
+                series.toString());
+    }
+
+    @Test
+    @DisplayName("ApiOpeningHours.toString() works")
+    void testApiOpeningHoursToString() {
+        ApiOpeningHours openingHours = new ApiOpeningHours("Europe/Paris",
+                Collections.singletonList(
+                        new ApiOpeningPeriod(DayOfWeek.FRIDAY, LocalTime.of(18, 0), LocalTime.of(2, 0))),
+                Collections.singletonList(LocalDate.parse("2026-12-25")));
+        assertEquals(
+                "ApiOpeningHours[timeZone='Europe/Paris', periods='[ApiOpeningPeriod[dayOfWeek='FRIDAY', opens='18:00', closes='02:00']]', closedDates='[2026-12-25]']",
+                openingHours.toString());
+    }
+
     @Test
     @DisplayName("ApiRestaurant.toString() works")
     void testApiRestaurantToString() {
         ApiRestaurant restaurant = new ApiRestaurant("1234", "restaurant1", "address1", "email1", "EUR",
                 Instant.ofEpochSecond(1234));
         assertEquals(
-                "ApiRestaurant[id='1234', name='restaurant1', address='address1', email='email1', currency='EUR', createdAt='1970-01-01T00:20:34Z']",
+                "ApiRestaurant[id='1234', name='restaurant1', address='address1', email='email1', currency='EUR', createdAt='1970-01-01T00:20:34Z', openingHours='null']",
                 restaurant.toString());
     }
 
@@ -43,7 +82,17 @@ public class ApiModelToStringTest {
     void testApiTableToString() {
         ApiTable table = new ApiTable("1234", "table1", 1, 3, RoomType.HALL, 1.5);
         assertEquals(
-                "ApiTable[id='1234', name='table1', minCapacity='1', maxCapacity='3', roomType='HALL', minSpend='1.5']",
+                "ApiTable[id='1234', name='table1', minCapacity='1', maxCapacity='3', roomType='HALL', minSpend='1.5', openingHours='null']",
                 table.toString());
     }
+
+    @Test
+    @DisplayName("ApiWaitlistEntry.toString() works")
+    void testApiWaitlistEntryToString() {
+        ApiWaitlistEntry entry = new ApiWaitlistEntry("1234", "2345", "3456", "4567", "entry1", 3,
+                Instant.ofEpochSecond(11111), Instant.ofEpochSecond(22222), 1, Instant.ofEpochSecond(1234));
+        assertEquals(
+                "ApiWaitlistEntry[id='1234', restaurantId='2345', tableId='3456', dinerId='4567', name='entry1', numGuests='3', reservationStart='1970-01-01T03:05:11Z', reservationEnd='1970-01-01T06:10:22Z', priority='1', createdAt='1970-01-01T00:20:34Z']",
+                entry.toString());
+    }
 }
@@ -0,0 +1,44 @@
+package paterben.privatedining.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class AimdLimitTest {
+    private static final long TARGET = 100;
+
+    @Test
+    @DisplayName("AimdLimit grows by one after a fast request that used the whole limit")
+    void testIncrease() {
+        AimdLimit limit = new AimdLimit(4, 1, 5, 0.5, TARGET);
+
+        limit.onSample(50, 4, false);
+        assertThat(limit.getLimit()).isEqualTo(5);
+        limit.onSample(50, 5, false);
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("AimdLimit doesn't grow when the limit was not reached")
+    void testNoIncreaseWhenIdle() {
+        AimdLimit limit = new AimdLimit(4, 1, 8, 0.5, TARGET);
+
+        limit.onSample(50, 1, false);
+
+        assertThat(limit.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("AimdLimit shrinks after a slow or contended request, down to the min limit")
+    void testDecrease() {
+        AimdLimit limit = new AimdLimit(8, 2, 8, 0.5, TARGET);
+
+        limit.onSample(150, 8, false);
+        assertThat(limit.getLimit()).isEqualTo(4);
+        limit.onSample(50, 4, true);
+        assertThat(limit.getLimit()).isEqualTo(2);
+        limit.onSample(150, 2, false);
+        assertThat(limit.getLimit()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,111 @@
+package paterben.privatedining.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import paterben.privatedining.core.model.OpeningHours;
+import paterben.privatedining.core.model.OpeningPeriod;
+
+public class OpeningScheduleTest {
+    // 2026-10-19 is a Monday.
+    private final OpeningHours hours = new OpeningHours("UTC", Arrays.asList(
+            new OpeningPeriod(DayOfWeek.MONDAY, LocalTime.of(12, 0), LocalTime.of(15, 0)),
+            new OpeningPeriod(DayOfWeek.MONDAY, LocalTime.of(18, 0), LocalTime.of(23, 0)),
+            new OpeningPeriod(DayOfWeek.FRIDAY, LocalTime.of(18, 0), LocalTime.of(2, 0)),
+            new OpeningPeriod(DayOfWeek.SUNDAY, LocalTime.of(20, 0), LocalTime.of(2, 0))),
+            Arrays.asList(LocalDate.parse("2026-10-26")));
+
+    private final OpeningSchedule schedule = OpeningSchedule.compile(hours);
+
+    @Test
+    @DisplayName("OpeningSchedule.isOpen() accepts reservations within a period, including its bounds")
+    void testIsOpenWithinPeriod() {
+        assertThat(schedule.isOpen(Instant.parse("2026-10-19T12:00:00Z"), Instant.parse("2026-10-19T15:00:00Z")))
+                .isTrue();
+        assertThat(schedule.isOpen(Instant.parse("2026-10-19T19:00:00Z"), Instant.parse("2026-10-19T21:00:00Z")))
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("OpeningSchedule.isOpen() rejects reservations outside periods or spanning a break")
+    void testIsOpenOutsidePeriod() {
+        assertThat(schedule.isOpen(Instant.parse("2026-10-19T11:00:00Z"), Instant.parse("2026-10-19T13:00:00Z")))
+                .isFalse();
+        assertThat(schedule.isOpen(Instant.parse("2026-10-19T14:00:00Z"), Instant.parse("2026-10-19T19:00:00Z")))
+                .isFalse();
+        assertThat(schedule.isOpen(Instant.parse("2026-10-20T19:00:00Z"), Instant.parse("2026-10-20T21:00:00Z")))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("OpeningSchedule.isOpen() handles periods past midnight, including from Sunday to Monday")
+    void testIsOpenOvernight() {
+        assertThat(schedule.isOpen(Instant.parse("2026-10-23T23:00:00Z"), Instant.parse("2026-10-24T01:30:00Z")))
+                .isTrue();
+        assertThat(schedule.isOpen(Instant.parse("2026-10-23T23:00:00Z"), Instant.parse("2026-10-24T02:30:00Z")))
+                .isFalse();
+        assertThat(schedule.isOpen(Instant.parse("2026-10-25T21:00:00Z"), Instant.parse("2026-10-26T00:00:00Z")))
+                .isTrue();
+        // Monday morning part of the Sunday night period.
+        assertThat(schedule.isOpen(Instant.parse("2026-10-19T00:30:00Z"), Instant.parse("2026-10-19T01:30:00Z")))
+                .isTrue();
+        assertThat(schedule.isOpen(Instant.parse("2026-10-19T01:30:00Z"), Instant.parse("2026-10-19T02:30:00Z")))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("OpeningSchedule.isOpen() rejects reservations on closure dates")
+    void testIsOpenClosedDate() {
+        assertThat(schedule.isOpen(Instant.parse("2026-10-26T19:00:00Z"), Instant.parse("2026-10-26T21:00:00Z")))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("OpeningSchedule.isOpen() uses the local time of the time zone")
+    void testIsOpenTimeZone() {
+        OpeningSchedule paris = OpeningSchedule.compile(new OpeningHours("Europe/Paris", Arrays.asList(
+                new OpeningPeriod(DayOfWeek.MONDAY, LocalTime.of(18, 0), LocalTime.of(23, 0))),
+                Collections.emptyList()));
+
+        // 18:00 in Paris is 16:00 UTC in October.
+        assertThat(paris.isOpen(Instant.parse("2026-10-19T16:00:00Z"), Instant.parse("2026-10-19T18:00:00Z")))
+                .isTrue();
+        assertThat(paris.isOpen(Instant.parse("2026-10-19T20:00:00Z"), Instant.parse("2026-10-19T22:00:00Z")))
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("OpeningSchedule merges back-to-back periods, and is open all week without periods")
+    void testMergedAndEmptyPeriods() {
+        OpeningSchedule merged = OpeningSchedule.compile(new OpeningHours(null, Arrays.asList(
+                new OpeningPeriod(DayOfWeek.MONDAY, LocalTime.of(18, 0), LocalTime.of(20, 0)),
+                new OpeningPeriod(DayOfWeek.MONDAY, LocalTime.of(20, 0), LocalTime.of(22, 0))),
+                Collections.emptyList()));
+        OpeningSchedule always = OpeningSchedule.compile(new OpeningHours());
+
+        assertThat(merged.isOpen(Instant.parse("2026-10-19T19:00:00Z"), Instant.parse("2026-10-19T21:00:00Z")))
+                .isTrue();
+        assertThat(always.isOpen(Instant.parse("2026-10-25T20:00:00Z"), Instant.parse("2026-10-26T06:00:00Z")))
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("OpeningSchedule.compile() fails on invalid opening hours")
+    void testCompileInvalid() {
+        assertThatThrownBy(() -> OpeningSchedule.compile(new OpeningHours("Mars/Olympus", Collections.emptyList(),
+                Collections.emptyList()))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OpeningSchedule.compile(new OpeningHours(null, Arrays.asList(
+                new OpeningPeriod(DayOfWeek.MONDAY, null, LocalTime.of(22, 0))), Collections.emptyList())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
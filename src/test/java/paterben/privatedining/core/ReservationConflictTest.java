@@ -2,8 +2,10 @@ package paterben.privatedining.core;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.Instant;
+import java.util.Arrays;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -131,4 +133,34 @@ public class ReservationConflictTest {
 
         assertTrue(ReservationConflict.reservationsOverlap(r1, r2));
     }
+
+    @Test
+    @DisplayName("ReservationConflict.findOverlap() returns empty for interleaved disjoint schedules")
+    void testFindOverlapInterleaved() {
+        Reservation e1 = new Reservation("ignored", "ignored", 0, Instant.ofEpochSecond(0),
+                Instant.ofEpochSecond(100));
+        Reservation e2 = new Reservation("ignored", "ignored", 0, Instant.ofEpochSecond(200),
+                Instant.ofEpochSecond(300));
+        Reservation c1 = new Reservation("ignored", "ignored", 0, Instant.ofEpochSecond(100),
+                Instant.ofEpochSecond(200));
+        Reservation c2 = new Reservation("ignored", "ignored", 0, Instant.ofEpochSecond(300),
+                Instant.ofEpochSecond(400));
+
+        assertThat(ReservationConflict.findOverlap(Arrays.asList(e1, e2), Arrays.asList(c1, c2))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("ReservationConflict.findOverlap() returns the existing reservation overlapping a candidate")
+    void testFindOverlapFound() {
+        Reservation e1 = new Reservation("ignored", "ignored", 0, Instant.ofEpochSecond(0),
+                Instant.ofEpochSecond(100));
+        Reservation e2 = new Reservation("ignored", "ignored", 0, Instant.ofEpochSecond(350),
+                Instant.ofEpochSecond(450));
+        Reservation c1 = new Reservation("ignored", "ignored", 0, Instant.ofEpochSecond(100),
+                Instant.ofEpochSecond(200));
+        Reservation c2 = new Reservation("ignored", "ignored", 0, Instant.ofEpochSecond(300),
+                Instant.ofEpochSecond(400));
+
+        assertThat(ReservationConflict.findOverlap(Arrays.asList(e1, e2), Arrays.asList(c1, c2))).contains(e2);
+    }
 }
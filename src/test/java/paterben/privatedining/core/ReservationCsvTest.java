@@ -0,0 +1,33 @@
+package paterben.privatedining.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import paterben.privatedining.core.model.Reservation;
+
+public class ReservationCsvTest {
+    @Test
+    @DisplayName("ReservationCsv.toRow() writes all fields in header order")
+    void testToRow() {
+        Reservation r = new Reservation("1234", "2345", "3456", "4567", "reservation1", 3,
+                Instant.ofEpochSecond(11111), Instant.ofEpochSecond(22222), Instant.ofEpochSecond(1234));
+
+        assertEquals(
+                "1234,2345,3456,4567,reservation1,3,1970-01-01T03:05:11Z,1970-01-01T06:10:22Z,false,1970-01-01T00:20:34Z,",
+                ReservationCsv.toRow(r));
+    }
+
+    @Test
+    @DisplayName("ReservationCsv.escape() quotes values with special characters")
+    void testEscape() {
+        assertEquals("plain", ReservationCsv.escape("plain"));
+        assertEquals("", ReservationCsv.escape(null));
+        assertEquals("\"Smith, party of 4\"", ReservationCsv.escape("Smith, party of 4"));
+        assertEquals("\"The \"\"VIP\"\" table\"", ReservationCsv.escape("The \"VIP\" table"));
+        assertEquals("\"line1\nline2\"", ReservationCsv.escape("line1\nline2"));
+    }
+}
@@ -0,0 +1,95 @@
+package paterben.privatedining.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.ReservationEventType;
+
+public class ReservationStatesTest {
+    @Test
+    @DisplayName("ReservationStates.update() returns nothing when reservations are unchanged")
+    void testUpdateUnchanged() {
+        Reservation r1 = makeReservation("1111", false);
+        ReservationStates states = new ReservationStates(Collections.singletonList(r1));
+
+        assertThat(states.update(Collections.singletonList(makeReservation("1111", false)))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("ReservationStates.update() reports new and cancelled reservations")
+    void testUpdateCreatedAndCancelled() {
+        Reservation r1 = makeReservation("1111", false);
+        ReservationStates states = new ReservationStates(Collections.singletonList(r1));
+
+        Reservation r1Cancelled = makeReservation("1111", true);
+        Reservation r2 = makeReservation("2222", false);
+        List<ReservationStates.Change> changes = states.update(Arrays.asList(r1Cancelled, r2));
+
+        assertThat(changes).containsExactly(
+                new ReservationStates.Change(ReservationEventType.RESERVATION_CANCELLED, r1Cancelled),
+                new ReservationStates.Change(ReservationEventType.RESERVATION_CREATED, r2));
+    }
+
+    @Test
+    @DisplayName("ReservationStates.update() reports a reservation first seen as cancelled as created then cancelled")
+    void testUpdateFirstSeenCancelled() {
+        ReservationStates states = new ReservationStates(Collections.emptyList());
+
+        Reservation r1 = makeReservation("1111", true);
+        List<ReservationStates.Change> changes = states.update(Collections.singletonList(r1));
+
+        assertThat(changes).containsExactly(
+                new ReservationStates.Change(ReservationEventType.RESERVATION_CREATED, r1),
+                new ReservationStates.Change(ReservationEventType.RESERVATION_CANCELLED, r1));
+    }
+
+    @Test
+    @DisplayName("ReservationStates.update() reports rescheduled and resized reservations as updated")
+    void testUpdateRescheduled() {
+        Reservation r1 = makeReservation("1111", false);
+        Reservation r2 = makeReservation("2222", false);
+        ReservationStates states = new ReservationStates(Arrays.asList(r1, r2));
+
+        Reservation r1Rescheduled = makeReservation("1111", false);
+        r1Rescheduled.setReservationStart(Instant.ofEpochSecond(12222));
+        Reservation r2Resized = makeReservation("2222", false);
+        r2Resized.setNumGuests(3);
+        List<ReservationStates.Change> changes = states.update(Arrays.asList(r1Rescheduled, r2Resized));
+
+        assertThat(changes).containsExactly(
+                new ReservationStates.Change(ReservationEventType.RESERVATION_UPDATED, r1Rescheduled),
+                new ReservationStates.Change(ReservationEventType.RESERVATION_UPDATED, r2Resized));
+    }
+
+    @Test
+    @DisplayName("ReservationStates.update() reports a reservation moved away as removed, once")
+    void testUpdateMovedAway() {
+        Reservation r1 = makeReservation("1111", false);
+        Reservation r2 = makeReservation("2222", false);
+        ReservationStates states = new ReservationStates(Arrays.asList(r1, r2));
+
+        Reservation r3 = makeReservation("3333", false);
+        List<ReservationStates.Change> changes = states.update(Arrays.asList(r2, r3));
+
+        assertThat(changes).containsExactly(
+                new ReservationStates.Change(ReservationEventType.RESERVATION_CREATED, r3),
+                new ReservationStates.Change(ReservationEventType.RESERVATION_REMOVED, r1));
+        // The removed reservation is forgotten.
+        assertThat(states.update(Arrays.asList(r2, r3))).isEmpty();
+    }
+
+    private Reservation makeReservation(String id, boolean cancelled) {
+        Reservation r = new Reservation(id, "2345", "3456", "4567", "reservation", 2, Instant.ofEpochSecond(11111),
+                Instant.ofEpochSecond(22222), Instant.ofEpochSecond(1234));
+        r.setIsCancelled(cancelled);
+        return r;
+    }
+}
@@ -0,0 +1,100 @@
+package paterben.privatedining.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.ReservationSeries;
+import paterben.privatedining.core.model.SeriesFrequency;
+
+public class SeriesOccurrencesTest {
+    private static final long DAY = 86400;
+
+    private ReservationSeries series = new ReservationSeries("1234", "2345", "series1", 3,
+            Instant.ofEpochSecond(100000), Instant.ofEpochSecond(103600), SeriesFrequency.DAILY, 1, 5,
+            Instant.ofEpochSecond(1234));
+
+    @Test
+    @DisplayName("SeriesOccurrences.all() returns every occurrence, one period apart")
+    void testAll() {
+        List<Reservation> occurrences = SeriesOccurrences.all(series, "3456", "4567");
+
+        assertThat(occurrences).hasSize(5);
+        assertThat(occurrences.get(4)).isEqualTo(new Reservation("1234:4", "3456", "4567", "2345", "series1", 3,
+                Instant.ofEpochSecond(100000 + 4 * DAY), Instant.ofEpochSecond(103600 + 4 * DAY),
+                Instant.ofEpochSecond(1234)));
+        assertThat(SeriesOccurrences.lastStart(series)).isEqualTo(Instant.ofEpochSecond(100000 + 4 * DAY));
+    }
+
+    @Test
+    @DisplayName("SeriesOccurrences.between() only returns the occurrences overlapping the window")
+    void testBetween() {
+        // Occurrence 1 ends exactly at the start of the window, occurrence 3 starts
+        // exactly at its end.
+        List<Reservation> occurrences = SeriesOccurrences.between(series, "3456", "4567",
+                Instant.ofEpochSecond(103600 + DAY), Instant.ofEpochSecond(100000 + 3 * DAY), 100);
+
+        assertThat(occurrences).extracting(Reservation::getId).containsExactly("1234:2");
+    }
+
+    @Test
+    @DisplayName("SeriesOccurrences.between() clamps the window to the series")
+    void testBetweenOutsideSeries() {
+        List<Reservation> occurrences = SeriesOccurrences.between(series, "3456", "4567",
+                Instant.ofEpochSecond(0), Instant.ofEpochSecond(100 * DAY), 100);
+
+        assertThat(occurrences).extracting(Reservation::getId).containsExactly("1234:0", "1234:1", "1234:2",
+                "1234:3", "1234:4");
+        assertThat(SeriesOccurrences.between(series, "3456", "4567", Instant.ofEpochSecond(0),
+                Instant.ofEpochSecond(100000), 100)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("SeriesOccurrences.between() returns at most limit occurrences")
+    void testBetweenLimit() {
+        List<Reservation> occurrences = SeriesOccurrences.between(series, "3456", "4567",
+                Instant.ofEpochSecond(0), Instant.ofEpochSecond(100 * DAY), 2);
+
+        assertThat(occurrences).extracting(Reservation::getId).containsExactly("1234:0", "1234:1");
+    }
+
+    @Test
+    @DisplayName("SeriesOccurrences uses the interval of weekly series")
+    void testWeeklyInterval() {
+        ReservationSeries weekly = new ReservationSeries("1234", "2345", "series1", 3, Instant.ofEpochSecond(100000),
+                Instant.ofEpochSecond(103600), SeriesFrequency.WEEKLY, 2, 3, Instant.ofEpochSecond(1234));
+
+        assertThat(SeriesOccurrences.lastStart(weekly)).isEqualTo(Instant.ofEpochSecond(100000 + 28 * DAY));
+    }
+
+    @Test
+    @DisplayName("SeriesOccurrences keeps the local time of occurrences across DST changes")
+    void testDstChange() {
+        // Tuesdays 19:00 to 21:00 in Paris. DST ends on 2026-10-25.
+        ReservationSeries weekly = new ReservationSeries("1234", "2345", "series1", 3,
+                Instant.parse("2026-10-20T17:00:00Z"), Instant.parse("2026-10-20T19:00:00Z"), SeriesFrequency.WEEKLY,
+                1, 3, Instant.ofEpochSecond(1234));
+        weekly.setTimeZone("Europe/Paris");
+
+        List<Reservation> occurrences = SeriesOccurrences.all(weekly, "3456", "4567");
+
+        assertThat(occurrences).extracting(Reservation::getReservationStart).containsExactly(
+                Instant.parse("2026-10-20T17:00:00Z"), Instant.parse("2026-10-27T18:00:00Z"),
+                Instant.parse("2026-11-03T18:00:00Z"));
+        assertThat(SeriesOccurrences.lastStart(weekly)).isEqualTo(Instant.parse("2026-11-03T18:00:00Z"));
+        // The evenly spaced estimate would end occurrence 1 at 19:00 UTC, before the
+        // window.
+        assertThat(SeriesOccurrences.between(weekly, "3456", "4567", Instant.parse("2026-10-27T19:30:00Z"),
+                Instant.parse("2026-10-27T23:00:00Z"), 100)).extracting(Reservation::getId)
+                .containsExactly("1234:1");
+        // The evenly spaced estimate would start occurrence 1 at 17:00 UTC, within the
+        // window.
+        assertThat(SeriesOccurrences.between(weekly, "3456", "4567", Instant.parse("2026-10-27T16:00:00Z"),
+                Instant.parse("2026-10-27T17:30:00Z"), 100)).isEmpty();
+    }
+}
@@ -0,0 +1,76 @@
+package paterben.privatedining.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SlotBitmapTest {
+    @Test
+    @DisplayName("SlotBitmap.isAligned() accepts only 15-minute boundaries")
+    void testIsAligned() {
+        assertTrue(SlotBitmap.isAligned(Instant.parse("2026-10-19T10:45:00Z")));
+        assertFalse(SlotBitmap.isAligned(Instant.parse("2026-10-19T10:46:00Z")));
+        assertFalse(SlotBitmap.isAligned(Instant.parse("2026-10-19T10:45:00.001Z")));
+    }
+
+    @Test
+    @DisplayName("SlotBitmap.masks() sets one bit per slot within a day")
+    void testMasksSingleDay() {
+        List<SlotBitmap.DayMask> masks = SlotBitmap.masks(Instant.parse("2026-10-19T00:30:00Z"),
+                Instant.parse("2026-10-19T01:15:00Z"));
+
+        assertThat(masks).containsExactly(new SlotBitmap.DayMask(LocalDate.parse("2026-10-19"), 0b11100L, 0));
+    }
+
+    @Test
+    @DisplayName("SlotBitmap.masks() uses the high word for late slots and splits ranges across midnight")
+    void testMasksAcrossMidnight() {
+        List<SlotBitmap.DayMask> masks = SlotBitmap.masks(Instant.parse("2026-10-19T23:30:00Z"),
+                Instant.parse("2026-10-20T00:15:00Z"));
+
+        assertThat(masks).containsExactly(
+                new SlotBitmap.DayMask(LocalDate.parse("2026-10-19"), 0, 0b11L << 30),
+                new SlotBitmap.DayMask(LocalDate.parse("2026-10-20"), 0b1L, 0));
+    }
+
+    @Test
+    @DisplayName("SlotBitmap.masks() includes partially covered slots")
+    void testMasksUnaligned() {
+        List<SlotBitmap.DayMask> masks = SlotBitmap.masks(Instant.parse("2026-10-19T00:10:00Z"),
+                Instant.parse("2026-10-19T00:20:00Z"));
+
+        assertThat(masks).containsExactly(new SlotBitmap.DayMask(LocalDate.parse("2026-10-19"), 0b11L, 0));
+    }
+
+    @Test
+    @DisplayName("DayMask.overlaps() is a bitwise AND")
+    void testOverlaps() {
+        SlotBitmap.DayMask mask = new SlotBitmap.DayMask(LocalDate.parse("2026-10-19"), 0b100L, 0);
+
+        assertTrue(mask.overlaps(0b110L, 0));
+        assertFalse(mask.overlaps(0b011L, -1L));
+    }
+
+    @Test
+    @DisplayName("SlotBitmap.freeSlots() lists the slots whose bit is clear")
+    void testFreeSlots() {
+        List<Instant> free = SlotBitmap.freeSlots(LocalDate.parse("2026-10-19"), -1L, ~(1L << 31));
+
+        assertThat(free).containsExactly(Instant.parse("2026-10-19T23:45:00Z"));
+        assertEquals(96, SlotBitmap.freeSlots(LocalDate.parse("2026-10-19"), 0, 0).size());
+    }
+
+    @Test
+    @DisplayName("SlotBitmap.positions() lists the set bits")
+    void testPositions() {
+        assertThat(SlotBitmap.positions(0b1010L | (1L << 63))).containsExactly(1, 3, 63);
+    }
+}
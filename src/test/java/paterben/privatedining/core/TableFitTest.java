@@ -0,0 +1,47 @@
+package paterben.privatedining.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import paterben.privatedining.core.model.RoomType;
+import paterben.privatedining.core.model.Table;
+
+public class TableFitTest {
+    private final Table big = new Table("1111", "big", 0, 10, RoomType.HALL, 0);
+    private final Table smallExpensive = new Table("2222", "smallExpensive", 0, 4, RoomType.PRIVATE_ROOM, 100);
+    private final Table smallCheap = new Table("3333", "smallCheap", 0, 4, RoomType.HALL, 50);
+    private final Table tiny = new Table("4444", "tiny", 0, 2, RoomType.HALL, 0);
+    private final Table bigMinimum = new Table("5555", "bigMinimum", 6, 8, RoomType.ROOFTOP, 0);
+
+    private final TableFit tableFit = new TableFit(Arrays.asList(big, smallExpensive, smallCheap, tiny, bigMinimum));
+
+    @Test
+    @DisplayName("TableFit.candidates() returns fitting tables by smallest maxCapacity, then lowest minSpend")
+    void testCandidatesBestFitOrder() {
+        assertThat(tableFit.candidates(3, null)).containsExactly(smallCheap, smallExpensive, big);
+    }
+
+    @Test
+    @DisplayName("TableFit.candidates() skips tables whose minCapacity is not reached")
+    void testCandidatesMinCapacity() {
+        assertThat(tableFit.candidates(5, null)).containsExactly(big);
+        assertThat(tableFit.candidates(6, null)).containsExactly(bigMinimum, big);
+    }
+
+    @Test
+    @DisplayName("TableFit.candidates() filters by room type")
+    void testCandidatesRoomType() {
+        assertThat(tableFit.candidates(2, RoomType.HALL)).containsExactly(tiny, smallCheap, big);
+        assertThat(tableFit.candidates(2, RoomType.ROOFTOP)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("TableFit.candidates() returns nothing when no table is big enough")
+    void testCandidatesTooManyGuests() {
+        assertThat(tableFit.candidates(11, null)).isEmpty();
+    }
+}
@@ -0,0 +1,35 @@
+package paterben.privatedining.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    @DisplayName("TokenBucket allows a burst up to its capacity, then rejects with the time to the next token")
+    void testBurst() {
+        TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+        assertThat(bucket.tryConsume(0)).isEqualTo(new TokenBucket.Result(true, 2, 0));
+        assertThat(bucket.tryConsume(0)).isEqualTo(new TokenBucket.Result(true, 1, 0));
+        assertThat(bucket.tryConsume(0)).isEqualTo(new TokenBucket.Result(true, 0, 0));
+        assertThat(bucket.tryConsume(0)).isEqualTo(new TokenBucket.Result(false, 0, SECOND));
+    }
+
+    @Test
+    @DisplayName("TokenBucket refills at its rate and is full again once idle")
+    void testRefill() {
+        TokenBucket bucket = new TokenBucket(2, 2, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+        assertThat(bucket.tryConsume(0).allowed()).isFalse();
+
+        assertThat(bucket.tryConsume(SECOND / 2).allowed()).isTrue();
+        assertThat(bucket.isFull(SECOND / 2)).isFalse();
+        assertThat(bucket.isFull(3 * SECOND / 2)).isTrue();
+        assertThat(bucket.tryConsume(10 * SECOND)).isEqualTo(new TokenBucket.Result(true, 1, 0));
+    }
+}
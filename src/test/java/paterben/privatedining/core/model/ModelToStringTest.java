@@ -2,7 +2,10 @@ package paterben.privatedining.core.model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.time.DayOfWeek;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.Collections;
 
 import org.junit.jupiter.api.DisplayName;
@@ -25,7 +28,7 @@ public class ModelToStringTest {
                 Instant.ofEpochSecond(11111), Instant.ofEpochSecond(22222), Instant.ofEpochSecond(1234));
         DinerReservations dinerReservations = new DinerReservations("1234", Collections.singletonList(reservation));
         assertEquals(
-                "DinerReservations[id='1234', reservations='[Reservation[id='2345', restaurantId='3456', tableId='4567', dinerId='1234', name='reservation1', numGuests='3', reservationStart='1970-01-01T03:05:11Z', reservationEnd='1970-01-01T06:10:22Z', isCancelled='false', createdAt='1970-01-01T00:20:34Z', cancelledAt='null']]']",
+                "DinerReservations[id='1234', reservations='[Reservation[id='2345', restaurantId='3456', tableId='4567', dinerId='1234', name='reservation1', numGuests='3', reservationStart='1970-01-01T03:05:11Z', reservationEnd='1970-01-01T06:10:22Z', isCancelled='false', createdAt='1970-01-01T00:20:34Z', cancelledAt='null', tableName='null', roomType='null', minSpend='0.0']]']",
                 dinerReservations.toString());
     }
 
@@ -35,7 +38,7 @@ public class ModelToStringTest {
         Reservation reservation = new Reservation("1234", "2345", "3456", "4567", "reservation1", 3,
                 Instant.ofEpochSecond(11111), Instant.ofEpochSecond(22222), Instant.ofEpochSecond(1234));
         assertEquals(
-                "Reservation[id='1234', restaurantId='2345', tableId='3456', dinerId='4567', name='reservation1', numGuests='3', reservationStart='1970-01-01T03:05:11Z', reservationEnd='1970-01-01T06:10:22Z', isCancelled='false', createdAt='1970-01-01T00:20:34Z', cancelledAt='null']",
+                "Reservation[id='1234', restaurantId='2345', tableId='3456', dinerId='4567', name='reservation1', numGuests='3', reservationStart='1970-01-01T03:05:11Z', reservationEnd='1970-01-01T06:10:22Z', isCancelled='false', createdAt='1970-01-01T00:20:34Z', cancelledAt='null', tableName='null', roomType='null', minSpend='0.0']",
                 reservation.toString());
     }
 
@@ -45,7 +48,7 @@ public class ModelToStringTest {
         Restaurant restaurant = new Restaurant("1234", "restaurant1", "address1", "email1", "EUR",
                 Instant.ofEpochSecond(1234));
         assertEquals(
-                "Restaurant[id='1234', name='restaurant1', address='address1', email='email1', currency='EUR', createdAt='1970-01-01T00:20:34Z']",
+                "Restaurant[id='1234', name='restaurant1', address='address1', email='email1', currency='EUR', createdAt='1970-01-01T00:20:34Z', openingHours='null']",
                 restaurant.toString());
     }
 
@@ -55,7 +58,7 @@ public class ModelToStringTest {
         Table table = new Table("2345", "table1", 1, 3, RoomType.HALL, 1.5);
         RestaurantTables restaurantTables = new RestaurantTables("1234", Collections.singletonList(table));
         assertEquals(
-                "RestaurantTables[id='1234', tables='[Table[id='2345', name='table1', minCapacity='1', maxCapacity='3', roomType='HALL', minSpend='1.5']]']",
+                "RestaurantTables[id='1234', tables='[Table[id='2345', name='table1', minCapacity='1', maxCapacity='3', roomType='HALL', minSpend='1.5', openingHours='null']]', openingHours='null']",
                 restaurantTables.toString());
     }
 
@@ -64,7 +67,7 @@ public class ModelToStringTest {
     void testTableToString() {
         Table table = new Table("1234", "table1", 1, 3, RoomType.HALL, 1.5);
         assertEquals(
-                "Table[id='1234', name='table1', minCapacity='1', maxCapacity='3', roomType='HALL', minSpend='1.5']",
+                "Table[id='1234', name='table1', minCapacity='1', maxCapacity='3', roomType='HALL', minSpend='1.5', openingHours='null']",
                 table.toString());
     }
 
@@ -76,7 +79,80 @@ public class ModelToStringTest {
         TableReservations tableReservations = new TableReservations("1234", "2345", 2, 4,
                 Collections.singletonList(reservation));
         assertEquals(
-                "TableReservations[id='1234', restaurantId='2345', minCapacity='2', maxCapacity='4', reservations='[Reservation[id='4567', restaurantId='2345', tableId='1234', dinerId='3456', name='reservation1', numGuests='3', reservationStart='1970-01-01T03:05:11Z', reservationEnd='1970-01-01T06:10:22Z', isCancelled='false', createdAt='1970-01-01T00:20:34Z', cancelledAt='null']]']",
+                "TableReservations[id='1234', restaurantId='2345', minCapacity='2', maxCapacity='4', name='null', roomType='null', minSpend='0.0', reservations='[Reservation[id='4567', restaurantId='2345', tableId='1234', dinerId='3456', name='reservation1', numGuests='3', reservationStart='1970-01-01T03:05:11Z', reservationEnd='1970-01-01T06:10:22Z', isCancelled='false', createdAt='1970-01-01T00:20:34Z', cancelledAt='null', tableName='null', roomType='null', minSpend='0.0']]', series='[]', openingHours='null', isDeleted='null', holdVersion='0']",
                 tableReservations.toString());
     }
+
+    @Test
+    @DisplayName("ReservationSeries.toString() works")
+    void testReservationSeriesToString() {
+        ReservationSeries series = new ReservationSeries("1234", "2345", "series1", 3, Instant.ofEpochSecond(11111),
+                Instant.ofEpochSecond(22222), SeriesFrequency.WEEKLY, 2, 10, Instant.ofEpochSecond(1234));
+        assertEquals(
+                "ReservationSeries[id='1234', dinerId='2345', name='series1', numGuests='3', firstReservationStart='1970-01-01T03:05:11Z', firstReservationEnd='1970-01-01T06:10:22Z', frequency='WEEKLY', interval='2', count='10', createdAt='1970-01-01T00:20:34Z', timeZone='null']",
+                series.toString());
+    }
+
+    @Test
+    @DisplayName("OpeningHours.toString() works")
+    void testOpeningHoursToString() {
+        OpeningHours openingHours = new OpeningHours("Europe/Paris",
+                Collections.singletonList(new OpeningPeriod(DayOfWeek.FRIDAY, LocalTime.of(18, 0), LocalTime.of(2, 0))),
+                Collections.singletonList(LocalDate.parse("2026-12-25")));
+        assertEquals(
+                "OpeningHours[timeZone='Europe/Paris', periods='[OpeningPeriod[dayOfWeek='FRIDAY', opens='18:00', closes='02:00']]', closedDates='[2026-12-25]']",
+                openingHours.toString());
+    }
+
+    @Test
+    @DisplayName("TableDaySlots.toString() works")
+    void testTableDaySlotsToString() {
+        TableDaySlots slots = new TableDaySlots("1234", "2026-10-19", 0xf0L, 0x1L);
+        assertEquals(
+                "TableDaySlots[id='1234:2026-10-19', tableId='1234', day='2026-10-19', slots0='f0', slots1='1']",
+                slots.toString());
+    }
+
+    @Test
+    @DisplayName("RestaurantTenant.toString() works")
+    void testRestaurantTenantToString() {
+        RestaurantTenant restaurantTenant = new RestaurantTenant("1234", "bigGroup");
+        assertEquals("RestaurantTenant[id='1234', tenantId='bigGroup']", restaurantTenant.toString());
+    }
+
+    @Test
+    @DisplayName("ReservationHold.toString() works")
+    void testReservationHoldToString() {
+        ReservationHold hold = new ReservationHold("1234", "2345", "3456", "4567", "reservation1", 3,
+                Instant.ofEpochSecond(11111), Instant.ofEpochSecond(22222), Instant.ofEpochSecond(1234),
+                Instant.ofEpochSecond(1834));
+        assertEquals(
+                "ReservationHold[id='1234', restaurantId='2345', tableId='3456', dinerId='4567', name='reservation1', numGuests='3', reservationStart='1970-01-01T03:05:11Z', reservationEnd='1970-01-01T06:10:22Z', createdAt='1970-01-01T00:20:34Z', expiresAt='1970-01-01T00:30:34Z']",
+                hold.toString());
+    }
+
+    @Test
+    @DisplayName("WaitlistEntry.toString() works")
+    void testWaitlistEntryToString() {
+        WaitlistEntry entry = new WaitlistEntry("1234", "2345", "3456", "4567", "entry1", 3,
+                Instant.ofEpochSecond(11111), Instant.ofEpochSecond(22222), 1, Instant.ofEpochSecond(1234));
+        assertEquals(
+                "WaitlistEntry[id='1234', restaurantId='2345', tableId='3456', dinerId='4567', name='entry1', numGuests='3', reservationStart='1970-01-01T03:05:11Z', reservationEnd='1970-01-01T06:10:22Z', priority='1', createdAt='1970-01-01T00:20:34Z']",
+                entry.toString());
+    }
+
+    @Test
+    @DisplayName("DeletionJob.toString() works")
+    void testDeletionJobToString() {
+        DeletionJob job = new DeletionJob("1234", "2345", Instant.ofEpochSecond(1234));
+        assertEquals("DeletionJob[id='null', restaurantId='1234', tableId='2345', createdAt='1970-01-01T00:20:34Z']",
+                job.toString());
+    }
+
+    @Test
+    @DisplayName("AppliedRollupEvent.toString() works")
+    void testAppliedRollupEventToString() {
+        AppliedRollupEvent event = new AppliedRollupEvent("1234:previous", Instant.ofEpochSecond(1234));
+        assertEquals("AppliedRollupEvent[id='1234:previous', appliedAt='1970-01-01T00:20:34Z']", event.toString());
+    }
 }
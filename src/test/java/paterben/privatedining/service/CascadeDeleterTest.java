@@ -0,0 +1,154 @@
+package paterben.privatedining.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import paterben.privatedining.TenancyProperties;
+import paterben.privatedining.core.model.DeletionJob;
+import paterben.privatedining.core.model.DinerReservations;
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.TableReservations;
+import paterben.privatedining.repository.DeletionJobRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class CascadeDeleterTest {
+    @Mock
+    private DeletionJobRepository deletionJobRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private CascadeDeleter cascadeDeleter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cascadeDeleter, "chunkSize", 2);
+        ReflectionTestUtils.setField(cascadeDeleter, "tenancyProperties", new TenancyProperties());
+    }
+
+    @Test
+    @DisplayName("For a deleted table, runJob removes its reservations from diners in chunks, then the table's data and the job")
+    void testRunJobForTable() {
+        // Arrange
+        DeletionJob job = makeJob("9999", "1234", "2345");
+        when(mongoTemplate.findDistinct(any(Query.class), eq("reservations.dinerId"), eq(TableReservations.class),
+                eq(String.class))).thenReturn(Arrays.asList("1111", "2222", "3333"));
+        when(mongoTemplate.getCollectionName(any())).thenReturn("collection");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("collection")))
+                .thenReturn(Collections.emptyList());
+        // Diner 4444 booked after the diners were cleaned up.
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(TableReservations.class)))
+                .thenReturn(new TableReservations("2345", "1234", 1, 4,
+                        Arrays.asList(makeReservation("1111"), makeReservation("4444"))));
+
+        // Act
+        cascadeDeleter.runJob(job);
+
+        // Assert
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(3)).updateMulti(query.capture(), update.capture(), eq(DinerReservations.class));
+        assertThat(query.getAllValues()).satisfiesExactly(
+                q -> assertThat(getInValues(q)).isEqualTo(Arrays.asList("1111", "2222")),
+                q -> assertThat(getInValues(q)).isEqualTo(Arrays.asList("3333")),
+                q -> assertThat(getInValues(q)).isEqualTo(Arrays.asList("4444")));
+        Document pull = (Document) update.getValue().getUpdateObject().get("$pull");
+        assertThat(((Query) pull.get("reservations")).getQueryObject().get("tableId")).isEqualTo("2345");
+        verify(mongoTemplate, times(3)).find(any(Query.class), eq(Document.class), eq("collection"));
+        verify(deletionJobRepository).deleteById("9999");
+    }
+
+    @Test
+    @DisplayName("For a deleted restaurant, runJob deletes the data of each of its tables, then its rollups in chunks")
+    void testRunJobForRestaurant() {
+        // Arrange
+        DeletionJob job = makeJob("9999", "1234", null);
+        TableReservations table = new TableReservations();
+        table.setId("2345");
+        when(mongoTemplate.find(any(Query.class), eq(TableReservations.class)))
+                .thenReturn(Arrays.asList(table), Collections.emptyList());
+        when(mongoTemplate.findDistinct(any(Query.class), eq("reservations.dinerId"), eq(TableReservations.class),
+                eq(String.class))).thenReturn(Collections.emptyList());
+        when(mongoTemplate.getCollectionName(any())).thenReturn("collection");
+        // Slots, holds and waitlist of the table, then two chunks of rollups.
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("collection"))).thenReturn(
+                Collections.emptyList(), Collections.emptyList(), Collections.emptyList(),
+                Arrays.asList(new Document("_id", "1234:2026-10-18"), new Document("_id", "1234:2026-10-19")),
+                Collections.emptyList());
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(TableReservations.class))).thenReturn(table);
+
+        // Act
+        cascadeDeleter.runJob(job);
+
+        // Assert
+        verify(mongoTemplate).findAndRemove(any(Query.class), eq(TableReservations.class));
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(query.capture(), eq("collection"));
+        assertThat(getInValues(query.getValue())).isEqualTo(Arrays.asList("1234:2026-10-18", "1234:2026-10-19"));
+        verify(deletionJobRepository).deleteById("9999");
+    }
+
+    @Test
+    @DisplayName("When a job fails, runPendingJobs keeps it for the next poll and runs the next one")
+    void testRunPendingJobsFailure() {
+        // Arrange
+        DeletionJob job1 = makeJob("8888", "1234", "2345");
+        DeletionJob job2 = makeJob("9999", "1234", "3456");
+        when(deletionJobRepository.findByOrderByCreatedAtAsc(any(Pageable.class)))
+                .thenReturn(Arrays.asList(job1, job2));
+        when(mongoTemplate.findDistinct(any(Query.class), eq("reservations.dinerId"), eq(TableReservations.class),
+                eq(String.class))).thenThrow(new IllegalStateException("read failed"))
+                .thenReturn(Collections.emptyList());
+        when(mongoTemplate.getCollectionName(any())).thenReturn("collection");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("collection")))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        cascadeDeleter.runPendingJobs();
+
+        // Assert
+        verify(deletionJobRepository, never()).deleteById("8888");
+        verify(deletionJobRepository).deleteById("9999");
+    }
+
+    private static List<?> getInValues(Query query) {
+        return (List<?>) ((Document) query.getQueryObject().get("_id")).get("$in");
+    }
+
+    private static DeletionJob makeJob(String id, String restaurantId, String tableId) {
+        DeletionJob job = new DeletionJob(restaurantId, tableId, Instant.ofEpochSecond(1234));
+        job.setId(id);
+        return job;
+    }
+
+    private static Reservation makeReservation(String dinerId) {
+        return new Reservation("5555", "1234", "2345", dinerId, "reservation1", 3, Instant.ofEpochSecond(11111),
+                Instant.ofEpochSecond(22222), Instant.ofEpochSecond(1234));
+    }
+}
@@ -0,0 +1,115 @@
+package paterben.privatedining.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import paterben.privatedining.core.model.DinerReservations;
+import paterben.privatedining.core.model.OpeningHours;
+import paterben.privatedining.core.model.OpeningPeriod;
+import paterben.privatedining.core.model.Restaurant;
+import paterben.privatedining.core.model.RestaurantTables;
+import paterben.privatedining.repository.DinerRepository;
+import paterben.privatedining.repository.RestaurantRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class CompanionDocumentsTest {
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private DinerRepository dinerRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private CompanionDocuments companionDocuments;
+
+    @Test
+    @DisplayName("When restaurant exists, ensureRestaurantTables upserts its document with no tables and the restaurant's opening hours")
+    void testEnsureRestaurantTables() {
+        // Arrange
+        OpeningHours openingHours = new OpeningHours("Europe/Paris",
+                Arrays.asList(new OpeningPeriod(DayOfWeek.FRIDAY, LocalTime.of(18, 0), LocalTime.of(23, 0))),
+                Collections.emptyList());
+        Restaurant restaurant = new Restaurant("1234", "restaurant1", "address1", "email1", "EUR",
+                Instant.ofEpochSecond(1234));
+        restaurant.setOpeningHours(openingHours);
+        when(restaurantRepository.findById("1234")).thenReturn(Optional.of(restaurant));
+
+        // Act
+        boolean result = companionDocuments.ensureRestaurantTables("1234");
+
+        // Assert
+        assertThat(result).isTrue();
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(query.capture(), update.capture(), eq(RestaurantTables.class));
+        assertThat(query.getValue().getQueryObject().get("_id")).isEqualTo("1234");
+        Document setOnInsert = (Document) update.getValue().getUpdateObject().get("$setOnInsert");
+        assertThat(setOnInsert.get("tables")).isEqualTo(Collections.emptyList());
+        assertThat(setOnInsert.get("openingHours")).isEqualTo(openingHours);
+    }
+
+    @Test
+    @DisplayName("When restaurant doesn't exist, ensureRestaurantTables returns false without writing")
+    void testEnsureRestaurantTablesNotFound() {
+        // Act
+        boolean result = companionDocuments.ensureRestaurantTables("1234");
+
+        // Assert
+        assertThat(result).isFalse();
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), any(Class.class));
+    }
+
+    @Test
+    @DisplayName("When diner exists, ensureDinerReservations upserts its document with no reservations")
+    void testEnsureDinerReservations() {
+        // Arrange
+        when(dinerRepository.existsById("5678")).thenReturn(true);
+
+        // Act
+        boolean result = companionDocuments.ensureDinerReservations("5678");
+
+        // Assert
+        assertThat(result).isTrue();
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), update.capture(), eq(DinerReservations.class));
+        Document setOnInsert = (Document) update.getValue().getUpdateObject().get("$setOnInsert");
+        assertThat(setOnInsert.get("reservations")).isEqualTo(Collections.emptyList());
+    }
+
+    @Test
+    @DisplayName("When diner doesn't exist, ensureDinerReservations returns false without writing")
+    void testEnsureDinerReservationsNotFound() {
+        // Act
+        boolean result = companionDocuments.ensureDinerReservations("5678");
+
+        // Assert
+        assertThat(result).isFalse();
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), any(Class.class));
+    }
+}
@@ -0,0 +1,128 @@
+package paterben.privatedining.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.client.result.UpdateResult;
+
+import paterben.privatedining.core.model.DinerReservations;
+import paterben.privatedining.core.model.OutboxEvent;
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.ReservationEventType;
+
+@ExtendWith(MockitoExtension.class)
+public class DinerReservationsProjectionTest {
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private DinerReservationsProjection projection;
+
+    @Test
+    @DisplayName("A creation event pushes the reservation unless the diner already has it")
+    void testApplyCreated() {
+        // Arrange
+        Reservation reservation = makeReservation();
+        OutboxEvent event = new OutboxEvent(ReservationEventType.RESERVATION_CREATED, reservation,
+                Instant.ofEpochSecond(1234));
+
+        // Act
+        projection.applyEvent(event);
+
+        // Assert
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(DinerReservations.class));
+        assertThat(query.getValue().getQueryObject().toJson()).contains("\"$ne\": \"4444\"");
+        assertThat(update.getValue().getUpdateObject().containsKey("$push")).isTrue();
+    }
+
+    @Test
+    @DisplayName("A cancellation event marks the diner's copy as cancelled")
+    void testApplyCancelled() {
+        // Arrange
+        Reservation reservation = makeReservation();
+        reservation.setIsCancelled(true);
+        reservation.setCancelledAt(Instant.ofEpochSecond(2345));
+        OutboxEvent event = new OutboxEvent(ReservationEventType.RESERVATION_CANCELLED, reservation,
+                Instant.ofEpochSecond(2345));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(DinerReservations.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        // Act
+        projection.applyEvent(event);
+
+        // Assert
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(DinerReservations.class));
+        assertThat(update.getValue().getUpdateObject().containsKey("$set")).isTrue();
+    }
+
+    @Test
+    @DisplayName("A cancellation event for a reservation the diner doesn't have pushes the cancelled reservation")
+    void testApplyCancelledNotProjected() {
+        // Arrange
+        Reservation reservation = makeReservation();
+        reservation.setIsCancelled(true);
+        OutboxEvent event = new OutboxEvent(ReservationEventType.RESERVATION_CANCELLED, reservation,
+                Instant.ofEpochSecond(2345));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(DinerReservations.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        // Act
+        projection.applyEvent(event);
+
+        // Assert
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateFirst(any(Query.class), update.capture(),
+                eq(DinerReservations.class));
+        assertThat(update.getAllValues().get(1).getUpdateObject().containsKey("$push")).isTrue();
+    }
+
+    @Test
+    @DisplayName("An update event sets the new table, time and guest count on the diner's copy")
+    void testApplyUpdated() {
+        // Arrange
+        Reservation previous = makeReservation();
+        Reservation reservation = makeReservation();
+        reservation.setTableId("2223");
+        reservation.setNumGuests(3);
+        OutboxEvent event = new OutboxEvent(ReservationEventType.RESERVATION_UPDATED, reservation, previous,
+                Instant.ofEpochSecond(2345));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(DinerReservations.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        // Act
+        projection.applyEvent(event);
+
+        // Assert
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(DinerReservations.class));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertThat(set.get("reservations.$.tableId")).isEqualTo("2223");
+        assertThat(set.get("reservations.$.numGuests")).isEqualTo(3);
+    }
+
+    private Reservation makeReservation() {
+        return new Reservation("4444", "1111", "2222", "3333", "reservation", 2, Instant.ofEpochSecond(11111),
+                Instant.ofEpochSecond(22222), Instant.ofEpochSecond(1234));
+    }
+}
@@ -4,30 +4,43 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Clock;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.HttpStatus;
 
 import paterben.privatedining.core.model.Diner;
 import paterben.privatedining.core.model.DinerReservations;
+import paterben.privatedining.core.model.ReservationHold;
+import paterben.privatedining.core.model.ReservationSeries;
+import paterben.privatedining.core.model.SeriesFrequency;
+import paterben.privatedining.core.model.TableReservations;
+import paterben.privatedining.core.model.WaitlistEntry;
 import paterben.privatedining.repository.DinerRepository;
 import paterben.privatedining.repository.DinerReservationsRepository;
 
@@ -39,6 +52,12 @@ public class DinerServiceImplTest {
     @Mock
     private DinerReservationsRepository dinerReservationsRepository;
 
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private Clock clock;
+
     @InjectMocks
     private DinerServiceImpl dinerService;
 
@@ -144,8 +163,7 @@ public class DinerServiceImplTest {
     @DisplayName("When diner with same email already exists, createDiner fails with CONFLICT")
     void testCreateDinerSameEmailFailsWithConflict() {
         // Arrange
-        Diner foundDiner = new Diner("1234", "diner1", "email1", Instant.ofEpochSecond(1111));
-        when(dinerRepository.findByEmail("email1")).thenReturn(Optional.of(foundDiner));
+        when(dinerRepository.save(any())).thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
 
         // Act
         Diner diner = new Diner("diner2", "email1");
@@ -159,6 +177,25 @@ public class DinerServiceImplTest {
         }
     }
 
+    @Test
+    @DisplayName("When creating the dinerReservations document fails, createDiner deletes the diner")
+    void testCreateDinerReservationsFailureDeletesDiner() {
+        // Arrange
+        when(dinerRepository.save(any()))
+                .thenAnswer(makeSetIdAndCreatedTimeOnDinerAnswer("1234", Instant.ofEpochSecond(1234)));
+        when(dinerReservationsRepository.save(any())).thenThrow(new IllegalStateException("write failed"));
+
+        // Act
+        Diner diner = new Diner("diner1", "email1");
+        try {
+            dinerService.createDiner(diner);
+            fail();
+        } catch (IllegalStateException e) {
+            // Assert
+            verify(dinerRepository).deleteById("1234");
+        }
+    }
+
     @Test
     @DisplayName("When diner to create has ID set, createDiner fails with BAD_REQUEST")
     void testCreateDinerWithIdFailsWithBadRequest() {
@@ -221,6 +258,145 @@ public class DinerServiceImplTest {
         }
     }
 
+    @Test
+    @DisplayName("When diner is valid, updateDiner replaces it and keeps its creation time")
+    void testUpdateDiner() {
+        // Arrange
+        Diner foundDiner = new Diner("1234", "diner1", "email1", Instant.ofEpochSecond(1234));
+        when(dinerRepository.findById("1234")).thenReturn(Optional.of(foundDiner));
+        when(dinerRepository.save(any())).thenAnswer(makeDinerAnswer());
+
+        // Act
+        Diner diner = new Diner("diner2", "email2");
+        Diner result = dinerService.updateDiner("1234", diner);
+
+        // Assert
+        Diner expectedDiner = new Diner("1234", "diner2", "email2", Instant.ofEpochSecond(1234));
+        assertThat(result).isEqualTo(expectedDiner);
+        verify(dinerRepository).save(ArgumentMatchers.eq(expectedDiner));
+    }
+
+    @Test
+    @DisplayName("When diner doesn't exist, updateDiner fails with NOT_FOUND")
+    void testUpdateDinerNotFound() {
+        // Act
+        Diner diner = new Diner("diner2", "email2");
+        try {
+            dinerService.updateDiner("1234", diner);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(e.getMessage()).contains("Diner with ID 1234 not found");
+        }
+    }
+
+    @Test
+    @DisplayName("When diner only has past reservations and series, deleteDiner deletes the diner, their reservations, holds and waitlist entries")
+    void testDeleteDiner() {
+        // Arrange
+        when(dinerRepository.existsById("1234")).thenReturn(true);
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(1000000));
+        when(mongoTemplate.exists(any(Query.class), eq(TableReservations.class))).thenReturn(false);
+        // Last occurrence of the diner's series ends at 86400 * 2 + 7200, while the
+        // series of another diner on the same table is still running.
+        ReservationSeries pastSeries = new ReservationSeries("5678", "1234", "series1", 3, Instant.ofEpochSecond(3600),
+                Instant.ofEpochSecond(7200), SeriesFrequency.DAILY, 1, 3, Instant.ofEpochSecond(1000));
+        ReservationSeries otherSeries = new ReservationSeries("6789", "9999", "series2", 3,
+                Instant.ofEpochSecond(3600), Instant.ofEpochSecond(7200), SeriesFrequency.DAILY, 1, 100,
+                Instant.ofEpochSecond(1000));
+        TableReservations tableReservations = new TableReservations();
+        tableReservations.setSeries(Arrays.asList(pastSeries, otherSeries));
+        when(mongoTemplate.find(any(Query.class), eq(TableReservations.class)))
+                .thenReturn(Arrays.asList(tableReservations));
+
+        // Act
+        dinerService.deleteDiner("1234");
+
+        // Assert
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).exists(query.capture(), eq(TableReservations.class));
+        Document elemMatch = (Document) ((Document) query.getValue().getQueryObject().get("reservations"))
+                .get("$elemMatch");
+        assertThat(elemMatch.get("dinerId")).isEqualTo("1234");
+        verify(mongoTemplate).remove(query.capture(), eq(ReservationHold.class));
+        assertThat(query.getValue().getQueryObject().get("dinerId")).isEqualTo("1234");
+        verify(mongoTemplate).remove(any(Query.class), eq(WaitlistEntry.class));
+        verify(dinerReservationsRepository).deleteById("1234");
+        verify(dinerRepository).deleteById("1234");
+    }
+
+    @Test
+    @DisplayName("When diner has upcoming reservations, deleteDiner fails with CONFLICT")
+    void testDeleteDinerWithUpcomingReservations() {
+        // Arrange
+        when(dinerRepository.existsById("1234")).thenReturn(true);
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(10000));
+        when(mongoTemplate.exists(any(Query.class), eq(TableReservations.class))).thenReturn(true);
+
+        // Act
+        try {
+            dinerService.deleteDiner("1234");
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+            assertThat(e.getMessage()).contains("has upcoming reservations");
+            verify(mongoTemplate, never()).remove(any(Query.class), any(Class.class));
+            verify(dinerRepository, never()).deleteById(any());
+        }
+    }
+
+    @Test
+    @DisplayName("When diner has a reservation series with upcoming occurrences, deleteDiner fails with CONFLICT")
+    void testDeleteDinerWithUpcomingSeries() {
+        // Arrange
+        when(dinerRepository.existsById("1234")).thenReturn(true);
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(100000));
+        when(mongoTemplate.exists(any(Query.class), eq(TableReservations.class))).thenReturn(false);
+        // First occurrence is past, the last one ends at 86400 * 2 + 7200.
+        ReservationSeries series = new ReservationSeries("5678", "1234", "series1", 3, Instant.ofEpochSecond(3600),
+                Instant.ofEpochSecond(7200), SeriesFrequency.DAILY, 1, 3, Instant.ofEpochSecond(1000));
+        TableReservations tableReservations = new TableReservations();
+        tableReservations.setSeries(Arrays.asList(series));
+        when(mongoTemplate.find(any(Query.class), eq(TableReservations.class)))
+                .thenReturn(Arrays.asList(tableReservations));
+
+        // Act
+        try {
+            dinerService.deleteDiner("1234");
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+            assertThat(e.getMessage()).contains("has upcoming reservation series");
+            verify(mongoTemplate, never()).remove(any(Query.class), any(Class.class));
+            verify(dinerRepository, never()).deleteById(any());
+        }
+    }
+
+    @Test
+    @DisplayName("When diner doesn't exist, deleteDiner fails with NOT_FOUND")
+    void testDeleteDinerNotFound() {
+        // Act
+        try {
+            dinerService.deleteDiner("1234");
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(e.getMessage()).contains("Diner with ID 1234 not found");
+        }
+    }
+
+    private Answer<Diner> makeDinerAnswer() {
+        return new Answer<Diner>() {
+            public Diner answer(InvocationOnMock invocation) {
+                return invocation.getArgument(0, Diner.class);
+            }
+        };
+    }
+
     private Answer<Diner> makeSetIdAndCreatedTimeOnDinerAnswer(String id, Instant createdAt) {
         return new Answer<Diner>() {
             public Diner answer(InvocationOnMock invocation) {
@@ -0,0 +1,175 @@
+package paterben.privatedining.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mongodb.bulk.BulkWriteError;
+
+import paterben.privatedining.core.model.ImportRecord;
+import paterben.privatedining.core.model.ImportResult;
+import paterben.privatedining.core.model.Restaurant;
+import paterben.privatedining.core.model.RestaurantTables;
+import paterben.privatedining.core.model.RoomType;
+import paterben.privatedining.core.model.Table;
+import paterben.privatedining.core.model.TableReservations;
+import paterben.privatedining.repository.RestaurantRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class ImportServiceImplTest {
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private TenantDirectory tenantDirectory;
+
+    @Mock
+    private Clock clock;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @InjectMocks
+    private ImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(importService, "chunkSize", 100);
+    }
+
+    @Test
+    @DisplayName("importRecords creates valid restaurants with their restaurantTables documents and reports invalid lines")
+    void testImportRestaurants() {
+        // Arrange
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(1234));
+        when(mongoTemplate.bulkOps(eq(BulkMode.UNORDERED), any(Class.class))).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        Restaurant valid = new Restaurant("restaurant1", "address1", "email1", "eur");
+        Restaurant invalid = new Restaurant(null, "address2", "email2", "EUR");
+        List<ImportRecord> records = Arrays.asList(
+                ImportRecord.ofRestaurant(1, valid),
+                ImportRecord.ofParseError(2, "Invalid JSON"),
+                ImportRecord.ofRestaurant(4, invalid));
+
+        // Act
+        List<ImportResult> results = importService.importRecords(records.iterator());
+
+        // Assert
+        assertThat(results).containsExactly(
+                new ImportResult(1, 200, valid.getId(), null),
+                new ImportResult(2, 400, null, "Invalid JSON"),
+                new ImportResult(4, 400, null, "`name` is required when creating a restaurant."));
+        assertThat(valid.getId()).isNotEmpty();
+        assertEquals("EUR", valid.getCurrency());
+        assertEquals(Instant.ofEpochSecond(1234), valid.getCreatedAt());
+        verify(mongoTemplate).bulkOps(BulkMode.UNORDERED, Restaurant.class);
+        verify(bulkOperations).insert(Arrays.asList(valid));
+        verify(mongoTemplate).bulkOps(BulkMode.UNORDERED, RestaurantTables.class);
+        verify(bulkOperations).insert(Arrays.asList(new RestaurantTables(valid.getId())));
+    }
+
+    @Test
+    @DisplayName("importRecords adds tables to existing restaurants with conditional pushes and reports duplicate names and missing restaurants")
+    void testImportTables() {
+        // Arrange
+        when(mongoTemplate.bulkOps(eq(BulkMode.UNORDERED), any(Class.class))).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        Table existingTable = new Table("2222", "table1", 0, 4, RoomType.HALL, 0);
+        Table newTable = new Table("table2", 2, 6, RoomType.PRIVATE_ROOM, 0);
+        // The opening hours of the restaurants, then the tables after the pushes. The
+        // push of the duplicate table1 didn't match.
+        when(mongoTemplate.find(any(Query.class), eq(RestaurantTables.class)))
+                .thenReturn(Arrays.asList(new RestaurantTables("1111")))
+                .thenAnswer(invocation -> Arrays.asList(
+                        new RestaurantTables("1111", Arrays.asList(existingTable, newTable))));
+        List<ImportRecord> records = Arrays.asList(
+                ImportRecord.ofTable(1, "1111", null, newTable),
+                ImportRecord.ofTable(2, "1111", null, new Table("table1", 0, 4, RoomType.HALL, 0)),
+                ImportRecord.ofTable(3, "9999", null, new Table("table3", 0, 4, RoomType.HALL, 0)));
+
+        // Act
+        List<ImportResult> results = importService.importRecords(records.iterator());
+
+        // Assert
+        assertThat(results).containsExactly(
+                new ImportResult(1, 200, newTable.getId(), null),
+                new ImportResult(2, 409, null, "Table with name \"table1\" already exists"),
+                new ImportResult(3, 404, null, "Restaurant with ID 9999 not found"));
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(bulkOperations, times(2)).updateOne(query.capture(), any(Update.class));
+        assertThat(query.getAllValues().get(0).getQueryObject().get("_id")).isEqualTo("1111");
+        assertThat(((Document) query.getAllValues().get(0).getQueryObject().get("tables.name")).get("$ne"))
+                .isEqualTo("table2");
+        TableReservations newTableReservations = new TableReservations(newTable.getId(), "1111", 2, 6);
+        newTableReservations.setName("table2");
+        newTableReservations.setRoomType(RoomType.PRIVATE_ROOM);
+        verify(bulkOperations).insert(Arrays.asList(newTableReservations));
+    }
+
+    @Test
+    @DisplayName("When the restaurantTables document of a restaurant can't be inserted, importRecords deletes the restaurant and reports the failure")
+    void testImportRestaurantsCompanionFailure() {
+        // Arrange
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(1234));
+        when(mongoTemplate.bulkOps(eq(BulkMode.UNORDERED), any(Class.class))).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        BulkOperationException error = mock(BulkOperationException.class);
+        when(error.getErrors()).thenReturn(
+                Arrays.asList(new BulkWriteError(91, "Shutdown in progress", new BsonDocument(), 1)));
+        // The restaurants are inserted, then the second restaurantTables document
+        // fails.
+        when(bulkOperations.execute()).thenReturn(null).thenThrow(error);
+        Restaurant restaurant1 = new Restaurant("restaurant1", "address1", "email1", "EUR");
+        Restaurant restaurant2 = new Restaurant("restaurant2", "address2", "email2", "EUR");
+        List<ImportRecord> records = Arrays.asList(
+                ImportRecord.ofRestaurant(1, restaurant1),
+                ImportRecord.ofRestaurant(2, restaurant2));
+
+        // Act
+        List<ImportResult> results = importService.importRecords(records.iterator());
+
+        // Assert
+        assertThat(results).containsExactly(
+                new ImportResult(1, 200, restaurant1.getId(), null),
+                new ImportResult(2, 500, null, "Shutdown in progress"));
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(query.capture(), eq(Restaurant.class));
+        assertThat(((Document) query.getValue().getQueryObject().get("_id")).get("$in"))
+                .isEqualTo(Arrays.asList(restaurant2.getId()));
+        verify(tenantDirectory).registerRestaurant(restaurant1.getId());
+        verify(tenantDirectory, never()).registerRestaurant(restaurant2.getId());
+    }
+}
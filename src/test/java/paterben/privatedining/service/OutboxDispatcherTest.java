@@ -0,0 +1,175 @@
+package paterben.privatedining.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import paterben.privatedining.TenancyProperties;
+import paterben.privatedining.core.model.OutboxEvent;
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.ReservationEventType;
+import paterben.privatedining.repository.OutboxEventRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxDispatcherTest {
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ReservationEventSink sink1;
+
+    @Mock
+    private ReservationEventSink sink2;
+
+    @Mock
+    private Clock clock;
+
+    @InjectMocks
+    private OutboxDispatcher outboxDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboxDispatcher, "sinks", Arrays.asList(sink1, sink2));
+        ReflectionTestUtils.setField(outboxDispatcher, "batchSize", 100);
+        ReflectionTestUtils.setField(outboxDispatcher, "maxAttempts", 3);
+        lenient().when(sink1.name()).thenReturn("sink1");
+        lenient().when(sink2.name()).thenReturn("sink2");
+        ReflectionTestUtils.setField(outboxDispatcher, "tenancyProperties", new TenancyProperties());
+    }
+
+    @Test
+    @DisplayName("When events are pending, dispatchPendingEvents publishes them to all sinks and marks them as dispatched")
+    void testDispatchPendingEvents() throws Exception {
+        // Arrange
+        List<OutboxEvent> events = Arrays.asList(makeEvent("1111"), makeEvent("2222"));
+        when(outboxEventRepository.findByDispatchedAtIsNullOrderByCreatedAtAsc(any(Pageable.class)))
+                .thenReturn(events);
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(2345));
+
+        // Act
+        outboxDispatcher.dispatchPendingEvents();
+
+        // Assert
+        verify(sink1).publish(events);
+        verify(sink2).publish(events);
+        verify(mongoTemplate).updateMulti(any(Query.class),
+                eq(Update.update("dispatchedAt", Instant.ofEpochSecond(2345))), eq(OutboxEvent.class));
+    }
+
+    @Test
+    @DisplayName("When a sink fails, dispatchPendingEvents records the other sinks' deliveries and the attempt, without marking the events as dispatched")
+    void testDispatchPendingEventsSinkFailure() throws Exception {
+        // Arrange
+        List<OutboxEvent> events = Collections.singletonList(makeEvent("1111"));
+        when(outboxEventRepository.findByDispatchedAtIsNullOrderByCreatedAtAsc(any(Pageable.class)))
+                .thenReturn(events);
+        doThrow(new IOException("disk full")).when(sink1).publish(events);
+
+        // Act
+        outboxDispatcher.dispatchPendingEvents();
+
+        // Assert
+        verify(sink2).publish(events);
+        verify(mongoTemplate).updateMulti(any(Query.class), eq(new Update().addToSet("deliveredTo", "sink2")),
+                eq(OutboxEvent.class));
+        verify(mongoTemplate).updateMulti(any(Query.class), eq(new Update().inc("attempts", 1)),
+                eq(OutboxEvent.class));
+        verify(mongoTemplate, never()).updateMulti(any(Query.class),
+                eq(Update.update("dispatchedAt", Instant.ofEpochSecond(2345))), eq(OutboxEvent.class));
+    }
+
+    @Test
+    @DisplayName("When retrying a batch, dispatchPendingEvents only publishes to the sinks that didn't get it")
+    void testDispatchPendingEventsRetry() throws Exception {
+        // Arrange
+        OutboxEvent event = makeEvent("1111");
+        event.setDeliveredTo(Arrays.asList("sink2"));
+        event.setAttempts(1);
+        List<OutboxEvent> events = Collections.singletonList(event);
+        when(outboxEventRepository.findByDispatchedAtIsNullOrderByCreatedAtAsc(any(Pageable.class)))
+                .thenReturn(events);
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(2345));
+
+        // Act
+        outboxDispatcher.dispatchPendingEvents();
+
+        // Assert
+        verify(sink1).publish(events);
+        verify(sink2, never()).publish(any());
+        verify(mongoTemplate).updateMulti(any(Query.class),
+                eq(Update.update("dispatchedAt", Instant.ofEpochSecond(2345))), eq(OutboxEvent.class));
+    }
+
+    @Test
+    @DisplayName("When a sink keeps failing, dispatchPendingEvents gives up on the events after maxAttempts and moves on")
+    void testDispatchPendingEventsGivesUp() throws Exception {
+        // Arrange
+        OutboxEvent event = makeEvent("1111");
+        event.setDeliveredTo(Arrays.asList("sink2"));
+        event.setAttempts(2);
+        List<OutboxEvent> events = Collections.singletonList(event);
+        when(outboxEventRepository.findByDispatchedAtIsNullOrderByCreatedAtAsc(any(Pageable.class)))
+                .thenReturn(events);
+        doThrow(new IOException("disk full")).when(sink1).publish(events);
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(2345));
+
+        // Act
+        outboxDispatcher.dispatchPendingEvents();
+
+        // Assert
+        verify(sink2, never()).publish(any());
+        verify(mongoTemplate).updateMulti(any(Query.class),
+                eq(Update.update("dispatchedAt", Instant.ofEpochSecond(2345))), eq(OutboxEvent.class));
+    }
+
+    @Test
+    @DisplayName("When no events are pending, dispatchPendingEvents does nothing")
+    void testDispatchPendingEventsEmpty() throws Exception {
+        // Arrange
+        when(outboxEventRepository.findByDispatchedAtIsNullOrderByCreatedAtAsc(any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        outboxDispatcher.dispatchPendingEvents();
+
+        // Assert
+        verify(sink1, never()).publish(any());
+        verify(sink2, never()).publish(any());
+    }
+
+    private OutboxEvent makeEvent(String id) {
+        Reservation reservation = new Reservation("4111", "1111", "2222", "3111", "reservation1", 1,
+                Instant.ofEpochSecond(11111), Instant.ofEpochSecond(22222), Instant.ofEpochSecond(1234));
+        OutboxEvent event = new OutboxEvent(ReservationEventType.RESERVATION_CREATED, reservation,
+                Instant.ofEpochSecond(1234));
+        event.setId(id);
+        return event;
+    }
+}
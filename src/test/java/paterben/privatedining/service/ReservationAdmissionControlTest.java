@@ -0,0 +1,107 @@
+package paterben.privatedining.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class ReservationAdmissionControlTest {
+    private ReservationAdmissionControl admissionControl = new ReservationAdmissionControl();
+
+    @BeforeEach
+    void setUp() {
+        // Initial limits are half the max limits, i.e. one request at a time.
+        ReflectionTestUtils.setField(admissionControl, "enabled", true);
+        ReflectionTestUtils.setField(admissionControl, "tableMaxLimit", 2);
+        ReflectionTestUtils.setField(admissionControl, "restaurantMaxLimit", 4);
+        ReflectionTestUtils.setField(admissionControl, "maxQueue", 0);
+        ReflectionTestUtils.setField(admissionControl, "maxWait", Duration.ZERO);
+        ReflectionTestUtils.setField(admissionControl, "latencyTarget", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(admissionControl, "retryAfter", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(admissionControl, "idleExpiry", Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("When the table limit is reached, admit rejects with SERVICE_UNAVAILABLE and Retry-After")
+    void testAdmitTableLimitReached() {
+        // Act
+        String result = admissionControl.admit("1111", "2222", () -> {
+            try {
+                admissionControl.admit("1111", "2222", () -> "inner");
+                fail();
+            } catch (ServiceException e) {
+                // Assert
+                assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(2));
+                assertThat(e.getMessage()).contains("for this table");
+            }
+            return "outer";
+        });
+
+        // Assert
+        assertThat(result).isEqualTo("outer");
+    }
+
+    @Test
+    @DisplayName("A request rejected by the table limit doesn't hold on to a restaurant permit")
+    void testAdmitReleasesRestaurantPermitOnRejection() {
+        // Arrange
+        admissionControl.admit("1111", "2222", () -> {
+            try {
+                admissionControl.admit("1111", "2222", () -> "inner");
+                fail();
+            } catch (ServiceException e) {
+                assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            // Act & Assert: the restaurant limit of 2 still has a permit left.
+            assertThat(admissionControl.admit("1111", "3333", () -> "other table")).isEqualTo("other table");
+            return "outer";
+        });
+    }
+
+    @Test
+    @DisplayName("Permits are released when the write fails")
+    void testAdmitReleasesOnFailure() {
+        // Arrange
+        try {
+            admissionControl.admit("1111", "2222", () -> {
+                throw new ServiceException("conflict", HttpStatus.CONFLICT);
+            });
+            fail();
+        } catch (ServiceException e) {
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        }
+
+        // Act & Assert
+        assertThat(admissionControl.admit("1111", "2222", () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("Idle limiters are evicted, but not the ones in use")
+    void testEvictIdleLimiters() {
+        // Arrange
+        admissionControl.admit("1111", "2222", () -> "ok");
+
+        // Act
+        admissionControl.admit("1111", "3333", () -> {
+            admissionControl.evictIdleLimiters();
+            return "ok";
+        });
+
+        // Assert
+        assertThat(((Map<?, ?>) ReflectionTestUtils.getField(admissionControl, "tableLimiters")).keySet())
+                .containsExactly("3333");
+        assertThat(((Map<?, ?>) ReflectionTestUtils.getField(admissionControl, "restaurantLimiters")).keySet())
+                .containsExactly("1111");
+        admissionControl.evictIdleLimiters();
+        assertThat(((Map<?, ?>) ReflectionTestUtils.getField(admissionControl, "tableLimiters"))).isEmpty();
+        assertThat(((Map<?, ?>) ReflectionTestUtils.getField(admissionControl, "restaurantLimiters"))).isEmpty();
+    }
+}
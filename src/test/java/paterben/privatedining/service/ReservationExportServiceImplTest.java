@@ -0,0 +1,68 @@
+package paterben.privatedining.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import paterben.privatedining.core.model.ExportFormat;
+import paterben.privatedining.core.model.Reservation;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationExportServiceImplTest {
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @InjectMocks
+    private ReservationExportServiceImpl reservationExportService;
+
+    @Test
+    @DisplayName("exportAllReservations writes gzip-compressed CSV with a header row")
+    void testExportCsv() throws IOException {
+        // Arrange
+        Reservation r1 = new Reservation("1111", "2222", "3333", "4444", "reservation1", 2,
+                Instant.ofEpochSecond(11111), Instant.ofEpochSecond(22222), Instant.ofEpochSecond(1234));
+        Reservation r2 = new Reservation("5555", "2222", "3333", "4444", "reservation2", 4,
+                Instant.ofEpochSecond(33333), Instant.ofEpochSecond(44444), Instant.ofEpochSecond(1234));
+        when(mongoTemplate.aggregateStream(any(Aggregation.class), eq("tableReservations"), eq(Reservation.class)))
+                .thenReturn(Stream.of(r1, r2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = reservationExportService.exportAllReservations(ExportFormat.CSV, out);
+
+        // Assert
+        assertEquals(2, count);
+        String csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertEquals(
+                "id,restaurantId,tableId,dinerId,name,numGuests,reservationStart,reservationEnd,isCancelled,createdAt,cancelledAt\n"
+                        + "1111,2222,3333,4444,reservation1,2,1970-01-01T03:05:11Z,1970-01-01T06:10:22Z,false,1970-01-01T00:20:34Z,\n"
+                        + "5555,2222,3333,4444,reservation2,4,1970-01-01T09:15:33Z,1970-01-01T12:20:44Z,false,1970-01-01T00:20:34Z,\n",
+                csv);
+    }
+}
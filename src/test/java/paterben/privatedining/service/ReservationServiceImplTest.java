@@ -4,14 +4,22 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,18 +27,41 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.bson.Document;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mongodb.client.result.UpdateResult;
 
 import paterben.privatedining.core.model.DinerReservations;
+import paterben.privatedining.core.model.OpeningHours;
+import paterben.privatedining.core.model.OpeningPeriod;
+import paterben.privatedining.core.model.OutboxEvent;
 import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.ReservationEventType;
+import paterben.privatedining.core.model.ReservationHold;
+import paterben.privatedining.core.model.ReservationSeries;
+import paterben.privatedining.core.model.RoomType;
+import paterben.privatedining.core.model.SeriesFrequency;
 import paterben.privatedining.core.model.TableReservations;
 import paterben.privatedining.repository.DinerReservationsRepository;
+import paterben.privatedining.repository.OutboxEventRepository;
+import paterben.privatedining.repository.ReservationHoldRepository;
+import paterben.privatedining.repository.RestaurantTablesRepository;
 import paterben.privatedining.repository.TableReservationsRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,16 +72,41 @@ public class ReservationServiceImplTest {
     @Mock
     private DinerReservationsRepository dinerReservationsRepository;
 
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private ReservationHoldRepository reservationHoldRepository;
+
+    @Mock
+    private RestaurantTablesRepository restaurantTablesRepository;
+
+    @Mock
+    private CompanionDocuments companionDocuments;
+
+    @Mock
+    private TableSlotsService tableSlotsService;
+
+    @Mock
+    private TableSlotsBackfill tableSlotsBackfill;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
     @Mock
     private Clock clock;
 
+    @Spy
+    private OpeningHoursCache openingHoursCache;
+
     @InjectMocks
     private ReservationServiceImpl reservationService;
 
     @BeforeEach
     void setUp() {
-        lenient().when(tableReservationsRepository.findById(any())).thenReturn(Optional.empty());
+        lenient().when(tableReservationsRepository.findByIdAndRestaurantId(any(), any())).thenReturn(Optional.empty());
         lenient().when(dinerReservationsRepository.findById(any())).thenReturn(Optional.empty());
+        lenient().when(tableSlotsBackfill.isDone()).thenReturn(true);
     }
 
     @Test
@@ -63,7 +119,8 @@ public class ReservationServiceImplTest {
                 Instant.ofEpochSecond(22222), Instant.ofEpochSecond(33333), Instant.ofEpochSecond(2345));
         TableReservations foundTableReservations = new TableReservations("2345", "1234", 1, 3,
                 Arrays.asList(foundReservation1, foundReservation2));
-        when(tableReservationsRepository.findById("2345")).thenReturn(Optional.of(foundTableReservations));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2345"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
 
         // Act
         Optional<List<Reservation>> result = reservationService.listReservationsForRestaurantAndTable("1234", "2345");
@@ -85,7 +142,8 @@ public class ReservationServiceImplTest {
                 Instant.ofEpochSecond(22222), Instant.ofEpochSecond(33333), Instant.ofEpochSecond(2345));
         TableReservations foundTableReservations = new TableReservations("2345", "9999", 1, 3,
                 Arrays.asList(foundReservation1, foundReservation2));
-        when(tableReservationsRepository.findById("2345")).thenReturn(Optional.of(foundTableReservations));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2345"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
 
         // Act
         Optional<List<Reservation>> result = reservationService.listReservationsForRestaurantAndTable("1234", "2345");
@@ -104,6 +162,82 @@ public class ReservationServiceImplTest {
         assertThat(result).isNotPresent();
     }
 
+    @Test
+    @DisplayName("When restaurant exists, listReservationsForRestaurant returns the reservations from the aggregation")
+    void testListReservationsForRestaurant() {
+        // Arrange
+        Reservation found = new Reservation("4111", "1111", "2222", "3111", "reservation1", 1,
+                Instant.ofEpochSecond(11111), Instant.ofEpochSecond(22222), Instant.ofEpochSecond(1234));
+        when(restaurantTablesRepository.existsById("1111")).thenReturn(true);
+        when(mongoTemplate.aggregate(any(Aggregation.class), ArgumentMatchers.eq("tableReservations"),
+                ArgumentMatchers.eq(Reservation.class)))
+                .thenReturn(new AggregationResults<>(Arrays.asList(found), new Document()));
+
+        // Act
+        Optional<List<Reservation>> result = reservationService.listReservationsForRestaurant("1111",
+                Instant.ofEpochSecond(10000), Instant.ofEpochSecond(20000), 0, 100);
+
+        // Assert
+        assertThat(result).contains(Arrays.asList(found));
+    }
+
+    @Test
+    @DisplayName("When the restaurant has reservation series, listReservationsForRestaurant merges their occurrences in the window")
+    void testListReservationsForRestaurantWithSeries() {
+        // Arrange
+        Reservation found = new Reservation("4111", "1111", "2222", "3111", "reservation1", 1,
+                Instant.ofEpochSecond(11111), Instant.ofEpochSecond(22222), Instant.ofEpochSecond(1234));
+        when(restaurantTablesRepository.existsById("1111")).thenReturn(true);
+        when(mongoTemplate.aggregate(any(Aggregation.class), ArgumentMatchers.eq("tableReservations"),
+                ArgumentMatchers.eq(Reservation.class)))
+                .thenReturn(new AggregationResults<>(Arrays.asList(found), new Document()));
+        TableReservations foundTableReservations = new TableReservations("2333", "1111", 1, 3);
+        foundTableReservations.getSeries().add(new ReservationSeries("9111", "3222", "series1", 2,
+                Instant.ofEpochSecond(5000), Instant.ofEpochSecond(6000), SeriesFrequency.DAILY, 1, 3,
+                Instant.ofEpochSecond(1234)));
+        when(mongoTemplate.find(any(Query.class), ArgumentMatchers.eq(TableReservations.class)))
+                .thenReturn(Arrays.asList(foundTableReservations));
+
+        // Act
+        Optional<List<Reservation>> result = reservationService.listReservationsForRestaurant("1111",
+                Instant.ofEpochSecond(10000), Instant.ofEpochSecond(100000), 0, 100);
+
+        // Assert
+        assertThat(result).isPresent();
+        assertThat(result.get()).satisfiesExactly(
+                r -> assertEquals(found, r),
+                r -> assertEquals(new Reservation("9111:1", "1111", "2333", "3222", "series1", 2,
+                        Instant.ofEpochSecond(91400), Instant.ofEpochSecond(92400), Instant.ofEpochSecond(1234)), r));
+    }
+
+    @Test
+    @DisplayName("When restaurant doesn't exist, listReservationsForRestaurant returns empty")
+    void testListReservationsForRestaurantNotFound() {
+        // Arrange
+        when(restaurantTablesRepository.existsById("1111")).thenReturn(false);
+
+        // Act
+        Optional<List<Reservation>> result = reservationService.listReservationsForRestaurant("1111",
+                Instant.ofEpochSecond(10000), Instant.ofEpochSecond(20000), 0, 100);
+
+        // Assert
+        assertThat(result).isNotPresent();
+    }
+
+    @Test
+    @DisplayName("When the time window is empty, listReservationsForRestaurant fails with BAD_REQUEST")
+    void testListReservationsForRestaurantInvalidWindow() {
+        // Act
+        try {
+            reservationService.listReservationsForRestaurant("1111", Instant.ofEpochSecond(20000),
+                    Instant.ofEpochSecond(20000), 0, 100);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @Test
     @DisplayName("When diner exists, listReservationsForDiner returns the list")
     void testListReservationsForDiner() {
@@ -136,6 +270,20 @@ public class ReservationServiceImplTest {
         assertThat(result).isNotPresent();
     }
 
+    @Test
+    @DisplayName("When diner exists without its dinerReservations document, listReservationsForDiner creates it and returns an empty list")
+    void testListReservationsForDinerMissingDinerReservations() {
+        // Arrange
+        when(companionDocuments.ensureDinerReservations("5678")).thenReturn(true);
+
+        // Act
+        Optional<List<Reservation>> result = reservationService.listReservationsForDiner("5678");
+
+        // Assert
+        assertThat(result).isPresent();
+        assertThat(result.get()).isEmpty();
+    }
+
     @Test
     @DisplayName("When reservation exists, getReservationForDinerById returns it")
     void testGetReservationForDinerByIdFound() {
@@ -195,7 +343,8 @@ public class ReservationServiceImplTest {
                 Instant.ofEpochSecond(22222), Instant.ofEpochSecond(33333), Instant.ofEpochSecond(2345));
         TableReservations foundTableReservations = new TableReservations("2345", "1234", 1, 3,
                 Arrays.asList(foundReservation1, foundReservation2));
-        when(tableReservationsRepository.findById("2345")).thenReturn(Optional.of(foundTableReservations));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2345"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
 
         // Act
         Optional<Reservation> result = reservationService.getReservationForRestaurantAndTableById("1234", "2345",
@@ -216,7 +365,8 @@ public class ReservationServiceImplTest {
                 Instant.ofEpochSecond(22222), Instant.ofEpochSecond(33333), Instant.ofEpochSecond(2345));
         TableReservations foundTableReservations = new TableReservations("2345", "9999", 1, 3,
                 Arrays.asList(foundReservation1, foundReservation2));
-        when(tableReservationsRepository.findById("2345")).thenReturn(Optional.of(foundTableReservations));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2345"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
 
         // Act
         Optional<Reservation> result = reservationService.getReservationForRestaurantAndTableById("1234", "2345",
@@ -236,7 +386,8 @@ public class ReservationServiceImplTest {
                 Instant.ofEpochSecond(22222), Instant.ofEpochSecond(33333), Instant.ofEpochSecond(2345));
         TableReservations foundTableReservations = new TableReservations("2345", "1234", 1, 3,
                 Arrays.asList(foundReservation1, foundReservation2));
-        when(tableReservationsRepository.findById("2345")).thenReturn(Optional.of(foundTableReservations));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2345"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
 
         // Act
         Optional<Reservation> result = reservationService.getReservationForRestaurantAndTableById("1234", "2345",
@@ -267,7 +418,11 @@ public class ReservationServiceImplTest {
                 Instant.ofEpochSecond(22222), Instant.ofEpochSecond(33333), Instant.ofEpochSecond(2345));
         TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3,
                 new ArrayList<Reservation>(Arrays.asList(foundTableReservation1, foundTableReservation2)));
-        when(tableReservationsRepository.findById("2222")).thenReturn(Optional.of(foundTableReservations));
+        foundTableReservations.setName("table1");
+        foundTableReservations.setRoomType(RoomType.PRIVATE_ROOM);
+        foundTableReservations.setMinSpend(150);
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
         Reservation foundDinerReservation1 = new Reservation("4333", "1222", "2333", "3222", "reservation3", 3,
                 Instant.ofEpochSecond(11111), Instant.ofEpochSecond(22222), Instant.ofEpochSecond(1234));
         Reservation foundDinerReservation2 = new Reservation("4222", "1111", "2222", "3222", "reservation2", 2,
@@ -289,13 +444,142 @@ public class ReservationServiceImplTest {
         Reservation expectedReservation = new Reservation(result.getId(), "1111", "2222", "3222", "reservation4", 3,
                 Instant.ofEpochSecond(33333),
                 Instant.ofEpochSecond(44444), Instant.ofEpochSecond(33332));
+        expectedReservation.setTableName("table1");
+        expectedReservation.setRoomType(RoomType.PRIVATE_ROOM);
+        expectedReservation.setMinSpend(150);
         assertThat(result).isEqualTo(expectedReservation);
         TableReservations tableReservations = new TableReservations("2222", "1111", 1, 3,
                 Arrays.asList(foundTableReservation1, foundTableReservation2, expectedReservation));
+        tableReservations.setName("table1");
+        tableReservations.setRoomType(RoomType.PRIVATE_ROOM);
+        tableReservations.setMinSpend(150);
         verify(tableReservationsRepository).save(ArgumentMatchers.eq(tableReservations));
         DinerReservations dinerReservations = new DinerReservations("3222",
                 Arrays.asList(foundDinerReservation1, foundDinerReservation2, expectedReservation));
         verify(dinerReservationsRepository).save(ArgumentMatchers.eq(dinerReservations));
+        verify(outboxEventRepository).save(ArgumentMatchers.eq(new OutboxEvent(
+                ReservationEventType.RESERVATION_CREATED, expectedReservation, Instant.ofEpochSecond(33332))));
+    }
+
+    @Test
+    @DisplayName("With the async diner projection, createReservationForRestaurantAndTable only checks that the diner exists and doesn't write dinerReservations")
+    void testCreateReservationForRestaurantAndTableAsyncDinerProjection() {
+        // Arrange
+        ReflectionTestUtils.setField(reservationService, "asyncDinerProjection", true);
+        TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3,
+                new ArrayList<Reservation>());
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
+        when(dinerReservationsRepository.existsById("3222")).thenReturn(true);
+        when(tableReservationsRepository.save(any())).thenAnswer(makeTableReservationsAnswer());
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(33332));
+
+        // Act
+        Reservation reservation = new Reservation("3222", "reservation4", 3, Instant.ofEpochSecond(33333),
+                Instant.ofEpochSecond(44444));
+        Reservation result = reservationService.createReservationForRestaurantAndTable("1111", "2222", reservation);
+
+        // Assert
+        assertThat(result.getDinerId()).isEqualTo("3222");
+        verify(dinerReservationsRepository, never()).save(any());
+        verify(outboxEventRepository).save(any());
+    }
+
+    @Test
+    @DisplayName("In slot mode, createReservationForRestaurantAndTable reserves the slots instead of scanning existing reservations")
+    void testCreateReservationForRestaurantAndTableSlotMode() {
+        // Arrange
+        ReflectionTestUtils.setField(reservationService, "slotsEnabled", true);
+        TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3);
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
+        DinerReservations foundDinerReservations = new DinerReservations("3222");
+        when(dinerReservationsRepository.findById("3222")).thenReturn(Optional.of(foundDinerReservations));
+        when(tableReservationsRepository.save(any())).thenAnswer(makeTableReservationsAnswer());
+        when(dinerReservationsRepository.save(any())).thenAnswer(makeDinerReservationsAnswer());
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(33332));
+
+        // Act
+        Reservation reservation = new Reservation("3222", "reservation4", 3, Instant.ofEpochSecond(36000),
+                Instant.ofEpochSecond(43200));
+        reservationService.createReservationForRestaurantAndTable("1111", "2222", reservation);
+
+        // Assert
+        verify(tableSlotsService).reserveSlots("2222", Instant.ofEpochSecond(36000), Instant.ofEpochSecond(43200));
+    }
+
+    @Test
+    @DisplayName("In slot mode, when the slots are already reserved, createReservationForRestaurantAndTable fails with CONFLICT")
+    void testCreateReservationForRestaurantAndTableSlotModeConflict() {
+        // Arrange
+        ReflectionTestUtils.setField(reservationService, "slotsEnabled", true);
+        TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3);
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
+        DinerReservations foundDinerReservations = new DinerReservations("3222");
+        when(dinerReservationsRepository.findById("3222")).thenReturn(Optional.of(foundDinerReservations));
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(33332));
+        doThrow(new ServiceException("Reservation to create conflicts with an existing reservation.",
+                HttpStatus.CONFLICT)).when(tableSlotsService).reserveSlots(any(), any(), any());
+
+        // Act
+        Reservation reservation = new Reservation("3222", "reservation4", 3, Instant.ofEpochSecond(36000),
+                Instant.ofEpochSecond(43200));
+        try {
+            reservationService.createReservationForRestaurantAndTable("1111", "2222", reservation);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        }
+    }
+
+    @Test
+    @DisplayName("In slot mode, before the bitmaps are rebuilt, createReservationForRestaurantAndTable also scans existing reservations")
+    void testCreateReservationForRestaurantAndTableSlotModeBeforeBackfill() {
+        // Arrange
+        ReflectionTestUtils.setField(reservationService, "slotsEnabled", true);
+        when(tableSlotsBackfill.isDone()).thenReturn(false);
+        // Made while slot mode was disabled, so missing from the bitmaps.
+        Reservation foundTableReservation = new Reservation("4111", "1111", "2222", "3111", "reservation1", 1,
+                Instant.ofEpochSecond(36000), Instant.ofEpochSecond(39600), Instant.ofEpochSecond(1234));
+        TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3,
+                new ArrayList<Reservation>(Arrays.asList(foundTableReservation)));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(33332));
+
+        // Act
+        Reservation reservation = new Reservation("3222", "reservation4", 3, Instant.ofEpochSecond(36000),
+                Instant.ofEpochSecond(43200));
+        try {
+            reservationService.createReservationForRestaurantAndTable("1111", "2222", reservation);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+            assertThat(e.getMessage()).contains("Reservation to create conflicts with reservation with ID 4111");
+        }
+    }
+
+    @Test
+    @DisplayName("In slot mode, when reservation times are not on 15-minute boundaries, createReservationForRestaurantAndTable fails with BAD_REQUEST")
+    void testCreateReservationForRestaurantAndTableSlotModeUnaligned() {
+        // Arrange
+        ReflectionTestUtils.setField(reservationService, "slotsEnabled", true);
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(33332));
+
+        // Act
+        Reservation reservation = new Reservation("3222", "reservation4", 3, Instant.ofEpochSecond(36000),
+                Instant.ofEpochSecond(43260));
+        try {
+            reservationService.createReservationForRestaurantAndTable("1111", "2222", reservation);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThat(e.getMessage()).contains("15-minute boundaries");
+        }
     }
 
     @Test
@@ -308,7 +592,8 @@ public class ReservationServiceImplTest {
                 Instant.ofEpochSecond(22222), Instant.ofEpochSecond(33333), Instant.ofEpochSecond(2345));
         TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3,
                 new ArrayList<Reservation>(Arrays.asList(foundTableReservation1, foundTableReservation2)));
-        when(tableReservationsRepository.findById("2222")).thenReturn(Optional.of(foundTableReservations));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
         when(clock.instant()).thenReturn(Instant.ofEpochSecond(33331));
 
         // Act
@@ -324,12 +609,91 @@ public class ReservationServiceImplTest {
         }
     }
 
+    @Test
+    @DisplayName("When reservation conflicts with an unexpired hold, createReservationForRestaurantAndTable fails with CONFLICT")
+    void testCreateReservationForRestaurantAndTableHoldConflict() {
+        // Arrange
+        TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3,
+                new ArrayList<Reservation>());
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(33331));
+        ReservationHold hold = new ReservationHold("5111", "1111", "2222", "3111", "hold1", 2,
+                Instant.ofEpochSecond(40000), Instant.ofEpochSecond(50000), Instant.ofEpochSecond(33000),
+                Instant.ofEpochSecond(33600));
+        when(reservationHoldRepository.findLiveOverlapping("1111", "2222", Instant.ofEpochSecond(33332),
+                Instant.ofEpochSecond(44444), Instant.ofEpochSecond(33331))).thenReturn(Arrays.asList(hold));
+
+        // Act
+        Reservation reservation = new Reservation("3222", "reservation4", 3, Instant.ofEpochSecond(33332),
+                Instant.ofEpochSecond(44444));
+        try {
+            reservationService.createReservationForRestaurantAndTable("1111", "2222", reservation);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+            assertThat(e.getMessage()).contains("Reservation to create conflicts with hold with ID 5111");
+        }
+    }
+
+    @Test
+    @DisplayName("When reservation is outside the opening hours of the table, createReservationForRestaurantAndTable fails with CONFLICT")
+    void testCreateReservationForRestaurantAndTableOutsideOpeningHours() {
+        // Arrange
+        TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3,
+                new ArrayList<Reservation>());
+        // Epoch day 0 is a Thursday.
+        foundTableReservations.setOpeningHours(new OpeningHours("UTC",
+                Arrays.asList(new OpeningPeriod(DayOfWeek.THURSDAY, LocalTime.of(18, 0), LocalTime.of(23, 0))),
+                Collections.emptyList()));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(33331));
+
+        // Act
+        Reservation reservation = new Reservation("3222", "reservation4", 3, Instant.ofEpochSecond(33332),
+                Instant.ofEpochSecond(44444));
+        try {
+            reservationService.createReservationForRestaurantAndTable("1111", "2222", reservation);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+            assertThat(e.getMessage()).contains("outside the opening hours");
+            verify(tableReservationsRepository, never()).save(any());
+        }
+    }
+
+    @Test
+    @DisplayName("listFreeSlotsForRestaurantAndTable only returns slots within the opening hours of the table")
+    void testListFreeSlotsForRestaurantAndTableOpeningHours() {
+        // Arrange
+        TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3,
+                new ArrayList<Reservation>());
+        foundTableReservations.setOpeningHours(new OpeningHours("UTC",
+                Arrays.asList(new OpeningPeriod(DayOfWeek.FRIDAY, LocalTime.of(18, 0), LocalTime.of(19, 0))),
+                Collections.emptyList()));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
+
+        // Act
+        Optional<List<Instant>> result = reservationService.listFreeSlotsForRestaurantAndTable("1111", "2222",
+                LocalDate.parse("2026-10-23"));
+
+        // Assert
+        assertThat(result).contains(Arrays.asList(Instant.parse("2026-10-23T18:00:00Z"),
+                Instant.parse("2026-10-23T18:15:00Z"), Instant.parse("2026-10-23T18:30:00Z"),
+                Instant.parse("2026-10-23T18:45:00Z")));
+    }
+
     @Test
     @DisplayName("When numGuests is more than maxCapacity, createReservationForRestaurantAndTable fails with CONFLICT")
     void testCreateReservationForRestaurantAndTableMaxCapacityExceeded() {
         // Arrange
         TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3);
-        when(tableReservationsRepository.findById("2222")).thenReturn(Optional.of(foundTableReservations));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
         when(clock.instant()).thenReturn(Instant.ofEpochSecond(33331));
 
         // Act
@@ -351,7 +715,8 @@ public class ReservationServiceImplTest {
     void testCreateReservationForRestaurantAndTableMinCapacityNotRespected() {
         // Arrange
         TableReservations foundTableReservations = new TableReservations("2222", "1111", 2, 4);
-        when(tableReservationsRepository.findById("2222")).thenReturn(Optional.of(foundTableReservations));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
         when(clock.instant()).thenReturn(Instant.ofEpochSecond(33331));
 
         // Act
@@ -392,7 +757,8 @@ public class ReservationServiceImplTest {
     void testCreateReservationForRestaurantAndTableRestaurantIdMismatch() {
         // Arrange
         TableReservations foundTableReservations = new TableReservations("2222", "1222", 1, 3);
-        when(tableReservationsRepository.findById("2222")).thenReturn(Optional.of(foundTableReservations));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
         when(clock.instant()).thenReturn(Instant.ofEpochSecond(33332));
 
         // Act
@@ -413,7 +779,8 @@ public class ReservationServiceImplTest {
     void testCreateReservationForRestaurantAndTableDinerNotFound() {
         // Arrange
         TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3);
-        when(tableReservationsRepository.findById("2222")).thenReturn(Optional.of(foundTableReservations));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
         when(clock.instant()).thenReturn(Instant.ofEpochSecond(33332));
 
         // Act
@@ -687,7 +1054,8 @@ public class ReservationServiceImplTest {
                 Instant.ofEpochSecond(22222), Instant.ofEpochSecond(33333), Instant.ofEpochSecond(2345));
         TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3,
                 new ArrayList<Reservation>(Arrays.asList(foundTableReservation1, foundTableReservation2)));
-        when(tableReservationsRepository.findById("2222")).thenReturn(Optional.of(foundTableReservations));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
         Reservation foundDinerReservation1 = new Reservation("4333", "1222", "2333", "3222", "reservation3", 3,
                 Instant.ofEpochSecond(11111), Instant.ofEpochSecond(22222), Instant.ofEpochSecond(1234));
         Reservation foundDinerReservation2 = new Reservation("4222", "1111", "2222", "3222", "reservation2", 2,
@@ -719,21 +1087,162 @@ public class ReservationServiceImplTest {
         DinerReservations dinerReservations = new DinerReservations("3222",
                 Arrays.asList(foundDinerReservation1, expectedReservation));
         verify(dinerReservationsRepository).save(ArgumentMatchers.eq(dinerReservations));
+        verify(outboxEventRepository).save(ArgumentMatchers.eq(new OutboxEvent(
+                ReservationEventType.RESERVATION_CANCELLED, expectedReservation, Instant.ofEpochSecond(22221))));
     }
 
     @Test
-    @DisplayName("When reservation update is not a cancellation, updateReservationForRestaurantAndTable fails with BAD_REQUEST")
-    void testNonCancelUpdateReservationForRestaurantAndTableFailsWithBadRequest() {
+    @DisplayName("When reservation update neither cancels nor modifies anything, updateReservationForRestaurantAndTable fails with BAD_REQUEST")
+    void testEmptyUpdateReservationForRestaurantAndTableFailsWithBadRequest() {
         // Act
-        Reservation reservation = new Reservation("ignored", "ignored", "ignored", "ignored", "ignored", 0,
-                null, null, null);
+        Reservation reservation = new Reservation(null, null, null, null, null, 0, null, null, null);
+        try {
+            reservationService.updateReservationForRestaurantAndTable("1111", "2222", "4222", reservation);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThat(e.getMessage()).contains("Set `isCancelled` to true to cancel the reservation");
+        }
+    }
+
+    @Test
+    @DisplayName("When reservation is rescheduled over its own slot and resized, updateReservationForRestaurantAndTable updates it in place in tableReservations and dinerReservations")
+    void testRescheduleUpdateReservationForRestaurantAndTable() {
+        // Arrange
+        Reservation foundTableReservation1 = new Reservation("4111", "1111", "2222", "3111", "reservation1", 1,
+                Instant.ofEpochSecond(11111), Instant.ofEpochSecond(22222), Instant.ofEpochSecond(1234));
+        Reservation foundTableReservation2 = new Reservation("4222", "1111", "2222", "3222", "reservation2", 2,
+                Instant.ofEpochSecond(22222), Instant.ofEpochSecond(33333), Instant.ofEpochSecond(2345));
+        TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3,
+                new ArrayList<Reservation>(Arrays.asList(foundTableReservation1, foundTableReservation2)));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), any(Class.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(20000));
+
+        // Act
+        Reservation reservation = new Reservation(null, null, null, null, null, 3, Instant.ofEpochSecond(25000),
+                Instant.ofEpochSecond(36000), null);
+        Reservation result = reservationService.updateReservationForRestaurantAndTable("1111", "2222", "4222",
+                reservation);
+
+        // Assert
+        Reservation expectedReservation = new Reservation("4222", "1111", "2222", "3222", "reservation2", 3,
+                Instant.ofEpochSecond(25000), Instant.ofEpochSecond(36000), Instant.ofEpochSecond(2345));
+        assertThat(result).isEqualTo(expectedReservation);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(),
+                ArgumentMatchers.eq(TableReservations.class));
+        assertThat(query.getValue().getQueryObject().get("restaurantId")).isEqualTo("1111");
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertThat(set.get("reservations.$.numGuests")).isEqualTo(3);
+        assertThat(set.get("reservations.$.reservationStart")).isEqualTo(Instant.ofEpochSecond(25000));
+        verify(tableReservationsRepository, never()).save(any());
+        verify(outboxEventRepository).save(ArgumentMatchers.eq(new OutboxEvent(
+                ReservationEventType.RESERVATION_UPDATED, expectedReservation, foundTableReservation2,
+                Instant.ofEpochSecond(20000))));
+    }
+
+    @Test
+    @DisplayName("When rescheduled reservation overlaps another reservation, updateReservationForRestaurantAndTable fails with CONFLICT")
+    void testRescheduleUpdateReservationForRestaurantAndTableConflict() {
+        // Arrange
+        Reservation foundTableReservation1 = new Reservation("4111", "1111", "2222", "3111", "reservation1", 1,
+                Instant.ofEpochSecond(11111), Instant.ofEpochSecond(22222), Instant.ofEpochSecond(1234));
+        Reservation foundTableReservation2 = new Reservation("4222", "1111", "2222", "3222", "reservation2", 2,
+                Instant.ofEpochSecond(22222), Instant.ofEpochSecond(33333), Instant.ofEpochSecond(2345));
+        TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3,
+                new ArrayList<Reservation>(Arrays.asList(foundTableReservation1, foundTableReservation2)));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(10000));
+
+        // Act
+        Reservation reservation = new Reservation(null, null, null, null, null, 0, Instant.ofEpochSecond(21000),
+                null, null);
+        try {
+            reservationService.updateReservationForRestaurantAndTable("1111", "2222", "4222", reservation);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+            assertThat(e.getMessage()).contains("conflicts with reservation with ID 4111");
+        }
+        verify(outboxEventRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("When reservation is moved to another table, updateReservationForRestaurantAndTable pulls it from the old table and pushes it to the new one")
+    void testMoveUpdateReservationForRestaurantAndTable() {
+        // Arrange
+        Reservation foundTableReservation = new Reservation("4222", "1111", "2222", "3222", "reservation2", 2,
+                Instant.ofEpochSecond(22222), Instant.ofEpochSecond(33333), Instant.ofEpochSecond(2345));
+        TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3,
+                new ArrayList<Reservation>(Arrays.asList(foundTableReservation)));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
+        TableReservations targetTableReservations = new TableReservations("2333", "1111", 2, 4,
+                new ArrayList<Reservation>());
+        targetTableReservations.setName("table2");
+        targetTableReservations.setRoomType(RoomType.HALL);
+        targetTableReservations.setMinSpend(50);
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2333"), any()))
+                .thenReturn(Optional.of(targetTableReservations));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), any(Class.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(20000));
+
+        // Act
+        Reservation reservation = new Reservation(null, null, "2333", null, null, 0, null, null, null);
+        Reservation result = reservationService.updateReservationForRestaurantAndTable("1111", "2222", "4222",
+                reservation);
+
+        // Assert
+        Reservation expectedReservation = new Reservation("4222", "1111", "2333", "3222", "reservation2", 2,
+                Instant.ofEpochSecond(22222), Instant.ofEpochSecond(33333), Instant.ofEpochSecond(2345));
+        expectedReservation.setTableName("table2");
+        expectedReservation.setRoomType(RoomType.HALL);
+        expectedReservation.setMinSpend(50);
+        assertThat(result).isEqualTo(expectedReservation);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateFirst(query.capture(), update.capture(),
+                ArgumentMatchers.eq(TableReservations.class));
+        assertThat(query.getAllValues().get(0).getQueryObject().get("_id")).isEqualTo("2222");
+        assertThat(query.getAllValues().get(0).getQueryObject().get("restaurantId")).isEqualTo("1111");
+        assertThat(update.getAllValues().get(0).getUpdateObject().containsKey("$pull")).isTrue();
+        assertThat(query.getAllValues().get(1).getQueryObject().get("_id")).isEqualTo("2333");
+        assertThat(query.getAllValues().get(1).getQueryObject().get("restaurantId")).isEqualTo("1111");
+        assertThat(update.getAllValues().get(1).getUpdateObject().containsKey("$push")).isTrue();
+        verify(outboxEventRepository).save(ArgumentMatchers.eq(new OutboxEvent(
+                ReservationEventType.RESERVATION_UPDATED, expectedReservation, foundTableReservation,
+                Instant.ofEpochSecond(20000))));
+    }
+
+    @Test
+    @DisplayName("When reservation has already started, updateReservationForRestaurantAndTable modification fails with BAD_REQUEST")
+    void testRescheduleUpdateReservationForRestaurantAndTableAlreadyStarted() {
+        // Arrange
+        Reservation foundTableReservation = new Reservation("4222", "1111", "2222", "3222", "reservation2", 2,
+                Instant.ofEpochSecond(22222), Instant.ofEpochSecond(33333), Instant.ofEpochSecond(2345));
+        TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3,
+                new ArrayList<Reservation>(Arrays.asList(foundTableReservation)));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(22223));
+
+        // Act
+        Reservation reservation = new Reservation(null, null, null, null, null, 3, null, null, null);
         try {
             reservationService.updateReservationForRestaurantAndTable("1111", "2222", "4222", reservation);
             fail();
         } catch (ServiceException e) {
             // Assert
             assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
-            assertThat(e.getMessage()).contains("Only cancellation is supported");
+            assertThat(e.getMessage()).contains("Cannot modify a reservation that has already begun");
         }
     }
 
@@ -759,7 +1268,8 @@ public class ReservationServiceImplTest {
     void testCancelUpdateReservationForRestaurantAndTableRestaurantIdMismatch() {
         // Arrange
         TableReservations foundTableReservations = new TableReservations("2222", "1222", 1, 3);
-        when(tableReservationsRepository.findById("2222")).thenReturn(Optional.of(foundTableReservations));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
 
         // Act
         Reservation reservation = new Reservation("ignored", "ignored", "ignored", "ignored", "ignored", 0,
@@ -785,7 +1295,8 @@ public class ReservationServiceImplTest {
                 Instant.ofEpochSecond(22222), Instant.ofEpochSecond(33333), Instant.ofEpochSecond(2345));
         TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3,
                 new ArrayList<Reservation>(Arrays.asList(foundTableReservation1, foundTableReservation2)));
-        when(tableReservationsRepository.findById("2222")).thenReturn(Optional.of(foundTableReservations));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
 
         // Act
         Reservation reservation = new Reservation("ignored", "ignored", "ignored", "ignored", "ignored", 0, null, null,
@@ -813,7 +1324,8 @@ public class ReservationServiceImplTest {
         foundTableReservation2.setCancelledAt(Instant.ofEpochSecond(3456));
         TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3,
                 new ArrayList<Reservation>(Arrays.asList(foundTableReservation1, foundTableReservation2)));
-        when(tableReservationsRepository.findById("2222")).thenReturn(Optional.of(foundTableReservations));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
 
         // Act
         Reservation reservation = new Reservation("ignored", "ignored", "ignored", "ignored", "ignored", 0, null, null,
@@ -839,7 +1351,8 @@ public class ReservationServiceImplTest {
                 Instant.ofEpochSecond(22222), Instant.ofEpochSecond(33333), Instant.ofEpochSecond(2345));
         TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3,
                 new ArrayList<Reservation>(Arrays.asList(foundTableReservation1, foundTableReservation2)));
-        when(tableReservationsRepository.findById("2222")).thenReturn(Optional.of(foundTableReservations));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
         when(clock.instant()).thenReturn(Instant.ofEpochSecond(22223));
 
         // Act
@@ -856,6 +1369,239 @@ public class ReservationServiceImplTest {
         }
     }
 
+    @Test
+    @DisplayName("When reservation is valid and table and diner exist, createHoldForRestaurantAndTable inserts an expiring hold and bumps the hold version of the table")
+    void testCreateHoldForRestaurantAndTable() {
+        // Arrange
+        ReflectionTestUtils.setField(reservationService, "holdTtl", Duration.ofMinutes(10));
+        TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3,
+                new ArrayList<Reservation>());
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
+        when(dinerReservationsRepository.existsById("3222")).thenReturn(true);
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(33332));
+        when(reservationHoldRepository.insert(any(ReservationHold.class))).thenAnswer(invocation -> {
+            ReservationHold hold = invocation.getArgument(0, ReservationHold.class);
+            hold.setId("5222");
+            return hold;
+        });
+        when(reservationHoldRepository.findLiveOverlapping("1111", "2222", Instant.ofEpochSecond(33333),
+                Instant.ofEpochSecond(44444), Instant.ofEpochSecond(33332))).thenReturn(Collections.emptyList());
+
+        // Act
+        Reservation reservation = new Reservation("3222", "reservation4", 3, Instant.ofEpochSecond(33333),
+                Instant.ofEpochSecond(44444));
+        ReservationHold result = reservationService.createHoldForRestaurantAndTable("1111", "2222", reservation);
+
+        // Assert
+        assertThat(result).isEqualTo(new ReservationHold("5222", "1111", "2222", "3222", "reservation4", 3,
+                Instant.ofEpochSecond(33333), Instant.ofEpochSecond(44444), Instant.ofEpochSecond(33332),
+                Instant.ofEpochSecond(33932)));
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(),
+                ArgumentMatchers.eq(TableReservations.class));
+        assertThat(query.getValue().getQueryObject().get("_id")).isEqualTo("2222");
+        assertThat(query.getValue().getQueryObject().get("restaurantId")).isEqualTo("1111");
+        assertThat(((Document) update.getValue().getUpdateObject().get("$inc")).get("holdVersion")).isEqualTo(1);
+        verify(tableReservationsRepository, never()).save(any());
+        verify(dinerReservationsRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("When the table document is written concurrently, createHoldForRestaurantAndTable fails without inserting the hold")
+    void testCreateHoldForRestaurantAndTableWriteConflict() {
+        // Arrange
+        TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3,
+                new ArrayList<Reservation>());
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
+        when(dinerReservationsRepository.existsById("3222")).thenReturn(true);
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(33332));
+        when(reservationHoldRepository.findLiveOverlapping("1111", "2222", Instant.ofEpochSecond(33333),
+                Instant.ofEpochSecond(44444), Instant.ofEpochSecond(33332))).thenReturn(Collections.emptyList());
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class),
+                ArgumentMatchers.eq(TableReservations.class))).thenThrow(new ConcurrencyFailureException("write conflict"));
+
+        // Act
+        Reservation reservation = new Reservation("3222", "reservation4", 3, Instant.ofEpochSecond(33333),
+                Instant.ofEpochSecond(44444));
+        try {
+            reservationService.createHoldForRestaurantAndTable("1111", "2222", reservation);
+            fail();
+        } catch (ConcurrencyFailureException e) {
+            // Assert
+            verify(reservationHoldRepository, never()).insert(any(ReservationHold.class));
+        }
+    }
+
+    @Test
+    @DisplayName("When hold exists and hasn't expired, confirmHoldForRestaurantAndTable creates the reservation and deletes the hold")
+    void testConfirmHoldForRestaurantAndTable() {
+        // Arrange
+        ReservationHold hold = new ReservationHold("5222", "1111", "2222", "3222", "reservation4", 3,
+                Instant.ofEpochSecond(33333), Instant.ofEpochSecond(44444), Instant.ofEpochSecond(33000),
+                Instant.ofEpochSecond(33600));
+        when(reservationHoldRepository.findById("5222")).thenReturn(Optional.of(hold));
+        TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3,
+                new ArrayList<Reservation>());
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
+        // The hold being confirmed doesn't conflict with itself.
+        when(reservationHoldRepository.findLiveOverlapping("1111", "2222", Instant.ofEpochSecond(33333),
+                Instant.ofEpochSecond(44444), Instant.ofEpochSecond(33332))).thenReturn(Arrays.asList(hold));
+        DinerReservations foundDinerReservations = new DinerReservations("3222");
+        when(dinerReservationsRepository.findById("3222")).thenReturn(Optional.of(foundDinerReservations));
+        when(tableReservationsRepository.save(any())).thenAnswer(makeTableReservationsAnswer());
+        when(dinerReservationsRepository.save(any())).thenAnswer(makeDinerReservationsAnswer());
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(33332));
+
+        // Act
+        Reservation result = reservationService.confirmHoldForRestaurantAndTable("1111", "2222", "5222");
+
+        // Assert
+        Reservation expectedReservation = new Reservation(result.getId(), "1111", "2222", "3222", "reservation4", 3,
+                Instant.ofEpochSecond(33333), Instant.ofEpochSecond(44444), Instant.ofEpochSecond(33332));
+        assertThat(result).isEqualTo(expectedReservation);
+        verify(outboxEventRepository).save(ArgumentMatchers.eq(new OutboxEvent(
+                ReservationEventType.RESERVATION_CREATED, expectedReservation, Instant.ofEpochSecond(33332))));
+        verify(reservationHoldRepository).deleteById("5222");
+    }
+
+    @Test
+    @DisplayName("When hold has expired, confirmHoldForRestaurantAndTable fails with NOT_FOUND")
+    void testConfirmHoldForRestaurantAndTableExpired() {
+        // Arrange
+        ReservationHold hold = new ReservationHold("5222", "1111", "2222", "3222", "reservation4", 3,
+                Instant.ofEpochSecond(33333), Instant.ofEpochSecond(44444), Instant.ofEpochSecond(33000),
+                Instant.ofEpochSecond(33300));
+        when(reservationHoldRepository.findById("5222")).thenReturn(Optional.of(hold));
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(33300));
+
+        // Act
+        try {
+            reservationService.confirmHoldForRestaurantAndTable("1111", "2222", "5222");
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            verify(tableReservationsRepository, never()).save(any());
+        }
+    }
+
+    @Test
+    @DisplayName("When hold is for another table, confirmHoldForRestaurantAndTable fails with NOT_FOUND")
+    void testConfirmHoldForRestaurantAndTableTableMismatch() {
+        // Arrange
+        ReservationHold hold = new ReservationHold("5222", "1111", "2333", "3222", "reservation4", 3,
+                Instant.ofEpochSecond(33333), Instant.ofEpochSecond(44444), Instant.ofEpochSecond(33000),
+                Instant.ofEpochSecond(33600));
+        when(reservationHoldRepository.findById("5222")).thenReturn(Optional.of(hold));
+
+        // Act
+        try {
+            reservationService.confirmHoldForRestaurantAndTable("1111", "2222", "5222");
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @Test
+    @DisplayName("When series is valid and doesn't conflict, createSeriesForRestaurantAndTable adds it to tableReservations")
+    void testCreateSeriesForRestaurantAndTable() {
+        // Arrange
+        Reservation foundTableReservation = new Reservation("4111", "1111", "2222", "3111", "reservation1", 1,
+                Instant.ofEpochSecond(40000), Instant.ofEpochSecond(50000), Instant.ofEpochSecond(1234));
+        TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3,
+                new ArrayList<Reservation>(Arrays.asList(foundTableReservation)));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
+        when(dinerReservationsRepository.existsById("3222")).thenReturn(true);
+        when(tableReservationsRepository.save(any())).thenAnswer(makeTableReservationsAnswer());
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(33332));
+
+        // Act
+        ReservationSeries series = new ReservationSeries("3222", "series1", 3, Instant.ofEpochSecond(100000),
+                Instant.ofEpochSecond(103600), SeriesFrequency.DAILY, 0, 3);
+        ReservationSeries result = reservationService.createSeriesForRestaurantAndTable("1111", "2222", series);
+
+        // Assert
+        assertThat(result.getId()).isNotNull();
+        assertThat(result.getInterval()).isEqualTo(1);
+        assertThat(result.getCreatedAt()).isEqualTo(Instant.ofEpochSecond(33332));
+        assertThat(foundTableReservations.getSeries()).containsExactly(result);
+        verify(tableReservationsRepository).save(foundTableReservations);
+        verify(tableSlotsService, never()).reserveSlots(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("When an occurrence conflicts with an existing reservation, createSeriesForRestaurantAndTable fails with CONFLICT")
+    void testCreateSeriesForRestaurantAndTableScheduleConflict() {
+        // Arrange
+        Reservation foundTableReservation = new Reservation("4222", "1111", "2222", "3111", "reservation1", 1,
+                Instant.ofEpochSecond(100000 + 2 * 86400), Instant.ofEpochSecond(101000 + 2 * 86400),
+                Instant.ofEpochSecond(1234));
+        TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3,
+                new ArrayList<Reservation>(Arrays.asList(foundTableReservation)));
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
+        when(dinerReservationsRepository.existsById("3222")).thenReturn(true);
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(33332));
+
+        // Act
+        ReservationSeries series = new ReservationSeries("3222", "series1", 3, Instant.ofEpochSecond(100000),
+                Instant.ofEpochSecond(103600), SeriesFrequency.DAILY, 1, 3);
+        try {
+            reservationService.createSeriesForRestaurantAndTable("1111", "2222", series);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+            assertThat(e.getMessage()).contains("Reservation series conflicts with reservation with ID 4222");
+            verify(tableReservationsRepository, never()).save(any());
+        }
+    }
+
+    @Test
+    @DisplayName("In slot mode, createSeriesForRestaurantAndTable reserves the slots of each occurrence")
+    void testCreateSeriesForRestaurantAndTableSlotMode() {
+        // Arrange
+        ReflectionTestUtils.setField(reservationService, "slotsEnabled", true);
+        TableReservations foundTableReservations = new TableReservations("2222", "1111", 1, 3);
+        when(tableReservationsRepository.findByIdAndRestaurantId(ArgumentMatchers.eq("2222"), any()))
+                .thenReturn(Optional.of(foundTableReservations));
+        when(dinerReservationsRepository.existsById("3222")).thenReturn(true);
+        when(tableReservationsRepository.save(any())).thenAnswer(makeTableReservationsAnswer());
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(33332));
+
+        // Act
+        ReservationSeries series = new ReservationSeries("3222", "series1", 3, Instant.ofEpochSecond(36000),
+                Instant.ofEpochSecond(43200), SeriesFrequency.WEEKLY, 1, 2);
+        reservationService.createSeriesForRestaurantAndTable("1111", "2222", series);
+
+        // Assert
+        verify(tableSlotsService).reserveSlots("2222", Instant.ofEpochSecond(36000), Instant.ofEpochSecond(43200));
+        verify(tableSlotsService).reserveSlots("2222", Instant.ofEpochSecond(36000 + 7 * 86400),
+                Instant.ofEpochSecond(43200 + 7 * 86400));
+    }
+
+    @Test
+    @DisplayName("When series has too many occurrences, createSeriesForRestaurantAndTable fails with BAD_REQUEST")
+    void testCreateSeriesForRestaurantAndTableTooManyOccurrences() {
+        // Act
+        ReservationSeries series = new ReservationSeries("3222", "series1", 3, Instant.ofEpochSecond(100000),
+                Instant.ofEpochSecond(103600), SeriesFrequency.DAILY, 1, 367);
+        try {
+            reservationService.createSeriesForRestaurantAndTable("1111", "2222", series);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     private Answer<TableReservations> makeTableReservationsAnswer() {
         return new Answer<TableReservations>() {
             public TableReservations answer(InvocationOnMock invocation) {
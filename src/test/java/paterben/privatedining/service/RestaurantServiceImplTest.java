@@ -4,11 +4,16 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.Clock;
+import java.time.DayOfWeek;
 import java.time.Instant;
+import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -18,16 +23,29 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.bson.Document;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 
+import paterben.privatedining.core.model.DeletionJob;
+import paterben.privatedining.core.model.OpeningHours;
+import paterben.privatedining.core.model.OpeningPeriod;
 import paterben.privatedining.core.model.Restaurant;
 import paterben.privatedining.core.model.RestaurantTables;
+import paterben.privatedining.core.model.RoomType;
+import paterben.privatedining.core.model.Table;
+import paterben.privatedining.core.model.TableReservations;
+import paterben.privatedining.repository.DeletionJobRepository;
 import paterben.privatedining.repository.RestaurantRepository;
 import paterben.privatedining.repository.RestaurantTablesRepository;
 
@@ -39,6 +57,21 @@ public class RestaurantServiceImplTest {
     @Mock
     private RestaurantTablesRepository restaurantTablesRepository;
 
+    @Mock
+    private DeletionJobRepository deletionJobRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private TenantDirectory tenantDirectory;
+
+    @Mock
+    private TableCapacityIndex tableCapacityIndex;
+
+    @Mock
+    private Clock clock;
+
     @InjectMocks
     private RestaurantServiceImpl restaurantService;
 
@@ -168,9 +201,7 @@ public class RestaurantServiceImplTest {
     @DisplayName("When restaurant with same email already exists, createRestaurant fails with CONFLICT")
     void testCreateRestaurantSameEmailFailsWithConflict() {
         // Arrange
-        Restaurant foundRestaurant = new Restaurant("1234", "restaurant1", "address1", "email1", "EUR",
-                Instant.ofEpochSecond(1111));
-        when(restaurantRepository.findByEmail("email1")).thenReturn(Optional.of(foundRestaurant));
+        when(restaurantRepository.save(any())).thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
 
         // Act
         Restaurant restaurant = new Restaurant("restaurant2", "address2", "email1", "EUR");
@@ -184,6 +215,25 @@ public class RestaurantServiceImplTest {
         }
     }
 
+    @Test
+    @DisplayName("When creating the restaurantTables document fails, createRestaurant deletes the restaurant")
+    void testCreateRestaurantTablesFailureDeletesRestaurant() {
+        // Arrange
+        when(restaurantRepository.save(any()))
+                .thenAnswer(makeSetIdAndCreatedTimeOnRestaurantAnswer("1234", Instant.ofEpochSecond(1234)));
+        when(restaurantTablesRepository.save(any())).thenThrow(new IllegalStateException("write failed"));
+
+        // Act
+        Restaurant restaurant = new Restaurant("restaurant1", "address1", "email1", "EUR");
+        try {
+            restaurantService.createRestaurant(restaurant);
+            fail();
+        } catch (IllegalStateException e) {
+            // Assert
+            verify(restaurantRepository).deleteById("1234");
+        }
+    }
+
     @Test
     @DisplayName("When restaurant to create has ID set, createRestaurant fails with BAD_REQUEST")
     void testCreateRestaurantWithIdFailsWithBadRequest() {
@@ -276,6 +326,135 @@ public class RestaurantServiceImplTest {
         }
     }
 
+    @Test
+    @DisplayName("When restaurant is valid, updateRestaurant replaces it and keeps its creation time")
+    void testUpdateRestaurant() {
+        // Arrange
+        Restaurant foundRestaurant = new Restaurant("1234", "restaurant1", "address1", "email1", "EUR",
+                Instant.ofEpochSecond(1234));
+        when(restaurantRepository.findById("1234")).thenReturn(Optional.of(foundRestaurant));
+        when(restaurantRepository.save(any())).thenAnswer(makeRestaurantAnswer());
+
+        // Act
+        Restaurant restaurant = new Restaurant("restaurant2", "address2", "email2", "usd");
+        Restaurant result = restaurantService.updateRestaurant("1234", restaurant);
+
+        // Assert
+        Restaurant expectedRestaurant = new Restaurant("1234", "restaurant2", "address2", "email2", "USD",
+                Instant.ofEpochSecond(1234));
+        assertThat(result).isEqualTo(expectedRestaurant);
+        verify(restaurantRepository).save(ArgumentMatchers.eq(expectedRestaurant));
+        // Opening hours didn't change, so there is nothing to propagate.
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("When opening hours change, updateRestaurant propagates them to tables without their own")
+    void testUpdateRestaurantPropagatesOpeningHours() {
+        // Arrange
+        Restaurant foundRestaurant = new Restaurant("1234", "restaurant1", "address1", "email1", "EUR",
+                Instant.ofEpochSecond(1234));
+        when(restaurantRepository.findById("1234")).thenReturn(Optional.of(foundRestaurant));
+        when(restaurantRepository.save(any())).thenAnswer(makeRestaurantAnswer());
+        OpeningHours tableOpeningHours = new OpeningHours("Europe/Paris",
+                Arrays.asList(new OpeningPeriod(DayOfWeek.SATURDAY, LocalTime.of(12, 0), LocalTime.of(15, 0))),
+                Collections.emptyList());
+        Table table1 = new Table("2345", "table1", 1, 3, RoomType.HALL, 1.5);
+        Table table2 = new Table("3456", "table2", 0, 3, RoomType.HALL, 0);
+        table2.setOpeningHours(tableOpeningHours);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), eq(RestaurantTables.class)))
+                .thenReturn(new RestaurantTables("1234", Arrays.asList(table1, table2)));
+
+        // Act
+        OpeningHours openingHours = new OpeningHours("Europe/Paris",
+                Arrays.asList(new OpeningPeriod(DayOfWeek.FRIDAY, LocalTime.of(18, 0), LocalTime.of(23, 0))),
+                Collections.emptyList());
+        Restaurant restaurant = new Restaurant("restaurant1", "address1", "email1", "EUR");
+        restaurant.setOpeningHours(openingHours);
+        restaurantService.updateRestaurant("1234", restaurant);
+
+        // Assert
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(query.capture(), update.capture(), eq(TableReservations.class));
+        assertThat(query.getValue().getQueryObject().get("restaurantId")).isEqualTo("1234");
+        assertThat(((Document) query.getValue().getQueryObject().get("_id")).get("$in"))
+                .isEqualTo(Arrays.asList("2345"));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertThat(set.get("openingHours")).isEqualTo(openingHours);
+    }
+
+    @Test
+    @DisplayName("When restaurant doesn't exist, updateRestaurant fails with NOT_FOUND")
+    void testUpdateRestaurantNotFound() {
+        // Act
+        Restaurant restaurant = new Restaurant("restaurant1", "address1", "email1", "EUR");
+        try {
+            restaurantService.updateRestaurant("1234", restaurant);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(e.getMessage()).contains("Restaurant with ID 1234 not found");
+        }
+    }
+
+    @Test
+    @DisplayName("When another restaurant has the same email, updateRestaurant fails with CONFLICT")
+    void testUpdateRestaurantSameEmailFailsWithConflict() {
+        // Arrange
+        Restaurant foundRestaurant = new Restaurant("1234", "restaurant1", "address1", "email1", "EUR",
+                Instant.ofEpochSecond(1234));
+        when(restaurantRepository.findById("1234")).thenReturn(Optional.of(foundRestaurant));
+        when(restaurantRepository.save(any())).thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+
+        // Act
+        Restaurant restaurant = new Restaurant("restaurant1", "address1", "email2", "EUR");
+        try {
+            restaurantService.updateRestaurant("1234", restaurant);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+            assertThat(e.getMessage()).contains("already exists");
+        }
+    }
+
+    @Test
+    @DisplayName("When restaurant exists, deleteRestaurant deletes it and schedules the deletion of its data")
+    void testDeleteRestaurant() {
+        // Arrange
+        when(restaurantRepository.existsById("1234")).thenReturn(true);
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(2345));
+
+        // Act
+        restaurantService.deleteRestaurant("1234");
+
+        // Assert
+        verify(restaurantRepository).deleteById("1234");
+        verify(restaurantTablesRepository).deleteById("1234");
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(any(Query.class), update.capture(), eq(TableReservations.class));
+        assertThat(((Document) update.getValue().getUpdateObject().get("$set")).get("isDeleted")).isEqualTo(true);
+        verify(deletionJobRepository).save(new DeletionJob("1234", null, Instant.ofEpochSecond(2345)));
+        verify(tableCapacityIndex).invalidate("1234");
+        verify(tenantDirectory).unregisterRestaurant("1234");
+    }
+
+    @Test
+    @DisplayName("When restaurant doesn't exist, deleteRestaurant fails with NOT_FOUND")
+    void testDeleteRestaurantNotFound() {
+        // Act
+        try {
+            restaurantService.deleteRestaurant("1234");
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(e.getMessage()).contains("Restaurant with ID 1234 not found");
+        }
+    }
+
     private Answer<Restaurant> makeSetIdAndCreatedTimeOnRestaurantAnswer(String id, Instant createdAt) {
         return new Answer<Restaurant>() {
             public Restaurant answer(InvocationOnMock invocation) {
@@ -287,6 +466,14 @@ public class RestaurantServiceImplTest {
         };
     }
 
+    private Answer<Restaurant> makeRestaurantAnswer() {
+        return new Answer<Restaurant>() {
+            public Restaurant answer(InvocationOnMock invocation) {
+                return invocation.getArgument(0, Restaurant.class);
+            }
+        };
+    }
+
     private Answer<RestaurantTables> makeRestaurantTablesAnswer() {
         return new Answer<RestaurantTables>() {
             public RestaurantTables answer(InvocationOnMock invocation) {
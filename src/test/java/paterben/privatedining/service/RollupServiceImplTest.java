@@ -0,0 +1,220 @@
+package paterben.privatedining.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+
+import com.mongodb.client.result.UpdateResult;
+
+import paterben.privatedining.core.model.AppliedRollupEvent;
+import paterben.privatedining.core.model.OutboxEvent;
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.ReservationEventType;
+import paterben.privatedining.core.model.RestaurantDailyRollup;
+import paterben.privatedining.core.model.RoomType;
+import paterben.privatedining.repository.RestaurantDailyRollupRepository;
+import paterben.privatedining.repository.RestaurantRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class RollupServiceImplTest {
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private RestaurantDailyRollupRepository restaurantDailyRollupRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private Clock clock;
+
+    @InjectMocks
+    private RollupServiceImpl rollupService;
+
+    @Test
+    @DisplayName("applyEvent increments the totals of the day the reservation starts on")
+    void testApplyCreatedEvent() {
+        // Arrange
+        stubMarkerInserted();
+
+        // Act
+        rollupService.applyEvent(makeEvent("9999", ReservationEventType.RESERVATION_CREATED));
+
+        // Assert
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(query.capture(), update.capture(), eq(RestaurantDailyRollup.class));
+        assertThat(query.getValue().getQueryObject().get("_id")).isEqualTo("1111:2026-10-20");
+        Document inc = (Document) update.getValue().getUpdateObject().get("$inc");
+        assertThat(inc.get("covers")).isEqualTo(3);
+        assertThat(inc.get("bookedMinutes")).isEqualTo(90L);
+        assertThat(inc.get("minSpend")).isEqualTo(150.0);
+        assertThat(inc.get("tables.2222.covers")).isEqualTo(3);
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertThat(set.get("tables.2222.tableName")).isEqualTo("table1");
+        assertThat(set.get("tables.2222.roomType")).isEqualTo(RoomType.PRIVATE_ROOM);
+    }
+
+    @Test
+    @DisplayName("applyEvent decrements the totals for cancellations, using the minimum spend recorded on the reservation")
+    void testApplyCancelledEvent() {
+        // Arrange
+        stubMarkerInserted();
+
+        // Act
+        rollupService.applyEvent(makeEvent("9999", ReservationEventType.RESERVATION_CANCELLED));
+
+        // Assert
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), update.capture(), eq(RestaurantDailyRollup.class));
+        Document inc = (Document) update.getValue().getUpdateObject().get("$inc");
+        assertThat(inc.get("reservations")).isEqualTo(-1);
+        assertThat(inc.get("covers")).isEqualTo(-3);
+        assertThat(inc.get("minSpend")).isEqualTo(-150.0);
+    }
+
+    @Test
+    @DisplayName("When the reservation doesn't record the table's details, applyEvent leaves those of the rollup unchanged")
+    void testApplyEventWithoutTableDetails() {
+        // Arrange
+        stubMarkerInserted();
+        OutboxEvent event = makeEvent("9999", ReservationEventType.RESERVATION_CREATED);
+        event.getReservation().setTableName(null);
+        event.getReservation().setRoomType(null);
+        event.getReservation().setMinSpend(0);
+
+        // Act
+        rollupService.applyEvent(event);
+
+        // Assert
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), update.capture(), eq(RestaurantDailyRollup.class));
+        Document inc = (Document) update.getValue().getUpdateObject().get("$inc");
+        assertThat(inc.get("minSpend")).isEqualTo(0.0);
+        assertThat(update.getValue().getUpdateObject().get("$set")).isNull();
+    }
+
+    @Test
+    @DisplayName("applyEvent moves the totals of rescheduled reservations from the previous day to the new one")
+    void testApplyUpdatedEvent() {
+        // Arrange
+        stubMarkerInserted();
+        OutboxEvent event = makeEvent("9999", ReservationEventType.RESERVATION_UPDATED);
+        Reservation previous = event.getReservation();
+        Reservation reservation = new Reservation("4111", "1111", "2222", "3111", "reservation1", 4,
+                Instant.parse("2026-10-21T19:00:00Z"), Instant.parse("2026-10-21T20:30:00Z"),
+                Instant.parse("2026-10-19T10:00:00Z"));
+        event.setReservation(reservation);
+        event.setPreviousReservation(previous);
+
+        // Act
+        rollupService.applyEvent(event);
+
+        // Assert
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).upsert(query.capture(), update.capture(), eq(RestaurantDailyRollup.class));
+        assertThat(query.getAllValues().get(0).getQueryObject().get("_id")).isEqualTo("1111:2026-10-20");
+        assertThat(query.getAllValues().get(1).getQueryObject().get("_id")).isEqualTo("1111:2026-10-21");
+        Document previousInc = (Document) update.getAllValues().get(0).getUpdateObject().get("$inc");
+        assertThat(previousInc.get("covers")).isEqualTo(-3);
+        Document inc = (Document) update.getAllValues().get(1).getUpdateObject().get("$inc");
+        assertThat(inc.get("covers")).isEqualTo(4);
+        ArgumentCaptor<Query> markerQuery = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).upsert(markerQuery.capture(), any(Update.class),
+                eq(AppliedRollupEvent.class));
+        assertThat(markerQuery.getAllValues().get(0).getQueryObject().get("_id")).isEqualTo("9999:previous");
+        assertThat(markerQuery.getAllValues().get(1).getQueryObject().get("_id")).isEqualTo("9999");
+    }
+
+    @Test
+    @DisplayName("When the event was already applied, applyEvent leaves the rollup unchanged")
+    void testApplyEventAlreadyApplied() {
+        // Arrange
+        // The marker already exists, so the upsert doesn't insert it.
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(AppliedRollupEvent.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 0L, null));
+
+        // Act
+        rollupService.applyEvent(makeEvent("9999", ReservationEventType.RESERVATION_CREATED));
+
+        // Assert
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(RestaurantDailyRollup.class));
+    }
+
+    @Test
+    @DisplayName("When restaurant exists, listDailyRollups returns the rollups of the range")
+    void testListDailyRollups() {
+        // Arrange
+        RestaurantDailyRollup rollup = new RestaurantDailyRollup("1111", "2026-10-20", 1, 3, 90, 150,
+                Collections.emptyMap());
+        when(restaurantRepository.existsById("1111")).thenReturn(true);
+        when(restaurantDailyRollupRepository.findByRestaurantIdAndDayRange("1111", "2026-10-19", "2026-10-25"))
+                .thenReturn(Arrays.asList(rollup));
+
+        // Act
+        Optional<List<RestaurantDailyRollup>> result = rollupService.listDailyRollups("1111",
+                LocalDate.parse("2026-10-19"), LocalDate.parse("2026-10-25"));
+
+        // Assert
+        assertThat(result).contains(Arrays.asList(rollup));
+    }
+
+    @Test
+    @DisplayName("When from is after to, listDailyRollups fails with BAD_REQUEST")
+    void testListDailyRollupsInvalidRange() {
+        // Act
+        try {
+            rollupService.listDailyRollups("1111", LocalDate.parse("2026-10-25"), LocalDate.parse("2026-10-19"));
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private void stubMarkerInserted() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(AppliedRollupEvent.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, new BsonString("9999")));
+    }
+
+    private OutboxEvent makeEvent(String id, ReservationEventType type) {
+        Reservation reservation = new Reservation("4111", "1111", "2222", "3111", "reservation1", 3,
+                Instant.parse("2026-10-20T19:00:00Z"), Instant.parse("2026-10-20T20:30:00Z"),
+                Instant.parse("2026-10-19T10:00:00Z"));
+        reservation.setTableName("table1");
+        reservation.setRoomType(RoomType.PRIVATE_ROOM);
+        reservation.setMinSpend(150);
+        OutboxEvent event = new OutboxEvent(type, reservation, Instant.parse("2026-10-19T10:00:00Z"));
+        event.setId(id);
+        return event;
+    }
+}
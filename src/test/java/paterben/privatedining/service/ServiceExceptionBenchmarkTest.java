@@ -0,0 +1,65 @@
+package paterben.privatedining.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * Throughput of throwing a {@link ServiceException} from deep in the call stack
+ * and catching it at the top, as the controllers do. Client errors don't capture
+ * a stack trace, server errors do, so comparing both measures the cost of the
+ * stack trace. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class ServiceExceptionBenchmarkTest {
+    // About the depth of a service call under the Spring MVC and transaction
+    // proxies.
+    private static final int STACK_DEPTH = 150;
+    private static final int WARMUP_ITERATIONS = 50_000;
+    private static final int MEASURED_ITERATIONS = 200_000;
+
+    // Consumed results, so that the JIT can't drop the throws.
+    private long sink;
+
+    @Test
+    @DisplayName("Stackless client errors are thrown faster than stackful server errors")
+    void testStacklessThroughput() {
+        // Arrange
+        run(HttpStatus.CONFLICT, WARMUP_ITERATIONS);
+        run(HttpStatus.INTERNAL_SERVER_ERROR, WARMUP_ITERATIONS);
+
+        // Act
+        double stackless = run(HttpStatus.CONFLICT, MEASURED_ITERATIONS);
+        double stackful = run(HttpStatus.INTERNAL_SERVER_ERROR, MEASURED_ITERATIONS);
+
+        // Assert
+        System.out.printf("ServiceException at depth %d: stackless 409 %.0f ops/s, stackful 500 %.0f ops/s (x%.1f)%n",
+                STACK_DEPTH, stackless, stackful, stackless / stackful);
+        assertThat(stackless).isGreaterThan(stackful);
+        assertThat(sink).isNotZero();
+    }
+
+    // Returns the number of exceptions thrown and caught per second.
+    private double run(HttpStatusCode status, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; ++i) {
+            try {
+                throwAtDepth(STACK_DEPTH, status);
+            } catch (ServiceException e) {
+                sink += e.getHttpStatusCode().value();
+            }
+        }
+        return iterations / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static void throwAtDepth(int depth, HttpStatusCode status) {
+        if (depth == 0) {
+            throw new ServiceException("Reservation to create conflicts with an existing reservation.", status);
+        }
+        throwAtDepth(depth - 1, status);
+    }
+}
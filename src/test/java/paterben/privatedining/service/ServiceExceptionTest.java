@@ -0,0 +1,27 @@
+package paterben.privatedining.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+public class ServiceExceptionTest {
+    @Test
+    @DisplayName("Client errors don't capture a stack trace")
+    void testClientErrorIsStackless() {
+        ServiceException e = new ServiceException("conflict", HttpStatus.CONFLICT);
+
+        assertThat(e.getStackTrace()).isEmpty();
+        assertThat(e.getMessage()).isEqualTo("conflict");
+        assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    @DisplayName("Server errors keep their stack trace")
+    void testServerErrorHasStackTrace() {
+        ServiceException e = new ServiceException("unexpected", HttpStatus.INTERNAL_SERVER_ERROR);
+
+        assertThat(e.getStackTrace()).isNotEmpty();
+    }
+}
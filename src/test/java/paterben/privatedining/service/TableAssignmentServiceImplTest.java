@@ -0,0 +1,219 @@
+package paterben.privatedining.service;
+
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.RoomType;
+import paterben.privatedining.core.model.Table;
+
+@ExtendWith(MockitoExtension.class)
+public class TableAssignmentServiceImplTest {
+    @Mock
+    private TableCapacityIndex tableCapacityIndex;
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private ReservationAdmissionControl admissionControl;
+
+    @InjectMocks
+    private TableAssignmentServiceImpl tableAssignmentService;
+
+    private final Table table1 = new Table("2111", "table1", 0, 4, RoomType.HALL, 0);
+    private final Table table2 = new Table("2222", "table2", 0, 6, RoomType.HALL, 0);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tableAssignmentService, "maxAttempts", 10);
+        lenient().when(admissionControl.admit(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(2, Supplier.class).get());
+    }
+
+    @Test
+    @DisplayName("autoAssignReservationForRestaurant books the best-fitting table")
+    void testAutoAssignBestFit() {
+        // Arrange
+        when(tableCapacityIndex.findCandidates("1111", 3, null))
+                .thenReturn(Optional.of(Arrays.asList(table1, table2)));
+        Reservation created = new Reservation("4111", "1111", "2111", "3111", "reservation1", 3,
+                Instant.ofEpochSecond(40000), Instant.ofEpochSecond(50000), Instant.ofEpochSecond(1234));
+        when(reservationService.createReservationForRestaurantAndTable(ArgumentMatchers.eq("1111"),
+                ArgumentMatchers.eq("2111"), any())).thenReturn(created);
+
+        // Act
+        Reservation reservation = new Reservation("3111", "reservation1", 3, Instant.ofEpochSecond(40000),
+                Instant.ofEpochSecond(50000));
+        Reservation result = tableAssignmentService.autoAssignReservationForRestaurant("1111", null, reservation);
+
+        // Assert
+        assertThat(result).isEqualTo(created);
+        verify(reservationService, never()).createReservationForRestaurantAndTable(any(),
+                ArgumentMatchers.eq("2222"), any());
+    }
+
+    @Test
+    @DisplayName("When the best-fitting table is booked, autoAssignReservationForRestaurant falls back to the next one")
+    void testAutoAssignFallback() {
+        // Arrange
+        when(tableCapacityIndex.findCandidates("1111", 3, RoomType.HALL))
+                .thenReturn(Optional.of(Arrays.asList(table1, table2)));
+        when(reservationService.createReservationForRestaurantAndTable(ArgumentMatchers.eq("1111"),
+                ArgumentMatchers.eq("2111"), any()))
+                .thenThrow(new ServiceException("Reservation to create conflicts with reservation with ID 4000.",
+                        HttpStatus.CONFLICT));
+        Reservation created = new Reservation("4111", "1111", "2222", "3111", "reservation1", 3,
+                Instant.ofEpochSecond(40000), Instant.ofEpochSecond(50000), Instant.ofEpochSecond(1234));
+        when(reservationService.createReservationForRestaurantAndTable(ArgumentMatchers.eq("1111"),
+                ArgumentMatchers.eq("2222"), any())).thenReturn(created);
+
+        // Act
+        Reservation reservation = new Reservation("3111", "reservation1", 3, Instant.ofEpochSecond(40000),
+                Instant.ofEpochSecond(50000));
+        Reservation result = tableAssignmentService.autoAssignReservationForRestaurant("1111", RoomType.HALL,
+                reservation);
+
+        // Assert
+        assertThat(result).isEqualTo(created);
+        // Each attempt gets a fresh copy of the request.
+        assertThat(reservation.getTableId()).isNull();
+    }
+
+    @Test
+    @DisplayName("When a table was deleted since the index was loaded, autoAssignReservationForRestaurant drops the index and falls back to the next one")
+    void testAutoAssignDeletedTable() {
+        // Arrange
+        when(tableCapacityIndex.findCandidates("1111", 3, null))
+                .thenReturn(Optional.of(Arrays.asList(table1, table2)));
+        when(reservationService.createReservationForRestaurantAndTable(ArgumentMatchers.eq("1111"),
+                ArgumentMatchers.eq("2111"), any()))
+                .thenThrow(new ServiceException("Table with ID 2111 not found", HttpStatus.NOT_FOUND));
+        Reservation created = new Reservation("4111", "1111", "2222", "3111", "reservation1", 3,
+                Instant.ofEpochSecond(40000), Instant.ofEpochSecond(50000), Instant.ofEpochSecond(1234));
+        when(reservationService.createReservationForRestaurantAndTable(ArgumentMatchers.eq("1111"),
+                ArgumentMatchers.eq("2222"), any())).thenReturn(created);
+
+        // Act
+        Reservation reservation = new Reservation("3111", "reservation1", 3, Instant.ofEpochSecond(40000),
+                Instant.ofEpochSecond(50000));
+        Reservation result = tableAssignmentService.autoAssignReservationForRestaurant("1111", null, reservation);
+
+        // Assert
+        assertThat(result).isEqualTo(created);
+        verify(tableCapacityIndex).invalidate("1111");
+    }
+
+    @Test
+    @DisplayName("When all fitting tables are booked, autoAssignReservationForRestaurant fails with CONFLICT")
+    void testAutoAssignAllBooked() {
+        // Arrange
+        when(tableCapacityIndex.findCandidates("1111", 3, null))
+                .thenReturn(Optional.of(Arrays.asList(table1, table2)));
+        when(reservationService.createReservationForRestaurantAndTable(any(), any(), any()))
+                .thenThrow(new ServiceException("Reservation to create conflicts with reservation with ID 4000.",
+                        HttpStatus.CONFLICT));
+
+        // Act
+        Reservation reservation = new Reservation("3111", "reservation1", 3, Instant.ofEpochSecond(40000),
+                Instant.ofEpochSecond(50000));
+        try {
+            tableAssignmentService.autoAssignReservationForRestaurant("1111", null, reservation);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+            assertThat(e.getMessage()).contains("No table fits 3 guests");
+        }
+    }
+
+    @Test
+    @DisplayName("When a fitting table is overloaded and the others are booked, autoAssignReservationForRestaurant fails with SERVICE_UNAVAILABLE")
+    void testAutoAssignOverloaded() {
+        // Arrange
+        when(tableCapacityIndex.findCandidates("1111", 3, null))
+                .thenReturn(Optional.of(Arrays.asList(table1, table2)));
+        doThrow(new ServiceException("Too many concurrent reservation requests for this table, please retry.",
+                HttpStatus.SERVICE_UNAVAILABLE, Duration.ofSeconds(1))).when(admissionControl)
+                .admit(ArgumentMatchers.eq("1111"), ArgumentMatchers.eq("2111"), any());
+        when(reservationService.createReservationForRestaurantAndTable(any(), ArgumentMatchers.eq("2222"), any()))
+                .thenThrow(new ServiceException("Reservation to create conflicts with reservation with ID 4000.",
+                        HttpStatus.CONFLICT));
+
+        // Act
+        Reservation reservation = new Reservation("3111", "reservation1", 3, Instant.ofEpochSecond(40000),
+                Instant.ofEpochSecond(50000));
+        try {
+            tableAssignmentService.autoAssignReservationForRestaurant("1111", null, reservation);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    @Test
+    @DisplayName("When the reservation is invalid, autoAssignReservationForRestaurant fails right away")
+    void testAutoAssignInvalidReservation() {
+        // Arrange
+        when(tableCapacityIndex.findCandidates("1111", 3, null))
+                .thenReturn(Optional.of(Arrays.asList(table1, table2)));
+        when(reservationService.createReservationForRestaurantAndTable(any(), any(), any()))
+                .thenThrow(new ServiceException("`name` is required when creating a reservation.",
+                        HttpStatus.BAD_REQUEST));
+
+        // Act
+        Reservation reservation = new Reservation("3111", null, 3, Instant.ofEpochSecond(40000),
+                Instant.ofEpochSecond(50000));
+        try {
+            tableAssignmentService.autoAssignReservationForRestaurant("1111", null, reservation);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            verify(reservationService, never()).createReservationForRestaurantAndTable(any(),
+                    ArgumentMatchers.eq("2222"), any());
+        }
+    }
+
+    @Test
+    @DisplayName("When restaurant doesn't exist, autoAssignReservationForRestaurant fails with NOT_FOUND")
+    void testAutoAssignRestaurantNotFound() {
+        // Arrange
+        when(tableCapacityIndex.findCandidates("1111", 3, null)).thenReturn(Optional.empty());
+
+        // Act
+        Reservation reservation = new Reservation("3111", "reservation1", 3, Instant.ofEpochSecond(40000),
+                Instant.ofEpochSecond(50000));
+        try {
+            tableAssignmentService.autoAssignReservationForRestaurant("1111", null, reservation);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package paterben.privatedining.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import paterben.privatedining.core.model.RestaurantTables;
+import paterben.privatedining.core.model.RoomType;
+import paterben.privatedining.core.model.Table;
+import paterben.privatedining.repository.RestaurantTablesRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class TableCapacityIndexTest {
+    @Mock
+    private RestaurantTablesRepository restaurantTablesRepository;
+
+    @Mock
+    private Clock clock;
+
+    @InjectMocks
+    private TableCapacityIndex tableCapacityIndex;
+
+    private final Table table = new Table("2222", "table1", 1, 4, RoomType.HALL, 0);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tableCapacityIndex, "ttl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(tableCapacityIndex, "maxSize", 100);
+    }
+
+    @Test
+    @DisplayName("findCandidates loads the tables once and caches them until they expire")
+    void testFindCandidatesCached() {
+        // Arrange
+        when(restaurantTablesRepository.findById("1111"))
+                .thenReturn(Optional.of(new RestaurantTables("1111", Arrays.asList(table))));
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(1000), Instant.ofEpochSecond(1030),
+                Instant.ofEpochSecond(1060));
+
+        // Act & Assert
+        assertThat(tableCapacityIndex.findCandidates("1111", 2, null)).contains(Arrays.asList(table));
+        assertThat(tableCapacityIndex.findCandidates("1111", 5, null)).contains(Arrays.asList());
+        verify(restaurantTablesRepository, times(1)).findById("1111");
+        assertThat(tableCapacityIndex.findCandidates("1111", 2, null)).contains(Arrays.asList(table));
+        verify(restaurantTablesRepository, times(2)).findById("1111");
+    }
+
+    @Test
+    @DisplayName("findCandidates reloads the tables after invalidate")
+    void testFindCandidatesInvalidated() {
+        // Arrange
+        when(restaurantTablesRepository.findById("1111"))
+                .thenReturn(Optional.of(new RestaurantTables("1111", Arrays.asList(table))));
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(1000));
+
+        // Act
+        tableCapacityIndex.findCandidates("1111", 2, null);
+        tableCapacityIndex.invalidate("1111");
+        tableCapacityIndex.findCandidates("1111", 2, null);
+
+        // Assert
+        verify(restaurantTablesRepository, times(2)).findById("1111");
+    }
+
+    @Test
+    @DisplayName("findCandidates returns empty for unknown restaurants")
+    void testFindCandidatesRestaurantNotFound() {
+        // Arrange
+        when(restaurantTablesRepository.findById("1111")).thenReturn(Optional.empty());
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(1000));
+
+        // Act & Assert
+        assertThat(tableCapacityIndex.findCandidates("1111", 2, null)).isNotPresent();
+    }
+}
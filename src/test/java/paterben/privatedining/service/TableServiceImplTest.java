@@ -4,12 +4,18 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.util.ArrayList;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,18 +23,29 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.bson.Document;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 
+import com.mongodb.client.result.UpdateResult;
+
+import paterben.privatedining.core.model.DeletionJob;
+import paterben.privatedining.core.model.OpeningHours;
+import paterben.privatedining.core.model.OpeningPeriod;
 import paterben.privatedining.core.model.RestaurantTables;
 import paterben.privatedining.core.model.RoomType;
 import paterben.privatedining.core.model.Table;
 import paterben.privatedining.core.model.TableReservations;
+import paterben.privatedining.repository.DeletionJobRepository;
 import paterben.privatedining.repository.RestaurantTablesRepository;
 import paterben.privatedining.repository.TableReservationsRepository;
 
@@ -37,9 +54,24 @@ public class TableServiceImplTest {
     @Mock
     private RestaurantTablesRepository restaurantTablesRepository;
 
+    @Mock
+    private CompanionDocuments companionDocuments;
+
     @Mock
     private TableReservationsRepository tableReservationsRepository;
 
+    @Mock
+    private DeletionJobRepository deletionJobRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private TableCapacityIndex tableCapacityIndex;
+
+    @Mock
+    private Clock clock;
+
     @InjectMocks
     private TableServiceImpl tableService;
 
@@ -92,6 +124,20 @@ public class TableServiceImplTest {
         assertThat(result).isNotPresent();
     }
 
+    @Test
+    @DisplayName("When restaurant exists without its restaurantTables document, listTablesForRestaurant creates it and returns an empty list")
+    void testListTablesForRestaurantMissingRestaurantTables() {
+        // Arrange
+        when(companionDocuments.ensureRestaurantTables("1234")).thenReturn(true);
+
+        // Act
+        Optional<List<Table>> result = tableService.listTablesForRestaurant("1234");
+
+        // Assert
+        assertThat(result).isPresent();
+        assertThat(result.get()).isEmpty();
+    }
+
     @Test
     @DisplayName("When table exists, getTableForRestaurantById returns it")
     void testGetTableForRestaurantByIdFound() {
@@ -136,15 +182,11 @@ public class TableServiceImplTest {
     }
 
     @Test
-    @DisplayName("When table is valid and restaurant exists, addTableToRestaurant saves to restaurantTables and tableReservations and returns new table")
+    @DisplayName("When table is valid and restaurant exists, addTableToRestaurant pushes it to restaurantTables, saves to tableReservations and returns new table")
     void testAddTableToRestaurant() {
         // Arrange
-        Table foundTable1 = new Table("2345", "table1", 1, 3, RoomType.HALL, 1.5);
-        Table foundTable2 = new Table("3456", "table2", 0, 3, RoomType.HALL, 0);
-        RestaurantTables foundRestaurantTables = new RestaurantTables("1234",
-                new ArrayList<Table>(Arrays.asList(foundTable1, foundTable2)));
-        when(restaurantTablesRepository.findById("1234")).thenReturn(Optional.of(foundRestaurantTables));
-        when(restaurantTablesRepository.save(any())).thenAnswer(makeRestaurantTablesAnswer());
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), eq(RestaurantTables.class)))
+                .thenReturn(new RestaurantTables("1234"));
         when(tableReservationsRepository.save(any())).thenAnswer(makeTableReservationsAnswer());
 
         // Act
@@ -154,11 +196,61 @@ public class TableServiceImplTest {
         // Assert
         Table expectedTable = new Table(result.getId(), "table3", 1, 3, RoomType.HALL, 1.5);
         assertThat(result).isEqualTo(expectedTable);
-        RestaurantTables restaurantTables = new RestaurantTables("1234",
-                Arrays.asList(foundTable1, foundTable2, expectedTable));
-        verify(restaurantTablesRepository).save(ArgumentMatchers.eq(restaurantTables));
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), eq(RestaurantTables.class));
+        assertThat(query.getValue().getQueryObject().get("_id")).isEqualTo("1234");
+        assertThat(((Document) query.getValue().getQueryObject().get("tables.name")).get("$ne")).isEqualTo("table3");
+        Document push = (Document) update.getValue().getUpdateObject().get("$push");
+        assertThat(push.get("tables")).isEqualTo(expectedTable);
         TableReservations tableReservations = new TableReservations(result.getId(), "1234", 1, 3);
+        tableReservations.setName("table3");
+        tableReservations.setRoomType(RoomType.HALL);
+        tableReservations.setMinSpend(1.5);
         verify(tableReservationsRepository).save(ArgumentMatchers.eq(tableReservations));
+        verify(tableCapacityIndex).invalidate("1234");
+    }
+
+    @Test
+    @DisplayName("When table has no opening hours, addTableToRestaurant copies the restaurant's to tableReservations")
+    void testAddTableToRestaurantInheritsOpeningHours() {
+        // Arrange
+        OpeningHours openingHours = new OpeningHours("Europe/Paris",
+                Arrays.asList(new OpeningPeriod(DayOfWeek.FRIDAY, LocalTime.of(18, 0), LocalTime.of(23, 0))),
+                Collections.emptyList());
+        RestaurantTables foundRestaurantTables = new RestaurantTables("1234");
+        foundRestaurantTables.setOpeningHours(openingHours);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), eq(RestaurantTables.class)))
+                .thenReturn(foundRestaurantTables);
+        when(tableReservationsRepository.save(any())).thenAnswer(makeTableReservationsAnswer());
+
+        // Act
+        Table table = new Table("table3", 1, 3, RoomType.HALL, 1.5);
+        Table result = tableService.addTableToRestaurant("1234", table);
+
+        // Assert
+        TableReservations tableReservations = new TableReservations(result.getId(), "1234", 1, 3);
+        tableReservations.setName("table3");
+        tableReservations.setRoomType(RoomType.HALL);
+        tableReservations.setMinSpend(1.5);
+        tableReservations.setOpeningHours(openingHours);
+        verify(tableReservationsRepository).save(ArgumentMatchers.eq(tableReservations));
+    }
+
+    @Test
+    @DisplayName("When table has invalid opening hours, addTableToRestaurant fails with BAD_REQUEST")
+    void testAddTableToRestaurantInvalidOpeningHours() {
+        // Act
+        Table table = new Table("table3", 1, 3, RoomType.HALL, 1.5);
+        table.setOpeningHours(new OpeningHours("Mars/Olympus", Collections.emptyList(), Collections.emptyList()));
+        try {
+            tableService.addTableToRestaurant("1234", table);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThat(e.getMessage()).contains("Invalid `openingHours`");
+        }
     }
 
     @Test
@@ -176,15 +268,32 @@ public class TableServiceImplTest {
         }
     }
 
+    @Test
+    @DisplayName("When restaurant exists without its restaurantTables document, addTableToRestaurant creates the document and adds the table")
+    void testAddTableToRestaurantMissingRestaurantTables() {
+        // Arrange
+        // The first push matches nothing, the second one matches the created document.
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), eq(RestaurantTables.class)))
+                .thenReturn(null, new RestaurantTables("1234"));
+        when(companionDocuments.ensureRestaurantTables("1234")).thenReturn(true);
+        when(tableReservationsRepository.save(any())).thenAnswer(makeTableReservationsAnswer());
+
+        // Act
+        Table table = new Table("table3", 1, 3, RoomType.HALL, 1.5);
+        Table result = tableService.addTableToRestaurant("1234", table);
+
+        // Assert
+        assertThat(result.getId()).isNotNull();
+        verify(companionDocuments).ensureRestaurantTables("1234");
+        verify(tableReservationsRepository).save(any());
+    }
+
     @Test
     @DisplayName("When table with same name already exists in restaurant, addTableToRestaurant fails with CONFLICT")
     void testAddTableToRestaurantNameAlreadyExists() {
         // Arrange
-        Table foundTable1 = new Table("2345", "table1", 1, 3, RoomType.HALL, 1.5);
-        Table foundTable2 = new Table("3456", "table2", 0, 3, RoomType.HALL, 0);
-        RestaurantTables foundRestaurantTables = new RestaurantTables("1234",
-                new ArrayList<Table>(Arrays.asList(foundTable1, foundTable2)));
-        when(restaurantTablesRepository.findById("1234")).thenReturn(Optional.of(foundRestaurantTables));
+        // The conditional push matches nothing, but the restaurant exists.
+        when(restaurantTablesRepository.existsById("1234")).thenReturn(true);
 
         // Act
         Table table = new Table("table2", 1, 3, RoomType.HALL, 1.5);
@@ -195,6 +304,7 @@ public class TableServiceImplTest {
             // Assert
             assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.CONFLICT);
             assertThat(e.getMessage()).contains("Table with name \"table2\" already exists");
+            verify(tableReservationsRepository, never()).save(any());
         }
     }
 
@@ -259,13 +369,151 @@ public class TableServiceImplTest {
         }
     }
 
-    private Answer<RestaurantTables> makeRestaurantTablesAnswer() {
-        return new Answer<RestaurantTables>() {
-            public RestaurantTables answer(InvocationOnMock invocation) {
-                RestaurantTables rt = invocation.getArgument(0, RestaurantTables.class);
-                return rt;
-            }
-        };
+    @Test
+    @DisplayName("When table is valid, updateTableForRestaurant sets it in restaurantTables and updates the copied fields in tableReservations")
+    void testUpdateTableForRestaurant() {
+        // Arrange
+        OpeningHours openingHours = new OpeningHours("Europe/Paris",
+                Arrays.asList(new OpeningPeriod(DayOfWeek.FRIDAY, LocalTime.of(18, 0), LocalTime.of(23, 0))),
+                Collections.emptyList());
+        RestaurantTables foundRestaurantTables = new RestaurantTables("1234");
+        foundRestaurantTables.setOpeningHours(openingHours);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), eq(RestaurantTables.class)))
+                .thenReturn(foundRestaurantTables);
+
+        // Act
+        Table table = new Table("table2-renamed", 2, 6, RoomType.PRIVATE_ROOM, 10);
+        Table result = tableService.updateTableForRestaurant("1234", "3456", table);
+
+        // Assert
+        Table expectedTable = new Table("3456", "table2-renamed", 2, 6, RoomType.PRIVATE_ROOM, 10);
+        assertThat(result).isEqualTo(expectedTable);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), eq(RestaurantTables.class));
+        assertThat(query.getValue().getQueryObject().get("_id")).isEqualTo("1234");
+        assertThat(query.getValue().getQueryObject().get("$or")).isNotNull();
+        Document setTable = (Document) update.getValue().getUpdateObject().get("$set");
+        assertThat(setTable.get("tables.$[t]")).isEqualTo(expectedTable);
+        assertThat(update.getValue().getArrayFilters()).singleElement()
+                .satisfies(f -> assertThat(f.asDocument().get("t._id")).isEqualTo("3456"));
+        verify(restaurantTablesRepository, never()).save(any());
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(TableReservations.class));
+        assertThat(query.getValue().getQueryObject().get("_id")).isEqualTo("3456");
+        assertThat(query.getValue().getQueryObject().get("restaurantId")).isEqualTo("1234");
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertThat(set.get("minCapacity")).isEqualTo(2);
+        assertThat(set.get("maxCapacity")).isEqualTo(6);
+        assertThat(set.get("name")).isEqualTo("table2-renamed");
+        assertThat(set.get("roomType")).isEqualTo(RoomType.PRIVATE_ROOM);
+        assertThat(set.get("minSpend")).isEqualTo(10.0);
+        assertThat(set.get("openingHours")).isEqualTo(openingHours);
+        verify(tableCapacityIndex).invalidate("1234");
+    }
+
+    @Test
+    @DisplayName("When another table has the same name, updateTableForRestaurant fails with CONFLICT")
+    void testUpdateTableForRestaurantNameAlreadyExists() {
+        // Arrange
+        // The conditional update matches nothing, but the restaurant and table exist.
+        when(restaurantTablesRepository.existsById("1234")).thenReturn(true);
+        when(mongoTemplate.exists(any(Query.class), eq(RestaurantTables.class))).thenReturn(true);
+
+        // Act
+        Table table = new Table("table1", 1, 3, RoomType.HALL, 1.5);
+        try {
+            tableService.updateTableForRestaurant("1234", "3456", table);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+            assertThat(e.getMessage()).contains("Table with name \"table1\" already exists");
+            verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(TableReservations.class));
+        }
+    }
+
+    @Test
+    @DisplayName("When table doesn't exist, updateTableForRestaurant fails with NOT_FOUND")
+    void testUpdateTableForRestaurantTableNotFound() {
+        // Arrange
+        when(restaurantTablesRepository.existsById("1234")).thenReturn(true);
+        when(mongoTemplate.exists(any(Query.class), eq(RestaurantTables.class))).thenReturn(false);
+
+        // Act
+        Table table = new Table("table1", 1, 3, RoomType.HALL, 1.5);
+        try {
+            tableService.updateTableForRestaurant("1234", "3456", table);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(e.getMessage()).contains("Table with ID 3456 not found");
+        }
+    }
+
+    @Test
+    @DisplayName("When restaurant doesn't exist, updateTableForRestaurant fails with NOT_FOUND")
+    void testUpdateTableForRestaurantRestaurantNotFound() {
+        // Act
+        Table table = new Table("table1", 1, 3, RoomType.HALL, 1.5);
+        try {
+            tableService.updateTableForRestaurant("1234", "3456", table);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(e.getMessage()).contains("Restaurant with ID 1234 not found");
+        }
+    }
+
+    @Test
+    @DisplayName("When table exists, deleteTableFromRestaurant pulls it and schedules the deletion of its data")
+    void testDeleteTableFromRestaurant() {
+        // Arrange
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(RestaurantTables.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(TableReservations.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(1234));
+
+        // Act
+        tableService.deleteTableFromRestaurant("1234", "3456");
+
+        // Assert
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(RestaurantTables.class));
+        Document pull = (Document) update.getValue().getUpdateObject().get("$pull");
+        assertThat(((Query) pull.get("tables")).getQueryObject().get("_id")).isEqualTo("3456");
+        // The table schedule is flagged as deleted, so that it can't be booked until
+        // it is cleaned up.
+        ArgumentCaptor<Query> flagQuery = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> flagUpdate = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(flagQuery.capture(), flagUpdate.capture(), eq(TableReservations.class));
+        assertThat(flagQuery.getValue().getQueryObject().get("_id")).isEqualTo("3456");
+        assertThat(((Document) flagUpdate.getValue().getUpdateObject().get("$set")).get("isDeleted")).isEqualTo(true);
+        verify(restaurantTablesRepository, never()).save(any());
+        verify(deletionJobRepository).save(new DeletionJob("1234", "3456", Instant.ofEpochSecond(1234)));
+        verify(tableCapacityIndex).invalidate("1234");
+    }
+
+    @Test
+    @DisplayName("When table doesn't exist, deleteTableFromRestaurant fails with NOT_FOUND")
+    void testDeleteTableFromRestaurantTableNotFound() {
+        // Arrange
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(RestaurantTables.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        when(restaurantTablesRepository.existsById("1234")).thenReturn(true);
+
+        // Act
+        try {
+            tableService.deleteTableFromRestaurant("1234", "3456");
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+            assertThat(e.getMessage()).contains("Table with ID 3456 not found");
+            verify(deletionJobRepository, never()).save(any());
+        }
     }
 
     private Answer<TableReservations> makeTableReservationsAnswer() {
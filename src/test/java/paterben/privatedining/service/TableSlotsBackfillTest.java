@@ -0,0 +1,103 @@
+package paterben.privatedining.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import paterben.privatedining.TenancyProperties;
+import paterben.privatedining.core.model.TableReservations;
+
+@ExtendWith(MockitoExtension.class)
+public class TableSlotsBackfillTest {
+    @Mock
+    private TableSlotsService tableSlotsService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private TenancyProperties tenancyProperties;
+
+    @InjectMocks
+    private TableSlotsBackfill tableSlotsBackfill;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tableSlotsBackfill, "slotsEnabled", true);
+        ReflectionTestUtils.setField(tableSlotsBackfill, "chunkSize", 2);
+    }
+
+    @Test
+    @DisplayName("In slot mode, run rebuilds the bitmaps of every table, chunk by chunk, then reports the backfill as done")
+    void testRun() {
+        // Arrange
+        when(mongoTemplate.find(any(Query.class), eq(TableReservations.class))).thenReturn(
+                Arrays.asList(makeTable("2222"), makeTable("3333")), Arrays.asList(makeTable("4444")),
+                Collections.emptyList());
+
+        // Act
+        tableSlotsBackfill.run(null);
+
+        // Assert
+        verify(tableSlotsService).rebuildSlots("2222");
+        verify(tableSlotsService).rebuildSlots("3333");
+        verify(tableSlotsService).rebuildSlots("4444");
+        assertThat(tableSlotsBackfill.isDone()).isTrue();
+    }
+
+    @Test
+    @DisplayName("When a table keeps conflicting, run gives up after a few attempts and the backfill is not done")
+    void testRunConflict() {
+        // Arrange
+        when(mongoTemplate.find(any(Query.class), eq(TableReservations.class)))
+                .thenReturn(Arrays.asList(makeTable("2222")));
+        doThrow(new ConcurrencyFailureException("write conflict")).when(tableSlotsService).rebuildSlots("2222");
+
+        // Act
+        tableSlotsBackfill.run(null);
+
+        // Assert
+        verify(tableSlotsService, times(3)).rebuildSlots("2222");
+        assertThat(tableSlotsBackfill.isDone()).isFalse();
+    }
+
+    @Test
+    @DisplayName("When slot mode is disabled, run does nothing")
+    void testRunDisabled() {
+        // Arrange
+        ReflectionTestUtils.setField(tableSlotsBackfill, "slotsEnabled", false);
+
+        // Act
+        tableSlotsBackfill.run(null);
+
+        // Assert
+        verify(tableSlotsService, never()).rebuildSlots(any());
+        assertThat(tableSlotsBackfill.isDone()).isFalse();
+    }
+
+    private static TableReservations makeTable(String id) {
+        TableReservations table = new TableReservations();
+        table.setId(id);
+        return table;
+    }
+}
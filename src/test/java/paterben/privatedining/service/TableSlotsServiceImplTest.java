@@ -0,0 +1,134 @@
+package paterben.privatedining.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.TableDaySlots;
+import paterben.privatedining.core.model.TableReservations;
+import paterben.privatedining.repository.TableDaySlotsRepository;
+import paterben.privatedining.repository.TableReservationsRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class TableSlotsServiceImplTest {
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private TableDaySlotsRepository tableDaySlotsRepository;
+
+    @Mock
+    private TableReservationsRepository tableReservationsRepository;
+
+    @Mock
+    private Clock clock;
+
+    @InjectMocks
+    private TableSlotsServiceImpl tableSlotsService;
+
+    @Test
+    @DisplayName("reserveSlots upserts one bitmap per day covered by the reservation")
+    void testReserveSlotsAcrossMidnight() {
+        // Act
+        tableSlotsService.reserveSlots("2222", Instant.parse("2026-10-19T23:00:00Z"),
+                Instant.parse("2026-10-20T01:00:00Z"));
+
+        // Assert
+        verify(mongoTemplate, times(2)).upsert(any(Query.class), any(Update.class), eq(TableDaySlots.class));
+    }
+
+    @Test
+    @DisplayName("When the slots are already reserved, reserveSlots fails with CONFLICT")
+    void testReserveSlotsConflict() {
+        // Arrange
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(TableDaySlots.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+
+        // Act
+        try {
+            tableSlotsService.reserveSlots("2222", Instant.parse("2026-10-19T10:00:00Z"),
+                    Instant.parse("2026-10-19T12:00:00Z"));
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        }
+    }
+
+    @Test
+    @DisplayName("listFreeSlots returns the slots that are not set in the bitmap")
+    void testListFreeSlots() {
+        // Arrange
+        when(tableDaySlotsRepository.findById("2222:2026-10-19"))
+                .thenReturn(Optional.of(new TableDaySlots("2222", "2026-10-19", -1L, ~(1L << 31))));
+
+        // Act
+        List<Instant> result = tableSlotsService.listFreeSlots("2222", LocalDate.parse("2026-10-19"));
+
+        // Assert
+        assertThat(result).containsExactly(Instant.parse("2026-10-19T23:45:00Z"));
+    }
+
+    @Test
+    @DisplayName("rebuildSlots clears the bitmaps of the table from today on and sets the slots of its upcoming reservations")
+    void testRebuildSlots() {
+        // Arrange
+        Reservation past = new Reservation("4111", "1111", "2222", "3111", "reservation1", 2,
+                Instant.parse("2026-10-18T10:00:00Z"), Instant.parse("2026-10-18T11:00:00Z"),
+                Instant.ofEpochSecond(1234));
+        Reservation cancelled = new Reservation("4222", "1111", "2222", "3111", "reservation2", 2,
+                Instant.parse("2026-10-19T18:00:00Z"), Instant.parse("2026-10-19T19:00:00Z"),
+                Instant.ofEpochSecond(1234));
+        cancelled.setIsCancelled(true);
+        Reservation upcoming = new Reservation("4333", "1111", "2222", "3111", "reservation3", 2,
+                Instant.parse("2026-10-19T10:00:00Z"), Instant.parse("2026-10-19T11:00:00Z"),
+                Instant.ofEpochSecond(1234));
+        when(tableReservationsRepository.findById("2222")).thenReturn(Optional.of(new TableReservations("2222",
+                "1111", 1, 4, new ArrayList<>(Arrays.asList(past, cancelled, upcoming)))));
+        when(clock.instant()).thenReturn(Instant.parse("2026-10-19T12:00:00Z"));
+
+        // Act
+        tableSlotsService.rebuildSlots("2222");
+
+        // Assert
+        ArgumentCaptor<Query> clearQuery = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateMulti(clearQuery.capture(), any(Update.class), eq(TableDaySlots.class));
+        assertThat(clearQuery.getValue().getQueryObject().get("tableId")).isEqualTo("2222");
+        assertThat(((Document) clearQuery.getValue().getQueryObject().get("day")).get("$gte"))
+                .isEqualTo("2026-10-19");
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(query.capture(), update.capture(), eq(TableDaySlots.class));
+        assertThat(query.getValue().getQueryObject().get("_id")).isEqualTo("2222:2026-10-19");
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertThat(set.get("slots0")).isEqualTo(0xFL << 40);
+        assertThat(set.get("slots1")).isEqualTo(0L);
+    }
+}
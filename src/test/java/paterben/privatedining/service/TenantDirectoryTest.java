@@ -0,0 +1,135 @@
+package paterben.privatedining.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import paterben.privatedining.TenancyProperties;
+import paterben.privatedining.TenantContext;
+import paterben.privatedining.core.model.RestaurantTenant;
+
+@ExtendWith(MockitoExtension.class)
+public class TenantDirectoryTest {
+    @Mock
+    private MongoTemplate sharedMongoTemplate;
+
+    @Mock
+    private Clock clock;
+
+    @InjectMocks
+    private TenantDirectory tenantDirectory;
+
+    @BeforeEach
+    void setUp() {
+        TenancyProperties properties = new TenancyProperties();
+        properties.setCacheTtl(Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(tenantDirectory, "properties", properties);
+    }
+
+    @Test
+    @DisplayName("findTenantOfRestaurant looks the mapping up once and caches it until it expires")
+    void testFindTenantOfRestaurantCached() {
+        // Arrange
+        when(sharedMongoTemplate.findById("1234", RestaurantTenant.class))
+                .thenReturn(new RestaurantTenant("1234", "bigGroup"));
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(1000), Instant.ofEpochSecond(1100),
+                Instant.ofEpochSecond(1400));
+
+        // Act & Assert
+        assertThat(tenantDirectory.findTenantOfRestaurant("1234")).isEqualTo("bigGroup");
+        assertThat(tenantDirectory.findTenantOfRestaurant("1234")).isEqualTo("bigGroup");
+        verify(sharedMongoTemplate, times(1)).findById("1234", RestaurantTenant.class);
+        assertThat(tenantDirectory.findTenantOfRestaurant("1234")).isEqualTo("bigGroup");
+        verify(sharedMongoTemplate, times(2)).findById("1234", RestaurantTenant.class);
+    }
+
+    @Test
+    @DisplayName("findTenantOfRestaurant returns null for restaurants in the shared database")
+    void testFindTenantOfRestaurantShared() {
+        // Arrange
+        when(sharedMongoTemplate.findById("1234", RestaurantTenant.class)).thenReturn(null);
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(1000));
+
+        // Act & Assert
+        assertThat(tenantDirectory.findTenantOfRestaurant("1234")).isNull();
+    }
+
+    @Test
+    @DisplayName("registerRestaurant saves the mapping for the current tenant only")
+    void testRegisterRestaurant() {
+        // Arrange
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(1000));
+
+        // Act
+        tenantDirectory.registerRestaurant("1111");
+        TenantContext.runAs("bigGroup", () -> tenantDirectory.registerRestaurant("2222"));
+
+        // Assert
+        verify(sharedMongoTemplate, never()).save(new RestaurantTenant("1111", null));
+        verify(sharedMongoTemplate).save(any());
+        verify(sharedMongoTemplate).save(new RestaurantTenant("2222", "bigGroup"));
+        assertThat(tenantDirectory.findTenantOfRestaurant("2222")).isEqualTo("bigGroup");
+    }
+
+    @Test
+    @DisplayName("In a transaction, unregisterRestaurant removes the mapping only once the transaction commits")
+    void testUnregisterRestaurantAfterCommit() {
+        // Arrange
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(1000));
+        TenantContext.runAs("bigGroup", () -> tenantDirectory.registerRestaurant("2222"));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            TenantContext.runAs("bigGroup", () -> tenantDirectory.unregisterRestaurant("2222"));
+
+            // Assert
+            verify(sharedMongoTemplate, never()).remove(any(Query.class), eq(RestaurantTenant.class));
+            assertThat(tenantDirectory.findTenantOfRestaurant("2222")).isEqualTo("bigGroup");
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager
+                    .getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(sharedMongoTemplate).remove(query.capture(), eq(RestaurantTenant.class));
+        assertThat(query.getValue().getQueryObject().get("_id")).isEqualTo("2222");
+        assertThat(tenantDirectory.findTenantOfRestaurant("2222")).isNull();
+    }
+
+    @Test
+    @DisplayName("unregisterAllRestaurants removes the mappings of the current tenant only")
+    void testUnregisterAllRestaurants() {
+        // Act
+        tenantDirectory.unregisterAllRestaurants();
+        TenantContext.runAs("bigGroup", () -> tenantDirectory.unregisterAllRestaurants());
+
+        // Assert
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(sharedMongoTemplate).remove(query.capture(), eq(RestaurantTenant.class));
+        assertThat(query.getValue().getQueryObject().get("tenantId")).isEqualTo("bigGroup");
+    }
+}
@@ -0,0 +1,143 @@
+package paterben.privatedining.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import paterben.privatedining.core.model.OutboxEvent;
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.ReservationEventType;
+import paterben.privatedining.core.model.WaitlistEntry;
+import paterben.privatedining.repository.WaitlistEntryRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class WaitlistMatcherTest {
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @Mock
+    private Clock clock;
+
+    @InjectMocks
+    private WaitlistMatcher matcher;
+
+    private final Reservation cancelled = new Reservation("4111", "1111", "2222", "3111", "reservation1", 2,
+            Instant.ofEpochSecond(72000), Instant.ofEpochSecond(79200), Instant.ofEpochSecond(1234));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(matcher, "enabled", true);
+        ReflectionTestUtils.setField(matcher, "maxAttempts", 20);
+        cancelled.setIsCancelled(true);
+    }
+
+    @Test
+    @DisplayName("On cancellation, the matcher books the first candidate that fits and stops")
+    void testBooksFirstFittingCandidate() {
+        // Arrange
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(10000));
+        WaitlistEntry entry1 = new WaitlistEntry("5111", "1111", "2222", "3111", "entry1", 2,
+                Instant.ofEpochSecond(70000), Instant.ofEpochSecond(75000), 2, Instant.ofEpochSecond(1000));
+        WaitlistEntry entry2 = new WaitlistEntry("5222", "1111", "2222", "3222", "entry2", 2,
+                Instant.ofEpochSecond(72000), Instant.ofEpochSecond(79200), 1, Instant.ofEpochSecond(1000));
+        WaitlistEntry entry3 = new WaitlistEntry("5333", "1111", "2222", "3333", "entry3", 2,
+                Instant.ofEpochSecond(72000), Instant.ofEpochSecond(75600), 0, Instant.ofEpochSecond(1000));
+        // The range scan starts 10 hours before the freed slot.
+        when(waitlistEntryRepository.findCandidates("2222", Instant.ofEpochSecond(36000),
+                Instant.ofEpochSecond(72000), Instant.ofEpochSecond(79200), PageRequest.of(0, 20)))
+                .thenReturn(Arrays.asList(entry1, entry2, entry3));
+        when(waitlistService.bookWaitlistEntry(entry1)).thenThrow(
+                new ServiceException("Reservation to create conflicts with reservation with ID 4000.",
+                        HttpStatus.CONFLICT));
+        when(waitlistService.bookWaitlistEntry(entry2)).thenReturn(new Reservation());
+
+        // Act
+        matcher.onReservationEvent(
+                new OutboxEvent(ReservationEventType.RESERVATION_CANCELLED, cancelled, Instant.ofEpochSecond(9999)));
+
+        // Assert
+        verify(waitlistService, never()).bookWaitlistEntry(entry3);
+    }
+
+    @Test
+    @DisplayName("The candidate range scan never starts in the past")
+    void testRangeStartsNow() {
+        // Arrange
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(50000));
+
+        // Act
+        matcher.matchFreedSlot(cancelled);
+
+        // Assert
+        verify(waitlistEntryRepository).findCandidates("2222", Instant.ofEpochSecond(50000),
+                Instant.ofEpochSecond(72000), Instant.ofEpochSecond(79200), PageRequest.of(0, 20));
+    }
+
+    @Test
+    @DisplayName("Creation events are ignored")
+    void testIgnoresCreation() {
+        // Act
+        matcher.onReservationEvent(
+                new OutboxEvent(ReservationEventType.RESERVATION_CREATED, cancelled, Instant.ofEpochSecond(9999)));
+
+        // Assert
+        verifyNoInteractions(waitlistEntryRepository);
+        verify(waitlistService, never()).bookWaitlistEntry(any());
+    }
+
+    @Test
+    @DisplayName("On a move to another table, the matcher looks for candidates in the previous slot")
+    void testMatchesPreviousSlotOnMove() {
+        // Arrange
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(50000));
+        Reservation previous = new Reservation("4111", "1111", "2222", "3111", "reservation1", 2,
+                Instant.ofEpochSecond(72000), Instant.ofEpochSecond(79200), Instant.ofEpochSecond(1234));
+        Reservation moved = new Reservation("4111", "1111", "2223", "3111", "reservation1", 2,
+                Instant.ofEpochSecond(72000), Instant.ofEpochSecond(79200), Instant.ofEpochSecond(1234));
+
+        // Act
+        matcher.onReservationEvent(new OutboxEvent(ReservationEventType.RESERVATION_UPDATED, moved, previous,
+                Instant.ofEpochSecond(9999)));
+
+        // Assert
+        verify(waitlistEntryRepository).findCandidates("2222", Instant.ofEpochSecond(50000),
+                Instant.ofEpochSecond(72000), Instant.ofEpochSecond(79200), PageRequest.of(0, 20));
+    }
+
+    @Test
+    @DisplayName("Updates that only add guests or extend the reservation are ignored")
+    void testIgnoresUpdateThatFreesNothing() {
+        // Arrange
+        Reservation previous = new Reservation("4111", "1111", "2222", "3111", "reservation1", 2,
+                Instant.ofEpochSecond(72000), Instant.ofEpochSecond(79200), Instant.ofEpochSecond(1234));
+        Reservation extended = new Reservation("4111", "1111", "2222", "3111", "reservation1", 3,
+                Instant.ofEpochSecond(72000), Instant.ofEpochSecond(81000), Instant.ofEpochSecond(1234));
+
+        // Act
+        matcher.onReservationEvent(new OutboxEvent(ReservationEventType.RESERVATION_UPDATED, extended, previous,
+                Instant.ofEpochSecond(9999)));
+
+        // Assert
+        verifyNoInteractions(waitlistEntryRepository);
+    }
+}
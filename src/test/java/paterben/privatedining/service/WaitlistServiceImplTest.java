@@ -0,0 +1,211 @@
+package paterben.privatedining.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+
+import com.mongodb.client.result.DeleteResult;
+
+import paterben.privatedining.core.model.Reservation;
+import paterben.privatedining.core.model.TableReservations;
+import paterben.privatedining.core.model.WaitlistEntry;
+import paterben.privatedining.repository.DinerRepository;
+import paterben.privatedining.repository.TableReservationsRepository;
+import paterben.privatedining.repository.WaitlistEntryRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class WaitlistServiceImplTest {
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    private TableReservationsRepository tableReservationsRepository;
+
+    @Mock
+    private DinerRepository dinerRepository;
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private Clock clock;
+
+    @InjectMocks
+    private WaitlistServiceImpl waitlistService;
+
+    @Test
+    @DisplayName("When table exists, listWaitlistForRestaurantAndTable returns the entries in priority order")
+    void testListWaitlistForRestaurantAndTable() {
+        // Arrange
+        WaitlistEntry entry1 = new WaitlistEntry("5111", "1111", "2222", "3111", "entry1", 2,
+                Instant.ofEpochSecond(40000), Instant.ofEpochSecond(50000), 1, Instant.ofEpochSecond(1234));
+        WaitlistEntry entry2 = new WaitlistEntry("5222", "1111", "2222", "3222", "entry2", 2,
+                Instant.ofEpochSecond(40000), Instant.ofEpochSecond(50000), 0, Instant.ofEpochSecond(1000));
+        when(tableReservationsRepository.existsByIdAndRestaurantId("2222", "1111")).thenReturn(true);
+        when(waitlistEntryRepository.findByTableIdOrderByPriorityDescCreatedAtAsc("2222"))
+                .thenReturn(Arrays.asList(entry1, entry2));
+
+        // Act
+        Optional<List<WaitlistEntry>> result = waitlistService.listWaitlistForRestaurantAndTable("1111", "2222");
+
+        // Assert
+        assertThat(result).contains(Arrays.asList(entry1, entry2));
+    }
+
+    @Test
+    @DisplayName("When table doesn't exist, listWaitlistForRestaurantAndTable returns empty")
+    void testListWaitlistForRestaurantAndTableNotFound() {
+        // Act
+        Optional<List<WaitlistEntry>> result = waitlistService.listWaitlistForRestaurantAndTable("1111", "2222");
+
+        // Assert
+        assertThat(result).isNotPresent();
+    }
+
+    @Test
+    @DisplayName("When entry is valid and table and diner exist, addToWaitlistForRestaurantAndTable saves it")
+    void testAddToWaitlistForRestaurantAndTable() {
+        // Arrange
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(33332));
+        when(tableReservationsRepository.findByIdAndRestaurantId("2222", "1111"))
+                .thenReturn(Optional.of(new TableReservations("2222", "1111", 1, 3)));
+        when(dinerRepository.existsById("3222")).thenReturn(true);
+        when(waitlistEntryRepository.insert(any(WaitlistEntry.class))).thenAnswer(invocation -> {
+            WaitlistEntry entry = invocation.getArgument(0, WaitlistEntry.class);
+            entry.setId("5222");
+            return entry;
+        });
+
+        // Act
+        WaitlistEntry entry = new WaitlistEntry("3222", "entry1", 3, Instant.ofEpochSecond(40000),
+                Instant.ofEpochSecond(50000), 1);
+        WaitlistEntry result = waitlistService.addToWaitlistForRestaurantAndTable("1111", "2222", entry);
+
+        // Assert
+        assertThat(result).isEqualTo(new WaitlistEntry("5222", "1111", "2222", "3222", "entry1", 3,
+                Instant.ofEpochSecond(40000), Instant.ofEpochSecond(50000), 1, Instant.ofEpochSecond(33332)));
+    }
+
+    @Test
+    @DisplayName("When numGuests doesn't fit the table, addToWaitlistForRestaurantAndTable fails with CONFLICT")
+    void testAddToWaitlistForRestaurantAndTableCapacity() {
+        // Arrange
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(33332));
+        when(tableReservationsRepository.findByIdAndRestaurantId("2222", "1111"))
+                .thenReturn(Optional.of(new TableReservations("2222", "1111", 1, 3)));
+
+        // Act
+        WaitlistEntry entry = new WaitlistEntry("3222", "entry1", 4, Instant.ofEpochSecond(40000),
+                Instant.ofEpochSecond(50000), 1);
+        try {
+            waitlistService.addToWaitlistForRestaurantAndTable("1111", "2222", entry);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+            verify(waitlistEntryRepository, never()).insert(any(WaitlistEntry.class));
+        }
+    }
+
+    @Test
+    @DisplayName("When table doesn't exist, addToWaitlistForRestaurantAndTable fails with NOT_FOUND")
+    void testAddToWaitlistForRestaurantAndTableTableNotFound() {
+        // Arrange
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(33332));
+        when(tableReservationsRepository.findByIdAndRestaurantId("2222", "1111")).thenReturn(Optional.empty());
+
+        // Act
+        WaitlistEntry entry = new WaitlistEntry("3222", "entry1", 3, Instant.ofEpochSecond(40000),
+                Instant.ofEpochSecond(50000), 1);
+        try {
+            waitlistService.addToWaitlistForRestaurantAndTable("1111", "2222", entry);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @Test
+    @DisplayName("When entry starts in the past, addToWaitlistForRestaurantAndTable fails with BAD_REQUEST")
+    void testAddToWaitlistForRestaurantAndTableInPast() {
+        // Arrange
+        when(clock.instant()).thenReturn(Instant.ofEpochSecond(40001));
+
+        // Act
+        WaitlistEntry entry = new WaitlistEntry("3222", "entry1", 3, Instant.ofEpochSecond(40000),
+                Instant.ofEpochSecond(50000), 1);
+        try {
+            waitlistService.addToWaitlistForRestaurantAndTable("1111", "2222", entry);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThat(e.getMessage()).contains("must not be in the past");
+        }
+    }
+
+    @Test
+    @DisplayName("bookWaitlistEntry creates the reservation and removes the entry")
+    void testBookWaitlistEntry() {
+        // Arrange
+        WaitlistEntry entry = new WaitlistEntry("5222", "1111", "2222", "3222", "entry1", 3,
+                Instant.ofEpochSecond(40000), Instant.ofEpochSecond(50000), 1, Instant.ofEpochSecond(1234));
+        Reservation created = new Reservation("4222", "1111", "2222", "3222", "entry1", 3,
+                Instant.ofEpochSecond(40000), Instant.ofEpochSecond(50000), Instant.ofEpochSecond(33332));
+        when(reservationService.createReservationForRestaurantAndTable("1111", "2222", entry.toReservation()))
+                .thenReturn(created);
+        when(mongoTemplate.remove(any(Query.class), eq(WaitlistEntry.class)))
+                .thenReturn(DeleteResult.acknowledged(1));
+
+        // Act
+        Reservation result = waitlistService.bookWaitlistEntry(entry);
+
+        // Assert
+        assertThat(result).isEqualTo(created);
+    }
+
+    @Test
+    @DisplayName("When the entry was already booked, bookWaitlistEntry fails with CONFLICT")
+    void testBookWaitlistEntryAlreadyBooked() {
+        // Arrange
+        WaitlistEntry entry = new WaitlistEntry("5222", "1111", "2222", "3222", "entry1", 3,
+                Instant.ofEpochSecond(40000), Instant.ofEpochSecond(50000), 1, Instant.ofEpochSecond(1234));
+        when(reservationService.createReservationForRestaurantAndTable(any(), any(), any()))
+                .thenReturn(new Reservation());
+        when(mongoTemplate.remove(any(Query.class), eq(WaitlistEntry.class)))
+                .thenReturn(DeleteResult.acknowledged(0));
+
+        // Act
+        try {
+            waitlistService.bookWaitlistEntry(entry);
+            fail();
+        } catch (ServiceException e) {
+            // Assert
+            assertThat(e.getHttpStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        }
+    }
+}